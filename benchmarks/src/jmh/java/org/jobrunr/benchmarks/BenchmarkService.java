@@ -0,0 +1,21 @@
+package org.jobrunr.benchmarks;
+
+import java.util.UUID;
+
+/**
+ * The service used in the jobs of the benchmarks. Its methods do nothing so that only the overhead of JobRunr is measured.
+ */
+public class BenchmarkService {
+
+    public void doWork() {
+        // nothing to do
+    }
+
+    public void doWork(int count, String name) {
+        // nothing to do
+    }
+
+    public void doWork(UUID id) {
+        // nothing to do
+    }
+}
@@ -0,0 +1,36 @@
+package org.jobrunr.benchmarks;
+
+import org.jobrunr.scheduling.cron.CronExpression;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CronExpressionBenchmark {
+
+    @Param({"*/5 * * * *", "0 0 1 * *", "0 9-17 * * MON-FRI", "0 0 0 29 2 *"})
+    private String expression;
+
+    private final Instant createdAt = Instant.parse("2020-01-01T00:00:00Z");
+    private final ZoneId zoneId = ZoneId.of("Europe/Brussels");
+    private CronExpression cronExpression;
+
+    @Setup
+    public void setUpCronExpression() {
+        cronExpression = CronExpression.create(expression);
+    }
+
+    @Benchmark
+    public CronExpression create() {
+        return CronExpression.create(expression);
+    }
+
+    @Benchmark
+    public Instant next() {
+        return cronExpression.next(createdAt, Instant.now(), zoneId);
+    }
+}
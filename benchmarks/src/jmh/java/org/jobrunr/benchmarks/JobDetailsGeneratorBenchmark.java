@@ -0,0 +1,42 @@
+package org.jobrunr.benchmarks;
+
+import org.jobrunr.jobs.JobDetails;
+import org.jobrunr.jobs.details.CachingJobDetailsGenerator;
+import org.jobrunr.jobs.details.JobDetailsAsmGenerator;
+import org.jobrunr.jobs.details.JobDetailsGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JobDetailsGeneratorBenchmark {
+
+    private final BenchmarkService benchmarkService = new BenchmarkService();
+    private final UUID id = UUID.randomUUID();
+    private JobDetailsGenerator cachingJobDetailsGenerator;
+    private JobDetailsGenerator asmJobDetailsGenerator;
+
+    @Setup
+    public void setUpJobDetailsGenerators() {
+        cachingJobDetailsGenerator = new CachingJobDetailsGenerator();
+        asmJobDetailsGenerator = new JobDetailsAsmGenerator();
+    }
+
+    @Benchmark
+    public JobDetails cachingToJobDetails() {
+        return cachingJobDetailsGenerator.toJobDetails(() -> benchmarkService.doWork(5, "a name"));
+    }
+
+    @Benchmark
+    public JobDetails cachingToJobDetailsFromStream() {
+        return cachingJobDetailsGenerator.toJobDetails(id, uuid -> benchmarkService.doWork(uuid));
+    }
+
+    @Benchmark
+    public JobDetails asmToJobDetails() {
+        return asmJobDetailsGenerator.toJobDetails(() -> benchmarkService.doWork(5, "a name"));
+    }
+}
@@ -0,0 +1,57 @@
+package org.jobrunr.benchmarks;
+
+import org.jobrunr.jobs.Job;
+import org.jobrunr.jobs.mappers.JobMapper;
+import org.jobrunr.utils.mapper.JsonMapper;
+import org.jobrunr.utils.mapper.gson.GsonJsonMapper;
+import org.jobrunr.utils.mapper.jackson.JacksonJsonMapper;
+import org.jobrunr.utils.mapper.jsonb.JsonbJsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.jobrunr.jobs.JobTestBuilder.aFailedJobThatEventuallySucceeded;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JobMapperBenchmark {
+
+    @Param({"jackson", "gson", "jsonb"})
+    private String jsonMapper;
+
+    private JobMapper jobMapper;
+    private Job job;
+    private String serializedJob;
+
+    @Setup
+    public void setUpJobMapper() {
+        jobMapper = new JobMapper(createJsonMapper(jsonMapper));
+        // why: a job with a complete history (failed, scheduled, enqueued, processing, succeeded) as that is what is stored most often
+        job = aFailedJobThatEventuallySucceeded().build();
+        serializedJob = jobMapper.serializeJob(job);
+    }
+
+    @Benchmark
+    public String serializeJob() {
+        return jobMapper.serializeJob(job);
+    }
+
+    @Benchmark
+    public Job deserializeJob() {
+        return jobMapper.deserializeJob(serializedJob);
+    }
+
+    private static JsonMapper createJsonMapper(String jsonMapper) {
+        switch (jsonMapper) {
+            case "jackson":
+                return new JacksonJsonMapper();
+            case "gson":
+                return new GsonJsonMapper();
+            case "jsonb":
+                return new JsonbJsonMapper();
+            default:
+                throw new IllegalArgumentException("Unknown JsonMapper " + jsonMapper);
+        }
+    }
+}
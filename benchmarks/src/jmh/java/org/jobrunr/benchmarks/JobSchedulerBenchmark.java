@@ -0,0 +1,48 @@
+package org.jobrunr.benchmarks;
+
+import org.jobrunr.jobs.JobId;
+import org.jobrunr.jobs.mappers.JobMapper;
+import org.jobrunr.scheduling.JobScheduler;
+import org.jobrunr.storage.InMemoryStorageProvider;
+import org.jobrunr.utils.mapper.jackson.JacksonJsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.jobrunr.utils.resilience.RateLimiter.Builder.rateLimit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JobSchedulerBenchmark {
+
+    private static final int STREAM_SIZE = 1000;
+
+    private final BenchmarkService benchmarkService = new BenchmarkService();
+    private JobScheduler jobScheduler;
+    private List<UUID> streamInput;
+
+    @Setup(Level.Iteration)
+    public void setUpJobScheduler() {
+        // why: a new StorageProvider each iteration so that the amount of stored jobs does not keep on growing
+        final InMemoryStorageProvider storageProvider = new InMemoryStorageProvider(rateLimit().withoutLimits());
+        storageProvider.setJobMapper(new JobMapper(new JacksonJsonMapper()));
+        jobScheduler = new JobScheduler(storageProvider);
+        streamInput = IntStream.range(0, STREAM_SIZE).mapToObj(i -> UUID.randomUUID()).collect(toList());
+    }
+
+    @Benchmark
+    public JobId enqueue() {
+        return jobScheduler.enqueue(() -> benchmarkService.doWork(5, "a name"));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STREAM_SIZE)
+    public void enqueueStream() {
+        jobScheduler.enqueue(streamInput.stream(), id -> benchmarkService.doWork(id));
+    }
+}
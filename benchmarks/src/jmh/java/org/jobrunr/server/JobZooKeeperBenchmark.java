@@ -0,0 +1,140 @@
+package org.jobrunr.server;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.jobrunr.benchmarks.BenchmarkService;
+import org.jobrunr.jobs.Job;
+import org.jobrunr.jobs.mappers.JobMapper;
+import org.jobrunr.jobs.states.StateName;
+import org.jobrunr.storage.InMemoryStorageProvider;
+import org.jobrunr.storage.StorageProvider;
+import org.jobrunr.storage.sql.common.SqlStorageProviderFactory;
+import org.jobrunr.utils.mapper.JsonMapper;
+import org.jobrunr.utils.mapper.jackson.JacksonJsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.sqlite.SQLiteDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.jobrunr.jobs.JobTestBuilder.aScheduledJob;
+import static org.jobrunr.server.BackgroundJobServerConfiguration.usingStandardBackgroundJobServerConfiguration;
+import static org.jobrunr.utils.resilience.RateLimiter.Builder.rateLimit;
+
+/**
+ * Measures a single {@link JobZooKeeper#run()} cycle (updating the jobs in progress, the master tasks and onboarding new work) of a master
+ * BackgroundJobServer. The BackgroundJobServer is never started and its workers are stubbed: the jobs handed to the workers are not run, so
+ * only the JobZooKeeper and the StorageProvider are measured. It lives in the package of the {@link JobZooKeeper} to be able to stub the
+ * (package-private) {@link BackgroundJobServer#processJob(Job)}.
+ * <p>
+ * Each cycle gets the same fixture: a batch of scheduled jobs that are due, which the cycle enqueues and then claims as the amount of workers
+ * equals the size of the batch. The storage is emptied before each iteration so the claimed jobs do not pile up over the complete trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JobZooKeeperBenchmark {
+
+    private static final int JOBS_PER_CYCLE = 100;
+
+    @Param({"inmemory", "h2", "sqlite"})
+    private String storage;
+
+    private final BenchmarkService benchmarkService = new BenchmarkService();
+    private Path databaseDirectory;
+    private StorageProvider storageProvider;
+    private JobZooKeeper jobZooKeeper;
+
+    @Setup(Level.Trial)
+    public void setUpJobZooKeeper() throws IOException {
+        databaseDirectory = Files.createTempDirectory("jobrunr-benchmarks");
+        final JacksonJsonMapper jsonMapper = new JacksonJsonMapper();
+        storageProvider = createStorageProvider(storage);
+        storageProvider.setJobMapper(new JobMapper(jsonMapper));
+
+        // why: a long poll interval so that the claimed jobs (which never get a heartbeat as they are not run) are not seen as orphaned
+        final BackgroundJobServerConfiguration configuration = usingStandardBackgroundJobServerConfiguration()
+                .andPollIntervalInSeconds(3600)
+                .andWorkerCount(JOBS_PER_CYCLE);
+        jobZooKeeper = new StubbedBackgroundJobServer(storageProvider, jsonMapper, configuration).getJobZooKeeper();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStorage() {
+        final Instant now = Instant.now();
+        for (StateName state : StateName.values()) {
+            storageProvider.deleteJobsPermanently(state, now);
+        }
+    }
+
+    // why: Level.Invocation is fine here as a JobZooKeeper cycle takes milliseconds
+    @Setup(Level.Invocation)
+    public void saveScheduledJobs() {
+        final List<Job> jobs = IntStream.range(0, JOBS_PER_CYCLE)
+                .mapToObj(i -> aScheduledJob().withJobDetails(() -> benchmarkService.doWork()).build())
+                .collect(toList());
+        storageProvider.save(jobs);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeStorageProvider() throws IOException {
+        storageProvider.close();
+        try (Stream<Path> files = Files.walk(databaseDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void runJobZooKeeper() {
+        jobZooKeeper.run();
+    }
+
+    private StorageProvider createStorageProvider(String storage) {
+        switch (storage) {
+            case "inmemory":
+                return new InMemoryStorageProvider(rateLimit().withoutLimits());
+            case "h2":
+                final JdbcDataSource h2DataSource = new JdbcDataSource();
+                h2DataSource.setURL("jdbc:h2:" + databaseDirectory.resolve("jobrunr-h2"));
+                return SqlStorageProviderFactory.using(h2DataSource);
+            case "sqlite":
+                final SQLiteDataSource sqliteDataSource = new SQLiteDataSource();
+                sqliteDataSource.setUrl("jdbc:sqlite:" + databaseDirectory.resolve("jobrunr-sqlite.db"));
+                return SqlStorageProviderFactory.using(sqliteDataSource);
+            default:
+                throw new IllegalArgumentException("Unknown storage " + storage);
+        }
+    }
+
+    /**
+     * A master BackgroundJobServer that is announced without being started and of which the workers do nothing.
+     */
+    private static class StubbedBackgroundJobServer extends BackgroundJobServer {
+
+        StubbedBackgroundJobServer(StorageProvider storageProvider, JsonMapper jsonMapper, BackgroundJobServerConfiguration configuration) {
+            super(storageProvider, jsonMapper, null, configuration);
+        }
+
+        @Override
+        public boolean isUnAnnounced() {
+            return false;
+        }
+
+        @Override
+        public boolean isMaster() {
+            return true;
+        }
+
+        @Override
+        void processJob(Job job) {
+            // the job stays claimed (PROCESSING) without being run
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.jobrunr.storage.sql.common.db;
+
+import org.jobrunr.jobs.AbstractJob;
+import org.jobrunr.jobs.Job;
+import org.jobrunr.jobs.mappers.JobMapper;
+import org.jobrunr.jobs.states.ScheduledState;
+import org.jobrunr.jobs.states.StateName;
+import org.jobrunr.storage.sql.common.db.dialect.AnsiDialect;
+import org.jobrunr.utils.JobUtils;
+import org.jobrunr.utils.mapper.jackson.JacksonJsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.jobrunr.jobs.JobTestBuilder.anEnqueuedJob;
+import static org.jobrunr.storage.StorageProviderUtils.Jobs.*;
+
+/**
+ * Measures the overhead of the {@link Sql} builder itself: parsing the named parameters of a statement and binding the parameters of a job.
+ * It lives in the package of {@link Sql} to be able to benchmark the (package-private) parsing and uses a no-op {@link Connection} so that no database is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SqlBenchmark {
+
+    private static final String INSERT_STATEMENT = "into jobrunr_jobs values (:id, :version, :jobAsJson, :jobSignature, :state, :createdAt, :updatedAt, :scheduledAt, :recurringJobId)";
+
+    private Sql<Job> sql;
+    private Job job;
+
+    @Setup
+    public void setUpSql() {
+        final JobMapper jobMapper = new JobMapper(new JacksonJsonMapper());
+        sql = Sql.forType(Job.class)
+                .using(noOpConnection(), new AnsiDialect(), "", "jobrunr_jobs")
+                .withVersion(AbstractJob::getVersion)
+                .with(FIELD_JOB_AS_JSON, jobMapper::serializeJob)
+                .with(FIELD_JOB_SIGNATURE, JobUtils::getJobSignature)
+                .with(FIELD_SCHEDULED_AT, job -> job.hasState(StateName.SCHEDULED) ? job.<ScheduledState>getJobState().getScheduledAt() : null)
+                .with(FIELD_RECURRING_JOB_ID, job -> job.getRecurringJobId().orElse(null));
+        job = anEnqueuedJob().build();
+    }
+
+    @Benchmark
+    public String parseStatement() {
+        return sql.parseStatement("insert " + INSERT_STATEMENT);
+    }
+
+    @Benchmark
+    public Sql<Job> insertWithParameterBinding() throws SQLException {
+        sql.insert(job, INSERT_STATEMENT);
+        return sql;
+    }
+
+    private static Connection noOpConnection() {
+        final PreparedStatement preparedStatement = noOp(PreparedStatement.class);
+        return (Connection) Proxy.newProxyInstance(SqlBenchmark.class.getClassLoader(), new Class[]{Connection.class},
+                (proxy, method, args) -> "prepareStatement".equals(method.getName()) ? preparedStatement : null);
+    }
+
+    private static <T> T noOp(Class<T> clazz) {
+        // why: executeUpdate must report a single updated row, otherwise the Sql builder throws a ConcurrentSqlModificationException
+        return clazz.cast(Proxy.newProxyInstance(SqlBenchmark.class.getClassLoader(), new Class[]{clazz},
+                (proxy, method, args) -> "executeUpdate".equals(method.getName()) ? 1 : null));
+    }
+}
@@ -5,7 +5,9 @@ import org.jobrunr.dashboard.JobRunrDashboardWebServerConfiguration;
 import org.jobrunr.jobs.details.CachingJobDetailsGenerator;
 import org.jobrunr.jobs.details.JobDetailsGenerator;
 import org.jobrunr.jobs.filters.JobFilter;
+import org.jobrunr.jobs.mappers.JobCodec;
 import org.jobrunr.jobs.mappers.JobMapper;
+import org.jobrunr.jobs.mappers.JsonJobCodec;
 import org.jobrunr.scheduling.JobRequestScheduler;
 import org.jobrunr.scheduling.JobScheduler;
 import org.jobrunr.server.BackgroundJobServer;
@@ -36,6 +38,7 @@ public class JobRunrConfiguration {
 
     JobActivator jobActivator;
     JsonMapper jsonMapper;
+    JobCodec jobCodec;
     JobMapper jobMapper;
     final List<JobFilter> jobFilters;
     JobDetailsGenerator jobDetailsGenerator;
@@ -47,7 +50,8 @@ public class JobRunrConfiguration {
 
     JobRunrConfiguration() {
         this.jsonMapper = determineJsonMapper();
-        this.jobMapper = new JobMapper(jsonMapper);
+        this.jobCodec = new JsonJobCodec();
+        this.jobMapper = new JobMapper(jsonMapper, jobCodec);
         this.jobDetailsGenerator = new CachingJobDetailsGenerator();
         this.jobFilters = new ArrayList<>();
     }
@@ -66,7 +70,23 @@ public class JobRunrConfiguration {
             throw new IllegalStateException("Please configure the JobActivator before the DashboardWebServer.");
         }
         this.jsonMapper = validateJsonMapper(jsonMapper);
-        this.jobMapper = new JobMapper(jsonMapper);
+        this.jobMapper = new JobMapper(jsonMapper, jobCodec);
+        return this;
+    }
+
+    /**
+     * The {@link JobCodec} to encode the json of jobs before they are saved in the database (e.g. the {@link org.jobrunr.jobs.mappers.CompressedJsonJobCodec}).
+     * Jobs that were saved using another {@link JobCodec} stay readable.
+     *
+     * @param jobCodec the {@link JobCodec} to use
+     * @return the same configuration instance which provides a fluent api
+     */
+    public JobRunrConfiguration useJobCodec(JobCodec jobCodec) {
+        if (this.storageProvider != null) {
+            throw new IllegalStateException("Please configure the JobCodec before the StorageProvider.");
+        }
+        this.jobCodec = jobCodec;
+        this.jobMapper = new JobMapper(jsonMapper, jobCodec);
         return this;
     }
 
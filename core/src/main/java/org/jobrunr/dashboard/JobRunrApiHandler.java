@@ -2,6 +2,7 @@ package org.jobrunr.dashboard;
 
 import org.jobrunr.dashboard.server.http.RestHttpHandler;
 import org.jobrunr.dashboard.server.http.handlers.HttpRequestHandler;
+import org.jobrunr.dashboard.ui.model.JobPageUIModel;
 import org.jobrunr.dashboard.ui.model.RecurringJobUIModel;
 import org.jobrunr.dashboard.ui.model.VersionUIModel;
 import org.jobrunr.dashboard.ui.model.problems.ProblemsManager;
@@ -71,12 +72,13 @@ public class JobRunrApiHandler extends RestHttpHandler {
     }
 
     private HttpRequestHandler findJobByState() {
+        // why: the PageRequest contains the seek position (lastUpdatedAt and lastId) if the dashboard requests the page after the current one
         return (request, response) ->
                 response.asJson(
-                        storageProvider.getJobPage(
+                        new JobPageUIModel(storageProvider.getJobPage(
                                 request.queryParam("state", StateName.class, StateName.ENQUEUED),
                                 request.fromQueryParams(PageRequest.class)
-                        ));
+                        )));
     }
 
     private HttpRequestHandler getProblems() {
@@ -0,0 +1,34 @@
+package org.jobrunr.dashboard.ui.model;
+
+import org.jobrunr.jobs.Job;
+import org.jobrunr.storage.Page;
+
+import java.util.List;
+
+/**
+ * A page of jobs which also contains the seek position of the next page: the updatedAt and id of its last job. The dashboard passes them
+ * along when it requests the next page so that the StorageProvider can seek to it instead of skipping all jobs of the previous pages
+ * (see {@link org.jobrunr.storage.PageRequest#hasSeekPosition()}).
+ */
+public class JobPageUIModel extends Page<Job> {
+
+    private final String lastUpdatedAt;
+    private final String lastId;
+
+    public JobPageUIModel(Page<Job> jobPage) {
+        super(jobPage.getTotal(), jobPage.getItems(), jobPage.getOffset(), jobPage.getLimit());
+        final List<Job> jobs = jobPage.getItems();
+        final Job lastJob = jobs.isEmpty() ? null : jobs.get(jobs.size() - 1);
+        // why: as strings so that they are serialized in the format in which they are parsed from the query parameters, whatever the JsonMapper
+        this.lastUpdatedAt = lastJob != null ? lastJob.getUpdatedAt().toString() : null;
+        this.lastId = lastJob != null ? lastJob.getId().toString() : null;
+    }
+
+    public String getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    public String getLastId() {
+        return lastId;
+    }
+}
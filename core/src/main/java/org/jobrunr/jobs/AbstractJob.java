@@ -12,6 +12,7 @@ public abstract class AbstractJob implements Lockable {
     private String jobSignature;
     private String jobName;
     private JobDetails jobDetails;
+    private int priority = JobPriority.NORMAL;
 
     protected AbstractJob() {
         // used for deserialization
@@ -60,6 +61,14 @@ public abstract class AbstractJob implements Lockable {
         this.jobName = jobName;
     }
 
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = JobPriority.validate(priority);
+    }
+
     public JobDetails getJobDetails() {
         return jobDetails;
     }
@@ -12,6 +12,8 @@ import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
@@ -24,10 +26,15 @@ import static org.jobrunr.utils.reflection.ReflectionUtils.cast;
  */
 public class Job extends AbstractJob {
 
+    private static final Pattern DASHBOARD_METADATA_KEY_PATTERN = Pattern.compile("(" + JobDashboardLogger.JOBRUNR_LOG_KEY + "|" + JobDashboardProgressBar.JOBRUNR_PROGRESSBAR_KEY + ")-(\\d+)");
+
     private final UUID id;
     private final ArrayList<JobState> jobHistory;
     private final ConcurrentMap<String, Object> metadata;
     private String recurringJobId;
+    private int amountOfCompactedJobStates;
+    private int amountOfCompactedFailedStates;
+    private transient volatile StateName stateBeforeStateChange;
 
     private Job() {
         // used for deserialization
@@ -77,6 +84,32 @@ public class Job extends AbstractJob {
         return unmodifiableList(jobHistory);
     }
 
+    /**
+     * Returns the amount of job states that were removed from the job history by the {@link JobHistoryCompactionPolicy}.
+     *
+     * @return the amount of job states that were removed from the job history
+     */
+    public int getAmountOfCompactedJobStates() {
+        return amountOfCompactedJobStates;
+    }
+
+    public void setAmountOfCompactedJobStates(int amountOfCompactedJobStates) {
+        this.amountOfCompactedJobStates = amountOfCompactedJobStates;
+    }
+
+    /**
+     * Returns the amount of {@link FailedState FailedStates} that were removed from the job history by the {@link JobHistoryCompactionPolicy}.
+     *
+     * @return the amount of failed states that were removed from the job history
+     */
+    public int getAmountOfCompactedFailedStates() {
+        return amountOfCompactedFailedStates;
+    }
+
+    public void setAmountOfCompactedFailedStates(int amountOfCompactedFailedStates) {
+        this.amountOfCompactedFailedStates = amountOfCompactedFailedStates;
+    }
+
     public <T extends JobState> Stream<T> getJobStatesOfType(Class<T> clazz) {
         return StreamUtils.ofType(getJobStates(), clazz);
     }
@@ -106,6 +139,20 @@ public class Job extends AbstractJob {
         return getState().equals(state);
     }
 
+    /**
+     * Returns the state this job had when it was last saved or loaded, which is its current state if it did not change state since.
+     *
+     * @return the state of the job as it is known by the StorageProvider
+     */
+    public StateName getStateBeforeStateChange() {
+        final StateName state = stateBeforeStateChange;
+        return state != null ? state : getState();
+    }
+
+    void clearStateBeforeStateChange() {
+        this.stateBeforeStateChange = null;
+    }
+
     public void enqueue() {
         addJobState(new EnqueuedState());
     }
@@ -115,13 +162,21 @@ public class Job extends AbstractJob {
     }
 
     public void startProcessingOn(BackgroundJobServer backgroundJobServer) {
+        startProcessingOn(backgroundJobServer.getId());
+    }
+
+    public void startProcessingOn(UUID backgroundJobServerId) {
         if (getState() == StateName.PROCESSING) throw new ConcurrentJobModificationException(this);
-        addJobState(new ProcessingState(backgroundJobServer.getId()));
+        addJobState(new ProcessingState(backgroundJobServerId));
     }
 
     public void updateProcessing() {
+        updateProcessing(Instant.now());
+    }
+
+    public void updateProcessing(Instant updatedAt) {
         ProcessingState jobState = getJobState();
-        jobState.setUpdatedAt(Instant.now());
+        jobState.setUpdatedAt(updatedAt);
     }
 
     public void succeeded() {
@@ -140,6 +195,18 @@ public class Job extends AbstractJob {
         addJobState(new FailedState(message, exception));
     }
 
+    /**
+     * Releases a job that was claimed (and is thus PROCESSING) by a BackgroundJobServer but that was never run, so it is enqueued again
+     * for any BackgroundJobServer. This is the only way a job can go from PROCESSING back to ENQUEUED.
+     */
+    public void releaseClaim() {
+        if (getState() != StateName.PROCESSING) throw new IllegalJobStateChangeException(getState(), StateName.ENQUEUED);
+        if (stateBeforeStateChange == null) {
+            this.stateBeforeStateChange = getState();
+        }
+        this.jobHistory.add(new EnqueuedState());
+    }
+
     public void delete(String reason) {
         clearMetadata();
         addJobState(new DeletedState(reason));
@@ -174,9 +241,56 @@ public class Job extends AbstractJob {
         if (isIllegalStateChange(getState(), jobState.getName())) {
             throw new IllegalJobStateChangeException(getState(), jobState.getName());
         }
+        if (stateBeforeStateChange == null) {
+            this.stateBeforeStateChange = getState();
+        }
         this.jobHistory.add(jobState);
     }
 
+    /**
+     * Compacts the job history using the given {@link JobHistoryCompactionPolicy}. The BackgroundJobServer does so each time before it saves a job
+     * that changed state.
+     *
+     * @param compactionPolicy the {@link JobHistoryCompactionPolicy} to apply
+     */
+    public void compactJobHistory(JobHistoryCompactionPolicy compactionPolicy) {
+        if (compactionPolicy.mustCompact(jobHistory.size())) {
+            // why: the first state is kept as it holds the createdAt of the job
+            final int amountToRemove = jobHistory.size() - 1 - compactionPolicy.getMaxNumberOfLastJobStates();
+            final List<JobState> jobStatesToRemove = jobHistory.subList(1, 1 + amountToRemove);
+            amountOfCompactedJobStates += jobStatesToRemove.size();
+            amountOfCompactedFailedStates += (int) jobStatesToRemove.stream().filter(FailedState.class::isInstance).count();
+            jobStatesToRemove.clear();
+            moveDashboardMetadataOfCompactedJobStates(amountToRemove);
+        }
+
+        if (compactionPolicy.getMaxStackTraceLength() < Integer.MAX_VALUE) {
+            getLastJobStateOfType(FailedState.class).ifPresent(lastFailedState -> getJobStatesOfType(FailedState.class)
+                    .filter(failedState -> failedState != lastFailedState)
+                    .forEach(failedState -> failedState.truncateStackTrace(compactionPolicy.getMaxStackTraceLength())));
+        }
+    }
+
+    private void moveDashboardMetadataOfCompactedJobStates(int amountOfRemovedJobStates) {
+        // why: the dashboard logs and progress bars are keyed on the (1-based) position of their state in the job history
+        final Map<String, Object> movedMetadata = new HashMap<>();
+        final Iterator<Map.Entry<String, Object>> metadataIterator = metadata.entrySet().iterator();
+        while (metadataIterator.hasNext()) {
+            final Map.Entry<String, Object> metadataEntry = metadataIterator.next();
+            final Matcher matcher = DASHBOARD_METADATA_KEY_PATTERN.matcher(metadataEntry.getKey());
+            if (!matcher.matches()) continue;
+
+            final int jobStateNbr = Integer.parseInt(matcher.group(2));
+            if (jobStateNbr == 1) continue;
+
+            metadataIterator.remove();
+            if (jobStateNbr > amountOfRemovedJobStates + 1) {
+                movedMetadata.put(matcher.group(1) + "-" + (jobStateNbr - amountOfRemovedJobStates), metadataEntry.getValue());
+            }
+        }
+        metadata.putAll(movedMetadata);
+    }
+
     private void clearMetadata() {
         metadata.entrySet().removeIf(entry -> !(entry.getKey().matches("(\\b" + JobDashboardLogger.JOBRUNR_LOG_KEY + "\\b|\\b" + JobDashboardProgressBar.JOBRUNR_PROGRESSBAR_KEY + "\\b)-(\\d)")));
     }
@@ -0,0 +1,74 @@
+package org.jobrunr.jobs;
+
+/**
+ * Bounds the size of the job history of a {@link Job}: each retry adds a Scheduled, Enqueued, Processing and Failed state to it and each
+ * {@link org.jobrunr.jobs.states.FailedState} keeps the complete stack trace.
+ * <p>
+ * Each time the BackgroundJobServer saves a job that changed state, the compaction keeps the first state and the last states of the job history.
+ * The states in between are removed but counted (see {@link Job#getAmountOfCompactedJobStates()} and {@link Job#getAmountOfCompactedFailedStates()})
+ * so that e.g. the {@link org.jobrunr.jobs.filters.RetryFilter} still knows how many times a job has failed. The stack traces of all but the last {@link org.jobrunr.jobs.states.FailedState} are truncated.
+ */
+public class JobHistoryCompactionPolicy {
+
+    public static final int MIN_NUMBER_OF_LAST_JOB_STATES = 3;
+    public static final int DEFAULT_MAX_STACK_TRACE_LENGTH = 2000;
+
+    private static final JobHistoryCompactionPolicy NO_COMPACTION = new JobHistoryCompactionPolicy(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final int maxNumberOfLastJobStates;
+    private final int maxStackTraceLength;
+
+    private JobHistoryCompactionPolicy(int maxNumberOfLastJobStates, int maxStackTraceLength) {
+        if (maxNumberOfLastJobStates < MIN_NUMBER_OF_LAST_JOB_STATES) {
+            throw new IllegalArgumentException("The job history must keep at least the last " + MIN_NUMBER_OF_LAST_JOB_STATES + " job states.");
+        }
+        if (maxStackTraceLength < 0) {
+            throw new IllegalArgumentException("The max stack trace length can not be negative.");
+        }
+        this.maxNumberOfLastJobStates = maxNumberOfLastJobStates;
+        this.maxStackTraceLength = maxStackTraceLength;
+    }
+
+    /**
+     * Returns a policy that never compacts the job history. This is the default.
+     *
+     * @return a policy that never compacts the job history
+     */
+    public static JobHistoryCompactionPolicy noJobHistoryCompaction() {
+        return NO_COMPACTION;
+    }
+
+    /**
+     * Returns a policy that keeps the first state and the given amount of last states of the job history. The stack traces of older
+     * {@link org.jobrunr.jobs.states.FailedState FailedStates} are truncated to {@link #DEFAULT_MAX_STACK_TRACE_LENGTH} characters.
+     *
+     * @param maxNumberOfLastJobStates the amount of last job states to keep (at least {@link #MIN_NUMBER_OF_LAST_JOB_STATES})
+     * @return a policy that compacts the job history
+     */
+    public static JobHistoryCompactionPolicy keepLastJobStates(int maxNumberOfLastJobStates) {
+        return new JobHistoryCompactionPolicy(maxNumberOfLastJobStates, DEFAULT_MAX_STACK_TRACE_LENGTH);
+    }
+
+    /**
+     * Returns a copy of this policy which truncates the stack traces of older {@link org.jobrunr.jobs.states.FailedState FailedStates} to
+     * the given amount of characters. Use 0 to drop them.
+     *
+     * @param maxStackTraceLength the max amount of characters of the stack traces of older failed states
+     * @return a copy of this policy using the given max stack trace length
+     */
+    public JobHistoryCompactionPolicy andMaxStackTraceLength(int maxStackTraceLength) {
+        return new JobHistoryCompactionPolicy(maxNumberOfLastJobStates, maxStackTraceLength);
+    }
+
+    public int getMaxNumberOfLastJobStates() {
+        return maxNumberOfLastJobStates;
+    }
+
+    public int getMaxStackTraceLength() {
+        return maxStackTraceLength;
+    }
+
+    boolean mustCompact(int jobHistorySize) {
+        return jobHistorySize > maxNumberOfLastJobStates + 1;
+    }
+}
@@ -0,0 +1,36 @@
+package org.jobrunr.jobs;
+
+/**
+ * The priorities a {@link Job} can have. When fetching enqueued jobs, the {@link org.jobrunr.server.strategy.WorkDistributionStrategy}
+ * shares the available workers across all priorities according to their weight so that jobs with a higher priority are processed sooner
+ * without starving the jobs with a lower priority.
+ */
+public final class JobPriority {
+
+    public static final int LOW = 0;
+    public static final int NORMAL = 1;
+    public static final int HIGH = 2;
+
+    private static final int[] ALL_PRIORITIES_HIGHEST_FIRST = {HIGH, NORMAL, LOW};
+
+    private JobPriority() {
+    }
+
+    /**
+     * @return all priorities, starting with the highest one
+     */
+    public static int[] allPrioritiesHighestFirst() {
+        return ALL_PRIORITIES_HIGHEST_FIRST.clone();
+    }
+
+    public static boolean isValid(int priority) {
+        return priority >= LOW && priority <= HIGH;
+    }
+
+    public static int validate(int priority) {
+        if (!isValid(priority)) {
+            throw new IllegalArgumentException("The priority of a job must be between " + LOW + " (low) and " + HIGH + " (high), was " + priority + ".");
+        }
+        return priority;
+    }
+}
@@ -19,6 +19,7 @@ public class JobVersioner implements AutoCloseable {
 
     public void commitVersion() {
         isVersionCommitted = true;
+        job.clearStateBeforeStateChange();
     }
 
     Job getJob() {
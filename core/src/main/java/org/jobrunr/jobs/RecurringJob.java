@@ -16,6 +16,7 @@ public class RecurringJob extends AbstractJob {
     private String scheduleExpression;
     private String zoneId;
     private Instant createdAt;
+    private transient Schedule schedule;
 
     private RecurringJob() {
         // used for deserialization
@@ -40,6 +41,7 @@ public class RecurringJob extends AbstractJob {
         this.zoneId = zoneId.getId();
         this.scheduleExpression = schedule.toString();
         this.createdAt = createdAt;
+        this.schedule = schedule;
     }
 
     @Override
@@ -55,6 +57,7 @@ public class RecurringJob extends AbstractJob {
         Instant nextRun = getNextRun();
         final Job job = new Job(getJobDetails(), new ScheduledState(nextRun, this));
         job.setJobName(getJobName());
+        job.setPriority(getPriority());
         job.setRecurringJobId(getId());
         return job;
     }
@@ -62,6 +65,7 @@ public class RecurringJob extends AbstractJob {
     public Job toEnqueuedJob() {
         final Job job = new Job(getJobDetails(), new EnqueuedState());
         job.setJobName(getJobName());
+        job.setPriority(getPriority());
         job.setRecurringJobId(getId());
         return job;
     }
@@ -75,9 +79,19 @@ public class RecurringJob extends AbstractJob {
     }
 
     public Instant getNextRun() {
-        return ScheduleExpressionType
-                .getSchedule(scheduleExpression)
-                .next(createdAt, ZoneId.of(zoneId));
+        return getSchedule().next(createdAt, ZoneId.of(zoneId));
+    }
+
+    public Instant getNextRun(Instant currentInstant) {
+        return getSchedule().next(createdAt, currentInstant, ZoneId.of(zoneId));
+    }
+
+    private Schedule getSchedule() {
+        // why: parsing the schedule expression is expensive and the next run of all recurring jobs is calculated on each poll
+        if (schedule == null) {
+            schedule = ScheduleExpressionType.getSchedule(scheduleExpression);
+        }
+        return schedule;
     }
 
     private String validateAndSetId(String input) {
@@ -46,10 +46,18 @@ import java.lang.annotation.*;
 public @interface Job {
 
     int NBR_OF_RETRIES_NOT_PROVIDED = -1;
+    int PRIORITY_NOT_PROVIDED = -1;
 
     String name() default "";
 
     int retries() default NBR_OF_RETRIES_NOT_PROVIDED;
 
     Class<? extends JobFilter>[] jobFilters() default {};
+
+    /**
+     * The priority of the job, see {@link org.jobrunr.jobs.JobPriority}. If not provided, the job has a normal priority.
+     *
+     * @return the priority of the job
+     */
+    int priority() default PRIORITY_NOT_PROVIDED;
 }
@@ -27,8 +27,15 @@ public class JobDefaultFilters {
         return filters;
     }
 
+    boolean hasCustomStateFilters() {
+        // why: the RetryFilter is the only state filter of JobRunr itself
+        return filters.stream()
+                .filter(filter -> filter instanceof ElectStateFilter || filter instanceof ApplyStateFilter)
+                .anyMatch(filter -> filter.getClass() != RetryFilter.class);
+    }
+
     private ArrayList<JobFilter> getAllJobFilters(List<JobFilter> jobFilters) {
-        final ArrayList<JobFilter> result = new ArrayList<>(Arrays.asList(new DisplayNameFilter(), new RetryFilter()));
+        final ArrayList<JobFilter> result = new ArrayList<>(Arrays.asList(new DisplayNameFilter(), new JobPriorityFilter(), new RetryFilter()));
         result.addAll(jobFilters);
         return result;
     }
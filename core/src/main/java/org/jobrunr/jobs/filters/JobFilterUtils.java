@@ -37,6 +37,15 @@ public class JobFilterUtils {
         new JobPerformingFilters(job, jobDefaultFilters).runOnStateAppliedFilters();
     }
 
+    /**
+     * Returns whether an {@link ElectStateFilter} or an {@link ApplyStateFilter} is registered other than the ones of JobRunr itself.
+     *
+     * @return true if custom state filters are registered, false otherwise
+     */
+    public boolean hasCustomStateFilters() {
+        return jobDefaultFilters.hasCustomStateFilters();
+    }
+
     public void runOnStateElectionFilter(List<Job> jobs) {
         jobs.forEach(this::runOnStateElectionFilter);
     }
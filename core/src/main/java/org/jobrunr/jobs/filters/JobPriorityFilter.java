@@ -0,0 +1,16 @@
+package org.jobrunr.jobs.filters;
+
+import org.jobrunr.jobs.AbstractJob;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.utils.JobUtils;
+
+public class JobPriorityFilter implements JobClientFilter {
+
+    @Override
+    public void onCreating(AbstractJob job) {
+        JobUtils.getJobAnnotation(job.getJobDetails())
+                .map(Job::priority)
+                .filter(priority -> priority != Job.PRIORITY_NOT_PROVIDED)
+                .ifPresent(job::setPriority);
+    }
+}
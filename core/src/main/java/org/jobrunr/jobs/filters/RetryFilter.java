@@ -64,7 +64,7 @@ public class RetryFilter implements ElectStateFilter {
     }
 
     private long getFailureCount(Job job) {
-        return job.getJobStates().stream().filter(FAILED_STATES).count();
+        return job.getJobStates().stream().filter(FAILED_STATES).count() + job.getAmountOfCompactedFailedStates();
     }
 
     private boolean isProblematicExceptionAndMustNotRetry(JobState newState) {
@@ -0,0 +1,94 @@
+package org.jobrunr.jobs.mappers;
+
+import org.jobrunr.utils.mapper.JsonMapperException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A {@link JobCodec} that compresses the json of jobs using Deflate. As all StorageProviders save jobs as text, the compressed bytes are Base64
+ * encoded. Jobs with a lot of states (and thus a lot of repeated json keys) or with stack traces typically become 5 to 10 times smaller.
+ * <p>
+ * Small jobs are saved as plain json as compressing them does not pay off.
+ */
+public class CompressedJsonJobCodec implements JobCodec {
+
+    public static final String FORMAT_MARKER = "jrz1:";
+    public static final int DEFAULT_MIN_LENGTH_TO_COMPRESS = 1024;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final int minLengthToCompress;
+
+    public CompressedJsonJobCodec() {
+        this(DEFAULT_MIN_LENGTH_TO_COMPRESS);
+    }
+
+    public CompressedJsonJobCodec(int minLengthToCompress) {
+        this.minLengthToCompress = minLengthToCompress;
+    }
+
+    @Override
+    public String getFormatMarker() {
+        return FORMAT_MARKER;
+    }
+
+    @Override
+    public String encode(String jobAsJson) {
+        if (jobAsJson.length() < minLengthToCompress) return jobAsJson;
+
+        return FORMAT_MARKER + Base64.getEncoder().encodeToString(compress(jobAsJson.getBytes(UTF_8)));
+    }
+
+    @Override
+    public String decode(String encodedJob) {
+        if (!encodedJob.startsWith(FORMAT_MARKER)) return encodedJob;
+
+        try {
+            return new String(decompress(Base64.getDecoder().decode(encodedJob.substring(FORMAT_MARKER.length()))), UTF_8);
+        } catch (IllegalArgumentException | DataFormatException e) {
+            throw new JsonMapperException("Could not decompress job", e);
+        }
+    }
+
+    private static byte[] compress(byte[] bytes) {
+        // why: BEST_SPEED as jobs are saved far more often than they are compressed to a smaller size using a higher compression level
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 4);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] bytes) throws DataFormatException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length * 4);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Compressed job is truncated");
+                }
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.jobrunr.jobs.mappers;
+
+/**
+ * A JobCodec encodes the json of a {@link org.jobrunr.jobs.Job} or {@link org.jobrunr.jobs.RecurringJob} before it is saved by the
+ * {@link org.jobrunr.storage.StorageProvider} and decodes it again when it is read.
+ * <p>
+ * Each encoded value must start with the format marker of the codec so that the {@link JobMapper} knows how to decode it. This allows to switch
+ * codecs without migrating existing jobs: plain json (which never starts with a format marker) is always readable.
+ */
+public interface JobCodec {
+
+    /**
+     * @return the prefix of every value encoded by this codec, or an empty String if the codec does not change the json.
+     */
+    String getFormatMarker();
+
+    String encode(String jobAsJson);
+
+    String decode(String encodedJob);
+
+}
@@ -4,28 +4,63 @@ import org.jobrunr.jobs.Job;
 import org.jobrunr.jobs.RecurringJob;
 import org.jobrunr.utils.mapper.JsonMapper;
 
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
 public class JobMapper {
 
+     // why: jobs saved using one of these codecs stay readable, even if another codec is configured
+     private static final List<JobCodec> KNOWN_JOB_CODECS = asList(new CompressedJsonJobCodec());
+
      private final JsonMapper jsonMapper;
+     private final JobCodec jobCodec;
 
      public JobMapper(JsonMapper jsonMapper) {
+          this(jsonMapper, new JsonJobCodec());
+     }
+
+     public JobMapper(JsonMapper jsonMapper, JobCodec jobCodec) {
           this.jsonMapper = jsonMapper;
+          this.jobCodec = jobCodec;
      }
 
     public String serializeJob(Job job) {
-        return jsonMapper.serialize(job);
+        return jobCodec.encode(jsonMapper.serialize(job));
     }
 
     public Job deserializeJob(String serializedJobAsString) {
-        return jsonMapper.deserialize(serializedJobAsString, Job.class);
+        return jsonMapper.deserialize(decode(serializedJobAsString), Job.class);
     }
 
     public String serializeRecurringJob(RecurringJob job) {
-        return jsonMapper.serialize(job);
+        return jobCodec.encode(jsonMapper.serialize(job));
+    }
+
+    /**
+     * @return true if jobs are saved as plain json (and can thus be modified by the database itself), false if they are encoded by a {@link JobCodec}
+     */
+    public boolean savesJobsAsPlainJson() {
+        return jobCodec.getFormatMarker().isEmpty();
     }
 
     public RecurringJob deserializeRecurringJob(String serializedJobAsString) {
-        return jsonMapper.deserialize(serializedJobAsString, RecurringJob.class);
+        return jsonMapper.deserialize(decode(serializedJobAsString), RecurringJob.class);
+    }
+
+    private String decode(String encodedJob) {
+        if (encodedJob.startsWith("{")) return encodedJob;
+        if (hasFormatMarker(jobCodec, encodedJob)) return jobCodec.decode(encodedJob);
+
+        return KNOWN_JOB_CODECS.stream()
+                .filter(knownJobCodec -> hasFormatMarker(knownJobCodec, encodedJob))
+                .findFirst()
+                .map(knownJobCodec -> knownJobCodec.decode(encodedJob))
+                .orElse(encodedJob);
+    }
+
+    private static boolean hasFormatMarker(JobCodec jobCodec, String encodedJob) {
+        return !jobCodec.getFormatMarker().isEmpty() && encodedJob.startsWith(jobCodec.getFormatMarker());
     }
 
 }
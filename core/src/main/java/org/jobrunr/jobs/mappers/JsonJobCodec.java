@@ -0,0 +1,22 @@
+package org.jobrunr.jobs.mappers;
+
+/**
+ * The default {@link JobCodec} which saves jobs as plain json.
+ */
+public class JsonJobCodec implements JobCodec {
+
+    @Override
+    public String getFormatMarker() {
+        return "";
+    }
+
+    @Override
+    public String encode(String jobAsJson) {
+        return jobAsJson;
+    }
+
+    @Override
+    public String decode(String encodedJob) {
+        return encodedJob;
+    }
+}
@@ -11,7 +11,10 @@ public class MDCMapper {
     public static final String JOBRUNR_MDC_KEY = "mdc";
 
     public static void saveMDCContextToJob(Job job) {
-        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        saveMDCContextToJob(job, MDC.getCopyOfContextMap());
+    }
+
+    public static void saveMDCContextToJob(Job job, Map<String, String> mdcContext) {
         if(mdcContext == null) return;
         mdcContext.forEach((key, value) -> job.getMetadata().put(JOBRUNR_MDC_KEY + "-" + key, value));
     }
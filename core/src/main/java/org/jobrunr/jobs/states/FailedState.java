@@ -62,6 +62,22 @@ public class FailedState extends AbstractJobState {
         return stackTrace;
     }
 
+    /**
+     * Truncates the stack trace to (about) the given amount of characters to limit the size of the job history.
+     *
+     * @param maxLength the max amount of characters of the stack trace - if 0, the stack trace is dropped
+     */
+    public void truncateStackTrace(int maxLength) {
+        if (stackTrace == null || stackTrace.length() <= maxLength) return;
+
+        if (maxLength == 0) {
+            stackTrace = null;
+        } else {
+            final String truncatedSuffix = "\n\t... (truncated)";
+            stackTrace = stackTrace.substring(0, Math.max(0, maxLength - truncatedSuffix.length())) + truncatedSuffix;
+        }
+    }
+
     public boolean mustNotRetry() {
         return doNotRetry;
     }
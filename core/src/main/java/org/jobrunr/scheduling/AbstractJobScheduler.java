@@ -4,6 +4,7 @@ import org.jobrunr.configuration.JobRunr;
 import org.jobrunr.jobs.Job;
 import org.jobrunr.jobs.JobDetails;
 import org.jobrunr.jobs.JobId;
+import org.jobrunr.jobs.JobPriority;
 import org.jobrunr.jobs.RecurringJob;
 import org.jobrunr.jobs.filters.JobDefaultFilters;
 import org.jobrunr.jobs.filters.JobFilter;
@@ -14,17 +15,27 @@ import org.jobrunr.storage.ConcurrentJobModificationException;
 import org.jobrunr.storage.StorageProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
+import static org.jobrunr.storage.StorageProvider.BATCH_SIZE;
 
 public class AbstractJobScheduler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractJobScheduler.class);
+    private static final int MAX_BULK_ENQUEUE_BATCHES_IN_FLIGHT = 2 * Runtime.getRuntime().availableProcessors();
 
     private final StorageProvider storageProvider;
     private final JobFilterUtils jobFilterUtils;
@@ -114,10 +125,18 @@ public class AbstractJobScheduler {
         return saveJob(new Job(id, jobDetails));
     }
 
+    JobId enqueue(UUID id, int priority, JobDetails jobDetails) {
+        return saveJob(new Job(id, jobDetails), JobPriority.validate(priority));
+    }
+
     JobId schedule(UUID id, Instant scheduleAt, JobDetails jobDetails) {
         return saveJob(new Job(id, jobDetails, new ScheduledState(scheduleAt)));
     }
 
+    JobId schedule(UUID id, Instant scheduleAt, int priority, JobDetails jobDetails) {
+        return saveJob(new Job(id, jobDetails, new ScheduledState(scheduleAt)), JobPriority.validate(priority));
+    }
+
     String scheduleRecurrently(String id, JobDetails jobDetails, Schedule schedule, ZoneId zoneId) {
         final RecurringJob recurringJob = new RecurringJob(id, jobDetails, schedule, zoneId);
         jobFilterUtils.runOnCreatingFilter(recurringJob);
@@ -127,9 +146,15 @@ public class AbstractJobScheduler {
     }
 
     JobId saveJob(Job job) {
+        return saveJob(job, null);
+    }
+
+    private JobId saveJob(Job job, Integer priority) {
         try {
             MDCMapper.saveMDCContextToJob(job);
             jobFilterUtils.runOnCreatingFilter(job);
+            // why: a priority passed via the API wins over the priority of the @Job annotation
+            if (priority != null) job.setPriority(priority);
             Job savedJob = this.storageProvider.save(job);
             jobFilterUtils.runOnCreatedFilter(savedJob);
             LOGGER.debug("Created Job with id {}", job.getId());
@@ -139,8 +164,34 @@ public class AbstractJobScheduler {
         return new JobId(job.getId());
     }
 
+    <T> CompletableFuture<BulkEnqueueResult> saveJobsInBulk(Stream<T> input, Function<T, JobDetails> jobDetailsCreator) {
+        final ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            final Thread thread = new Thread(runnable, "backgroundjob-bulk-enqueuer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return saveJobsInBulk(input, jobDetailsCreator, executorService)
+                    .whenComplete((result, exception) -> executorService.shutdown());
+        } catch (RuntimeException e) {
+            executorService.shutdown();
+            throw e;
+        }
+    }
+
+    <T> CompletableFuture<BulkEnqueueResult> saveJobsInBulk(Stream<T> input, Function<T, JobDetails> jobDetailsCreator, Executor executor) {
+        // why: the jobs are saved on the threads of the executor, so the MDC context of the caller thread is passed explicitly
+        final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        return new BulkJobEnqueuer<T>(item -> new Job(jobDetailsCreator.apply(item)), jobs -> saveJobs(jobs, mdcContext), executor, BATCH_SIZE, MAX_BULK_ENQUEUE_BATCHES_IN_FLIGHT)
+                .enqueue(input);
+    }
+
     List<Job> saveJobs(List<Job> jobs) {
-        jobs.forEach(MDCMapper::saveMDCContextToJob);
+        return saveJobs(jobs, MDC.getCopyOfContextMap());
+    }
+
+    private List<Job> saveJobs(List<Job> jobs, Map<String, String> mdcContext) {
+        jobs.forEach(job -> MDCMapper.saveMDCContextToJob(job, mdcContext));
         jobFilterUtils.runOnCreatingFilter(jobs);
         final List<Job> savedJobs = this.storageProvider.save(jobs);
         jobFilterUtils.runOnCreatedFilter(savedJobs);
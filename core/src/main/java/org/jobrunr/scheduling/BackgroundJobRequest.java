@@ -55,6 +55,24 @@ public class BackgroundJobRequest {
         return jobRequestScheduler.enqueue(id, jobRequest);
     }
 
+    /**
+     * Creates a new fire-and-forget job based on a given jobRequest with the given priority (see {@link org.jobrunr.jobs.JobPriority}). JobRunr will
+     * try to find the JobRequestHandler in the IoC container or else it will try to create the handler by calling the default no-arg constructor.
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *            BackgroundJobRequest.enqueue(id, JobPriority.HIGH, new MyJobRequest());
+     *       }</pre>
+     *
+     * @param id         the uuid with which to save the job
+     * @param priority   the priority of the job
+     * @param jobRequest the jobRequest which defines the fire-and-forget job.
+     * @return the id of the job
+     */
+    public static JobId enqueue(UUID id, int priority, JobRequest jobRequest) {
+        verifyJobScheduler();
+        return jobRequestScheduler.enqueue(id, priority, jobRequest);
+    }
+
     /**
      * Creates new fire-and-forget jobs for each item in the input stream. JobRunr will try to find the JobRequestHandler in
      * the IoC container or else it will try to create the handler by calling the default no-arg constructor.
@@ -215,6 +233,26 @@ public class BackgroundJobRequest {
         return jobRequestScheduler.schedule(id, instant, jobRequest);
     }
 
+    /**
+     * Creates a new fire-and-forget job based on the given jobRequest with the given priority (see {@link org.jobrunr.jobs.JobPriority}) and schedules
+     * it to be enqueued at the given moment of time. JobRunr will try to find the JobRequestHandler in the IoC container or else it will try to
+     * create the handler by calling the default no-arg constructor. If a job with that id already exists, JobRunr will not save it again.
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *      BackgroundJobRequest.schedule(id, Instant.now().plusHours(5), JobPriority.LOW, new MyJobRequest());
+     * }</pre>
+     *
+     * @param id         the uuid with which to save the job
+     * @param instant    the moment in time at which the job will be enqueued.
+     * @param priority   the priority of the job
+     * @param jobRequest the jobRequest which defines the fire-and-forget job
+     * @return the id of the Job
+     */
+    public static JobId schedule(UUID id, Instant instant, int priority, JobRequest jobRequest) {
+        verifyJobScheduler();
+        return jobRequestScheduler.schedule(id, instant, priority, jobRequest);
+    }
+
     /**
      * Deletes a job and sets its state to DELETED. If the job is being processed, it will be interrupted.
      *
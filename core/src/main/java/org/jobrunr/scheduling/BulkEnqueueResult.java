@@ -0,0 +1,74 @@
+package org.jobrunr.scheduling;
+
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The outcome of enqueueing a stream of jobs in bulk (see {@link JobScheduler#enqueueInBulk(java.util.stream.Stream, org.jobrunr.jobs.lambdas.JobLambdaFromStream)}).
+ * The stream is enqueued in batches: a failing batch does not stop the other batches from being enqueued.
+ */
+public class BulkEnqueueResult {
+
+    private final long amountOfEnqueuedJobs;
+    private final List<FailedBatch> failedBatches;
+
+    BulkEnqueueResult(long amountOfEnqueuedJobs, List<FailedBatch> failedBatches) {
+        this.amountOfEnqueuedJobs = amountOfEnqueuedJobs;
+        this.failedBatches = unmodifiableList(failedBatches);
+    }
+
+    /**
+     * @return the amount of jobs that were saved successfully
+     */
+    public long getAmountOfEnqueuedJobs() {
+        return amountOfEnqueuedJobs;
+    }
+
+    /**
+     * @return the batches that could not be enqueued, ordered by their batch number
+     */
+    public List<FailedBatch> getFailedBatches() {
+        return failedBatches;
+    }
+
+    public boolean hasFailedBatches() {
+        return !failedBatches.isEmpty();
+    }
+
+    public static class FailedBatch {
+
+        private final int batchNumber;
+        private final List<UUID> jobIds;
+        private final Exception exception;
+
+        FailedBatch(int batchNumber, List<UUID> jobIds, Exception exception) {
+            this.batchNumber = batchNumber;
+            this.jobIds = unmodifiableList(jobIds);
+            this.exception = exception;
+        }
+
+        /**
+         * @return the number of the batch within the stream, starting from 1
+         */
+        public int getBatchNumber() {
+            return batchNumber;
+        }
+
+        /**
+         * Returns the ids of the jobs of this batch that were not enqueued: if the batch failed because some jobs already existed (a
+         * {@link org.jobrunr.storage.ConcurrentJobModificationException}), only the ids of these jobs. The ids are empty if the batch
+         * failed while creating its jobs.
+         *
+         * @return the ids of the jobs of this batch that were not enqueued
+         */
+        public List<UUID> getJobIds() {
+            return jobIds;
+        }
+
+        public Exception getException() {
+            return exception;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.jobrunr.scheduling;
+
+import org.jobrunr.JobRunrException;
+import org.jobrunr.jobs.Job;
+import org.jobrunr.scheduling.BulkEnqueueResult.FailedBatch;
+import org.jobrunr.storage.ConcurrentJobModificationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
+import static org.jobrunr.utils.streams.StreamUtils.batchCollector;
+
+/**
+ * Enqueues a stream of items as jobs using a pipeline: the caller thread reads the stream and cuts it in batches, the jobs of each batch are
+ * created and saved on the given executor. As the batches are processed in parallel, creating the jobs of one batch overlaps with saving
+ * (and thus serializing) the jobs of other batches.
+ * <p>
+ * The amount of batches in flight is bounded: once it is reached, reading the stream blocks until a batch is saved. This keeps the memory
+ * usage bounded for streams that are produced faster than they can be saved.
+ */
+class BulkJobEnqueuer<T> {
+
+    private final Function<T, Job> jobCreator;
+    private final Consumer<List<Job>> jobSaver;
+    private final Executor executor;
+    private final int batchSize;
+    private final Semaphore batchesInFlight;
+    private final AtomicLong amountOfEnqueuedJobs;
+    private final ConcurrentLinkedQueue<FailedBatch> failedBatches;
+    private final List<CompletableFuture<Void>> batches;
+    private int amountOfBatches;
+
+    BulkJobEnqueuer(Function<T, Job> jobCreator, Consumer<List<Job>> jobSaver, Executor executor, int batchSize, int maxBatchesInFlight) {
+        if (maxBatchesInFlight < 1) throw new IllegalArgumentException("At least one batch must be in flight.");
+        this.jobCreator = jobCreator;
+        this.jobSaver = jobSaver;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.batchesInFlight = new Semaphore(maxBatchesInFlight);
+        this.amountOfEnqueuedJobs = new AtomicLong();
+        this.failedBatches = new ConcurrentLinkedQueue<>();
+        this.batches = new ArrayList<>();
+    }
+
+    CompletableFuture<BulkEnqueueResult> enqueue(Stream<T> input) {
+        input.collect(batchCollector(batchSize, this::submitBatch));
+        return CompletableFuture
+                .allOf(batches.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> new BulkEnqueueResult(amountOfEnqueuedJobs.get(), failedBatches.stream().sorted(comparingInt(FailedBatch::getBatchNumber)).collect(toList())));
+    }
+
+    private void submitBatch(List<T> items) {
+        acquireBatchInFlight();
+        final int batchNumber = ++amountOfBatches;
+        // why: the batch collector reuses its list for the next batch
+        final List<T> itemsInBatch = new ArrayList<>(items);
+        try {
+            batches.add(CompletableFuture
+                    .supplyAsync(() -> itemsInBatch.stream().map(jobCreator).collect(toList()), executor)
+                    .thenAcceptAsync(jobs -> saveBatch(batchNumber, jobs), executor)
+                    .exceptionally(exception -> onBatchFailed(batchNumber, emptyList(), exception))
+                    .whenComplete((ignored, exception) -> batchesInFlight.release()));
+        } catch (RuntimeException e) {
+            batchesInFlight.release();
+            onBatchFailed(batchNumber, emptyList(), e);
+        }
+    }
+
+    private void saveBatch(int batchNumber, List<Job> jobs) {
+        try {
+            jobSaver.accept(jobs);
+            amountOfEnqueuedJobs.addAndGet(jobs.size());
+        } catch (ConcurrentJobModificationException e) {
+            final List<Job> jobsNotSaved = e.getConcurrentUpdatedJobs();
+            amountOfEnqueuedJobs.addAndGet(jobs.size() - jobsNotSaved.size());
+            onBatchFailed(batchNumber, jobsNotSaved, e);
+        } catch (Exception e) {
+            onBatchFailed(batchNumber, jobs, e);
+        }
+    }
+
+    private Void onBatchFailed(int batchNumber, List<Job> jobsNotSaved, Throwable exception) {
+        final Throwable cause = exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+        final Exception batchException = cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+        failedBatches.add(new FailedBatch(batchNumber, jobsNotSaved.stream().map(Job::getId).collect(toList()), batchException));
+        return null;
+    }
+
+    private void acquireBatchInFlight() {
+        try {
+            batchesInFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobRunrException("Interrupted while waiting to enqueue the next batch of jobs", e);
+        }
+    }
+}
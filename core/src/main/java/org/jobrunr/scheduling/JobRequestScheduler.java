@@ -11,6 +11,8 @@ import org.jobrunr.storage.StorageProvider;
 import java.time.*;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 import static java.time.ZoneId.systemDefault;
@@ -79,6 +81,24 @@ public class JobRequestScheduler extends AbstractJobScheduler {
         return enqueue(id, jobDetails);
     }
 
+    /**
+     * Creates a new fire-and-forget job based on a given jobRequest with the given priority (see {@link org.jobrunr.jobs.JobPriority}). JobRunr will
+     * try to find the JobRequestHandler in the IoC container or else it will try to create the handler by calling the default no-arg constructor.
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *            jobScheduler.enqueue(id, JobPriority.HIGH, new MyJobRequest());
+     *       }</pre>
+     *
+     * @param id         the uuid with which to save the job
+     * @param priority   the priority of the job
+     * @param jobRequest the jobRequest which defines the fire-and-forget job.
+     * @return the id of the job
+     */
+    public JobId enqueue(UUID id, int priority, JobRequest jobRequest) {
+        JobDetails jobDetails = new JobDetails(jobRequest);
+        return enqueue(id, priority, jobDetails);
+    }
+
     /**
      * Creates new fire-and-forget jobs for each item in the input stream. JobRunr will try to find the JobRequestHandler in
      * the IoC container or else it will try to create the handler by calling the default no-arg constructor.
@@ -97,6 +117,35 @@ public class JobRequestScheduler extends AbstractJobScheduler {
                 .collect(batchCollector(BATCH_SIZE, this::saveJobs));
     }
 
+    /**
+     * Creates new fire-and-forget jobs for each item in the input stream. Unlike {@link #enqueue(Stream)}, the jobs are created and saved in
+     * batches in parallel on a dedicated thread pool which is stopped once all jobs are saved. The input stream is read on the calling thread,
+     * which blocks if too many batches are in flight.
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *      Stream<MyJobRequest> workStream = getWorkStream();
+     *      BulkEnqueueResult result = jobRequestScheduler.enqueueInBulk(workStream).join();
+     * }</pre>
+     *
+     * @param input the stream of jobRequests for which to create fire-and-forget jobs
+     * @return a future which completes once all batches are saved and reports the batches that failed
+     */
+    public CompletableFuture<BulkEnqueueResult> enqueueInBulk(Stream<? extends JobRequest> input) {
+        return saveJobsInBulk(input, JobDetails::new);
+    }
+
+    /**
+     * Creates new fire-and-forget jobs for each item in the input stream. The jobs are created and saved in batches in parallel on the given
+     * executor (see {@link #enqueueInBulk(Stream)}).
+     *
+     * @param input    the stream of jobRequests for which to create fire-and-forget jobs
+     * @param executor the executor on which the jobs are created and saved
+     * @return a future which completes once all batches are saved and reports the batches that failed
+     */
+    public CompletableFuture<BulkEnqueueResult> enqueueInBulk(Stream<? extends JobRequest> input, Executor executor) {
+        return saveJobsInBulk(input, JobDetails::new, executor);
+    }
+
     /**
      * Creates a new fire-and-forget job based on the given jobRequest and schedules it to be enqueued at the given moment of time. JobRunr will try to find the JobRequestHandler in
      * the IoC container or else it will try to create the handler by calling the default no-arg constructor.
@@ -234,6 +283,26 @@ public class JobRequestScheduler extends AbstractJobScheduler {
         return schedule(id, instant, jobDetails);
     }
 
+    /**
+     * Creates a new fire-and-forget job based on the given jobRequest with the given priority (see {@link org.jobrunr.jobs.JobPriority}) and schedules
+     * it to be enqueued at the given moment of time. JobRunr will try to find the JobRequestHandler in the IoC container or else it will try to
+     * create the handler by calling the default no-arg constructor. If a job with that id already exists, JobRunr will not save it again.
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *      jobScheduler.schedule(id, Instant.now().plusHours(5), JobPriority.LOW, new MyJobRequest());
+     * }</pre>
+     *
+     * @param id         the uuid with which to save the job
+     * @param instant    the moment in time at which the job will be enqueued.
+     * @param priority   the priority of the job
+     * @param jobRequest the jobRequest which defines the fire-and-forget job
+     * @return the id of the Job
+     */
+    public JobId schedule(UUID id, Instant instant, int priority, JobRequest jobRequest) {
+        JobDetails jobDetails = new JobDetails(jobRequest);
+        return schedule(id, instant, priority, jobDetails);
+    }
+
     /**
      * Creates a new recurring job based on the given cron expression and the given jobRequest. JobRunr will try to find the JobRequestHandler in
      * the IoC container or else it will try to create the handler by calling the default no-arg constructor. The jobs will be scheduled using the systemDefault timezone.
@@ -16,6 +16,8 @@ import org.jobrunr.storage.StorageProvider;
 import java.time.*;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 import static java.time.ZoneId.systemDefault;
@@ -95,6 +97,26 @@ public class JobScheduler extends AbstractJobScheduler {
         return enqueue(id, jobDetails);
     }
 
+    /**
+     * Creates a new fire-and-forget job based on the given lambda with the given priority (see {@link org.jobrunr.jobs.JobPriority}).
+     * If a job with that id already exists, JobRunr will not save it again.
+     *
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *            MyService service = new MyService();
+     *            jobScheduler.enqueue(id, JobPriority.HIGH, () -> service.doWork());
+     *       }</pre>
+     *
+     * @param id       the uuid with which to save the job
+     * @param priority the priority of the job
+     * @param job      the lambda which defines the fire-and-forget job
+     * @return the id of the job
+     */
+    public JobId enqueue(UUID id, int priority, JobLambda job) {
+        JobDetails jobDetails = jobDetailsGenerator.toJobDetails(job);
+        return enqueue(id, priority, jobDetails);
+    }
+
     /**
      * Creates new fire-and-forget jobs for each item in the input stream using the lambda passed as {@code jobFromStream}.
      * <h5>An example:</h5>
@@ -114,6 +136,38 @@ public class JobScheduler extends AbstractJobScheduler {
                 .collect(batchCollector(BATCH_SIZE, this::saveJobs));
     }
 
+    /**
+     * Creates new fire-and-forget jobs for each item in the input stream using the lambda passed as {@code jobFromStream}. Unlike
+     * {@link #enqueue(Stream, JobLambdaFromStream)}, the jobs are created and saved in batches in parallel on a dedicated thread pool which
+     * is stopped once all jobs are saved. The input stream is read on the calling thread, which blocks if too many batches are in flight.
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *      MyService service = new MyService();
+     *      Stream<UUID> workStream = getWorkStream();
+     *      BulkEnqueueResult result = jobScheduler.enqueueInBulk(workStream, (uuid) -> service.doWork(uuid)).join();
+     * }</pre>
+     *
+     * @param input         the stream of items for which to create fire-and-forget jobs
+     * @param jobFromStream the lambda which defines the fire-and-forget job to create for each item in the {@code input}
+     * @return a future which completes once all batches are saved and reports the batches that failed
+     */
+    public <T> CompletableFuture<BulkEnqueueResult> enqueueInBulk(Stream<T> input, JobLambdaFromStream<T> jobFromStream) {
+        return saveJobsInBulk(input, x -> jobDetailsGenerator.toJobDetails(x, jobFromStream));
+    }
+
+    /**
+     * Creates new fire-and-forget jobs for each item in the input stream using the lambda passed as {@code jobFromStream}. The jobs are
+     * created and saved in batches in parallel on the given executor (see {@link #enqueueInBulk(Stream, JobLambdaFromStream)}).
+     *
+     * @param input         the stream of items for which to create fire-and-forget jobs
+     * @param jobFromStream the lambda which defines the fire-and-forget job to create for each item in the {@code input}
+     * @param executor      the executor on which the jobs are created and saved
+     * @return a future which completes once all batches are saved and reports the batches that failed
+     */
+    public <T> CompletableFuture<BulkEnqueueResult> enqueueInBulk(Stream<T> input, JobLambdaFromStream<T> jobFromStream, Executor executor) {
+        return saveJobsInBulk(input, x -> jobDetailsGenerator.toJobDetails(x, jobFromStream), executor);
+    }
+
     /**
      * Creates a new fire-and-forget job based on a given lambda. The IoC container will be used to resolve {@code MyService}.
      * <h5>An example:</h5>
@@ -146,6 +200,25 @@ public class JobScheduler extends AbstractJobScheduler {
         return enqueue(id, jobDetails);
     }
 
+    /**
+     * Creates a new fire-and-forget job based on the given lambda with the given priority (see {@link org.jobrunr.jobs.JobPriority}).
+     * The IoC container will be used to resolve {@code MyService}. If a job with that id already exists, JobRunr will not save it again.
+     *
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *            jobScheduler.<MyService>enqueue(id, JobPriority.HIGH, x -> x.doWork());
+     *       }</pre>
+     *
+     * @param id       the uuid with which to save the job
+     * @param priority the priority of the job
+     * @param iocJob   the lambda which defines the fire-and-forget job
+     * @return the id of the job
+     */
+    public <S> JobId enqueue(UUID id, int priority, IocJobLambda<S> iocJob) {
+        JobDetails jobDetails = jobDetailsGenerator.toJobDetails(iocJob);
+        return enqueue(id, priority, jobDetails);
+    }
+
     /**
      * Creates new fire-and-forget jobs for each item in the input stream using the lambda passed as {@code jobFromStream}. The IoC container will be used to resolve {@code MyService}.
      * <h5>An example:</h5>
@@ -164,6 +237,36 @@ public class JobScheduler extends AbstractJobScheduler {
                 .collect(batchCollector(BATCH_SIZE, this::saveJobs));
     }
 
+    /**
+     * Creates new fire-and-forget jobs for each item in the input stream using the lambda passed as {@code jobFromStream}. The IoC container
+     * will be used to resolve {@code MyService}. The jobs are created and saved in batches in parallel (see {@link #enqueueInBulk(Stream, JobLambdaFromStream)}).
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *      Stream<UUID> workStream = getWorkStream();
+     *      jobScheduler.<MyService, UUID>enqueueInBulk(workStream, (x, uuid) -> x.doWork(uuid)).join();
+     * }</pre>
+     *
+     * @param input            the stream of items for which to create fire-and-forget jobs
+     * @param iocJobFromStream the lambda which defines the fire-and-forget job to create for each item in the {@code input}
+     * @return a future which completes once all batches are saved and reports the batches that failed
+     */
+    public <S, T> CompletableFuture<BulkEnqueueResult> enqueueInBulk(Stream<T> input, IocJobLambdaFromStream<S, T> iocJobFromStream) {
+        return saveJobsInBulk(input, x -> jobDetailsGenerator.toJobDetails(x, iocJobFromStream));
+    }
+
+    /**
+     * Creates new fire-and-forget jobs for each item in the input stream using the lambda passed as {@code jobFromStream}. The IoC container
+     * will be used to resolve {@code MyService}. The jobs are created and saved in batches in parallel on the given executor.
+     *
+     * @param input            the stream of items for which to create fire-and-forget jobs
+     * @param iocJobFromStream the lambda which defines the fire-and-forget job to create for each item in the {@code input}
+     * @param executor         the executor on which the jobs are created and saved
+     * @return a future which completes once all batches are saved and reports the batches that failed
+     */
+    public <S, T> CompletableFuture<BulkEnqueueResult> enqueueInBulk(Stream<T> input, IocJobLambdaFromStream<S, T> iocJobFromStream, Executor executor) {
+        return saveJobsInBulk(input, x -> jobDetailsGenerator.toJobDetails(x, iocJobFromStream), executor);
+    }
+
     /**
      * Creates a new fire-and-forget job based on the given lambda and schedules it to be enqueued at the given moment of time.
      * <h5>An example:</h5>
@@ -397,6 +500,26 @@ public class JobScheduler extends AbstractJobScheduler {
         return schedule(id, instant, jobDetails);
     }
 
+    /**
+     * Creates a new fire-and-forget job based on the given lambda with the given priority (see {@link org.jobrunr.jobs.JobPriority}) and
+     * schedules it to be enqueued at the given moment of time. If a job with that id already exists, JobRunr will not save it again.
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *      MyService service = new MyService();
+     *      jobScheduler.schedule(id, Instant.now().plusHours(5), JobPriority.LOW, () -> service.doWork());
+     * }</pre>
+     *
+     * @param id       the uuid with which to save the job
+     * @param instant  the moment in time at which the job will be enqueued.
+     * @param priority the priority of the job
+     * @param job      the lambda which defines the fire-and-forget job
+     * @return the id of the Job
+     */
+    public JobId schedule(UUID id, Instant instant, int priority, JobLambda job) {
+        JobDetails jobDetails = jobDetailsGenerator.toJobDetails(job);
+        return schedule(id, instant, priority, jobDetails);
+    }
+
     /**
      * Creates a new fire-and-forget job based on the given lambda and schedules it to be enqueued at the given moment of time. The IoC container will be used to resolve {@code MyService}.
      * <h5>An example:</h5>
@@ -430,6 +553,26 @@ public class JobScheduler extends AbstractJobScheduler {
         return schedule(id, instant, jobDetails);
     }
 
+    /**
+     * Creates a new fire-and-forget job based on the given lambda with the given priority (see {@link org.jobrunr.jobs.JobPriority}) and
+     * schedules it to be enqueued at the given moment of time. The IoC container will be used to resolve {@code MyService}.
+     * If a job with that id already exists, JobRunr will not save it again.
+     * <h5>An example:</h5>
+     * <pre>{@code
+     *      jobScheduler.<MyService>schedule(id, Instant.now().plusHours(5), JobPriority.LOW, x -> x.doWork());
+     * }</pre>
+     *
+     * @param id       the uuid with which to save the job
+     * @param instant  the moment in time at which the job will be enqueued.
+     * @param priority the priority of the job
+     * @param iocJob   the lambda which defines the fire-and-forget job
+     * @return the id of the Job
+     */
+    public <S> JobId schedule(UUID id, Instant instant, int priority, IocJobLambda<S> iocJob) {
+        JobDetails jobDetails = jobDetailsGenerator.toJobDetails(iocJob);
+        return schedule(id, instant, priority, jobDetails);
+    }
+
     /**
      * Creates a new recurring job based on the given lambda and the given cron expression. The jobs will be scheduled using the systemDefault timezone.
      * <h5>An example:</h5>
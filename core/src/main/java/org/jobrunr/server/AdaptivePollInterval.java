@@ -0,0 +1,56 @@
+package org.jobrunr.server;
+
+import java.time.Duration;
+
+/**
+ * Determines the delay before the next run of the {@link JobZooKeeper} based on the outcome of the previous run:
+ * <ul>
+ *     <li>if it found a full page of enqueued or scheduled jobs, there is more work waiting and it runs again after the minimum poll interval</li>
+ *     <li>if it found some work (or jobs are still being processed), it runs again after the configured poll interval</li>
+ *     <li>if it found nothing, the poll interval is doubled until it reaches the maximum poll interval</li>
+ * </ul>
+ * As soon as jobs start processing, the backoff is reset as these jobs need a heartbeat each poll interval.
+ */
+class AdaptivePollInterval {
+
+    private final Duration minPollInterval;
+    private final Duration pollInterval;
+    private final Duration maxPollInterval;
+    private volatile Duration currentPollInterval;
+
+    AdaptivePollInterval(Duration minPollInterval, Duration pollInterval, Duration maxPollInterval) {
+        this.minPollInterval = minPollInterval;
+        this.maxPollInterval = maxPollInterval;
+        this.pollInterval = min(max(pollInterval, minPollInterval), maxPollInterval);
+        this.currentPollInterval = this.pollInterval;
+    }
+
+    synchronized Duration next(boolean foundFullPageOfWork, boolean foundWork) {
+        if (foundFullPageOfWork) {
+            currentPollInterval = minPollInterval;
+        } else if (foundWork) {
+            currentPollInterval = pollInterval;
+        } else {
+            currentPollInterval = min(currentPollInterval.multipliedBy(2), maxPollInterval);
+        }
+        return currentPollInterval;
+    }
+
+    synchronized boolean resetBackoff() {
+        if (currentPollInterval.compareTo(pollInterval) <= 0) return false;
+        currentPollInterval = pollInterval;
+        return true;
+    }
+
+    Duration getCurrentPollInterval() {
+        return currentPollInterval;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -5,8 +5,12 @@ import org.jobrunr.jobs.context.JobRunrDashboardLogger;
 import org.jobrunr.jobs.filters.JobPerformingFilters;
 import org.jobrunr.jobs.mappers.MDCMapper;
 import org.jobrunr.jobs.states.IllegalJobStateChangeException;
+import org.jobrunr.jobs.states.JobState;
+import org.jobrunr.jobs.states.ProcessingState;
 import org.jobrunr.jobs.states.StateName;
 import org.jobrunr.scheduling.exceptions.JobNotFoundException;
+import org.jobrunr.server.metrics.JobPerformanceListener;
+import org.jobrunr.server.metrics.JobPerformanceListener.Outcome;
 import org.jobrunr.server.runner.BackgroundJobRunner;
 import org.jobrunr.storage.ConcurrentJobModificationException;
 import org.jobrunr.utils.annotations.VisibleFor;
@@ -15,6 +19,8 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.jobrunr.jobs.states.StateName.*;
@@ -28,6 +34,9 @@ public class BackgroundJobPerformer implements Runnable {
     private final BackgroundJobServer backgroundJobServer;
     private final JobPerformingFilters jobPerformingFilters;
     private final Job job;
+    private Outcome outcome;
+    private long runDurationInNanos;
+    private long saveDurationInNanos;
 
     public BackgroundJobPerformer(BackgroundJobServer backgroundJobServer, Job job) {
         this.backgroundJobServer = backgroundJobServer;
@@ -46,6 +55,7 @@ public class BackgroundJobPerformer implements Runnable {
         } catch (Exception e) {
             if (isJobDeletedWhileProcessing(e)) {
                 // nothing to do anymore as Job is deleted
+                outcome = Outcome.DELETED;
                 return;
             } else if (isJobServerStopped(e)) {
                 updateJobStateToFailedAndRunJobFilters("Job processing was stopped as background job server has stopped", e);
@@ -57,13 +67,18 @@ public class BackgroundJobPerformer implements Runnable {
             }
         } finally {
             backgroundJobServer.getJobZooKeeper().notifyThreadIdle();
+            notifyJobPerformed();
         }
     }
 
     private boolean updateJobStateToProcessingRunJobFiltersAndReturnIfProcessingCanStart() {
         try {
-            job.startProcessingOn(backgroundJobServer);
-            saveAndRunStateRelatedJobFilters(job);
+            if (isClaimedByThisBackgroundJobServer()) {
+                runStateRelatedJobFiltersAndSaveIfStateChanged(job);
+            } else {
+                job.startProcessingOn(backgroundJobServer);
+                saveAndRunStateRelatedJobFilters(job);
+            }
             LOGGER.debug("Job(id={}, jobName='{}') processing started", job.getId(), job.getJobName());
             return job.hasState(PROCESSING);
         } catch (ConcurrentJobModificationException e) {
@@ -81,7 +96,12 @@ public class BackgroundJobPerformer implements Runnable {
             LOGGER.trace("Job(id={}, jobName='{}') is running", job.getId(), job.getJobName());
             jobPerformingFilters.runOnJobProcessingFilters();
             BackgroundJobRunner backgroundJobRunner = backgroundJobServer.getBackgroundJobRunner(job);
-            backgroundJobRunner.run(job);
+            final long runStartedAt = System.nanoTime();
+            try {
+                backgroundJobRunner.run(job);
+            } finally {
+                runDurationInNanos = System.nanoTime() - runStartedAt;
+            }
             jobPerformingFilters.runOnJobProcessedFilters();
         } finally {
             backgroundJobServer.getJobZooKeeper().stopProcessing(job);
@@ -95,8 +115,11 @@ public class BackgroundJobPerformer implements Runnable {
             LOGGER.debug("Job(id={}, jobName='{}') processing succeeded", job.getId(), job.getJobName());
             job.succeeded();
             saveAndRunStateRelatedJobFilters(job);
+            // why: only set once the job is saved, a job that could not be saved as SUCCEEDED is not reported as succeeded
+            outcome = Outcome.SUCCEEDED;
         } catch (IllegalJobStateChangeException ex) {
             if (ex.getFrom() == DELETED) {
+                outcome = Outcome.DELETED;
                 LOGGER.info("Job finished successfully but it was already deleted - ignoring illegal state change from {} to {}", ex.getFrom(), ex.getTo());
             } else {
                 throw ex;
@@ -111,6 +134,7 @@ public class BackgroundJobPerformer implements Runnable {
             Exception actualException = unwrapException(e);
             job.failed(message, actualException);
             saveAndRunStateRelatedJobFilters(job);
+            outcome = Outcome.FAILED;
             if (job.getState() == FAILED) {
                 LOGGER.error("Job(id={}, jobName='{}') processing failed: {}", job.getId(), job.getJobName(), message, actualException);
             } else {
@@ -118,6 +142,7 @@ public class BackgroundJobPerformer implements Runnable {
             }
         } catch (IllegalJobStateChangeException ex) {
             if (ex.getFrom() == DELETED) {
+                outcome = Outcome.DELETED;
                 LOGGER.info("Job processing failed but it was already deleted - ignoring illegal state change from {} to {}", ex.getFrom(), ex.getTo());
             } else {
                 throw ex;
@@ -132,12 +157,54 @@ public class BackgroundJobPerformer implements Runnable {
         StateName beforeStateElection = job.getState();
         jobPerformingFilters.runOnStateElectionFilter();
         StateName afterStateElection = job.getState();
+        job.compactJobHistory(backgroundJobServer.getConfiguration().jobHistoryCompactionPolicy);
+        final long saveStartedAt = System.nanoTime();
         this.backgroundJobServer.getStorageProvider().save(job);
+        saveDurationInNanos = System.nanoTime() - saveStartedAt;
+        if (beforeStateElection != afterStateElection) {
+            jobPerformingFilters.runOnStateAppliedFilters();
+        }
+    }
+
+    protected void runStateRelatedJobFiltersAndSaveIfStateChanged(Job job) {
+        jobPerformingFilters.runOnStateAppliedFilters();
+        StateName beforeStateElection = job.getState();
+        jobPerformingFilters.runOnStateElectionFilter();
+        StateName afterStateElection = job.getState();
         if (beforeStateElection != afterStateElection) {
+            this.backgroundJobServer.getStorageProvider().save(job);
             jobPerformingFilters.runOnStateAppliedFilters();
         }
     }
 
+    private void notifyJobPerformed() {
+        final JobPerformanceListener jobPerformanceListener = backgroundJobServer.getJobPerformanceListener();
+        // why: no outcome means the job was not performed by this BackgroundJobServer (e.g. it was already processed by another one)
+        if (jobPerformanceListener == null || outcome == null) return;
+
+        try {
+            jobPerformanceListener.onJobPerformed(job, outcome, getQueueWait(), Duration.ofNanos(runDurationInNanos), Duration.ofNanos(saveDurationInNanos));
+        } catch (Exception e) {
+            LOGGER.warn("Could not record the performance of job(id={}, jobName='{}')", job.getId(), job.getJobName(), e);
+        }
+    }
+
+    private Duration getQueueWait() {
+        final List<JobState> jobStates = job.getJobStates();
+        for (int i = jobStates.size() - 1; i > 0; i--) {
+            if (jobStates.get(i).getName() == PROCESSING) {
+                final JobState previousJobState = jobStates.get(i - 1);
+                return previousJobState.getName() == ENQUEUED ? Duration.between(previousJobState.getCreatedAt(), jobStates.get(i).getCreatedAt()) : null;
+            }
+        }
+        return null;
+    }
+
+    private boolean isClaimedByThisBackgroundJobServer() {
+        // why: jobs claimed via StorageProvider.claimEnqueuedJobs are already saved in the PROCESSING state for this server
+        return job.hasState(PROCESSING) && job.<ProcessingState>getJobState().getServerId().equals(backgroundJobServer.getId());
+    }
+
     private boolean isJobDeletedWhileProcessing(Exception e) {
         return hasCause(e, InterruptedException.class) && job.hasState(StateName.DELETED);
     }
@@ -6,11 +6,13 @@ import org.jobrunr.jobs.filters.JobFilter;
 import org.jobrunr.server.dashboard.DashboardNotificationManager;
 import org.jobrunr.server.jmx.BackgroundJobServerMBean;
 import org.jobrunr.server.jmx.JobServerStats;
+import org.jobrunr.server.metrics.JobPerformanceListener;
 import org.jobrunr.server.runner.*;
 import org.jobrunr.server.strategy.WorkDistributionStrategy;
 import org.jobrunr.server.tasks.CheckForNewJobRunrVersion;
 import org.jobrunr.server.tasks.CheckIfAllJobsExistTask;
 import org.jobrunr.server.tasks.CreateClusterIdIfNotExists;
+import org.jobrunr.server.tasks.ReconcileJobStatsTask;
 import org.jobrunr.server.tasks.UpdateRecurringJobsTask;
 import org.jobrunr.server.threadpool.JobRunrExecutor;
 import org.jobrunr.server.threadpool.ScheduledThreadPoolJobRunrExecutor;
@@ -21,14 +23,17 @@ import org.jobrunr.utils.mapper.JsonMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.ServiceLoader;
 import java.util.Spliterator;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static java.lang.Integer.compare;
@@ -55,10 +60,13 @@ public class BackgroundJobServer implements BackgroundJobServerMBean {
     private final ServerZooKeeper serverZooKeeper;
     private final JobZooKeeper jobZooKeeper;
     private final BackgroundJobServerLifecycleLock lifecycleLock;
+    private final AtomicLong jobZooKeeperSchedule;
     private volatile Instant firstHeartbeat;
     private volatile boolean isRunning;
     private volatile Boolean isMaster;
+    private volatile MaintenancePartition maintenancePartition;
     private volatile ScheduledThreadPoolExecutor zookeeperThreadPool;
+    private volatile JobPerformanceListener jobPerformanceListener;
     private JobRunrExecutor jobExecutor;
 
     public BackgroundJobServer(StorageProvider storageProvider, JsonMapper jsonMapper) {
@@ -82,9 +90,11 @@ public class BackgroundJobServer implements BackgroundJobServerMBean {
         this.jobDefaultFilters = new JobDefaultFilters();
         this.jobServerStats = new JobServerStats();
         this.workDistributionStrategy = createWorkDistributionStrategy(configuration);
+        this.maintenancePartition = MaintenancePartition.allJobs();
         this.serverZooKeeper = createServerZooKeeper();
         this.jobZooKeeper = createJobZooKeeper();
         this.lifecycleLock = new BackgroundJobServerLifecycleLock();
+        this.jobZooKeeperSchedule = new AtomicLong();
     }
 
     public UUID getId() {
@@ -133,6 +143,7 @@ public class BackgroundJobServer implements BackgroundJobServerMBean {
         try (BackgroundJobServerLifecycleLock ignored = lifecycleLock.lock()) {
             LOGGER.info("BackgroundJobServer and BackgroundJobPerformers - stopping (waiting for all jobs to complete - max 10 seconds)");
             isMaster = null;
+            maintenancePartition = MaintenancePartition.allJobs();
             stopWorkers();
             stopZooKeepers();
             isRunning = false;
@@ -166,12 +177,25 @@ public class BackgroundJobServer implements BackgroundJobServerMBean {
         }
     }
 
+    MaintenancePartition getMaintenancePartition() {
+        return maintenancePartition;
+    }
+
+    void setMaintenancePartition(MaintenancePartition maintenancePartition) {
+        this.maintenancePartition = maintenancePartition;
+    }
+
     public boolean isRunning() {
         try (BackgroundJobServerLifecycleLock ignored = lifecycleLock.lock()) {
             return isRunning;
         }
     }
 
+    @Override
+    public double getCurrentPollIntervalInSeconds() {
+        return jobZooKeeper.getPollInterval().toMillis() / 1000.0;
+    }
+
     public BackgroundJobServerStatus getServerStatus() {
         return new BackgroundJobServerStatus(
                 backgroundJobServerId, workDistributionStrategy.getWorkerCount(),
@@ -214,6 +238,14 @@ public class BackgroundJobServer implements BackgroundJobServerMBean {
         return jobDefaultFilters;
     }
 
+    public void setJobPerformanceListener(JobPerformanceListener jobPerformanceListener) {
+        this.jobPerformanceListener = jobPerformanceListener;
+    }
+
+    JobPerformanceListener getJobPerformanceListener() {
+        return jobPerformanceListener;
+    }
+
     BackgroundJobRunner getBackgroundJobRunner(Job job) {
         assertJobExists(job.getJobDetails());
         return backgroundJobRunners.stream()
@@ -253,11 +285,49 @@ public class BackgroundJobServer implements BackgroundJobServerMBean {
         // why fixedDelay: in case of long stop-the-world garbage collections, the zookeeper tasks will queue up
         // and all will be launched one after another
         zookeeperThreadPool.scheduleWithFixedDelay(serverZooKeeper, 0, configuration.pollIntervalInSeconds, TimeUnit.SECONDS);
-        zookeeperThreadPool.scheduleWithFixedDelay(jobZooKeeper, 1, configuration.pollIntervalInSeconds, TimeUnit.SECONDS);
+        if (configuration.minPollInterval == null) {
+            zookeeperThreadPool.scheduleWithFixedDelay(jobZooKeeper, 1, configuration.pollIntervalInSeconds, TimeUnit.SECONDS);
+        } else {
+            scheduleJobZooKeeper(zookeeperThreadPool, Duration.ofSeconds(1), jobZooKeeperSchedule.incrementAndGet());
+        }
         zookeeperThreadPool.scheduleWithFixedDelay(new CheckForNewJobRunrVersion(this), 1, 8, TimeUnit.HOURS);
+        zookeeperThreadPool.scheduleWithFixedDelay(new ReconcileJobStatsTask(this), 1, 1, TimeUnit.HOURS);
+        // why: StorageProviders that support push notifications wake up the JobZooKeeper as soon as jobs are enqueued, polling stays as fallback
+        if (storageProvider.canNotifyOfEnqueuedJobs()) {
+            storageProvider.addJobStorageOnChangeListener(jobZooKeeper);
+        }
+    }
+
+    void rescheduleJobZooKeeper() {
+        final ScheduledThreadPoolExecutor threadPool = zookeeperThreadPool;
+        if (threadPool == null || configuration.minPollInterval == null) return;
+        scheduleJobZooKeeper(threadPool, jobZooKeeper.getPollInterval(), jobZooKeeperSchedule.incrementAndGet());
+    }
+
+    private void scheduleJobZooKeeper(ScheduledThreadPoolExecutor threadPool, Duration delay, long schedule) {
+        // why: with an adaptive poll interval each run of the JobZooKeeper determines the delay before its next run
+        // why: a reschedule starts a new schedule, the runs of a previous schedule are skipped and do not schedule a next run
+        if (threadPool.isShutdown()) return;
+        try {
+            threadPool.schedule(() -> {
+                if (schedule != jobZooKeeperSchedule.get()) return;
+                try {
+                    jobZooKeeper.run();
+                } finally {
+                    if (schedule == jobZooKeeperSchedule.get()) {
+                        scheduleJobZooKeeper(threadPool, jobZooKeeper.getPollInterval(), schedule);
+                    }
+                }
+            }, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // why: the BackgroundJobServer is being stopped
+        }
     }
 
     private void stopZooKeepers() {
+        if (storageProvider.canNotifyOfEnqueuedJobs()) {
+            storageProvider.removeJobStorageOnChangeListener(jobZooKeeper);
+        }
         serverZooKeeper.stop();
         stop(zookeeperThreadPool);
         this.zookeeperThreadPool = null;
@@ -266,10 +336,12 @@ public class BackgroundJobServer implements BackgroundJobServerMBean {
     private void startWorkers() {
         jobExecutor = loadJobRunrExecutor();
         jobExecutor.start();
+        jobZooKeeper.startPrefetchingJobs();
     }
 
     private void stopWorkers() {
         if (jobExecutor == null) return;
+        jobZooKeeper.stopPrefetchingJobs();
         jobExecutor.stop();
         this.jobExecutor = null;
     }
@@ -327,7 +399,7 @@ public class BackgroundJobServer implements BackgroundJobServerMBean {
         return stream(spliteratorUnknownSize(serviceLoader.iterator(), Spliterator.ORDERED), false)
                 .sorted((a, b) -> compare(b.getPriority(), a.getPriority()))
                 .findFirst()
-                .orElse(new ScheduledThreadPoolJobRunrExecutor(workDistributionStrategy.getWorkerCount(), "backgroundjob-worker-pool"));
+                .orElseGet(() -> configuration.backgroundJobServerWorkerPolicy.toJobRunrExecutor(this));
     }
 
     private static class BackgroundJobServerLifecycleLock implements AutoCloseable {
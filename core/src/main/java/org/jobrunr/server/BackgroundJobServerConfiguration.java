@@ -1,5 +1,6 @@
 package org.jobrunr.server;
 
+import org.jobrunr.jobs.JobHistoryCompactionPolicy;
 import org.jobrunr.server.configuration.*;
 
 import java.time.Duration;
@@ -18,6 +19,11 @@ public class BackgroundJobServerConfiguration {
     Duration permanentlyDeleteDeletedJobsAfter = DEFAULT_PERMANENTLY_DELETE_JOBS_DURATION;
     BackgroundJobServerWorkerPolicy backgroundJobServerWorkerPolicy = new DefaultBackgroundJobServerWorkerPolicy();
     ConcurrentJobModificationPolicy concurrentJobModificationPolicy = new DefaultConcurrentJobModificationPolicy();
+    boolean partitionedMaintenance = false;
+    Duration minPollInterval;
+    Duration maxPollInterval;
+    int jobPrefetchBufferSize = 0;
+    JobHistoryCompactionPolicy jobHistoryCompactionPolicy = JobHistoryCompactionPolicy.noJobHistoryCompaction();
 
     private BackgroundJobServerConfiguration() {
 
@@ -41,6 +47,7 @@ public class BackgroundJobServerConfiguration {
     public BackgroundJobServerConfiguration andPollIntervalInSeconds(int pollIntervalInSeconds) {
         if (pollIntervalInSeconds < 5)
             throw new IllegalArgumentException("The pollIntervalInSeconds can not be smaller than 5 - otherwise it will cause to much load on your SQL/noSQL datastore.");
+        validateMaxPollInterval(pollIntervalInSeconds, maxPollInterval);
         this.pollIntervalInSeconds = pollIntervalInSeconds;
         return this;
     }
@@ -103,4 +110,79 @@ public class BackgroundJobServerConfiguration {
         this.concurrentJobModificationPolicy = concurrentJobModificationPolicy;
         return this;
     }
+
+    /**
+     * Allows to split the maintenance work (enqueueing scheduled jobs, failing orphaned jobs and deleting succeeded jobs) across all live
+     * BackgroundJobServers instead of letting the master do all of it. Each server then only handles the jobs for which the hash of the
+     * job id modulo the amount of live servers matches its own index. Recurring jobs and permanently deleting jobs are still done by the master.
+     * <p>
+     * Enable it on all BackgroundJobServers of the cluster.
+     *
+     * @param partitionedMaintenance whether the maintenance work is split across all live BackgroundJobServers
+     * @return the same configuration instance which provides a fluent api
+     */
+    public BackgroundJobServerConfiguration andPartitionedMaintenance(boolean partitionedMaintenance) {
+        this.partitionedMaintenance = partitionedMaintenance;
+        return this;
+    }
+
+    /**
+     * Allows to let the BackgroundJobServer adapt the time between two checks for new work: it checks again after the given minimum poll
+     * interval if the previous check found a full page of enqueued or scheduled jobs and backs off exponentially up to the given maximum
+     * poll interval if the previous checks found nothing. If jobs are being processed or only some work was found, the pollIntervalInSeconds
+     * is used.
+     * <p>
+     * Note that scheduled and recurring jobs may be enqueued up to the maximum poll interval too late if the BackgroundJobServer is idle.
+     * The maximum poll interval must stay below 4 times the pollIntervalInSeconds, after which jobs in PROCESSING are seen as orphaned.
+     *
+     * @param minPollInterval the poll interval when there is a lot of work (at least 100 milliseconds)
+     * @param maxPollInterval the poll interval when there is no work at all (smaller than 4 times the pollIntervalInSeconds)
+     * @return the same configuration instance which provides a fluent api
+     */
+    public BackgroundJobServerConfiguration andAdaptivePollInterval(Duration minPollInterval, Duration maxPollInterval) {
+        if (minPollInterval.toMillis() < 100)
+            throw new IllegalArgumentException("The minPollInterval can not be smaller than 100 milliseconds - otherwise it will cause to much load on your SQL/noSQL datastore.");
+        if (maxPollInterval.compareTo(minPollInterval) < 0)
+            throw new IllegalArgumentException("The maxPollInterval can not be smaller than the minPollInterval.");
+        validateMaxPollInterval(pollIntervalInSeconds, maxPollInterval);
+        this.minPollInterval = minPollInterval;
+        this.maxPollInterval = maxPollInterval;
+        return this;
+    }
+
+    /**
+     * Allows to keep a buffer of enqueued jobs that are already claimed by the BackgroundJobServer. Workers that finish a job take their
+     * next job from this buffer without waiting for the SQL/noSQL datastore. A background thread refills the buffer when it is half empty.
+     * <p>
+     * This is only used if the StorageProvider can claim enqueued jobs. Use 0 (the default) to disable it.
+     *
+     * @param jobPrefetchBufferSize the maximum amount of claimed jobs to keep in the buffer
+     * @return the same configuration instance which provides a fluent api
+     */
+    public BackgroundJobServerConfiguration andJobPrefetchBufferSize(int jobPrefetchBufferSize) {
+        if (jobPrefetchBufferSize < 0)
+            throw new IllegalArgumentException("The jobPrefetchBufferSize can not be negative.");
+        this.jobPrefetchBufferSize = jobPrefetchBufferSize;
+        return this;
+    }
+
+    /**
+     * Allows to set the {@link JobHistoryCompactionPolicy} which bounds the size of the job history (and thus of the jobs in the database) of jobs
+     * that are retried a lot. It is applied each time the BackgroundJobServer saves a job that changed state. By default, the job history is not compacted.
+     *
+     * @param jobHistoryCompactionPolicy the {@link JobHistoryCompactionPolicy} to use
+     * @return the same configuration instance which provides a fluent api
+     */
+    public BackgroundJobServerConfiguration andJobHistoryCompactionPolicy(JobHistoryCompactionPolicy jobHistoryCompactionPolicy) {
+        if (jobHistoryCompactionPolicy == null)
+            throw new IllegalArgumentException("The jobHistoryCompactionPolicy can not be null.");
+        this.jobHistoryCompactionPolicy = jobHistoryCompactionPolicy;
+        return this;
+    }
+
+    private static void validateMaxPollInterval(int pollIntervalInSeconds, Duration maxPollInterval) {
+        // why: jobs in PROCESSING that did not get a heartbeat for 4 poll intervals are orphaned, an idle JobZooKeeper must run before that
+        if (maxPollInterval != null && maxPollInterval.compareTo(Duration.ofSeconds(pollIntervalInSeconds).multipliedBy(4)) >= 0)
+            throw new IllegalArgumentException("The maxPollInterval must be smaller than 4 times the pollIntervalInSeconds - otherwise jobs that are being processed will be seen as orphaned.");
+    }
 }
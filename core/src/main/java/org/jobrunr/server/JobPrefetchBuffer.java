@@ -0,0 +1,120 @@
+package org.jobrunr.server;
+
+import org.jobrunr.jobs.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+/**
+ * A bounded buffer of jobs that are already claimed by this BackgroundJobServer. Worker threads that become idle take their next job from
+ * this buffer without any round-trip to the StorageProvider. A single background thread refills the buffer as soon as it falls below
+ * its low-water mark.
+ */
+class JobPrefetchBuffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobPrefetchBuffer.class);
+
+    private final BlockingQueue<Job> jobs;
+    private final int lowWaterMark;
+    private final IntFunction<List<Job>> jobFetcher;
+    private final Runnable onJobsFetched;
+    private final AtomicBoolean isFetching;
+    private volatile ExecutorService fetcherExecutorService;
+
+    JobPrefetchBuffer(int capacity, IntFunction<List<Job>> jobFetcher, Runnable onJobsFetched) {
+        this.jobs = new ArrayBlockingQueue<>(capacity);
+        this.lowWaterMark = Math.max(1, capacity / 2);
+        this.jobFetcher = jobFetcher;
+        this.onJobsFetched = onJobsFetched;
+        this.isFetching = new AtomicBoolean(false);
+    }
+
+    void start() {
+        fetcherExecutorService = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "backgroundjob-prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stops the background fetcher and returns the jobs that were still in the buffer. These jobs are claimed by this BackgroundJobServer
+     * but will never be processed by it.
+     *
+     * @return the claimed jobs that were not processed
+     */
+    List<Job> stop() {
+        final ExecutorService executorService = fetcherExecutorService;
+        fetcherExecutorService = null;
+        if (executorService != null) {
+            executorService.shutdown();
+            try {
+                executorService.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final List<Job> unprocessedJobs = new ArrayList<>();
+        jobs.drainTo(unprocessedJobs);
+        return unprocessedJobs;
+    }
+
+    List<Job> take(int amount) {
+        final List<Job> result = new ArrayList<>();
+        jobs.drainTo(result, amount);
+        refillIfBelowLowWaterMark();
+        return result;
+    }
+
+    List<Job> getJobs() {
+        return new ArrayList<>(jobs);
+    }
+
+    int size() {
+        return jobs.size();
+    }
+
+    void refillIfBelowLowWaterMark() {
+        final ExecutorService executorService = fetcherExecutorService;
+        if (executorService == null || jobs.size() >= lowWaterMark) return;
+
+        if (isFetching.compareAndSet(false, true)) {
+            try {
+                executorService.execute(this::refill);
+            } catch (RejectedExecutionException e) {
+                // why: the BackgroundJobServer is being stopped
+                isFetching.set(false);
+            }
+        }
+    }
+
+    private void refill() {
+        List<Job> fetchedJobs = new ArrayList<>();
+        try {
+            final int amountToFetch = jobs.remainingCapacity();
+            if (amountToFetch > 0) {
+                fetchedJobs = jobFetcher.apply(amountToFetch);
+                // why: this is the only thread that adds jobs, so the remaining capacity can only have grown since it was read
+                jobs.addAll(fetchedJobs);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Could not prefetch enqueued jobs - they will be fetched on the next poll", e);
+        } finally {
+            isFetching.set(false);
+        }
+        // why: only notify if jobs were found, otherwise an empty queue would keep on triggering new fetches
+        if (!fetchedJobs.isEmpty()) {
+            onJobsFetched.run();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.jobrunr.server;
 import org.jobrunr.JobRunrException;
 import org.jobrunr.SevereJobRunrException;
 import org.jobrunr.jobs.Job;
+import org.jobrunr.jobs.JobHistoryCompactionPolicy;
 import org.jobrunr.jobs.RecurringJob;
 import org.jobrunr.jobs.filters.JobFilterUtils;
 import org.jobrunr.jobs.states.StateName;
@@ -11,19 +12,23 @@ import org.jobrunr.server.concurrent.UnresolvableConcurrentJobModificationExcept
 import org.jobrunr.server.dashboard.DashboardNotificationManager;
 import org.jobrunr.server.strategy.WorkDistributionStrategy;
 import org.jobrunr.storage.*;
+import org.jobrunr.storage.listeners.EnqueuedJobsChangeListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.time.Duration.ofSeconds;
 import static java.time.Instant.now;
@@ -34,9 +39,10 @@ import static org.jobrunr.jobs.states.StateName.PROCESSING;
 import static org.jobrunr.jobs.states.StateName.SUCCEEDED;
 import static org.jobrunr.storage.PageRequest.ascOnUpdatedAt;
 
-public class JobZooKeeper implements Runnable {
+public class JobZooKeeper implements Runnable, EnqueuedJobsChangeListener {
 
     static final Logger LOGGER = LoggerFactory.getLogger(JobZooKeeper.class);
+    private static final String DELETE_SUCCEEDED_JOB_REASON = "JobRunr maintenance - deleting succeeded job";
 
     private final BackgroundJobServer backgroundJobServer;
     private final StorageProvider storageProvider;
@@ -49,17 +55,29 @@ public class JobZooKeeper implements Runnable {
     private final ReentrantLock reentrantLock;
     private final AtomicInteger occupiedWorkers;
     private final Duration durationPollIntervalTimeBox;
-    private RecurringJobsResult recurringJobs;
+    private final RecurringJobsQueue recurringJobsQueue;
+    private final boolean isPartitionedMaintenance;
+    private final JobHistoryCompactionPolicy jobHistoryCompactionPolicy;
+    private MaintenancePartition maintenancePartition;
+    private final AdaptivePollInterval adaptivePollInterval;
+    private final JobPrefetchBuffer jobPrefetchBuffer;
+    private volatile boolean foundWork;
+    private volatile boolean foundFullPageOfWork;
     private Instant runStartTime;
 
     public JobZooKeeper(BackgroundJobServer backgroundJobServer) {
         this.backgroundJobServer = backgroundJobServer;
         this.storageProvider = backgroundJobServer.getStorageProvider();
-        this.recurringJobs = new RecurringJobsResult();
+        this.recurringJobsQueue = new RecurringJobsQueue();
         this.workDistributionStrategy = backgroundJobServer.getWorkDistributionStrategy();
         this.dashboardNotificationManager = backgroundJobServer.getDashboardNotificationManager();
         this.jobFilterUtils = new JobFilterUtils(backgroundJobServer.getJobFilters());
         this.concurrentJobModificationResolver = createConcurrentJobModificationResolver();
+        this.isPartitionedMaintenance = backgroundJobServer.getConfiguration().partitionedMaintenance;
+        this.jobHistoryCompactionPolicy = backgroundJobServer.getConfiguration().jobHistoryCompactionPolicy;
+        this.maintenancePartition = MaintenancePartition.allJobs();
+        this.adaptivePollInterval = createAdaptivePollInterval();
+        this.jobPrefetchBuffer = createJobPrefetchBuffer();
         this.currentlyProcessedJobs = new ConcurrentHashMap<>();
         this.durationPollIntervalTimeBox = Duration.ofSeconds((long) (backgroundJobServerStatus().getPollIntervalInSeconds() - (backgroundJobServerStatus().getPollIntervalInSeconds() * 0.05)));
         this.reentrantLock = new ReentrantLock();
@@ -71,11 +89,14 @@ public class JobZooKeeper implements Runnable {
     public void run() {
         try {
             runStartTime = Instant.now();
+            foundWork = false;
+            foundFullPageOfWork = false;
             if (backgroundJobServer.isUnAnnounced()) return;
 
             updateJobsThatAreBeingProcessed();
             runMasterTasksIfCurrentServerIsMaster();
             onboardNewWorkIfPossible();
+            determineNextPollInterval();
         } catch (Exception e) {
             dashboardNotificationManager.handle(e);
             if (exceptionCount.getAndIncrement() < 5) {
@@ -89,16 +110,48 @@ public class JobZooKeeper implements Runnable {
 
     void updateJobsThatAreBeingProcessed() {
         LOGGER.debug("Updating currently processed jobs... ");
-        processJobList(new ArrayList<>(currentlyProcessedJobs.keySet()), this::updateCurrentlyProcessingJob);
+        // why: because of thread context switching there is a tiny chance that a job has already left the PROCESSING state
+        // why: the prefetched jobs are already claimed (and thus PROCESSING) and must not become orphaned while they wait for a worker
+        final List<Job> jobsThatAreBeingProcessed = Stream.concat(currentlyProcessedJobs.keySet().stream(), getPrefetchedJobs().stream())
+                .filter(job -> job.hasState(PROCESSING))
+                .collect(toList());
+        if (jobsThatAreBeingProcessed.isEmpty()) return;
+
+        foundWork = true;
+        try {
+            final Instant updatedAt = now();
+            jobsThatAreBeingProcessed.forEach(job -> updateCurrentlyProcessingJob(job, updatedAt));
+            storageProvider.updateProcessingJobs(jobsThatAreBeingProcessed, updatedAt);
+        } catch (ConcurrentJobModificationException concurrentJobModificationException) {
+            resolveConcurrentJobModificationException(concurrentJobModificationException);
+        }
     }
 
     void runMasterTasksIfCurrentServerIsMaster() {
-        if (backgroundJobServer.isMaster()) {
+        if (isPartitionedMaintenance) {
+            runPartitionedMaintenanceTasks();
+        } else if (backgroundJobServer.isMaster()) {
             checkForRecurringJobs();
             checkForScheduledJobs();
             checkForOrphanedJobs();
             checkForSucceededJobsThanCanGoToDeletedState();
             checkForJobsThatCanBeDeleted();
+            checkForJobsThatCanBeArchived();
+        }
+    }
+
+    void runPartitionedMaintenanceTasks() {
+        // why: the recurring jobs and permanently deleting jobs stay on the master as splitting them would not reduce the amount of work
+        maintenancePartition = backgroundJobServer.getMaintenancePartition();
+        if (backgroundJobServer.isMaster()) {
+            checkForRecurringJobs();
+        }
+        checkForScheduledJobs();
+        checkForOrphanedJobs();
+        checkForSucceededJobsThanCanGoToDeletedState();
+        if (backgroundJobServer.isMaster()) {
+            checkForJobsThatCanBeDeleted();
+            checkForJobsThatCanBeArchived();
         }
     }
 
@@ -108,37 +161,67 @@ public class JobZooKeeper implements Runnable {
 
     void checkForRecurringJobs() {
         LOGGER.debug("Looking for recurring jobs... ");
-        List<RecurringJob> recurringJobs = getRecurringJobs();
+        List<RecurringJob> recurringJobs = getRecurringJobsThatAreDue();
         processRecurringJobs(recurringJobs);
     }
 
     void checkForScheduledJobs() {
         LOGGER.debug("Looking for scheduled jobs... ");
-        Supplier<List<Job>> scheduledJobsSupplier = () -> storageProvider.getScheduledJobs(now().plusSeconds(backgroundJobServerStatus().getPollIntervalInSeconds()), ascOnUpdatedAt(1000));
+        Supplier<List<Job>> scheduledJobsSupplier = jobsOfMaintenancePartition(pageRequest ->
+                registerWork(storageProvider.getScheduledJobs(now().plusSeconds(backgroundJobServerStatus().getPollIntervalInSeconds()), pageRequest), pageRequest));
         processJobList(scheduledJobsSupplier, Job::enqueue);
     }
 
     void checkForOrphanedJobs() {
         LOGGER.debug("Looking for orphan jobs... ");
         final Instant updatedBefore = runStartTime.minus(ofSeconds(backgroundJobServer.getServerStatus().getPollIntervalInSeconds()).multipliedBy(4));
-        Supplier<List<Job>> orphanedJobsSupplier = () -> storageProvider.getJobs(PROCESSING, updatedBefore, ascOnUpdatedAt(1000));
+        Supplier<List<Job>> orphanedJobsSupplier = jobsOfMaintenancePartition(pageRequest -> storageProvider.getJobs(PROCESSING, updatedBefore, pageRequest));
         processJobList(orphanedJobsSupplier, job -> job.failed("Orphaned job", new IllegalThreadStateException("Job was too long in PROCESSING state without being updated.")));
     }
 
     void checkForSucceededJobsThanCanGoToDeletedState() {
         LOGGER.debug("Looking for succeeded jobs that can go to the deleted state... ");
-        AtomicInteger succeededJobsCounter = new AtomicInteger();
-
         final Instant updatedBefore = now().minus(backgroundJobServer.getServerStatus().getDeleteSucceededJobsAfter());
-        Supplier<List<Job>> succeededJobsSupplier = () -> storageProvider.getJobs(SUCCEEDED, updatedBefore, ascOnUpdatedAt(1000));
+        int amountOfDeletedJobs = 0;
+        if (canMoveSucceededJobsToDeletedStateInDatabase()) {
+            amountOfDeletedJobs += moveSucceededJobsToDeletedStateInDatabase(updatedBefore);
+        }
+        // why: also picks up the jobs the database could not move itself (e.g. jobs that were saved using a JobCodec)
+        amountOfDeletedJobs += moveSucceededJobsToDeletedState(updatedBefore);
+
+        if (amountOfDeletedJobs > 0) {
+            storageProvider.publishTotalAmountOfSucceededJobs(amountOfDeletedJobs);
+        }
+    }
+
+    private int moveSucceededJobsToDeletedState(Instant updatedBefore) {
+        AtomicInteger succeededJobsCounter = new AtomicInteger();
+        Supplier<List<Job>> succeededJobsSupplier = jobsOfMaintenancePartition(pageRequest -> storageProvider.getJobs(SUCCEEDED, updatedBefore, pageRequest));
         processJobList(succeededJobsSupplier, job -> {
             succeededJobsCounter.incrementAndGet();
-            job.delete("JobRunr maintenance - deleting succeeded job");
+            job.delete(DELETE_SUCCEEDED_JOB_REASON);
         });
+        return succeededJobsCounter.get();
+    }
 
-        if (succeededJobsCounter.get() > 0) {
-            storageProvider.publishTotalAmountOfSucceededJobs(succeededJobsCounter.get());
-        }
+    private boolean canMoveSucceededJobsToDeletedStateInDatabase() {
+        // why: the jobs are not loaded, so the state filters are not run and the job history is not compacted for this state change
+        return storageProvider.canMoveJobsToDeletedState()
+                && !jobFilterUtils.hasCustomStateFilters()
+                && jobHistoryCompactionPolicy == JobHistoryCompactionPolicy.noJobHistoryCompaction();
+    }
+
+    private int moveSucceededJobsToDeletedStateInDatabase(Instant updatedBefore) {
+        // why: a set-based update can not be split across the maintenance partitions, so like permanently deleting jobs it is done by the master
+        if (maintenancePartition.isPartitioned() && !backgroundJobServer.isMaster()) return 0;
+
+        int amountOfDeletedJobs = 0;
+        int amountMoved;
+        do {
+            amountMoved = storageProvider.moveJobsToDeletedState(SUCCEEDED, updatedBefore, DELETE_SUCCEEDED_JOB_REASON, StorageProvider.BATCH_SIZE);
+            amountOfDeletedJobs += amountMoved;
+        } while (amountMoved == StorageProvider.BATCH_SIZE && !pollIntervalInSecondsTimeBoxIsAboutToPass());
+        return amountOfDeletedJobs;
     }
 
     void checkForJobsThatCanBeDeleted() {
@@ -146,21 +229,37 @@ public class JobZooKeeper implements Runnable {
         storageProvider.deleteJobsPermanently(StateName.DELETED, now().minus(backgroundJobServer.getServerStatus().getPermanentlyDeleteDeletedJobsAfter()));
     }
 
+    void checkForJobsThatCanBeArchived() {
+        LOGGER.debug("Looking for succeeded and deleted jobs that can be archived... ");
+        int amountArchived;
+        do {
+            amountArchived = storageProvider.archiveJobs(StorageProvider.BATCH_SIZE);
+        } while (amountArchived == StorageProvider.BATCH_SIZE && !pollIntervalInSecondsTimeBoxIsAboutToPass());
+    }
+
     void onboardNewWorkIfPossible() {
         if (pollIntervalInSecondsTimeBoxIsAboutToPass()) return;
         if (canOnboardNewWork()) {
             checkForEnqueuedJobs();
         }
+        if (jobPrefetchBuffer != null) {
+            jobPrefetchBuffer.refillIfBelowLowWaterMark();
+        }
     }
 
     void checkForEnqueuedJobs() {
+        if (jobPrefetchBuffer != null) {
+            takeEnqueuedJobsFromPrefetchBuffer();
+            return;
+        }
+
         try {
             if (reentrantLock.tryLock()) {
                 LOGGER.debug("Looking for enqueued jobs... ");
                 final PageRequest workPageRequest = workDistributionStrategy.getWorkPageRequest();
                 if (workPageRequest.getLimit() > 0) {
-                    final List<Job> enqueuedJobs = storageProvider.getJobs(StateName.ENQUEUED, workPageRequest);
-                    enqueuedJobs.forEach(backgroundJobServer::processJob);
+                    final List<Job> enqueuedJobs = registerWork(getEnqueuedJobsToProcess(workPageRequest), workPageRequest);
+                    processJobs(enqueuedJobs);
                 }
             }
         } finally {
@@ -170,20 +269,64 @@ public class JobZooKeeper implements Runnable {
         }
     }
 
+    void takeEnqueuedJobsFromPrefetchBuffer() {
+        // why: no lock and no round-trip to the StorageProvider so that worker threads that become idle never wait for the storage
+        final PageRequest workPageRequest = workDistributionStrategy.getWorkPageRequest();
+        if (workPageRequest.getLimit() > 0) {
+            final List<Job> enqueuedJobs = registerWork(jobPrefetchBuffer.take(workPageRequest.getLimit()), workPageRequest);
+            processJobs(enqueuedJobs);
+        }
+    }
+
+    void startPrefetchingJobs() {
+        if (jobPrefetchBuffer == null) return;
+        jobPrefetchBuffer.start();
+    }
+
+    void stopPrefetchingJobs() {
+        if (jobPrefetchBuffer == null) return;
+        final List<Job> unprocessedJobs = jobPrefetchBuffer.stop();
+        if (unprocessedJobs.isEmpty()) return;
+
+        LOGGER.info("Releasing {} prefetched jobs as the BackgroundJobServer is stopping", unprocessedJobs.size());
+        // why: the prefetched jobs never ran, they are enqueued again instead of failed so they do not depend on the retries to be processed
+        processJobList(unprocessedJobs, Job::releaseClaim);
+    }
+
+    List<Job> getEnqueuedJobsToProcess(PageRequest workPageRequest) {
+        if (storageProvider.canClaimEnqueuedJobs()) {
+            return claimEnqueuedJobs(workPageRequest);
+        }
+        return workDistributionStrategy.getWork(workPageRequest, (priority, pageRequest) -> storageProvider.getJobs(StateName.ENQUEUED, priority, pageRequest), false);
+    }
+
+    private List<Job> claimEnqueuedJobs(PageRequest workPageRequest) {
+        return workDistributionStrategy.getWork(workPageRequest, (priority, pageRequest) -> storageProvider.claimEnqueuedJobs(backgroundJobServer.getId(), priority, pageRequest), true);
+    }
+
     void processRecurringJobs(List<RecurringJob> recurringJobs) {
-        LOGGER.debug("Found {} recurring jobs", recurringJobs.size());
-        List<Job> jobsToSchedule = recurringJobs.stream()
-                .filter(this::mustSchedule)
-                .map(RecurringJob::toScheduledJob)
-                .collect(toList());
-        if(!jobsToSchedule.isEmpty()) {
-            storageProvider.save(jobsToSchedule);
+        LOGGER.debug("Found {} recurring jobs that are due (out of {} recurring jobs)", recurringJobs.size(), recurringJobsQueue.size());
+        if (recurringJobs.isEmpty()) return;
+
+        try {
+            final Set<String> recurringJobsWithActiveJobs = storageProvider.recurringJobsExist(recurringJobs.stream().map(RecurringJob::getId).collect(toList()), StateName.SCHEDULED, StateName.ENQUEUED, StateName.PROCESSING);
+            List<Job> jobsToSchedule = recurringJobs.stream()
+                    .filter(recurringJob -> mustSchedule(recurringJob, recurringJobsWithActiveJobs))
+                    .map(RecurringJob::toScheduledJob)
+                    .collect(toList());
+            if (!jobsToSchedule.isEmpty()) {
+                storageProvider.save(jobsToSchedule);
+            }
+        } catch (RuntimeException e) {
+            // why: the due recurring jobs are already moved to their next run, reloading them makes sure they are retried on the next poll
+            recurringJobsQueue.invalidate();
+            throw e;
         }
     }
 
-    boolean mustSchedule(RecurringJob recurringJob) {
+    boolean mustSchedule(RecurringJob recurringJob, Set<String> recurringJobsWithActiveJobs) {
         return recurringJob.getNextRun().isBefore(now().plus(durationPollIntervalTimeBox).plusSeconds(1))
-                && !storageProvider.recurringJobExists(recurringJob.getId(), StateName.SCHEDULED, StateName.ENQUEUED, StateName.PROCESSING);
+                && !recurringJobsWithActiveJobs.contains(recurringJob.getId());
 
     }
 
@@ -200,14 +343,11 @@ public class JobZooKeeper implements Runnable {
             try {
                 jobs.forEach(jobConsumer);
                 jobFilterUtils.runOnStateElectionFilter(jobs);
+                jobs.forEach(job -> job.compactJobHistory(jobHistoryCompactionPolicy));
                 storageProvider.save(jobs);
                 jobFilterUtils.runOnStateAppliedFilters(jobs);
             } catch (ConcurrentJobModificationException concurrentJobModificationException) {
-                try {
-                    concurrentJobModificationResolver.resolve(concurrentJobModificationException);
-                } catch (UnresolvableConcurrentJobModificationException unresolvableConcurrentJobModificationException) {
-                    throw new SevereJobRunrException("Could not resolve ConcurrentJobModificationException", unresolvableConcurrentJobModificationException);
-                }
+                resolveConcurrentJobModificationException(concurrentJobModificationException);
             }
         }
     }
@@ -224,6 +364,17 @@ public class JobZooKeeper implements Runnable {
         currentlyProcessedJobs.remove(job);
     }
 
+    /**
+     * Returns the time to wait before the next run: the poll interval of the BackgroundJobServer or, if an adaptive poll interval is
+     * configured, the poll interval determined by the outcome of the previous run.
+     *
+     * @return the time to wait before the next run
+     */
+    public Duration getPollInterval() {
+        if (adaptivePollInterval == null) return ofSeconds(backgroundJobServerStatus().getPollIntervalInSeconds());
+        return adaptivePollInterval.getCurrentPollInterval();
+    }
+
     public Thread getThreadProcessingJob(Job job) {
         return currentlyProcessedJobs.get(job);
     }
@@ -243,19 +394,95 @@ public class JobZooKeeper implements Runnable {
         }
     }
 
+    @Override
+    public void onJobsEnqueued() {
+        if (canOnboardNewWork()) {
+            checkForEnqueuedJobs();
+        }
+    }
+
+    Supplier<List<Job>> jobsOfMaintenancePartition(Function<PageRequest, List<Job>> jobListFunction) {
+        final MaintenancePartition partition = maintenancePartition;
+        // why: each page continues after the last job of the previous page (keyset pagination), so the jobs that stay in the result (e.g. the
+        // jobs of other partitions or jobs that could not be saved) are not fetched over and over again. StorageProviders that do not support
+        // keyset pagination skip the jobs of other partitions using the offset instead: skipping too many (as other servers remove their jobs
+        // meanwhile) only delays some jobs of this partition to the next poll.
+        final AtomicReference<PageRequest> nextPageRequest = new AtomicReference<>(ascOnUpdatedAt(1000));
+        return () -> {
+            List<Job> jobs;
+            List<Job> jobsOfPartition;
+            do {
+                final PageRequest pageRequest = nextPageRequest.get();
+                jobs = jobListFunction.apply(pageRequest);
+                jobsOfPartition = partition.isPartitioned() ? jobs.stream().filter(partition::contains).collect(toList()) : jobs;
+                if (!jobs.isEmpty()) {
+                    // why: the seek position is taken before the jobs are processed, as processing them changes their updatedAt
+                    final Job lastJob = jobs.get(jobs.size() - 1);
+                    nextPageRequest.set(pageRequest.seekAfter(lastJob.getUpdatedAt(), lastJob.getId(), pageRequest.getOffset() + jobs.size() - jobsOfPartition.size()));
+                }
+            } while (jobsOfPartition.isEmpty() && !jobs.isEmpty() && !pollIntervalInSecondsTimeBoxIsAboutToPass());
+            return jobsOfPartition;
+        };
+    }
+
+    private void onJobsPrefetched() {
+        if (canOnboardNewWork()) {
+            checkForEnqueuedJobs();
+        }
+    }
+
+    private List<Job> getPrefetchedJobs() {
+        if (jobPrefetchBuffer == null) return emptyList();
+        return jobPrefetchBuffer.getJobs();
+    }
+
+    private List<Job> registerWork(List<Job> jobs, PageRequest pageRequest) {
+        if (!jobs.isEmpty()) foundWork = true;
+        if (jobs.size() >= pageRequest.getLimit()) foundFullPageOfWork = true;
+        return jobs;
+    }
+
+    private void processJobs(List<Job> enqueuedJobs) {
+        if (enqueuedJobs.isEmpty()) return;
+
+        enqueuedJobs.forEach(backgroundJobServer::processJob);
+        // why: a backed off JobZooKeeper must run again within the poll interval to give the jobs that are now processing their heartbeat
+        if (adaptivePollInterval != null && adaptivePollInterval.resetBackoff()) {
+            backgroundJobServer.rescheduleJobZooKeeper();
+        }
+    }
+
+    private void determineNextPollInterval() {
+        if (adaptivePollInterval == null) return;
+
+        final Duration previousPollInterval = adaptivePollInterval.getCurrentPollInterval();
+        final Duration pollInterval = adaptivePollInterval.next(foundFullPageOfWork, foundWork);
+        if (!pollInterval.equals(previousPollInterval)) {
+            LOGGER.debug("JobRunr will check for new work again in {} ms", pollInterval.toMillis());
+        }
+    }
+
     private List<Job> getJobsToProcess(Supplier<List<Job>> jobListSupplier) {
         if (pollIntervalInSecondsTimeBoxIsAboutToPass()) return emptyList();
         return jobListSupplier.get();
     }
 
-    private void updateCurrentlyProcessingJob(Job job) {
+    private void updateCurrentlyProcessingJob(Job job, Instant updatedAt) {
         try {
-            job.updateProcessing();
+            job.updateProcessing(updatedAt);
         } catch (ClassCastException e) {
             // why: because of thread context switching there is a tiny chance that the job has succeeded
         }
     }
 
+    private void resolveConcurrentJobModificationException(ConcurrentJobModificationException concurrentJobModificationException) {
+        try {
+            concurrentJobModificationResolver.resolve(concurrentJobModificationException);
+        } catch (UnresolvableConcurrentJobModificationException unresolvableConcurrentJobModificationException) {
+            throw new SevereJobRunrException("Could not resolve ConcurrentJobModificationException", unresolvableConcurrentJobModificationException);
+        }
+    }
+
     private boolean pollIntervalInSecondsTimeBoxIsAboutToPass() {
         final Duration durationRunTime = Duration.between(runStartTime, now());
         final boolean runTimeBoxIsPassed = durationRunTime.compareTo(durationPollIntervalTimeBox) >= 0;
@@ -265,11 +492,29 @@ public class JobZooKeeper implements Runnable {
         return runTimeBoxIsPassed;
     }
 
-    private List<RecurringJob> getRecurringJobs() {
-        if(storageProvider.recurringJobsUpdated(recurringJobs.getLastModifiedHash())) {
-            this.recurringJobs = storageProvider.getRecurringJobs();
+    private List<RecurringJob> getRecurringJobsThatAreDue() {
+        if (storageProvider.recurringJobsUpdated(recurringJobsQueue.getLastModifiedHash())) {
+            recurringJobsQueue.reload(storageProvider.getRecurringJobs());
         }
-        return this.recurringJobs;
+        return recurringJobsQueue.pollRecurringJobsDueBefore(now().plus(durationPollIntervalTimeBox).plusSeconds(1));
+    }
+
+    JobPrefetchBuffer createJobPrefetchBuffer() {
+        final int jobPrefetchBufferSize = backgroundJobServer.getConfiguration().jobPrefetchBufferSize;
+        if (jobPrefetchBufferSize < 1) return null;
+        if (!storageProvider.canClaimEnqueuedJobs()) {
+            LOGGER.warn("The {} can not claim enqueued jobs - the jobs will not be prefetched", storageProvider.getName());
+            return null;
+        }
+        return new JobPrefetchBuffer(jobPrefetchBufferSize,
+                amount -> claimEnqueuedJobs(ascOnUpdatedAt(amount)),
+                this::onJobsPrefetched);
+    }
+
+    AdaptivePollInterval createAdaptivePollInterval() {
+        final BackgroundJobServerConfiguration configuration = backgroundJobServer.getConfiguration();
+        if (configuration.minPollInterval == null) return null;
+        return new AdaptivePollInterval(configuration.minPollInterval, ofSeconds(configuration.pollIntervalInSeconds), configuration.maxPollInterval);
     }
 
     ConcurrentJobModificationResolver createConcurrentJobModificationResolver() {
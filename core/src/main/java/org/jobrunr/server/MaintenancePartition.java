@@ -0,0 +1,80 @@
+package org.jobrunr.server;
+
+import org.jobrunr.jobs.Job;
+import org.jobrunr.storage.BackgroundJobServerStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Comparator.naturalOrder;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The part of the maintenance work (scheduled, orphaned and succeeded jobs) a BackgroundJobServer is responsible for when the maintenance
+ * is partitioned across all live BackgroundJobServers: a server only handles the jobs for which the hash of the job id modulo the amount
+ * of live servers equals its own index in the (sorted) list of live servers.
+ */
+class MaintenancePartition {
+
+    private static final MaintenancePartition ALL_JOBS = new MaintenancePartition(0, 1);
+
+    private final int index;
+    private final int amountOfPartitions;
+
+    private MaintenancePartition(int index, int amountOfPartitions) {
+        this.index = index;
+        this.amountOfPartitions = amountOfPartitions;
+    }
+
+    static MaintenancePartition allJobs() {
+        return ALL_JOBS;
+    }
+
+    static MaintenancePartition of(UUID backgroundJobServerId, List<BackgroundJobServerStatus> backgroundJobServers) {
+        final List<UUID> backgroundJobServerIds = backgroundJobServers.stream()
+                .map(BackgroundJobServerStatus::getId)
+                .sorted(naturalOrder())
+                .collect(toList());
+        final int index = backgroundJobServerIds.indexOf(backgroundJobServerId);
+        if (index < 0) return ALL_JOBS;
+        return of(index, backgroundJobServerIds.size());
+    }
+
+    static MaintenancePartition of(int index, int amountOfPartitions) {
+        return new MaintenancePartition(index, amountOfPartitions);
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    int getAmountOfPartitions() {
+        return amountOfPartitions;
+    }
+
+    boolean isPartitioned() {
+        return amountOfPartitions > 1;
+    }
+
+    boolean contains(Job job) {
+        return Math.floorMod(job.getId().hashCode(), amountOfPartitions) == index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MaintenancePartition)) return false;
+        final MaintenancePartition that = (MaintenancePartition) o;
+        return index == that.index && amountOfPartitions == that.amountOfPartitions;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * index + amountOfPartitions;
+    }
+
+    @Override
+    public String toString() {
+        return "partition " + (index + 1) + " of " + amountOfPartitions;
+    }
+}
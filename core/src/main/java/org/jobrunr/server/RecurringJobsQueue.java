@@ -0,0 +1,90 @@
+package org.jobrunr.server;
+
+import org.jobrunr.jobs.RecurringJob;
+import org.jobrunr.storage.RecurringJobsResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static java.time.Instant.now;
+import static java.util.Comparator.comparing;
+
+/**
+ * Keeps the recurring jobs ordered on their next run so that the {@link JobZooKeeper} only needs to look at the recurring jobs that are due
+ * instead of calculating the next run of all recurring jobs on each poll.
+ */
+class RecurringJobsQueue {
+
+    private final PriorityQueue<RecurringJobRun> recurringJobRuns;
+    private RecurringJobsResult recurringJobs;
+
+    RecurringJobsQueue() {
+        this.recurringJobRuns = new PriorityQueue<>(comparing(RecurringJobRun::getNextRun));
+        this.recurringJobs = new RecurringJobsResult();
+    }
+
+    long getLastModifiedHash() {
+        return recurringJobs.getLastModifiedHash();
+    }
+
+    int size() {
+        return recurringJobs.size();
+    }
+
+    void reload(RecurringJobsResult recurringJobs) {
+        this.recurringJobs = recurringJobs;
+        this.recurringJobRuns.clear();
+        final Instant now = now();
+        recurringJobs.forEach(recurringJob -> recurringJobRuns.add(new RecurringJobRun(recurringJob, recurringJob.getNextRun(now))));
+    }
+
+    /**
+     * Makes sure all recurring jobs are reloaded the next time, e.g. because the due recurring jobs could not be scheduled.
+     */
+    void invalidate() {
+        this.recurringJobs = new RecurringJobsResult();
+        this.recurringJobRuns.clear();
+    }
+
+    /**
+     * Returns the recurring jobs of which the next run is before the given instant and moves them to their run after that.
+     */
+    List<RecurringJob> pollRecurringJobsDueBefore(Instant instant) {
+        final List<RecurringJobRun> dueRecurringJobRuns = new ArrayList<>();
+        while (!recurringJobRuns.isEmpty() && recurringJobRuns.peek().getNextRun().isBefore(instant)) {
+            dueRecurringJobRuns.add(recurringJobRuns.poll());
+        }
+
+        final Instant now = now();
+        final List<RecurringJob> dueRecurringJobs = new ArrayList<>(dueRecurringJobRuns.size());
+        for (RecurringJobRun dueRecurringJobRun : dueRecurringJobRuns) {
+            final RecurringJob recurringJob = dueRecurringJobRun.getRecurringJob();
+            // why: if the poll was delayed (e.g. this server was not the master for some time), runs in the past are skipped like before
+            final Instant previousRun = dueRecurringJobRun.getNextRun().isAfter(now) ? dueRecurringJobRun.getNextRun() : now;
+            recurringJobRuns.add(new RecurringJobRun(recurringJob, recurringJob.getNextRun(previousRun)));
+            dueRecurringJobs.add(recurringJob);
+        }
+        return dueRecurringJobs;
+    }
+
+    private static class RecurringJobRun {
+
+        private final RecurringJob recurringJob;
+        private final Instant nextRun;
+
+        private RecurringJobRun(RecurringJob recurringJob, Instant nextRun) {
+            this.recurringJob = recurringJob;
+            this.nextRun = nextRun;
+        }
+
+        RecurringJob getRecurringJob() {
+            return recurringJob;
+        }
+
+        Instant getNextRun() {
+            return nextRun;
+        }
+    }
+}
@@ -25,6 +25,7 @@ public class ServerZooKeeper implements Runnable {
     private final Duration timeoutDuration;
     private final AtomicInteger restartAttempts;
     private UUID masterId;
+    private MaintenancePartition maintenancePartition;
     private Instant lastSignalAlive;
     private Instant lastServerTimeoutCheck;
 
@@ -59,6 +60,7 @@ public class ServerZooKeeper implements Runnable {
         try {
             storageProvider.signalBackgroundJobServerStopped(backgroundJobServer.getServerStatus());
             masterId = null;
+            maintenancePartition = null;
         } catch (Exception e) {
             LOGGER.error("Error when signalling that BackgroundJobServer stopped", e);
         }
@@ -68,6 +70,7 @@ public class ServerZooKeeper implements Runnable {
         final BackgroundJobServerStatus serverStatus = backgroundJobServer.getServerStatus();
         storageProvider.announceBackgroundJobServer(serverStatus);
         determineIfCurrentBackgroundJobServerIsMaster();
+        determineMaintenancePartitionOfCurrentBackgroundJobServer();
         lastSignalAlive = serverStatus.getLastHeartbeat();
     }
 
@@ -76,6 +79,7 @@ public class ServerZooKeeper implements Runnable {
             signalBackgroundJobServerAlive();
             deleteServersThatTimedOut();
             determineIfCurrentBackgroundJobServerIsMaster();
+            determineMaintenancePartitionOfCurrentBackgroundJobServer();
         } catch (ServerTimedOutException e) {
             if (restartAttempts.getAndIncrement() < 3) {
                 LOGGER.error("SEVERE ERROR - Server timed out while it's still alive. Are all servers using NTP and in the same timezone? Are you having long GC cycles? Restart attempt {} out of 3", restartAttempts);
@@ -124,6 +128,19 @@ public class ServerZooKeeper implements Runnable {
         }
     }
 
+    private void determineMaintenancePartitionOfCurrentBackgroundJobServer() {
+        if (!backgroundJobServer.getConfiguration().partitionedMaintenance) return;
+
+        // why: all servers see (almost) the same list of live servers; while it changes, a job may be handled by two servers (which is resolved
+        // by the optimistic locking of the StorageProvider) or by none (and then it is handled on the next poll)
+        final MaintenancePartition newMaintenancePartition = MaintenancePartition.of(backgroundJobServer.getId(), storageProvider.getBackgroundJobServers());
+        if (!newMaintenancePartition.equals(maintenancePartition)) {
+            this.maintenancePartition = newMaintenancePartition;
+            backgroundJobServer.setMaintenancePartition(newMaintenancePartition);
+            LOGGER.info("Server {} does the maintenance of {}", backgroundJobServer.getId(), newMaintenancePartition);
+        }
+    }
+
     private void resetServer() {
         backgroundJobServer.stop();
         backgroundJobServer.start();
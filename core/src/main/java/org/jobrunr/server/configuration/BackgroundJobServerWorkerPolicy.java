@@ -2,8 +2,20 @@ package org.jobrunr.server.configuration;
 
 import org.jobrunr.server.BackgroundJobServer;
 import org.jobrunr.server.strategy.WorkDistributionStrategy;
+import org.jobrunr.server.threadpool.JobRunrExecutor;
+import org.jobrunr.server.threadpool.ScheduledThreadPoolJobRunrExecutor;
 
 public interface BackgroundJobServerWorkerPolicy {
 
     WorkDistributionStrategy toWorkDistributionStrategy(BackgroundJobServer backgroundJobServer);
+
+    /**
+     * Returns the {@link JobRunrExecutor} that will run the jobs if no JobRunrExecutor is registered using the {@link java.util.ServiceLoader}.
+     *
+     * @param backgroundJobServer the BackgroundJobServer that will use the JobRunrExecutor
+     * @return the JobRunrExecutor that will run the jobs
+     */
+    default JobRunrExecutor toJobRunrExecutor(BackgroundJobServer backgroundJobServer) {
+        return new ScheduledThreadPoolJobRunrExecutor(backgroundJobServer.getWorkDistributionStrategy().getWorkerCount(), "backgroundjob-worker-pool");
+    }
 }
@@ -0,0 +1,39 @@
+package org.jobrunr.server.configuration;
+
+import org.jobrunr.server.BackgroundJobServer;
+import org.jobrunr.server.strategy.BasicWorkDistributionStrategy;
+import org.jobrunr.server.strategy.WorkDistributionStrategy;
+import org.jobrunr.server.threadpool.JobRunrExecutor;
+import org.jobrunr.server.threadpool.VirtualThreadJobRunrExecutor;
+
+import static org.jobrunr.JobRunrException.problematicConfigurationException;
+
+/**
+ * A {@link BackgroundJobServerWorkerPolicy} for I/O-bound jobs on Java 21 or higher: each job runs on a virtual thread using the
+ * {@link VirtualThreadJobRunrExecutor}, which allows a worker count in the thousands.
+ */
+public class VirtualThreadBackgroundJobServerWorkerPolicy implements BackgroundJobServerWorkerPolicy {
+
+    private final int workerCount;
+
+    public VirtualThreadBackgroundJobServerWorkerPolicy() {
+        this(VirtualThreadJobRunrExecutor.DEFAULT_WORKER_COUNT);
+    }
+
+    public VirtualThreadBackgroundJobServerWorkerPolicy(int workerCount) {
+        if (!VirtualThreadJobRunrExecutor.isSupported()) {
+            throw problematicConfigurationException("The VirtualThreadBackgroundJobServerWorkerPolicy requires Java 21 or higher.");
+        }
+        this.workerCount = workerCount;
+    }
+
+    @Override
+    public WorkDistributionStrategy toWorkDistributionStrategy(BackgroundJobServer backgroundJobServer) {
+        return new BasicWorkDistributionStrategy(backgroundJobServer, workerCount);
+    }
+
+    @Override
+    public JobRunrExecutor toJobRunrExecutor(BackgroundJobServer backgroundJobServer) {
+        return new VirtualThreadJobRunrExecutor(workerCount, "backgroundjob-worker");
+    }
+}
@@ -10,6 +10,8 @@ public interface BackgroundJobServerMBean {
 
     BackgroundJobServerStatus getServerStatus();
 
+    double getCurrentPollIntervalInSeconds();
+
     boolean isRunning();
 
     void start();
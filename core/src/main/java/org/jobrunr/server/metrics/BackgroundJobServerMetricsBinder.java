@@ -15,6 +15,7 @@ public class BackgroundJobServerMetricsBinder implements AutoCloseable {
     private final BackgroundJobServer backgroundJobServer;
     private final MeterRegistry meterRegistry;
     private final List<Meter> meters;
+    private MicroMeterJobPerformanceListener jobPerformanceListener;
 
     public BackgroundJobServerMetricsBinder(BackgroundJobServer backgroundJobServer, MeterRegistry meterRegistry) {
         this.backgroundJobServer = backgroundJobServer;
@@ -27,12 +28,16 @@ public class BackgroundJobServerMetricsBinder implements AutoCloseable {
         meters.add(registerFunction("poll-interval-in-seconds", bgJobServer -> (double) bgJobServer.getServerStatus().getPollIntervalInSeconds()));
         meters.add(registerFunction("worker-pool-size", bgJobServer -> (double) bgJobServer.getServerStatus().getWorkerPoolSize()));
 
+        meters.add(registerGauge("current-poll-interval-in-seconds", BackgroundJobServer::getCurrentPollIntervalInSeconds));
         meters.add(registerGauge("process-all-located-memory", bgJobServer -> (double) bgJobServer.getServerStatus().getProcessAllocatedMemory()));
         meters.add(registerGauge("process-free-memory", bgJobServer -> (double) bgJobServer.getServerStatus().getProcessFreeMemory()));
         meters.add(registerGauge("system-free-memory", bgJobServer -> (double) bgJobServer.getServerStatus().getSystemFreeMemory()));
         meters.add(registerGauge("system-total-memory", bgJobServer -> (double) bgJobServer.getServerStatus().getSystemTotalMemory()));
         meters.add(registerGauge("first-heartbeat", bgJobServer -> (double) bgJobServer.getServerStatus().getFirstHeartbeat().getEpochSecond()));
         meters.add(registerGauge("last-heartbeat", bgJobServer -> (double) bgJobServer.getServerStatus().getLastHeartbeat().getNano()));
+
+        jobPerformanceListener = new MicroMeterJobPerformanceListener(meterRegistry);
+        backgroundJobServer.setJobPerformanceListener(jobPerformanceListener);
     }
 
     private FunctionCounter registerFunction(String name, ToDoubleFunction<BackgroundJobServer> func) {
@@ -49,6 +54,10 @@ public class BackgroundJobServerMetricsBinder implements AutoCloseable {
 
     @Override
     public void close() {
+        backgroundJobServer.setJobPerformanceListener(null);
+        if (jobPerformanceListener != null) {
+            jobPerformanceListener.close();
+        }
         meters.forEach(meter -> {
             try {
                 meter.close();
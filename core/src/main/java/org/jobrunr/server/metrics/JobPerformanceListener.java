@@ -0,0 +1,28 @@
+package org.jobrunr.server.metrics;
+
+import org.jobrunr.jobs.Job;
+
+import java.time.Duration;
+
+/**
+ * Is notified by the {@link org.jobrunr.server.BackgroundJobServer} each time it performed a job. It does not depend on Micrometer (which is
+ * optional) so that the {@link org.jobrunr.server.BackgroundJobPerformer} can use it without Micrometer on the classpath.
+ */
+public interface JobPerformanceListener {
+
+    enum Outcome {
+        SUCCEEDED,
+        FAILED,
+        DELETED
+    }
+
+    /**
+     * @param job          the job that was performed
+     * @param outcome      the outcome of performing the job
+     * @param queueWait    the duration between the moment the job was enqueued and the moment its processing started or null if the job was not enqueued first
+     * @param runDuration  the duration of the job method itself
+     * @param saveDuration the duration needed to save the job in its final state in the StorageProvider
+     */
+    void onJobPerformed(Job job, Outcome outcome, Duration queueWait, Duration runDuration, Duration saveDuration);
+
+}
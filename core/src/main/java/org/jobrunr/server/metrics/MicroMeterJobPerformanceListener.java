@@ -0,0 +1,78 @@
+package org.jobrunr.server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jobrunr.jobs.Job;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Records how long jobs wait in the ENQUEUED state, how long they run and how long it takes to save them in their final state as Micrometer
+ * {@link Timer Timers} tagged by job signature and outcome.
+ * <p>
+ * To limit the cardinality of the metrics, only the first {@link #DEFAULT_MAX_JOB_SIGNATURES} job signatures get their own tag - all other jobs are
+ * tagged with {@link #OTHER_JOB_SIGNATURES}. The timers are created once per set of tags and are removed from the {@link MeterRegistry} when
+ * this listener is closed.
+ */
+public class MicroMeterJobPerformanceListener implements JobPerformanceListener, AutoCloseable {
+
+    public static final int DEFAULT_MAX_JOB_SIGNATURES = 100;
+    public static final String OTHER_JOB_SIGNATURES = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxJobSignatures;
+    private final Set<String> jobSignatures;
+    private final Map<List<String>, Timer> timers;
+
+    public MicroMeterJobPerformanceListener(MeterRegistry meterRegistry) {
+        this(meterRegistry, DEFAULT_MAX_JOB_SIGNATURES);
+    }
+
+    public MicroMeterJobPerformanceListener(MeterRegistry meterRegistry, int maxJobSignatures) {
+        this.meterRegistry = meterRegistry;
+        this.maxJobSignatures = maxJobSignatures;
+        this.jobSignatures = ConcurrentHashMap.newKeySet();
+        this.timers = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void onJobPerformed(Job job, Outcome outcome, Duration queueWait, Duration runDuration, Duration saveDuration) {
+        final String jobSignature = toJobSignatureTag(job.getJobSignature());
+        final String outcomeTag = outcome.name().toLowerCase();
+        if (queueWait != null) {
+            timer("queue-wait", jobSignature, outcomeTag).record(queueWait);
+        }
+        timer("run-duration", jobSignature, outcomeTag).record(runDuration);
+        timer("save-duration", jobSignature, outcomeTag).record(saveDuration);
+    }
+
+    @Override
+    public void close() {
+        timers.values().forEach(meterRegistry::remove);
+        timers.clear();
+    }
+
+    private Timer timer(String name, String jobSignature, String outcome) {
+        return timers.computeIfAbsent(asList(name, jobSignature, outcome), key -> Timer.builder("jobrunr.jobs." + name)
+                .tag("signature", jobSignature)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private String toJobSignatureTag(String jobSignature) {
+        if (jobSignatures.contains(jobSignature)) return jobSignature;
+        // why: a tag per job signature is only added while below the limit, which may slightly be exceeded if jobs are performed concurrently
+        if (jobSignatures.size() < maxJobSignatures) {
+            jobSignatures.add(jobSignature);
+            return jobSignature;
+        }
+        return OTHER_JOB_SIGNATURES;
+    }
+}
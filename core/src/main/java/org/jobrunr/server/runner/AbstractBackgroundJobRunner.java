@@ -5,8 +5,8 @@ import org.jobrunr.jobs.JobDetails;
 import org.jobrunr.jobs.JobParameter;
 import org.jobrunr.jobs.context.JobContext;
 import org.jobrunr.utils.JobUtils;
+import org.jobrunr.utils.reflection.MethodInvoker;
 
-import java.lang.reflect.Method;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -34,7 +34,7 @@ public abstract class AbstractBackgroundJobRunner implements BackgroundJobRunner
         public void run() throws Exception {
             Class<?> jobToPerformClass = getJobToPerformClass();
             Object jobToPerform = getJobToPerform(jobToPerformClass);
-            Method jobMethodToPerform = getJobMethodToPerform(jobToPerformClass);
+            MethodInvoker jobMethodToPerform = getJobMethodToPerform(jobToPerformClass);
             invokeJobMethod(jobToPerform, jobMethodToPerform);
         }
 
@@ -46,11 +46,11 @@ public abstract class AbstractBackgroundJobRunner implements BackgroundJobRunner
             return newInstance(jobToPerformClass);
         }
 
-        protected Method getJobMethodToPerform(Class<?> jobToPerformClass) {
-            return JobUtils.getJobMethod(jobToPerformClass, jobDetails);
+        protected MethodInvoker getJobMethodToPerform(Class<?> jobToPerformClass) {
+            return JobUtils.getJobMethodInvoker(jobToPerformClass, jobDetails);
         }
 
-        protected void invokeJobMethod(Object jobToPerform, Method jobMethodToPerform) throws Exception {
+        protected void invokeJobMethod(Object jobToPerform, MethodInvoker jobMethodToPerform) throws Exception {
             final Object[] jobParameterValues = jobDetails.getJobParameterValues();
             final List<JobParameter> jobParameters = jobDetails.getJobParameters();
 
@@ -2,9 +2,9 @@ package org.jobrunr.server.runner;
 
 import org.jobrunr.jobs.Job;
 import org.jobrunr.jobs.JobDetails;
+import org.jobrunr.utils.reflection.MethodInvoker;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 
 public class BackgroundStaticFieldJobWithoutIocRunner extends AbstractBackgroundJobRunner {
 
@@ -30,7 +30,7 @@ public class BackgroundStaticFieldJobWithoutIocRunner extends AbstractBackground
             Class<?> jobContainingStaticFieldClass = getJobToPerformClass();
             Field jobField = getStaticFieldOfJobToPerformClass(jobContainingStaticFieldClass);
             Class<?> jobToPerformClass = jobField.getType();
-            Method methodToPerform = getJobMethodToPerform(jobToPerformClass);
+            MethodInvoker methodToPerform = getJobMethodToPerform(jobToPerformClass);
             invokeJobMethod(jobField.get(null), methodToPerform);
         }
 
@@ -1,10 +1,14 @@
 package org.jobrunr.server.strategy;
 
+import org.jobrunr.jobs.Job;
 import org.jobrunr.server.BackgroundJobServer;
 import org.jobrunr.storage.PageRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.function.BiFunction;
+
 import static org.jobrunr.storage.PageRequest.ascOnUpdatedAt;
 
 public class BasicWorkDistributionStrategy implements WorkDistributionStrategy {
@@ -13,10 +17,12 @@ public class BasicWorkDistributionStrategy implements WorkDistributionStrategy {
 
     private final BackgroundJobServer backgroundJobServer;
     private final int workerCount;
+    private final WeightedFairShare weightedFairShare;
 
     public BasicWorkDistributionStrategy(BackgroundJobServer backgroundJobServer, int workerCount) {
         this.backgroundJobServer = backgroundJobServer;
         this.workerCount = workerCount;
+        this.weightedFairShare = new WeightedFairShare();
     }
 
     @Override
@@ -40,6 +46,12 @@ public class BasicWorkDistributionStrategy implements WorkDistributionStrategy {
         return ascOnUpdatedAt(limit);
     }
 
+    @Override
+    public List<Job> getWork(PageRequest workPageRequest, BiFunction<Integer, PageRequest, List<Job>> jobsByPriorityFetcher, boolean fetcherClaimsJobs) {
+        // why: one instance per strategy so that the credits of each priority are kept across pages
+        return weightedFairShare.getWork(workPageRequest, jobsByPriorityFetcher, fetcherClaimsJobs);
+    }
+
     private int getOccupiedWorkerCount() {
         return backgroundJobServer.getJobZooKeeper().getOccupiedWorkerCount();
     }
@@ -0,0 +1,92 @@
+package org.jobrunr.server.strategy;
+
+import org.jobrunr.jobs.Job;
+import org.jobrunr.jobs.JobPriority;
+import org.jobrunr.storage.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Fills a page of work with enqueued jobs of all priorities (see {@link JobPriority}) in proportion to the weight of each priority: with the
+ * default weights, a page of 10 jobs contains 6 jobs with a high priority, 3 with a normal priority and 1 with a low priority. Capacity that
+ * is not used by a priority (because there are not enough jobs with that priority) is given to the other priorities, highest priority first.
+ * <p>
+ * If the page is too small to give each priority its share, the slots are handed out using a smooth weighted round-robin which remembers the
+ * credit of each priority across pages, so that even jobs with a low priority are never starved.
+ */
+public class WeightedFairShare {
+
+    public static final int DEFAULT_LOW_PRIORITY_WEIGHT = 1;
+    public static final int DEFAULT_NORMAL_PRIORITY_WEIGHT = 3;
+    public static final int DEFAULT_HIGH_PRIORITY_WEIGHT = 6;
+
+    private final int[] priorities;
+    private final int[] weights;
+    private final int totalWeight;
+    private final int[] credits;
+
+    public WeightedFairShare() {
+        this(DEFAULT_LOW_PRIORITY_WEIGHT, DEFAULT_NORMAL_PRIORITY_WEIGHT, DEFAULT_HIGH_PRIORITY_WEIGHT);
+    }
+
+    public WeightedFairShare(int lowPriorityWeight, int normalPriorityWeight, int highPriorityWeight) {
+        if (lowPriorityWeight < 1 || normalPriorityWeight < 1 || highPriorityWeight < 1) {
+            throw new IllegalArgumentException("The weight of each priority must be at least 1.");
+        }
+        this.priorities = JobPriority.allPrioritiesHighestFirst();
+        this.weights = new int[]{highPriorityWeight, normalPriorityWeight, lowPriorityWeight};
+        this.totalWeight = highPriorityWeight + normalPriorityWeight + lowPriorityWeight;
+        this.credits = new int[priorities.length];
+    }
+
+    /**
+     * Fetches at most {@code workPageRequest.getLimit()} jobs, shared fairly across all priorities.
+     *
+     * @param workPageRequest       the order and the maximum amount of jobs to fetch
+     * @param jobsByPriorityFetcher fetches (or claims) the enqueued jobs of the given priority
+     * @param fetcherClaimsJobs     whether the jobsByPriorityFetcher claims the jobs, after which they are no longer enqueued
+     * @return the jobs to process, at most {@code workPageRequest.getLimit()}
+     */
+    public List<Job> getWork(PageRequest workPageRequest, BiFunction<Integer, PageRequest, List<Job>> jobsByPriorityFetcher, boolean fetcherClaimsJobs) {
+        final List<Job> result = new ArrayList<>();
+        final int limit = workPageRequest.getLimit();
+        if (limit < 1) return result;
+
+        final int[] quotas = getQuotas(limit);
+        final int[] fetched = new int[priorities.length];
+        for (int i = 0; i < priorities.length; i++) {
+            if (quotas[i] < 1) continue;
+            fetched[i] = fetch(workPageRequest, jobsByPriorityFetcher, i, 0, quotas[i], result);
+        }
+
+        // why: a priority that filled its quota may have more jobs waiting, so it gets the capacity left by the other priorities
+        // why: claimed jobs are no longer enqueued, so only a fetcher that does not claim must skip the jobs it already returned
+        for (int i = 0; i < priorities.length && result.size() < limit; i++) {
+            if (fetched[i] < quotas[i]) continue;
+            fetch(workPageRequest, jobsByPriorityFetcher, i, fetcherClaimsJobs ? 0 : fetched[i], limit - result.size(), result);
+        }
+        return result;
+    }
+
+    synchronized int[] getQuotas(int limit) {
+        final int[] quotas = new int[priorities.length];
+        for (int slot = 0; slot < limit; slot++) {
+            int selected = 0;
+            for (int i = 0; i < priorities.length; i++) {
+                credits[i] += weights[i];
+                if (credits[i] > credits[selected]) selected = i;
+            }
+            credits[selected] -= totalWeight;
+            quotas[selected]++;
+        }
+        return quotas;
+    }
+
+    private int fetch(PageRequest workPageRequest, BiFunction<Integer, PageRequest, List<Job>> jobsByPriorityFetcher, int priorityIndex, long offset, int amount, List<Job> result) {
+        final List<Job> jobs = jobsByPriorityFetcher.apply(priorities[priorityIndex], new PageRequest(workPageRequest.getOrder(), workPageRequest.getOffset() + offset, amount));
+        result.addAll(jobs);
+        return jobs.size();
+    }
+}
@@ -1,7 +1,11 @@
 package org.jobrunr.server.strategy;
 
+import org.jobrunr.jobs.Job;
 import org.jobrunr.storage.PageRequest;
 
+import java.util.List;
+import java.util.function.BiFunction;
+
 public interface WorkDistributionStrategy {
 
     int getWorkerCount();
@@ -9,4 +13,16 @@ public interface WorkDistributionStrategy {
     boolean canOnboardNewWork();
 
     PageRequest getWorkPageRequest();
+
+    /**
+     * Fills the given page of work with enqueued jobs of all priorities using weighted fair sharing (see {@link WeightedFairShare}).
+     *
+     * @param workPageRequest       the order and the maximum amount of jobs to fetch
+     * @param jobsByPriorityFetcher fetches (or claims) the enqueued jobs of the given priority
+     * @param fetcherClaimsJobs     whether the jobsByPriorityFetcher claims the jobs, after which they are no longer enqueued
+     * @return the jobs to process
+     */
+    default List<Job> getWork(PageRequest workPageRequest, BiFunction<Integer, PageRequest, List<Job>> jobsByPriorityFetcher, boolean fetcherClaimsJobs) {
+        return new WeightedFairShare().getWork(workPageRequest, jobsByPriorityFetcher, fetcherClaimsJobs);
+    }
 }
@@ -0,0 +1,36 @@
+package org.jobrunr.server.tasks;
+
+import org.jobrunr.server.BackgroundJobServer;
+import org.jobrunr.storage.StorageProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.jobrunr.JobRunrException.shouldNotHappenException;
+
+/**
+ * Periodically corrects the job stats of StorageProviders that maintain them incrementally (see {@link StorageProvider#reconcileJobStats()}).
+ * Only the master BackgroundJobServer reconciles the job stats as it is a (relatively) expensive operation.
+ */
+public class ReconcileJobStatsTask implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReconcileJobStatsTask.class);
+
+    private final BackgroundJobServer backgroundJobServer;
+    private final StorageProvider storageProvider;
+
+    public ReconcileJobStatsTask(BackgroundJobServer backgroundJobServer) {
+        this.backgroundJobServer = backgroundJobServer;
+        this.storageProvider = backgroundJobServer.getStorageProvider();
+    }
+
+    @Override
+    public void run() {
+        if (!backgroundJobServer.isMaster()) return;
+
+        try {
+            storageProvider.reconcileJobStats();
+        } catch (Exception e) {
+            LOGGER.error("Unexpected exception running `ReconcileJobStatsTask`", shouldNotHappenException(e));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.jobrunr.server.threadpool;
+
+import org.jobrunr.utils.RuntimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link JobRunrExecutor} that runs each task on its own virtual thread (Java 21 or higher). It is meant for I/O-bound jobs (e.g. HTTP or JDBC calls)
+ * where a platform thread per job would be too expensive. The amount of tasks that run concurrently is limited by a {@link Semaphore}: tasks above the
+ * limit wait (on their virtual thread) until a permit becomes available.
+ * <p>
+ * Use it together with the {@link org.jobrunr.server.configuration.VirtualThreadBackgroundJobServerWorkerPolicy} or register it in
+ * {@code META-INF/services/org.jobrunr.server.threadpool.JobRunrExecutor} so it is picked up by the BackgroundJobServer.
+ */
+public class VirtualThreadJobRunrExecutor implements JobRunrExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadJobRunrExecutor.class);
+
+    public static final int DEFAULT_WORKER_COUNT = 1000;
+
+    private final Semaphore semaphore;
+    private final ThreadFactory threadFactory;
+    private final Set<Thread> threads;
+    private volatile boolean isRunning;
+
+    public VirtualThreadJobRunrExecutor() {
+        this(DEFAULT_WORKER_COUNT, "backgroundjob-worker");
+    }
+
+    public VirtualThreadJobRunrExecutor(int workerCount, String threadNamePrefix) {
+        if (!isSupported()) throw new UnsupportedOperationException("Virtual threads are only available on Java 21 or higher.");
+        this.semaphore = new Semaphore(workerCount);
+        this.threadFactory = virtualThreadFactory(threadNamePrefix);
+        this.threads = ConcurrentHashMap.newKeySet();
+    }
+
+    public static boolean isSupported() {
+        return RuntimeUtils.getJvmVersion() >= 21;
+    }
+
+    @Override
+    public int getPriority() {
+        return 20;
+    }
+
+    @Override
+    public void start() {
+        isRunning = true;
+        LOGGER.info("ThreadManager of type 'VirtualThreads' started");
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (!isRunning) throw new RejectedExecutionException("VirtualThreadJobRunrExecutor is not running");
+
+        final Thread thread = threadFactory.newThread(() -> runWithPermit(command));
+        threads.add(thread);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        isRunning = false;
+        try {
+            if (!awaitTermination(10, TimeUnit.SECONDS)) {
+                threads.forEach(Thread::interrupt);
+            }
+        } catch (InterruptedException e) {
+            threads.forEach(Thread::interrupt);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWithPermit(Runnable command) {
+        try {
+            semaphore.acquire();
+            try {
+                command.run();
+            } finally {
+                semaphore.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            threads.remove(Thread.currentThread());
+        }
+    }
+
+    private boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread thread : threads) {
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) return threads.isEmpty();
+            TimeUnit.NANOSECONDS.timedJoin(thread, remainingNanos);
+        }
+        return threads.isEmpty();
+    }
+
+    private static ThreadFactory virtualThreadFactory(String threadNamePrefix) {
+        // why: JobRunr is compiled for Java 8, so the Thread.Builder API of Java 21 is only available via reflection
+        try {
+            final Class<?> threadBuilderClass = Class.forName("java.lang.Thread$Builder");
+            Object threadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+            threadBuilder = threadBuilderClass.getMethod("name", String.class, long.class).invoke(threadBuilder, threadNamePrefix + "-", 1L);
+            return (ThreadFactory) threadBuilderClass.getMethod("factory").invoke(threadBuilder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are only available on Java 21 or higher.", e);
+        }
+    }
+}
@@ -40,13 +40,15 @@ public abstract class AbstractStorageProvider implements StorageProvider, AutoCl
     @Override
     public void addJobStorageOnChangeListener(StorageProviderChangeListener listener) {
         onChangeListeners.add(listener);
-        startTimerToSendUpdates();
+        if (isNotifiedByTimer(listener)) {
+            startTimerToSendUpdates();
+        }
     }
 
     @Override
     public void removeJobStorageOnChangeListener(StorageProviderChangeListener listener) {
         onChangeListeners.remove(listener);
-        if (onChangeListeners.isEmpty()) {
+        if (onChangeListeners.stream().noneMatch(AbstractStorageProvider::isNotifiedByTimer)) {
             stopTimerToSendUpdates();
         }
     }
@@ -101,6 +103,26 @@ public abstract class AbstractStorageProvider implements StorageProvider, AutoCl
         }
     }
 
+    protected boolean hasEnqueuedJobsChangeListeners() {
+        return StreamUtils.ofType(onChangeListeners, EnqueuedJobsChangeListener.class).findAny().isPresent();
+    }
+
+    protected void notifyEnqueuedJobsChangeListenersIf(boolean jobsAreEnqueued) {
+        if (jobsAreEnqueued) {
+            notifyEnqueuedJobsChangeListeners();
+        }
+    }
+
+    protected void notifyEnqueuedJobsChangeListeners() {
+        try {
+            StreamUtils
+                    .ofType(onChangeListeners, EnqueuedJobsChangeListener.class)
+                    .forEach(EnqueuedJobsChangeListener::onJobsEnqueued);
+        } catch (Exception e) {
+            logError(e);
+        }
+    }
+
     private void notifyJobChangeListeners() {
         try {
             final Map<JobId, List<JobChangeListener>> listenerByJob = StreamUtils
@@ -166,6 +188,13 @@ public abstract class AbstractStorageProvider implements StorageProvider, AutoCl
         }
     }
 
+    private static boolean isNotifiedByTimer(StorageProviderChangeListener listener) {
+        return listener instanceof JobStatsChangeListener
+                || listener instanceof JobChangeListener
+                || listener instanceof BackgroundJobServerStatusChangeListener
+                || listener instanceof MetadataChangeListener;
+    }
+
     private void logError(Exception e) {
         if (reentrantLock.isLocked() || timer == null) return; // timer is being stopped so not interested in it
         LOGGER.warn("Error notifying JobStorageChangeListeners", e);
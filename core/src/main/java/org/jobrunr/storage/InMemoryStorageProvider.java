@@ -10,12 +10,14 @@ import org.jobrunr.utils.resilience.RateLimiter;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import static java.lang.Long.parseLong;
 import static java.util.Arrays.asList;
+import static java.util.Arrays.stream;
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
@@ -31,6 +33,12 @@ import static org.jobrunr.utils.resilience.RateLimiter.SECOND;
 public class InMemoryStorageProvider extends AbstractStorageProvider {
 
     private final Map<UUID, Job> jobQueue = new ConcurrentHashMap<>();
+    // why: secondary indexes so that polling, paging and stats do not need to filter and sort all jobs. They are only changed while holding the lock on this
+    private final Map<StateName, ConcurrentSkipListMap<JobIndexKey, Job>> jobsByStateOrderedOnUpdatedAt = new EnumMap<>(StateName.class);
+    private final Map<StateName, AtomicLong> jobCountsByState = new EnumMap<>(StateName.class);
+    private final ConcurrentSkipListMap<JobIndexKey, Job> scheduledJobsOrderedOnScheduledAt = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<UUID>> jobIdsByJobSignature = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> jobIdsByRecurringJobId = new ConcurrentHashMap<>();
     private final Map<UUID, BackgroundJobServerStatus> backgroundJobServers = new ConcurrentHashMap<>();
     private final List<RecurringJob> recurringJobs = new CopyOnWriteArrayList<>();
     private final Map<String, JobRunrMetadata> metadata = new ConcurrentHashMap<>();
@@ -42,6 +50,10 @@ public class InMemoryStorageProvider extends AbstractStorageProvider {
 
     public InMemoryStorageProvider(RateLimiter rateLimiter) {
         super(rateLimiter);
+        for (StateName state : StateName.values()) {
+            jobsByStateOrderedOnUpdatedAt.put(state, new ConcurrentSkipListMap<>());
+            jobCountsByState.put(state, new AtomicLong());
+        }
         publishTotalAmountOfSucceededJobs(0);
     }
 
@@ -148,16 +160,22 @@ public class InMemoryStorageProvider extends AbstractStorageProvider {
         }
     }
 
+    @Override
+    public boolean canNotifyOfEnqueuedJobs() {
+        return true;
+    }
+
     @Override
     public Job save(Job job) {
         saveJob(job);
         notifyJobStatsOnChangeListeners();
+        notifyEnqueuedJobsChangeListenersIf(job.hasState(ENQUEUED));
         return job;
     }
 
     @Override
     public int deletePermanently(UUID id) {
-        boolean removed = jobQueue.keySet().remove(id);
+        boolean removed = removeJob(id);
         notifyJobStatsOnChangeListenersIf(removed);
         return removed ? 1 : 0;
     }
@@ -169,14 +187,14 @@ public class InMemoryStorageProvider extends AbstractStorageProvider {
             throw new ConcurrentJobModificationException(concurrentModifiedJobs);
         }
         notifyJobStatsOnChangeListeners();
+        notifyEnqueuedJobsChangeListenersIf(jobs.stream().anyMatch(job -> job.hasState(ENQUEUED)));
         return jobs;
     }
 
     @Override
     public List<Job> getJobs(StateName state, Instant updatedBefore, PageRequest pageRequest) {
-        return getJobsStream(state, pageRequest)
-                .filter(job -> job.getUpdatedAt().isBefore(updatedBefore))
-                .skip(pageRequest.getOffset())
+        return getJobsStream(jobsByStateOrderedOnUpdatedAt.get(state).headMap(JobIndexKey.lowest(updatedBefore)), pageRequest)
+                .skip(pageRequest.getAmountToSkip())
                 .limit(pageRequest.getLimit())
                 .map(this::deepClone)
                 .collect(toList());
@@ -184,9 +202,10 @@ public class InMemoryStorageProvider extends AbstractStorageProvider {
 
     @Override
     public List<Job> getScheduledJobs(Instant scheduledBefore, PageRequest pageRequest) {
-        return getJobsStream(SCHEDULED, pageRequest)
-                .filter(job -> ((ScheduledState) job.getJobState()).getScheduledAt().isBefore(scheduledBefore))
-                .skip(pageRequest.getOffset())
+        return scheduledJobsOrderedOnScheduledAt.headMap(JobIndexKey.lowest(scheduledBefore)).values().stream()
+                .filter(job -> isAfterSeekPosition(job, pageRequest))
+                .sorted(getJobComparator(pageRequest))
+                .skip(pageRequest.getAmountToSkip())
                 .limit(pageRequest.getLimit())
                 .map(this::deepClone)
                 .collect(toList());
@@ -195,7 +214,17 @@ public class InMemoryStorageProvider extends AbstractStorageProvider {
     @Override
     public List<Job> getJobs(StateName state, PageRequest pageRequest) {
         return getJobsStream(state, pageRequest)
-                .skip(pageRequest.getOffset())
+                .skip(pageRequest.getAmountToSkip())
+                .limit(pageRequest.getLimit())
+                .map(this::deepClone)
+                .collect(toList());
+    }
+
+    @Override
+    public List<Job> getJobs(StateName state, int priority, PageRequest pageRequest) {
+        return getJobsStream(state, pageRequest)
+                .filter(job -> job.getPriority() == priority)
+                .skip(pageRequest.getAmountToSkip())
                 .limit(pageRequest.getLimit())
                 .map(this::deepClone)
                 .collect(toList());
@@ -203,48 +232,44 @@ public class InMemoryStorageProvider extends AbstractStorageProvider {
 
     @Override
     public Page<Job> getJobPage(StateName state, PageRequest pageRequest) {
-        return new Page<>(getJobsStream(state).count(), getJobs(state, pageRequest),
+        return new Page<>(jobCountsByState.get(state).get(), getJobs(state, pageRequest),
                 pageRequest
         );
     }
 
     @Override
     public int deleteJobsPermanently(StateName state, Instant updatedBefore) {
-        List<UUID> jobsToRemove = jobQueue.values().stream()
-                .filter(job -> job.hasState(state))
-                .filter(job -> job.getUpdatedAt().isBefore(updatedBefore))
+        List<UUID> jobsToRemove = jobsByStateOrderedOnUpdatedAt.get(state).headMap(JobIndexKey.lowest(updatedBefore)).values().stream()
                 .map(Job::getId)
                 .collect(toList());
-        jobQueue.keySet().removeAll(jobsToRemove);
-        notifyJobStatsOnChangeListenersIf(!jobsToRemove.isEmpty());
-        return jobsToRemove.size();
+        final long amountRemoved = jobsToRemove.stream().filter(this::removeJob).count();
+        notifyJobStatsOnChangeListenersIf(amountRemoved > 0);
+        return (int) amountRemoved;
     }
 
     @Override
     public Set<String> getDistinctJobSignatures(StateName... states) {
-        return jobQueue.values().stream()
-                .filter(job -> asList(states).contains(job.getState()))
+        return stream(states)
+                .flatMap(state -> jobsByStateOrderedOnUpdatedAt.get(state).values().stream())
                 .map(AbstractJob::getJobSignature)
                 .collect(toSet());
     }
 
     @Override
     public boolean exists(JobDetails jobDetails, StateName... states) {
-        String actualJobSignature = getJobSignature(jobDetails);
-        return jobQueue.values().stream()
-                .anyMatch(job ->
-                        asList(states).contains(job.getState())
-                                && actualJobSignature.equals(getJobSignature(job.getJobDetails())));
+        return anyJobHasState(jobIdsByJobSignature.get(getJobSignature(jobDetails)), states);
     }
 
     @Override
     public boolean recurringJobExists(String recurringJobId, StateName... states) {
-        return jobQueue.values().stream()
-                .anyMatch(job ->
-                        asList(states).contains(job.getState())
-                                && job.getRecurringJobId()
-                                .map(actualRecurringJobId -> actualRecurringJobId.equals(recurringJobId))
-                                .orElse(false));
+        return anyJobHasState(jobIdsByRecurringJobId.get(recurringJobId), states);
+    }
+
+    @Override
+    public Set<String> recurringJobsExist(Collection<String> recurringJobIds, StateName... states) {
+        return recurringJobIds.stream()
+                .filter(recurringJobId -> anyJobHasState(jobIdsByRecurringJobId.get(recurringJobId), states))
+                .collect(toSet());
     }
 
     @Override
@@ -282,13 +307,13 @@ public class InMemoryStorageProvider extends AbstractStorageProvider {
         return new JobStats(
                 Instant.now(),
                 (long) jobQueue.size(),
-                getJobsStream(SCHEDULED).count(),
-                getJobsStream(ENQUEUED).count(),
-                getJobsStream(PROCESSING).count(),
-                getJobsStream(FAILED).count(),
-                getJobsStream(SUCCEEDED).count(),
+                jobCountsByState.get(SCHEDULED).get(),
+                jobCountsByState.get(ENQUEUED).get(),
+                jobCountsByState.get(PROCESSING).get(),
+                jobCountsByState.get(FAILED).get(),
+                jobCountsByState.get(SUCCEEDED).get(),
                 getMetadata(STATS_NAME, STATS_OWNER).getValueAsLong(),
-                getJobsStream(DELETED).count(),
+                jobCountsByState.get(DELETED).get(),
                 recurringJobs.size(),
                 backgroundJobServers.size()
         );
@@ -301,13 +326,40 @@ public class InMemoryStorageProvider extends AbstractStorageProvider {
     }
 
     private Stream<Job> getJobsStream(StateName state, PageRequest pageRequest) {
-        return getJobsStream(state)
+        return getJobsStream(jobsByStateOrderedOnUpdatedAt.get(state), pageRequest);
+    }
+
+    private Stream<Job> getJobsStream(NavigableMap<JobIndexKey, Job> jobsOrderedOnUpdatedAt, PageRequest pageRequest) {
+        if (pageRequest.hasSeekPosition()) {
+            final JobIndexKey seekPosition = JobIndexKey.of(pageRequest.getLastUpdatedAt(), pageRequest.getLastId());
+            return pageRequest.getSeekOrder() == PageRequest.Order.ASC
+                    ? jobsOrderedOnUpdatedAt.tailMap(seekPosition, false).values().stream()
+                    : jobsOrderedOnUpdatedAt.headMap(seekPosition, false).descendingMap().values().stream();
+        }
+        final String order = pageRequest.getOrder();
+        if (FIELD_UPDATED_AT.equalsIgnoreCase(order) || (FIELD_UPDATED_AT + ":" + PageRequest.Order.ASC).equalsIgnoreCase(order)) {
+            return jobsOrderedOnUpdatedAt.values().stream();
+        } else if ((FIELD_UPDATED_AT + ":" + PageRequest.Order.DESC).equalsIgnoreCase(order)) {
+            return jobsOrderedOnUpdatedAt.descendingMap().values().stream();
+        }
+        return jobsOrderedOnUpdatedAt.values().stream()
                 .sorted(getJobComparator(pageRequest));
     }
 
-    private Stream<Job> getJobsStream(StateName state) {
-        return jobQueue.values().stream()
-                .filter(job -> job.hasState(state));
+    private static boolean isAfterSeekPosition(Job job, PageRequest pageRequest) {
+        if (!pageRequest.hasSeekPosition()) return true;
+
+        final int compared = JobIndexKey.of(job.getUpdatedAt(), job.getId()).compareTo(JobIndexKey.of(pageRequest.getLastUpdatedAt(), pageRequest.getLastId()));
+        return pageRequest.getSeekOrder() == PageRequest.Order.ASC ? compared > 0 : compared < 0;
+    }
+
+    private boolean anyJobHasState(Set<UUID> jobIds, StateName... states) {
+        if (jobIds == null) return false;
+
+        final List<StateName> stateList = asList(states);
+        return jobIds.stream()
+                .map(jobQueue::get)
+                .anyMatch(job -> job != null && stateList.contains(job.getState()));
     }
 
     private Job deepClone(Job job) {
@@ -324,12 +376,57 @@ public class InMemoryStorageProvider extends AbstractStorageProvider {
         }
 
         try(JobVersioner jobVersioner = new JobVersioner(job)) {
-            jobQueue.put(job.getId(), deepClone(job));
+            final Job jobToStore = deepClone(job);
+            jobQueue.put(job.getId(), jobToStore);
+            if (oldJob != null) removeFromIndexes(oldJob);
+            addToIndexes(jobToStore);
             jobVersioner.commitVersion();
         }
     }
 
+    private synchronized boolean removeJob(UUID id) {
+        final Job removedJob = jobQueue.remove(id);
+        if (removedJob == null) return false;
+
+        removeFromIndexes(removedJob);
+        return true;
+    }
+
+    private void addToIndexes(Job job) {
+        jobsByStateOrderedOnUpdatedAt.get(job.getState()).put(JobIndexKey.of(job.getUpdatedAt(), job.getId()), job);
+        jobCountsByState.get(job.getState()).incrementAndGet();
+        if (job.hasState(SCHEDULED)) {
+            scheduledJobsOrderedOnScheduledAt.put(JobIndexKey.of(job.<ScheduledState>getJobState().getScheduledAt(), job.getId()), job);
+        }
+        jobIdsByJobSignature.computeIfAbsent(job.getJobSignature(), signature -> ConcurrentHashMap.newKeySet()).add(job.getId());
+        job.getRecurringJobId().ifPresent(recurringJobId -> jobIdsByRecurringJobId.computeIfAbsent(recurringJobId, id -> ConcurrentHashMap.newKeySet()).add(job.getId()));
+    }
+
+    private void removeFromIndexes(Job job) {
+        jobsByStateOrderedOnUpdatedAt.get(job.getState()).remove(JobIndexKey.of(job.getUpdatedAt(), job.getId()));
+        jobCountsByState.get(job.getState()).decrementAndGet();
+        if (job.hasState(SCHEDULED)) {
+            scheduledJobsOrderedOnScheduledAt.remove(JobIndexKey.of(job.<ScheduledState>getJobState().getScheduledAt(), job.getId()));
+        }
+        removeFromLookup(jobIdsByJobSignature, job.getJobSignature(), job.getId());
+        job.getRecurringJobId().ifPresent(recurringJobId -> removeFromLookup(jobIdsByRecurringJobId, recurringJobId, job.getId()));
+    }
+
+    private static void removeFromLookup(Map<String, Set<UUID>> lookup, String key, UUID jobId) {
+        lookup.computeIfPresent(key, (k, jobIds) -> {
+            jobIds.remove(jobId);
+            return jobIds.isEmpty() ? null : jobIds;
+        });
+    }
+
     private Comparator<Job> getJobComparator(PageRequest pageRequest) {
+        final PageRequest.Order seekOrder = pageRequest.getSeekOrder();
+        if (seekOrder != null) {
+            // why: like in the indexes, jobs with the same updatedAt are ordered on their id so that the pages with a seek position follow each other
+            final Comparator<Job> comparator = Comparator.comparing(job -> JobIndexKey.of(job.getUpdatedAt(), job.getId()));
+            return seekOrder == PageRequest.Order.ASC ? comparator : comparator.reversed();
+        }
+
         List<Comparator<Job>> result = new ArrayList<>();
         final String[] sortOns = pageRequest.getOrder().split(",");
         for (String sortOn : sortOns) {
@@ -357,4 +454,48 @@ public class InMemoryStorageProvider extends AbstractStorageProvider {
                 .orElse((a, b) -> 0); // default order
     }
 
+    /**
+     * Key of the ordered indexes: jobs are ordered on an instant (e.g. updatedAt) and on their id if the instants are equal.
+     */
+    private static final class JobIndexKey implements Comparable<JobIndexKey> {
+
+        private static final UUID LOWEST_UUID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+        private final Instant instant;
+        private final UUID jobId;
+
+        private JobIndexKey(Instant instant, UUID jobId) {
+            this.instant = instant;
+            this.jobId = jobId;
+        }
+
+        static JobIndexKey of(Instant instant, UUID jobId) {
+            return new JobIndexKey(instant, jobId);
+        }
+
+        // why: a headMap with this key contains all jobs with an instant strictly before the given instant
+        static JobIndexKey lowest(Instant instant) {
+            return new JobIndexKey(instant, LOWEST_UUID);
+        }
+
+        @Override
+        public int compareTo(JobIndexKey other) {
+            final int instantCompared = instant.compareTo(other.instant);
+            return instantCompared != 0 ? instantCompared : jobId.compareTo(other.jobId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof JobIndexKey)) return false;
+            JobIndexKey that = (JobIndexKey) o;
+            return instant.equals(that.instant) && jobId.equals(that.jobId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(instant, jobId);
+        }
+    }
+
 }
@@ -1,5 +1,8 @@
 package org.jobrunr.storage;
 
+import java.time.Instant;
+import java.util.UUID;
+
 public class PageRequest {
     private static final String DEFAULT_ORDER_FIELD = "updatedAt";
 
@@ -11,6 +14,8 @@ public class PageRequest {
     private long offset = 0;
     private int limit = 20;
     private String order = DEFAULT_ORDER_FIELD + ":" + Order.ASC.name();
+    private Instant lastUpdatedAt;
+    private UUID lastId;
 
     public static PageRequest ascOnUpdatedAt(int amount) {
         return ascOnUpdatedAt(0, amount);
@@ -28,13 +33,44 @@ public class PageRequest {
         return new PageRequest(DEFAULT_ORDER_FIELD + ":" + Order.DESC, offset, limit);
     }
 
+    /**
+     * Returns a PageRequest for the jobs ordered on updatedAt that come after the given job (keyset pagination). See {@link #hasSeekPosition()}.
+     *
+     * @param lastUpdatedAt the updatedAt of the last job of the previous page
+     * @param lastId        the id of the last job of the previous page
+     * @param limit         the maximum amount of jobs to return
+     * @return a PageRequest that continues after the given job
+     */
+    public static PageRequest ascOnUpdatedAtAfter(Instant lastUpdatedAt, UUID lastId, int limit) {
+        return new PageRequest(DEFAULT_ORDER_FIELD + ":" + Order.ASC, 0, limit, lastUpdatedAt, lastId);
+    }
+
     private PageRequest() {
     }
 
     public PageRequest(String order, long offset, int limit) {
+        this(order, offset, limit, null, null);
+    }
+
+    public PageRequest(String order, long offset, int limit, Instant lastUpdatedAt, UUID lastId) {
         this.order = order;
         this.offset = offset;
         this.limit = limit;
+        this.lastUpdatedAt = lastUpdatedAt;
+        this.lastId = lastId;
+    }
+
+    /**
+     * Returns a PageRequest with the same order and limit that continues after the given job, e.g. the last job of the page returned for
+     * this PageRequest. The offset is kept so that StorageProviders that do not support keyset pagination skip the same jobs.
+     *
+     * @param lastUpdatedAt the updatedAt of the last job of the previous page
+     * @param lastId        the id of the last job of the previous page
+     * @param offset        the offset of the next page
+     * @return a PageRequest that continues after the given job
+     */
+    public PageRequest seekAfter(Instant lastUpdatedAt, UUID lastId, long offset) {
+        return new PageRequest(order, offset, limit, lastUpdatedAt, lastId);
     }
 
     public String getOrder() {
@@ -49,12 +85,50 @@ public class PageRequest {
         return limit;
     }
 
+    public Instant getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    public UUID getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Returns whether this PageRequest continues after a given job (keyset pagination): instead of skipping {@link #getOffset()} jobs, only the
+     * jobs ordered after {@link #getLastUpdatedAt()} and {@link #getLastId()} are returned. This way, the storage seeks to the page using its
+     * indexes instead of reading and discarding all jobs of the previous pages.
+     * <p>
+     * This is only the case if the PageRequest is ordered on updatedAt only: jobs with the same updatedAt are then ordered on their id.
+     *
+     * @return true if the jobs must be returned from the seek position instead of from the offset
+     */
+    public boolean hasSeekPosition() {
+        return lastUpdatedAt != null && lastId != null && getSeekOrder() != null;
+    }
+
+    /**
+     * @return the order on updatedAt (and id) if this PageRequest is ordered on updatedAt only, otherwise null
+     */
+    public Order getSeekOrder() {
+        final String[] sortAndOrder = order.split(":");
+        if (sortAndOrder.length > 2 || !DEFAULT_ORDER_FIELD.equals(sortAndOrder[0])) return null;
+        return sortAndOrder.length == 1 ? Order.ASC : Order.valueOf(sortAndOrder[1].toUpperCase());
+    }
+
+    /**
+     * @return the amount of jobs to skip: the offset or, if this PageRequest has a seek position, 0
+     */
+    public long getAmountToSkip() {
+        return hasSeekPosition() ? 0 : offset;
+    }
+
     @Override
     public String toString() {
         return "PageRequest{" +
                 "order=" + order +
                 ", offset=" + offset +
                 ", limit=" + limit +
+                (lastId != null ? ", lastUpdatedAt=" + lastUpdatedAt + ", lastId=" + lastId : "") +
                 '}';
     }
 }
@@ -10,10 +10,14 @@ import org.jobrunr.storage.StorageProviderUtils.DatabaseOptions;
 import org.jobrunr.storage.listeners.StorageProviderChangeListener;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import static java.util.stream.Collectors.toSet;
+
 /**
  * The StorageProvider allows to store, retrieve and delete background jobs.
  *
@@ -71,22 +75,171 @@ public interface StorageProvider extends AutoCloseable {
 
     List<Job> save(List<Job> jobs);
 
+    /**
+     * Saves the heartbeat of the given jobs which are being processed: their updatedAt was set to the given instant using {@link Job#updateProcessing(Instant)}.
+     * As this happens for every job that is being processed on each poll interval, StorageProviders should override this to only update the
+     * updatedAt instead of saving the complete jobs. Such implementations must not change the version of the jobs (it is also part of the serialized
+     * job) but use it to detect concurrent modifications.
+     * The ElasticSearchStorageProvider does not support this and saves the complete jobs: the version of its documents is the version of the
+     * job (external versioning) and a partial update would increase it.
+     *
+     * @param jobs      the jobs that are being processed
+     * @param updatedAt the new updatedAt of the jobs
+     * @throws ConcurrentJobModificationException if one or more of the jobs were modified concurrently (e.g. deleted via the dashboard)
+     */
+    default void updateProcessingJobs(List<Job> jobs, Instant updatedAt) {
+        save(jobs);
+    }
+
     List<Job> getJobs(StateName state, Instant updatedBefore, PageRequest pageRequest);
 
     List<Job> getScheduledJobs(Instant scheduledBefore, PageRequest pageRequest);
 
     List<Job> getJobs(StateName state, PageRequest pageRequest);
 
+    /**
+     * Returns the jobs in the given state that have the given priority (see {@link org.jobrunr.jobs.JobPriority}).
+     * <p>
+     * The default implementation pages through all jobs in the given state and filters them in memory. StorageProviders should
+     * override it with a query on their index on the state, the priority and the updatedAt of the jobs.
+     *
+     * @param state       the state of the jobs
+     * @param priority    the priority of the jobs
+     * @param pageRequest the order, offset and maximum amount of jobs
+     * @return the jobs in the given state with the given priority
+     */
+    default List<Job> getJobs(StateName state, int priority, PageRequest pageRequest) {
+        final List<Job> result = new ArrayList<>();
+        if (pageRequest.getLimit() < 1) return result;
+
+        long amountToSkip = pageRequest.getOffset();
+        long offset = 0;
+        List<Job> jobs;
+        do {
+            jobs = getJobs(state, new PageRequest(pageRequest.getOrder(), offset, pageRequest.getLimit()));
+            for (Job job : jobs) {
+                if (job.getPriority() != priority) continue;
+                if (amountToSkip > 0) {
+                    amountToSkip--;
+                    continue;
+                }
+                result.add(job);
+                if (result.size() == pageRequest.getLimit()) return result;
+            }
+            offset += jobs.size();
+        } while (jobs.size() == pageRequest.getLimit());
+        return result;
+    }
+
     Page<Job> getJobPage(StateName state, PageRequest pageRequest);
 
+    /**
+     * Returns whether this StorageProvider pushes a notification to all {@link org.jobrunr.storage.listeners.EnqueuedJobsChangeListener}s
+     * when jobs are enqueued. If not, BackgroundJobServers only find new jobs when they poll.
+     *
+     * @return true if EnqueuedJobsChangeListeners are notified of enqueued jobs, false otherwise
+     */
+    default boolean canNotifyOfEnqueuedJobs() {
+        return false;
+    }
+
+    /**
+     * Returns whether this StorageProvider can atomically claim enqueued jobs for a single BackgroundJobServer using {@link #claimEnqueuedJobs(UUID, PageRequest)}.
+     *
+     * @return true if enqueued jobs can be claimed, false otherwise
+     */
+    default boolean canClaimEnqueuedJobs() {
+        return false;
+    }
+
+    /**
+     * Moves a batch of ENQUEUED jobs to the PROCESSING state for the given BackgroundJobServer. Jobs that are being claimed
+     * concurrently by other BackgroundJobServers are skipped, so each job is claimed by exactly one BackgroundJobServer.
+     *
+     * @param backgroundJobServerId the id of the BackgroundJobServer that will process the jobs
+     * @param pageRequest           the order and the maximum amount of jobs to claim
+     * @return the claimed jobs, already saved in the PROCESSING state
+     */
+    default List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, PageRequest pageRequest) {
+        throw new UnsupportedOperationException(getName() + " does not support claiming enqueued jobs");
+    }
+
+    /**
+     * Same as {@link #claimEnqueuedJobs(UUID, PageRequest)} but only claims ENQUEUED jobs with the given priority (see {@link org.jobrunr.jobs.JobPriority}).
+     * The offset of the page request is ignored as claimed jobs are no longer ENQUEUED.
+     *
+     * @param backgroundJobServerId the id of the BackgroundJobServer that will process the jobs
+     * @param priority              the priority of the jobs to claim
+     * @param pageRequest           the order and the maximum amount of jobs to claim
+     * @return the claimed jobs, already saved in the PROCESSING state
+     */
+    default List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, int priority, PageRequest pageRequest) {
+        throw new UnsupportedOperationException(getName() + " does not support claiming enqueued jobs");
+    }
+
     int deleteJobsPermanently(StateName state, Instant updatedBefore);
 
+    /**
+     * Returns whether this StorageProvider can move jobs to the DELETED state within the database itself using {@link #moveJobsToDeletedState(StateName, Instant, String, int)}.
+     * Only the PostgreSQL StorageProvider supports this. On all other StorageProviders, the BackgroundJobServer loads the jobs and saves them
+     * in the DELETED state.
+     *
+     * @return true if jobs can be moved to the DELETED state without loading them, false otherwise
+     */
+    default boolean canMoveJobsToDeletedState() {
+        return false;
+    }
+
+    /**
+     * Moves a batch of jobs in the given state which were last updated before the given instant to the DELETED state using a set-based
+     * operation: the {@link org.jobrunr.jobs.states.DeletedState} is appended to the job history and the metadata is cleared like
+     * {@link Job#delete(String)} does within the database, without loading the jobs. As the jobs are not loaded, no job filters are run and
+     * the job history is not compacted for this state change: the BackgroundJobServer only uses it if no custom state filters are registered
+     * and the job history is not compacted.
+     * Jobs which can not be modified within the database (e.g. because they were saved using a {@link org.jobrunr.jobs.mappers.JobCodec}) are skipped.
+     *
+     * @param state         the state of the jobs to move to the DELETED state
+     * @param updatedBefore only jobs that were last updated before this instant are moved
+     * @param reason        the reason of the DeletedState
+     * @param amount        the maximum amount of jobs to move
+     * @return the amount of jobs that were moved to the DELETED state
+     */
+    default int moveJobsToDeletedState(StateName state, Instant updatedBefore, String reason, int amount) {
+        throw new UnsupportedOperationException(getName() + " does not support moving jobs to the DELETED state");
+    }
+
+    /**
+     * Moves a batch of SUCCEEDED and DELETED jobs to the archive of this StorageProvider, if it has one. Archived jobs keep their state:
+     * they are still returned by all methods that fetch jobs (e.g. {@link #getJobById(UUID)} and {@link #getJobPage(StateName, PageRequest)})
+     * and are still counted in the {@link JobStats}, but they are no longer part of the storage used to find the jobs that must be processed.
+     *
+     * @param amount the maximum amount of jobs to archive
+     * @return the amount of jobs that were archived, 0 if this StorageProvider does not archive jobs
+     */
+    default int archiveJobs(int amount) {
+        return 0;
+    }
+
     Set<String> getDistinctJobSignatures(StateName... states);
 
     boolean exists(JobDetails jobDetails, StateName... states);
 
     boolean recurringJobExists(String recurringJobId, StateName... states);
 
+    /**
+     * Returns the ids of the given recurring jobs for which a job exists in one of the given states. StorageProviders should override this
+     * to use a single query instead of calling {@link #recurringJobExists(String, StateName...)} for each recurring job.
+     *
+     * @param recurringJobIds the ids of the recurring jobs to check
+     * @param states          the states in which a job of the recurring job must be
+     * @return the ids of the recurring jobs that have a job in one of the given states
+     */
+    default Set<String> recurringJobsExist(Collection<String> recurringJobIds, StateName... states) {
+        return recurringJobIds.stream()
+                .filter(recurringJobId -> recurringJobExists(recurringJobId, states))
+                .collect(toSet());
+    }
+
     RecurringJob saveRecurringJob(RecurringJob recurringJob);
 
     @Deprecated
@@ -100,6 +253,14 @@ public interface StorageProvider extends AutoCloseable {
 
     JobStats getJobStats();
 
+    /**
+     * Makes sure the {@link JobStats} match the jobs that are actually stored. StorageProviders that maintain the job stats incrementally
+     * (instead of counting the jobs each time) use this to correct any drift. It is called periodically by the master BackgroundJobServer.
+     */
+    default void reconcileJobStats() {
+        // nothing to reconcile by default as the job stats are counted on each request
+    }
+
     void publishTotalAmountOfSucceededJobs(int amount);
 
     default Job getJobById(JobId jobId) {
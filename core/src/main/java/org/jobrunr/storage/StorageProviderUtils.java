@@ -50,6 +50,7 @@ public class StorageProviderUtils {
         public static final String FIELD_UPDATED_AT = "updatedAt";
         public static final String FIELD_SCHEDULED_AT = "scheduledAt";
         public static final String FIELD_RECURRING_JOB_ID = "recurringJobId";
+        public static final String FIELD_PRIORITY = "priority";
     }
 
     public static class RecurringJobs {
@@ -12,6 +12,7 @@ import org.jobrunr.utils.resilience.Lock;
 import org.jobrunr.utils.resilience.MultiLock;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -113,6 +114,13 @@ public class ThreadSafeStorageProvider implements StorageProvider {
         }
     }
 
+    @Override
+    public void updateProcessingJobs(List<Job> jobs, Instant updatedAt) {
+        try (MultiLock lock = new MultiLock(jobs)) {
+            storageProvider.updateProcessingJobs(jobs, updatedAt);
+        }
+    }
+
     @Override
     public int deletePermanently(UUID id) {
         return storageProvider.deletePermanently(id);
@@ -138,16 +146,56 @@ public class ThreadSafeStorageProvider implements StorageProvider {
         return storageProvider.getJobs(state, pageRequest);
     }
 
+    @Override
+    public List<Job> getJobs(StateName state, int priority, PageRequest pageRequest) {
+        return storageProvider.getJobs(state, priority, pageRequest);
+    }
+
     @Override
     public Page<Job> getJobPage(StateName state, PageRequest pageRequest) {
         return storageProvider.getJobPage(state, pageRequest);
     }
 
+    @Override
+    public boolean canNotifyOfEnqueuedJobs() {
+        return storageProvider.canNotifyOfEnqueuedJobs();
+    }
+
+    @Override
+    public boolean canClaimEnqueuedJobs() {
+        return storageProvider.canClaimEnqueuedJobs();
+    }
+
+    @Override
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, PageRequest pageRequest) {
+        return storageProvider.claimEnqueuedJobs(backgroundJobServerId, pageRequest);
+    }
+
+    @Override
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, int priority, PageRequest pageRequest) {
+        return storageProvider.claimEnqueuedJobs(backgroundJobServerId, priority, pageRequest);
+    }
+
     @Override
     public int deleteJobsPermanently(StateName state, Instant updatedBefore) {
         return storageProvider.deleteJobsPermanently(state, updatedBefore);
     }
 
+    @Override
+    public boolean canMoveJobsToDeletedState() {
+        return storageProvider.canMoveJobsToDeletedState();
+    }
+
+    @Override
+    public int moveJobsToDeletedState(StateName state, Instant updatedBefore, String reason, int amount) {
+        return storageProvider.moveJobsToDeletedState(state, updatedBefore, reason, amount);
+    }
+
+    @Override
+    public int archiveJobs(int amount) {
+        return storageProvider.archiveJobs(amount);
+    }
+
     @Override
     public Set<String> getDistinctJobSignatures(StateName... states) {
         return storageProvider.getDistinctJobSignatures(states);
@@ -163,6 +211,11 @@ public class ThreadSafeStorageProvider implements StorageProvider {
         return storageProvider.recurringJobExists(recurringJobId, states);
     }
 
+    @Override
+    public Set<String> recurringJobsExist(Collection<String> recurringJobIds, StateName... states) {
+        return storageProvider.recurringJobsExist(recurringJobIds, states);
+    }
+
     @Override
     public RecurringJob saveRecurringJob(RecurringJob recurringJob) {
         return storageProvider.saveRecurringJob(recurringJob);
@@ -194,6 +247,11 @@ public class ThreadSafeStorageProvider implements StorageProvider {
         return storageProvider.getJobStats();
     }
 
+    @Override
+    public void reconcileJobStats() {
+        storageProvider.reconcileJobStats();
+    }
+
     @Override
     public void publishTotalAmountOfSucceededJobs(int amount) {
         storageProvider.publishTotalAmountOfSucceededJobs(amount);
@@ -0,0 +1,11 @@
+package org.jobrunr.storage.listeners;
+
+/**
+ * Listener that is notified when new jobs are enqueued. Only StorageProviders that support push notifications
+ * will call this listener - others rely on polling.
+ */
+public interface EnqueuedJobsChangeListener extends StorageProviderChangeListener {
+
+    void onJobsEnqueued();
+
+}
@@ -79,8 +79,10 @@ public class ElasticSearchDocumentMapper {
         try {
             XContentBuilder builder = JsonXContent.contentBuilder().prettyPrint();
             builder.startObject();
+            builder.field(Jobs.FIELD_ID, job.getId().toString());
             builder.field(Jobs.FIELD_JOB_AS_JSON, jobMapper.serializeJob(job));
             builder.field(Jobs.FIELD_STATE, job.getState());
+            builder.field(Jobs.FIELD_PRIORITY, job.getPriority());
             builder.field(Jobs.FIELD_UPDATED_AT, job.getUpdatedAt());
             builder.field(Jobs.FIELD_JOB_SIGNATURE, job.getJobSignature());
             if (job.hasState(StateName.SCHEDULED)) {
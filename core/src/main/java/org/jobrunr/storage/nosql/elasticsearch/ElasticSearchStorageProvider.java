@@ -4,6 +4,7 @@ import org.apache.http.HttpHost;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.ElasticsearchStatusException;
 import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -13,6 +14,7 @@ import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.RequestOptions;
@@ -47,7 +49,9 @@ import org.jobrunr.utils.resilience.RateLimiter;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonMap;
@@ -81,8 +85,11 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
     private final String backgroundJobServerIndexName;
     private final String metadataIndexName;
     private final String indexPrefix;
+    private final AtomicLong jobIndexWriteSequence;
+    private final AtomicLong jobIndexRefreshedWriteSequence;
 
     private ElasticSearchDocumentMapper elasticSearchDocumentMapper;
+    private RefreshPolicy jobsRefreshPolicy;
 
 
     public ElasticSearchStorageProvider(String hostName, int port) {
@@ -124,6 +131,9 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
         this.recurringJobIndexName = elementPrefixer(indexPrefix, DEFAULT_RECURRING_JOB_INDEX_NAME);
         this.backgroundJobServerIndexName = elementPrefixer(indexPrefix, DEFAULT_BACKGROUND_JOB_SERVER_INDEX_NAME);
         this.metadataIndexName = elementPrefixer(indexPrefix, DEFAULT_METADATA_INDEX_NAME);
+        this.jobIndexWriteSequence = new AtomicLong();
+        this.jobIndexRefreshedWriteSequence = new AtomicLong();
+        this.jobsRefreshPolicy = RefreshPolicy.NONE;
     }
 
     @Override
@@ -131,6 +141,20 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
         this.elasticSearchDocumentMapper = new ElasticSearchDocumentMapper(jobMapper);
     }
 
+    /**
+     * Sets the refresh policy used when saving or deleting jobs. By default ({@link RefreshPolicy#NONE}) a write does not wait for a
+     * refresh and the job index is refreshed once before it is searched again by this StorageProvider, so many writes share a single
+     * refresh. With {@link RefreshPolicy#WAIT_UNTIL} each write waits until the next scheduled refresh of the index makes it visible.
+     *
+     * @param jobsRefreshPolicy the refresh policy to use for jobs, either {@link RefreshPolicy#NONE} or {@link RefreshPolicy#WAIT_UNTIL}
+     */
+    public void setJobsRefreshPolicy(RefreshPolicy jobsRefreshPolicy) {
+        if (jobsRefreshPolicy == IMMEDIATE) {
+            throw new IllegalArgumentException("An immediate refresh on each write of a job is not supported, use NONE or WAIT_UNTIL instead.");
+        }
+        this.jobsRefreshPolicy = jobsRefreshPolicy;
+    }
+
     @Override
     public void setUpStorageProvider(DatabaseOptions databaseOptions) {
         if (DatabaseOptions.CREATE == databaseOptions) {
@@ -301,9 +325,10 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
                     .id(job.getId().toString())
                     .versionType(VersionType.EXTERNAL)
                     .version(job.getVersion())
-                    .setRefreshPolicy(IMMEDIATE)
+                    .setRefreshPolicy(jobsRefreshPolicy)
                     .source(elasticSearchDocumentMapper.toXContentBuilder(job));
             client.index(request, RequestOptions.DEFAULT);
+            jobIndexChanged();
             jobVersioner.commitVersion();
             notifyJobStatsOnChangeListeners();
             return job;
@@ -320,7 +345,8 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
     @Override
     public int deletePermanently(UUID id) {
         try {
-            DeleteResponse delete = client.delete(new DeleteRequest(jobIndexName, id.toString()).setRefreshPolicy(IMMEDIATE), RequestOptions.DEFAULT);
+            DeleteResponse delete = client.delete(new DeleteRequest(jobIndexName, id.toString()).setRefreshPolicy(jobsRefreshPolicy), RequestOptions.DEFAULT);
+            jobIndexChanged();
             int amountDeleted = delete.getShardInfo().getSuccessful();
             notifyJobStatsOnChangeListenersIf(amountDeleted > 0);
             return amountDeleted;
@@ -350,7 +376,7 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
         try(JobListVersioner jobListVersioner = new JobListVersioner(jobs)) {
             jobListVersioner.validateJobs();
 
-            BulkRequest bulkRequest = new BulkRequest(jobIndexName).setRefreshPolicy(IMMEDIATE);
+            BulkRequest bulkRequest = new BulkRequest(jobIndexName).setRefreshPolicy(jobsRefreshPolicy);
             jobs.stream()
                     .map(job -> new IndexRequest().id(job.getId().toString())
                             .versionType(VersionType.EXTERNAL)
@@ -359,13 +385,18 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
                     .forEach(bulkRequest::add);
 
             BulkResponse bulk = client.bulk(bulkRequest, RequestOptions.DEFAULT);
-            List<Job> concurrentModifiedJobs = Stream.of(bulk.getItems())
-                    .filter(item -> item.isFailed() && item.status().getStatus() == 409)
+            jobIndexChanged();
+            List<Job> failedJobs = Stream.of(bulk.getItems())
+                    .filter(BulkItemResponse::isFailed)
                     .map(item -> jobs.get(item.getItemId()))
                     .collect(toList());
-            if (!concurrentModifiedJobs.isEmpty()) {
-                jobListVersioner.rollbackVersions(concurrentModifiedJobs);
-                throw new ConcurrentJobModificationException(concurrentModifiedJobs);
+            if (!failedJobs.isEmpty()) {
+                jobListVersioner.rollbackVersions(failedJobs);
+                // why: the other items of the bulk request are saved, so only the versions of the failed jobs are rolled back
+                if (Stream.of(bulk.getItems()).anyMatch(item -> item.isFailed() && item.status().getStatus() != 409)) {
+                    throw new StorageException(bulk.buildFailureMessage());
+                }
+                throw new ConcurrentJobModificationException(failedJobs);
             }
             jobListVersioner.commitVersions();
             notifyJobStatsOnChangeListenersIf(!jobs.isEmpty());
@@ -417,6 +448,21 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
         }
     }
 
+    @Override
+    public List<Job> getJobs(StateName state, int priority, PageRequest pageRequest) {
+        try {
+            BoolQueryBuilder stateAndPriorityQuery = boolQuery()
+                    .must(matchQuery(Jobs.FIELD_STATE, state))
+                    .filter(termQuery(Jobs.FIELD_PRIORITY, priority));
+            SearchResponse searchResponse = searchJobs(stateAndPriorityQuery, pageRequest);
+            return Stream.of(searchResponse.getHits().getHits())
+                    .map(elasticSearchDocumentMapper::toJob)
+                    .collect(toList());
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public Page<Job> getJobPage(StateName state, PageRequest pageRequest) {
         try {
@@ -438,6 +484,7 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
                     .must(matchQuery(Jobs.FIELD_STATE, state))
                     .must(rangeQuery(Jobs.FIELD_UPDATED_AT).to(updatedBefore));
 
+            refreshJobIndexIfChanged();
             DeleteByQueryRequest deleteByQueryRequest = new DeleteByQueryRequest(jobIndexName);
             deleteByQueryRequest.setQuery(boolQueryBuilder);
             BulkByScrollResponse bulkByScrollResponse = client.deleteByQuery(deleteByQueryRequest, RequestOptions.DEFAULT);
@@ -461,6 +508,7 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
                 stateQuery.should(matchQuery(Jobs.FIELD_STATE, state));
             }
 
+            refreshJobIndexIfChanged();
             SearchRequest searchRequest = new SearchRequest(jobIndexName);
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
             searchSourceBuilder.query(stateQuery);
@@ -510,6 +558,33 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
         }
     }
 
+    @Override
+    public Set<String> recurringJobsExist(Collection<String> recurringJobIds, StateName... states) {
+        if (recurringJobIds.isEmpty()) return Collections.emptySet();
+
+        try {
+            BoolQueryBuilder stateQuery = boolQuery();
+            for (StateName state : states) {
+                stateQuery.should(matchQuery(Jobs.FIELD_STATE, state));
+            }
+
+            // why: the recurringJobId is mapped as text and thus uses its keyword sub-field for exact matches
+            final String recurringJobIdField = Jobs.FIELD_RECURRING_JOB_ID + ".keyword";
+            refreshJobIndexIfChanged();
+            SearchRequest searchRequest = new SearchRequest(jobIndexName);
+            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+            searchSourceBuilder.query(boolQuery().must(stateQuery).must(termsQuery(recurringJobIdField, recurringJobIds)));
+            searchSourceBuilder.size(0);
+            searchSourceBuilder.aggregation(terms(Jobs.FIELD_RECURRING_JOB_ID).field(recurringJobIdField).size(recurringJobIds.size()));
+            searchRequest.source(searchSourceBuilder);
+            SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
+            Terms terms = searchResponse.getAggregations().get(Jobs.FIELD_RECURRING_JOB_ID);
+            return terms.getBuckets().stream().map(MultiBucketsAggregation.Bucket::getKeyAsString).collect(toSet());
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public RecurringJob saveRecurringJob(RecurringJob recurringJob) {
         try {
@@ -584,6 +659,7 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
         try {
             GetResponse getResponse = client.get(new GetRequest(metadataIndexName, STATS_ID), RequestOptions.DEFAULT);
 
+            refreshJobIndexIfChanged();
             SearchRequest searchRequest = new SearchRequest(jobIndexName);
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
             searchSourceBuilder.query(matchAllQuery());
@@ -627,6 +703,7 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
     }
 
     long countJobs(QueryBuilder queryBuilder) throws IOException {
+        refreshJobIndexIfChanged();
         CountRequest countRequest = new CountRequest(jobIndexName);
         countRequest.query(queryBuilder);
         CountResponse countResponse = client.count(countRequest, RequestOptions.DEFAULT);
@@ -634,20 +711,41 @@ public class ElasticSearchStorageProvider extends AbstractStorageProvider implem
     }
 
     SearchResponse searchJobs(QueryBuilder queryBuilder, PageRequest pageRequest) throws IOException {
+        refreshJobIndexIfChanged();
         SearchRequest searchRequest = new SearchRequest(jobIndexName);
         SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
         searchSourceBuilder.query(queryBuilder);
-        searchSourceBuilder.from((int) pageRequest.getOffset());
+        searchSourceBuilder.from((int) pageRequest.getAmountToSkip());
         searchSourceBuilder.size(pageRequest.getLimit());
         searchSourceBuilder.storedField(Jobs.FIELD_JOB_AS_JSON);
-        if (pageRequest.getOrder().equals("updatedAt:ASC")) {
-            searchSourceBuilder.sort(Jobs.FIELD_UPDATED_AT, SortOrder.ASC);
-        } else if (pageRequest.getOrder().equals("updatedAt:DESC")) {
-            searchSourceBuilder.sort(Jobs.FIELD_UPDATED_AT, SortOrder.DESC);
-        } else {
+        final PageRequest.Order order = pageRequest.getSeekOrder();
+        if (order == null) {
             throw new IllegalArgumentException("Unknown sort: " + pageRequest.getOrder());
         }
+        // why: search_after needs a unique sort, so jobs with the same updatedAt are ordered on their id
+        final SortOrder sortOrder = order == PageRequest.Order.ASC ? SortOrder.ASC : SortOrder.DESC;
+        searchSourceBuilder.sort(Jobs.FIELD_UPDATED_AT, sortOrder);
+        searchSourceBuilder.sort(Jobs.FIELD_ID, sortOrder);
+        if (pageRequest.hasSeekPosition()) {
+            searchSourceBuilder.searchAfter(new Object[]{ChronoUnit.NANOS.between(Instant.EPOCH, pageRequest.getLastUpdatedAt()), pageRequest.getLastId().toString()});
+        }
         searchRequest.source(searchSourceBuilder);
         return client.search(searchRequest, RequestOptions.DEFAULT);
     }
+
+    private void jobIndexChanged() {
+        if (jobsRefreshPolicy == RefreshPolicy.NONE) {
+            jobIndexWriteSequence.incrementAndGet();
+        }
+    }
+
+    private void refreshJobIndexIfChanged() throws IOException {
+        // why: jobs are written without a refresh, the job index is refreshed before it is searched so the jobs saved by this StorageProvider are found
+        // why: the writes are only marked as refreshed once the refresh succeeded, so a concurrent search never skips a refresh that is still running
+        final long writeSequence = jobIndexWriteSequence.get();
+        if (writeSequence > jobIndexRefreshedWriteSequence.get()) {
+            client.indices().refresh(new RefreshRequest(jobIndexName), RequestOptions.DEFAULT);
+            jobIndexRefreshedWriteSequence.accumulateAndGet(writeSequence, Math::max);
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package org.jobrunr.storage.nosql.elasticsearch.migrations;
+
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.PutMappingRequest;
+import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.elasticsearch.script.Script;
+import org.jobrunr.jobs.JobPriority;
+import org.jobrunr.storage.StorageProviderUtils.Jobs;
+
+import java.io.IOException;
+
+import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
+import static org.elasticsearch.index.query.QueryBuilders.existsQuery;
+import static org.jobrunr.storage.StorageProviderUtils.elementPrefixer;
+import static org.jobrunr.storage.nosql.elasticsearch.ElasticSearchStorageProvider.DEFAULT_JOB_INDEX_NAME;
+
+public class M007_UpdateJobsIndexAddPriority extends ElasticSearchMigration {
+
+    @Override
+    public void runMigration(RestHighLevelClient client, String indexPrefix) throws IOException {
+        final String jobIndexName = elementPrefixer(indexPrefix, DEFAULT_JOB_INDEX_NAME);
+
+        updateIndex(client, jobIndex(jobIndexName));
+
+        // why: all jobs saved before jobs had a priority have the normal priority
+        final UpdateByQueryRequest updateByQueryRequest = new UpdateByQueryRequest(jobIndexName)
+                .setQuery(boolQuery().mustNot(existsQuery(Jobs.FIELD_PRIORITY)))
+                .setScript(new Script("ctx._source." + Jobs.FIELD_PRIORITY + " = " + JobPriority.NORMAL))
+                .setAbortOnVersionConflict(false)
+                .setRefresh(true);
+        waitForHealthyCluster(client);
+        client.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+    }
+
+    private static PutMappingRequest jobIndex(String jobIndexName) {
+        return new PutMappingRequest(jobIndexName)
+                .source(mapping(
+                        (sb, map) -> {
+                            sb.append(Jobs.FIELD_PRIORITY);
+                            map.put("type", "integer");
+                        }
+                ));
+    }
+}
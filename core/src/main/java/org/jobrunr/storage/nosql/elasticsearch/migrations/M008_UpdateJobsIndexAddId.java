@@ -0,0 +1,44 @@
+package org.jobrunr.storage.nosql.elasticsearch.migrations;
+
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.PutMappingRequest;
+import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.elasticsearch.script.Script;
+import org.jobrunr.storage.StorageProviderUtils.Jobs;
+
+import java.io.IOException;
+
+import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
+import static org.elasticsearch.index.query.QueryBuilders.existsQuery;
+import static org.jobrunr.storage.StorageProviderUtils.elementPrefixer;
+import static org.jobrunr.storage.nosql.elasticsearch.ElasticSearchStorageProvider.DEFAULT_JOB_INDEX_NAME;
+
+public class M008_UpdateJobsIndexAddId extends ElasticSearchMigration {
+
+    @Override
+    public void runMigration(RestHighLevelClient client, String indexPrefix) throws IOException {
+        final String jobIndexName = elementPrefixer(indexPrefix, DEFAULT_JOB_INDEX_NAME);
+
+        updateIndex(client, jobIndex(jobIndexName));
+
+        // why: the id is needed to order jobs with the same updatedAt (sorting on the _id field is deprecated)
+        final UpdateByQueryRequest updateByQueryRequest = new UpdateByQueryRequest(jobIndexName)
+                .setQuery(boolQuery().mustNot(existsQuery(Jobs.FIELD_ID)))
+                .setScript(new Script("ctx._source." + Jobs.FIELD_ID + " = ctx._id"))
+                .setAbortOnVersionConflict(false)
+                .setRefresh(true);
+        waitForHealthyCluster(client);
+        client.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
+    }
+
+    private static PutMappingRequest jobIndex(String jobIndexName) {
+        return new PutMappingRequest(jobIndexName)
+                .source(mapping(
+                        (sb, map) -> {
+                            sb.append(Jobs.FIELD_ID);
+                            map.put("type", "keyword");
+                        }
+                ));
+    }
+}
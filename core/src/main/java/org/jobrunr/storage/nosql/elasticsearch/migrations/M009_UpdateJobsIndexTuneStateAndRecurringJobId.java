@@ -0,0 +1,49 @@
+package org.jobrunr.storage.nosql.elasticsearch.migrations;
+
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.PutMappingRequest;
+import org.jobrunr.storage.StorageProviderUtils.Jobs;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+import static org.jobrunr.storage.StorageProviderUtils.elementPrefixer;
+import static org.jobrunr.storage.nosql.elasticsearch.ElasticSearchStorageProvider.DEFAULT_JOB_INDEX_NAME;
+
+public class M009_UpdateJobsIndexTuneStateAndRecurringJobId extends ElasticSearchMigration {
+
+    @Override
+    public void runMigration(RestHighLevelClient client, String indexPrefix) throws IOException {
+        final String jobIndexName = elementPrefixer(indexPrefix, DEFAULT_JOB_INDEX_NAME);
+
+        updateIndex(client, jobIndex(jobIndexName));
+    }
+
+    private static PutMappingRequest jobIndex(String jobIndexName) {
+        // why: the job stats and the recurring jobs check aggregate on these fields on each poll, eager global ordinals are built on refresh instead of on the first search after it
+        return new PutMappingRequest(jobIndexName)
+                .source(mapping(
+                        (sb, map) -> {
+                            sb.append(Jobs.FIELD_STATE);
+                            map.put("type", "keyword");
+                            map.put("eager_global_ordinals", true);
+                        },
+                        (sb, map) -> {
+                            // why: same mapping as the dynamic mapping the recurringJobId got until now, so this does not conflict with existing indices
+                            sb.append(Jobs.FIELD_RECURRING_JOB_ID);
+                            map.put("type", "text");
+                            map.put("fields", singletonMap("keyword", recurringJobIdKeywordField()));
+                        }
+                ));
+    }
+
+    private static Map<String, Object> recurringJobIdKeywordField() {
+        Map<String, Object> keywordField = new HashMap<>();
+        keywordField.put("type", "keyword");
+        keywordField.put("ignore_above", 256);
+        keywordField.put("eager_global_ordinals", true);
+        return keywordField;
+    }
+}
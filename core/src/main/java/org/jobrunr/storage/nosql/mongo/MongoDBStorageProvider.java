@@ -298,6 +298,33 @@ public class MongoDBStorageProvider extends AbstractStorageProvider implements N
         return jobs;
     }
 
+    @Override
+    public void updateProcessingJobs(List<Job> jobs, Instant updatedAt) {
+        if (jobs.isEmpty()) return;
+
+        try {
+            final List<UUID> jobIds = jobs.stream().map(Job::getId).collect(toList());
+            final UpdateResult updateResult = jobCollection.updateMany(
+                    and(in(toMongoId(Jobs.FIELD_ID), jobIds), eq(Jobs.FIELD_STATE, PROCESSING.name())),
+                    Updates.set(Jobs.FIELD_UPDATED_AT, toMicroSeconds(updatedAt)));
+            if (updateResult.getMatchedCount() != jobs.size()) {
+                final Map<UUID, Integer> currentVersions = new HashMap<>();
+                jobCollection
+                        .find(in(toMongoId(Jobs.FIELD_ID), jobIds))
+                        .projection(include(Jobs.FIELD_VERSION))
+                        .forEach(document -> currentVersions.put(document.get(toMongoId(Jobs.FIELD_ID), UUID.class), document.getInteger(Jobs.FIELD_VERSION)));
+                final List<Job> concurrentModifiedJobs = jobs.stream()
+                        .filter(job -> !Integer.valueOf(job.getVersion()).equals(currentVersions.get(job.getId())))
+                        .collect(toList());
+                if (!concurrentModifiedJobs.isEmpty()) {
+                    throw new ConcurrentJobModificationException(concurrentModifiedJobs);
+                }
+            }
+        } catch (MongoException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public List<Job> getJobs(StateName state, Instant updatedBefore, PageRequest pageRequest) {
         return findJobs(and(eq(Jobs.FIELD_STATE, state.name()), lt(Jobs.FIELD_UPDATED_AT, toMicroSeconds(updatedBefore))), pageRequest);
@@ -313,6 +340,11 @@ public class MongoDBStorageProvider extends AbstractStorageProvider implements N
         return findJobs(eq(Jobs.FIELD_STATE, state.name()), pageRequest);
     }
 
+    @Override
+    public List<Job> getJobs(StateName state, int priority, PageRequest pageRequest) {
+        return findJobs(and(eq(Jobs.FIELD_STATE, state.name()), eq(Jobs.FIELD_PRIORITY, priority)), pageRequest);
+    }
+
     @Override
     public Page<Job> getJobPage(StateName state, PageRequest pageRequest) {
         return getJobPage(eq(Jobs.FIELD_STATE, state.name()), pageRequest);
@@ -343,6 +375,18 @@ public class MongoDBStorageProvider extends AbstractStorageProvider implements N
         return jobCollection.countDocuments(and(in(Jobs.FIELD_STATE, stream(states).map(Enum::name).collect(toSet())), eq(Jobs.FIELD_RECURRING_JOB_ID, recurringJobId))) > 0;
     }
 
+    @Override
+    public Set<String> recurringJobsExist(Collection<String> recurringJobIds, StateName... states) {
+        if (recurringJobIds.isEmpty()) return Collections.emptySet();
+
+        return jobCollection
+                .aggregate(asList(
+                        match(and(in(Jobs.FIELD_STATE, stream(states).map(Enum::name).collect(toSet())), in(Jobs.FIELD_RECURRING_JOB_ID, recurringJobIds))),
+                        group("$" + Jobs.FIELD_RECURRING_JOB_ID)))
+                .map(document -> document.getString("_id"))
+                .into(new HashSet<>());
+    }
+
     @Override
     public RecurringJob saveRecurringJob(RecurringJob recurringJob) {
         recurringJobCollection.replaceOne(eq(toMongoId(Jobs.FIELD_ID), recurringJob.getId()), jobDocumentMapper.toInsertDocument(recurringJob), new ReplaceOptions().upsert(true));
@@ -449,15 +493,23 @@ public class MongoDBStorageProvider extends AbstractStorageProvider implements N
 
     private List<Job> findJobs(Bson query, PageRequest pageRequest) {
         return jobCollection
-                .find(query)
+                .find(pageRequest.hasSeekPosition() ? and(query, afterSeekPosition(pageRequest)) : query)
                 .sort(pageRequestMapper.map(pageRequest))
-                .skip((int) pageRequest.getOffset())
+                .skip((int) pageRequest.getAmountToSkip())
                 .limit(pageRequest.getLimit())
                 .projection(include(Jobs.FIELD_JOB_AS_JSON))
                 .map(jobDocumentMapper::toJob)
                 .into(new ArrayList<>());
     }
 
+    private Bson afterSeekPosition(PageRequest pageRequest) {
+        final long lastUpdatedAt = toMicroSeconds(pageRequest.getLastUpdatedAt());
+        if (pageRequest.getSeekOrder() == PageRequest.Order.ASC) {
+            return or(gt(Jobs.FIELD_UPDATED_AT, lastUpdatedAt), and(eq(Jobs.FIELD_UPDATED_AT, lastUpdatedAt), gt(toMongoId(Jobs.FIELD_ID), pageRequest.getLastId())));
+        }
+        return or(lt(Jobs.FIELD_UPDATED_AT, lastUpdatedAt), and(eq(Jobs.FIELD_UPDATED_AT, lastUpdatedAt), lt(toMongoId(Jobs.FIELD_ID), pageRequest.getLastId())));
+    }
+
     private void validateMongoClient(MongoClient mongoClient) {
         Optional<Method> codecRegistryGetter = findMethod(mongoClient, "getCodecRegistry");
         if (codecRegistryGetter.isPresent()) {
@@ -34,6 +34,7 @@ public class JobDocumentMapper {
         document.put(Jobs.FIELD_JOB_AS_JSON, jobMapper.serializeJob(job));
         document.put(Jobs.FIELD_JOB_SIGNATURE, job.getJobSignature());
         document.put(Jobs.FIELD_STATE, job.getState().name());
+        document.put(Jobs.FIELD_PRIORITY, job.getPriority());
         document.put(Jobs.FIELD_CREATED_AT, toMicroSeconds(job.getCreatedAt()));
         document.put(Jobs.FIELD_UPDATED_AT, toMicroSeconds(job.getUpdatedAt()));
         if (job.hasState(StateName.SCHEDULED)) {
@@ -48,6 +49,7 @@ public class JobDocumentMapper {
         document.put(Jobs.FIELD_VERSION, job.getVersion());
         document.put(Jobs.FIELD_JOB_AS_JSON, jobMapper.serializeJob(job));
         document.put(Jobs.FIELD_STATE, job.getState().name());
+        document.put(Jobs.FIELD_PRIORITY, job.getPriority());
         document.put(Jobs.FIELD_UPDATED_AT, toMicroSeconds(job.getUpdatedAt()));
         if (job.hasState(StateName.SCHEDULED)) {
             document.put(Jobs.FIELD_SCHEDULED_AT, toMicroSeconds(((ScheduledState) job.getJobState()).getScheduledAt()));
@@ -12,7 +12,9 @@ import java.util.Set;
 import static com.mongodb.client.model.Sorts.ascending;
 import static com.mongodb.client.model.Sorts.descending;
 import static org.jobrunr.storage.StorageProviderUtils.Jobs.FIELD_CREATED_AT;
+import static org.jobrunr.storage.StorageProviderUtils.Jobs.FIELD_ID;
 import static org.jobrunr.storage.StorageProviderUtils.Jobs.FIELD_UPDATED_AT;
+import static org.jobrunr.storage.nosql.mongo.MongoDBStorageProvider.toMongoId;
 
 public class MongoDBPageRequestMapper {
 
@@ -24,6 +26,13 @@ public class MongoDBPageRequestMapper {
     }
 
     public Bson map(PageRequest pageRequest) {
+        final PageRequest.Order seekOrder = pageRequest.getSeekOrder();
+        if (seekOrder != null) {
+            return seekOrder == PageRequest.Order.ASC
+                    ? ascending(FIELD_UPDATED_AT, toMongoId(FIELD_ID))
+                    : descending(FIELD_UPDATED_AT, toMongoId(FIELD_ID));
+        }
+
         final List<Bson> result = new ArrayList<>();
         final String[] sortOns = pageRequest.getOrder().split(",");
         for (String sortOn : sortOns) {
@@ -0,0 +1,25 @@
+package org.jobrunr.storage.nosql.mongo.migrations;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.jobrunr.jobs.JobPriority;
+import org.jobrunr.storage.StorageProviderUtils.Jobs;
+
+import static com.mongodb.client.model.Indexes.compoundIndex;
+import static org.jobrunr.storage.StorageProviderUtils.elementPrefixer;
+
+public class M007_UpdateJobsCollectionAddPriority extends MongoMigration {
+
+    @Override
+    public void runMigration(MongoDatabase jobrunrDatabase, String collectionPrefix) {
+        String collectionName = elementPrefixer(collectionPrefix, Jobs.NAME);
+
+        MongoCollection<Document> jobCollection = jobrunrDatabase.getCollection(collectionName, Document.class);
+        jobCollection.updateMany(Filters.exists(Jobs.FIELD_PRIORITY, false), Updates.set(Jobs.FIELD_PRIORITY, JobPriority.NORMAL));
+        jobCollection.createIndex(compoundIndex(Indexes.ascending(Jobs.FIELD_STATE), Indexes.ascending(Jobs.FIELD_PRIORITY), Indexes.ascending(Jobs.FIELD_UPDATED_AT)));
+    }
+}
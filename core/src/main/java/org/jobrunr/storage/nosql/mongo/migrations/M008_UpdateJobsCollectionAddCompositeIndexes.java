@@ -0,0 +1,24 @@
+package org.jobrunr.storage.nosql.mongo.migrations;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Indexes;
+import org.bson.Document;
+import org.jobrunr.storage.StorageProviderUtils.Jobs;
+
+import static com.mongodb.client.model.Indexes.compoundIndex;
+import static org.jobrunr.storage.StorageProviderUtils.elementPrefixer;
+import static org.jobrunr.storage.nosql.mongo.MongoDBStorageProvider.toMongoId;
+
+public class M008_UpdateJobsCollectionAddCompositeIndexes extends MongoMigration {
+
+    @Override
+    public void runMigration(MongoDatabase jobrunrDatabase, String collectionPrefix) {
+        String collectionName = elementPrefixer(collectionPrefix, Jobs.NAME);
+
+        MongoCollection<Document> jobCollection = jobrunrDatabase.getCollection(collectionName, Document.class);
+        // why: pages of jobs are sorted on updatedAt and _id, an index can be walked in both directions so this one index serves both sort orders
+        jobCollection.createIndex(compoundIndex(Indexes.ascending(Jobs.FIELD_STATE), Indexes.ascending(Jobs.FIELD_UPDATED_AT), Indexes.ascending(toMongoId(Jobs.FIELD_ID))));
+        jobCollection.createIndex(compoundIndex(Indexes.ascending(Jobs.FIELD_RECURRING_JOB_ID), Indexes.ascending(Jobs.FIELD_STATE)));
+    }
+}
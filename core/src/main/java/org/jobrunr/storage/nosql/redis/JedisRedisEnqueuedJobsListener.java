@@ -0,0 +1,90 @@
+package org.jobrunr.storage.nosql.redis;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * Keeps a dedicated connection of the JedisPool subscribed to the given channel and runs the given callback each time
+ * a message is published. If the connection is lost, it resubscribes - in the meantime JobRunr falls back to polling.
+ */
+class JedisRedisEnqueuedJobsListener implements Runnable, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JedisRedisEnqueuedJobsListener.class);
+    private static final int RECONNECT_DELAY_IN_MILLIS = 5000;
+
+    private final JedisPool jedisPool;
+    private final String channel;
+    private final Runnable onJobsEnqueued;
+    private final Thread listenerThread;
+    private volatile boolean isListening;
+    private volatile JedisPubSub jedisPubSub;
+
+    JedisRedisEnqueuedJobsListener(JedisPool jedisPool, String channel, Runnable onJobsEnqueued) {
+        this.jedisPool = jedisPool;
+        this.channel = channel;
+        this.onJobsEnqueued = onJobsEnqueued;
+        this.listenerThread = new Thread(this, "jobrunr-redis-listener");
+        this.listenerThread.setDaemon(true);
+    }
+
+    void start() {
+        isListening = true;
+        listenerThread.start();
+    }
+
+    @Override
+    public void run() {
+        while (isListening) {
+            try (Jedis jedis = jedisPool.getResource()) {
+                jedisPubSub = new EnqueuedJobsPubSub();
+                jedis.subscribe(jedisPubSub, channel);
+            } catch (JedisException e) {
+                if (isListening) {
+                    LOGGER.warn("Could not subscribe to enqueued jobs on channel {} - falling back to polling until the connection is restored", channel, e);
+                    waitBeforeReconnecting();
+                }
+            }
+        }
+    }
+
+    private void waitBeforeReconnecting() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_IN_MILLIS);
+        } catch (InterruptedException e) {
+            isListening = false;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        isListening = false;
+        final JedisPubSub currentJedisPubSub = jedisPubSub;
+        if (currentJedisPubSub != null && currentJedisPubSub.isSubscribed()) {
+            currentJedisPubSub.unsubscribe();
+        }
+        try {
+            listenerThread.join(RECONNECT_DELAY_IN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class EnqueuedJobsPubSub extends JedisPubSub {
+
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            // why: close may have been called while we were subscribing
+            if (!isListening) unsubscribe();
+        }
+
+        @Override
+        public void onMessage(String channel, String message) {
+            onJobsEnqueued.run();
+        }
+    }
+}
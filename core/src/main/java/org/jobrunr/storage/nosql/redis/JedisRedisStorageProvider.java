@@ -7,11 +7,17 @@ import org.jobrunr.jobs.states.StateName;
 import org.jobrunr.storage.*;
 import org.jobrunr.storage.StorageProviderUtils.BackgroundJobServers;
 import org.jobrunr.storage.StorageProviderUtils.DatabaseOptions;
+import org.jobrunr.storage.listeners.EnqueuedJobsChangeListener;
+import org.jobrunr.storage.listeners.StorageProviderChangeListener;
 import org.jobrunr.storage.nosql.NoSqlStorageProvider;
 import org.jobrunr.utils.annotations.Beta;
 import org.jobrunr.utils.resilience.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import redis.clients.jedis.*;
 import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.ZAddParams;
+import redis.clients.jedis.resps.Tuple;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -21,6 +27,7 @@ import java.util.stream.Stream;
 
 import static java.lang.Long.parseLong;
 import static java.time.Instant.now;
+import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
@@ -34,12 +41,20 @@ import static org.jobrunr.utils.StringUtils.isNullOrEmpty;
 import static org.jobrunr.utils.resilience.RateLimiter.Builder.rateLimit;
 import static org.jobrunr.utils.resilience.RateLimiter.SECOND;
 
+/**
+ * StorageProvider for Redis using Jedis. Enqueued jobs are claimed using a Lua script and, next to polling, BackgroundJobServers are woken up
+ * using Redis pub/sub as soon as jobs are enqueued: once an {@link EnqueuedJobsChangeListener} is registered (e.g. by the BackgroundJobServer),
+ * a dedicated connection of the JedisPool is used to subscribe to these messages.
+ */
 @Beta
 public class JedisRedisStorageProvider extends AbstractStorageProvider implements NoSqlStorageProvider {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JedisRedisStorageProvider.class);
+
     private final JedisPool jedisPool;
     private final String keyPrefix;
     private JobMapper jobMapper;
+    private JedisRedisEnqueuedJobsListener enqueuedJobsListener;
 
     public JedisRedisStorageProvider() {
         this(new JedisPool());
@@ -267,6 +282,7 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
         } catch (JedisException e) {
             throw new StorageException(e);
         }
+        publishJobsEnqueuedIf(jobToSave.hasState(ENQUEUED));
         return jobToSave;
     }
 
@@ -313,7 +329,35 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
             }
             jobListVersioner.commitVersions();
             notifyJobStatsOnChangeListenersIf(!jobs.isEmpty());
-            return jobs;
+        } catch (JedisException e) {
+            throw new StorageException(e);
+        }
+        publishJobsEnqueuedIf(jobs.stream().anyMatch(job -> job.hasState(ENQUEUED)));
+        return jobs;
+    }
+
+    @Override
+    public void updateProcessingJobs(List<Job> jobs, Instant updatedAt) {
+        if (jobs.isEmpty()) return;
+
+        try (final Jedis jedis = getJedis(); Pipeline p = jedis.pipelined()) {
+            final List<Response<String>> versionResponses = new ArrayList<>(jobs.size());
+            for (Job job : jobs) {
+                versionResponses.add(p.get(jobVersionKey(keyPrefix, job)));
+                // why: XX only updates the score of jobs that are still in the PROCESSING queue
+                p.zadd(jobQueueForStateKey(keyPrefix, PROCESSING), toMicroSeconds(updatedAt), job.getId().toString(), ZAddParams.zAddParams().xx());
+            }
+            p.sync();
+
+            final List<Job> concurrentModifiedJobs = new ArrayList<>();
+            for (int i = 0; i < jobs.size(); i++) {
+                if (!String.valueOf(jobs.get(i).getVersion()).equals(versionResponses.get(i).get())) {
+                    concurrentModifiedJobs.add(jobs.get(i));
+                }
+            }
+            if (!concurrentModifiedJobs.isEmpty()) {
+                throw new ConcurrentJobModificationException(concurrentModifiedJobs);
+            }
         } catch (JedisException e) {
             throw new StorageException(e);
         }
@@ -323,7 +367,9 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
     public List<Job> getJobs(StateName state, Instant updatedBefore, PageRequest pageRequest) {
         try (final Jedis jedis = getJedis()) {
             List<String> jobsByState;
-            if ("updatedAt:ASC" .equals(pageRequest.getOrder())) {
+            if (pageRequest.hasSeekPosition()) {
+                jobsByState = getJobIdsAfterSeekPosition(jedis, jobQueueForStateKey(keyPrefix, state), toMicroSeconds(updatedBefore), pageRequest);
+            } else if ("updatedAt:ASC" .equals(pageRequest.getOrder())) {
                 jobsByState = jedis.zrangeByScore(jobQueueForStateKey(keyPrefix, state), 0, toMicroSeconds(updatedBefore), (int) pageRequest.getOffset(), pageRequest.getLimit());
             } else if ("updatedAt:DESC" .equals(pageRequest.getOrder())) {
                 jobsByState = jedis.zrevrangeByScore(jobQueueForStateKey(keyPrefix, state), toMicroSeconds(updatedBefore), 0, (int) pageRequest.getOffset(), pageRequest.getLimit());
@@ -341,6 +387,7 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
     @Override
     public List<Job> getScheduledJobs(Instant scheduledBefore, PageRequest pageRequest) {
         try (final Jedis jedis = getJedis()) {
+            // why: the scheduled jobs are sorted on scheduledAt instead of updatedAt, so the offset is used even if the PageRequest has a seek position
             return new JedisRedisPipelinedStream<>(jedis.zrangeByScore(scheduledJobsKey(keyPrefix), 0, toMicroSeconds(now()), (int) pageRequest.getOffset(), pageRequest.getLimit()), jedis)
                     .mapUsingPipeline((p, id) -> p.get(jobKey(keyPrefix, id)))
                     .mapAfterSync(Response::get)
@@ -351,13 +398,25 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
 
     @Override
     public List<Job> getJobs(StateName state, PageRequest pageRequest) {
+        return getJobs(jobQueueForStateKey(keyPrefix, state), pageRequest);
+    }
+
+    @Override
+    public List<Job> getJobs(StateName state, int priority, PageRequest pageRequest) {
+        if (state != ENQUEUED) return super.getJobs(state, priority, pageRequest);
+        return getJobs(enqueuedJobQueueForPriorityKey(keyPrefix, priority), pageRequest);
+    }
+
+    private List<Job> getJobs(String jobQueueKey, PageRequest pageRequest) {
         try (final Jedis jedis = getJedis()) {
             List<String> jobsByState;
             // we only support what is used by frontend
-            if ("updatedAt:ASC" .equals(pageRequest.getOrder())) {
-                jobsByState = jedis.zrange(jobQueueForStateKey(keyPrefix, state), pageRequest.getOffset(), pageRequest.getOffset() + pageRequest.getLimit() - 1);
+            if (pageRequest.hasSeekPosition()) {
+                jobsByState = getJobIdsAfterSeekPosition(jedis, jobQueueKey, Long.MAX_VALUE, pageRequest);
+            } else if ("updatedAt:ASC" .equals(pageRequest.getOrder())) {
+                jobsByState = jedis.zrange(jobQueueKey, pageRequest.getOffset(), pageRequest.getOffset() + pageRequest.getLimit() - 1);
             } else if ("updatedAt:DESC" .equals(pageRequest.getOrder())) {
-                jobsByState = jedis.zrevrange(jobQueueForStateKey(keyPrefix, state), pageRequest.getOffset(), pageRequest.getOffset() + pageRequest.getLimit() - 1);
+                jobsByState = jedis.zrevrange(jobQueueKey, pageRequest.getOffset(), pageRequest.getOffset() + pageRequest.getLimit() - 1);
             } else {
                 throw new IllegalArgumentException("Unsupported sorting: " + pageRequest.getOrder());
             }
@@ -369,6 +428,25 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
         }
     }
 
+    private List<String> getJobIdsAfterSeekPosition(Jedis jedis, String jobQueueKey, long maxScore, PageRequest pageRequest) {
+        final long lastScore = toMicroSeconds(pageRequest.getLastUpdatedAt());
+        final boolean ascending = pageRequest.getSeekOrder() == PageRequest.Order.ASC;
+        final List<String> result = new ArrayList<>();
+        int offset = 0;
+        List<Tuple> jobIdsWithScore;
+        do {
+            // why: the range starts at the score of the seek position, so the jobs with that score are fetched again and filtered on their id
+            jobIdsWithScore = ascending
+                    ? jedis.zrangeByScoreWithScores(jobQueueKey, lastScore, maxScore, offset, pageRequest.getLimit())
+                    : jedis.zrevrangeByScoreWithScores(jobQueueKey, Math.min(lastScore, maxScore), 0, offset, pageRequest.getLimit());
+            jobIdsWithScore.stream()
+                    .filter(jobIdWithScore -> isAfterSeekPosition(jobIdWithScore.getScore(), jobIdWithScore.getElement(), pageRequest))
+                    .forEach(jobIdWithScore -> result.add(jobIdWithScore.getElement()));
+            offset += jobIdsWithScore.size();
+        } while (result.size() < pageRequest.getLimit() && jobIdsWithScore.size() == pageRequest.getLimit());
+        return result.subList(0, Math.min(result.size(), pageRequest.getLimit()));
+    }
+
     @Override
     public Page<Job> getJobPage(StateName state, PageRequest pageRequest) {
         try (final Jedis jedis = getJedis()) {
@@ -381,6 +459,45 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
         }
     }
 
+    @Override
+    public boolean canClaimEnqueuedJobs() {
+        return true;
+    }
+
+    @Override
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, PageRequest pageRequest) {
+        return claimEnqueuedJobs(backgroundJobServerId, jobQueueForStateKey(keyPrefix, ENQUEUED), pageRequest);
+    }
+
+    @Override
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, int priority, PageRequest pageRequest) {
+        return claimEnqueuedJobs(backgroundJobServerId, enqueuedJobQueueForPriorityKey(keyPrefix, priority), pageRequest);
+    }
+
+    private List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, String queueKey, PageRequest pageRequest) {
+        try (final Jedis jedis = getJedis()) {
+            final List<String> jobIds = jedis.zrange(queueKey, 0, pageRequest.getLimit() - 1L);
+            if (jobIds.isEmpty()) return new ArrayList<>();
+
+            final List<String> serializedJobs = jedis.mget(jobIds.stream().map(id -> jobKey(keyPrefix, id)).toArray(String[]::new));
+            final List<Job> jobsToClaim = new ArrayList<>();
+            for (int i = 0; i < jobIds.size(); i++) {
+                if (serializedJobs.get(i) != null) {
+                    jobsToClaim.add(jobMapper.deserializeJob(serializedJobs.get(i)));
+                } else {
+                    // why: the job was deleted permanently after it was enqueued
+                    jedis.zrem(jobQueueForStateKey(keyPrefix, ENQUEUED), jobIds.get(i));
+                    jedis.zrem(queueKey, jobIds.get(i));
+                }
+            }
+            if (jobsToClaim.isEmpty()) return jobsToClaim;
+
+            return claimJobs(backgroundJobServerId, jobsToClaim, jedis);
+        } catch (JedisException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public int deleteJobsPermanently(StateName state, Instant updatedBefore) {
         int amount = 0;
@@ -441,6 +558,30 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
         }
     }
 
+    @Override
+    public Set<String> recurringJobsExist(Collection<String> recurringJobIds, StateName... states) {
+        if (recurringJobIds.isEmpty()) return Collections.emptySet();
+
+        try (final Jedis jedis = getJedis(); Pipeline p = jedis.pipelined()) {
+            final List<String> ids = new ArrayList<>(recurringJobIds);
+            final List<Response<Boolean>> existsResponses = new ArrayList<>(ids.size() * states.length);
+            for (String recurringJobId : ids) {
+                for (StateName stateName : states) {
+                    existsResponses.add(p.sismember(recurringJobKey(keyPrefix, stateName), recurringJobId));
+                }
+            }
+            p.sync();
+
+            final Set<String> result = new HashSet<>();
+            for (int i = 0; i < existsResponses.size(); i++) {
+                if (Boolean.TRUE.equals(existsResponses.get(i).get())) {
+                    result.add(ids.get(i / states.length));
+                }
+            }
+            return result;
+        }
+    }
+
     @Override
     public RecurringJob saveRecurringJob(RecurringJob recurringJob) {
         try (final Jedis jedis = getJedis(); Transaction t = jedis.multi()) {
@@ -546,10 +687,75 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
         }
     }
 
+    @Override
+    public boolean canNotifyOfEnqueuedJobs() {
+        return true;
+    }
+
+    @Override
+    public void addJobStorageOnChangeListener(StorageProviderChangeListener listener) {
+        super.addJobStorageOnChangeListener(listener);
+        if (listener instanceof EnqueuedJobsChangeListener) {
+            startListeningForEnqueuedJobs();
+        }
+    }
+
+    @Override
+    public void removeJobStorageOnChangeListener(StorageProviderChangeListener listener) {
+        super.removeJobStorageOnChangeListener(listener);
+        if (listener instanceof EnqueuedJobsChangeListener && !hasEnqueuedJobsChangeListeners()) {
+            stopListeningForEnqueuedJobs();
+        }
+    }
+
+    @Override
+    public void close() {
+        stopListeningForEnqueuedJobs();
+        super.close();
+    }
+
     protected Jedis getJedis() {
         return jedisPool.getResource();
     }
 
+    private List<Job> claimJobs(UUID backgroundJobServerId, List<Job> jobsToClaim, Jedis jedis) {
+        jobsToClaim.forEach(job -> job.startProcessingOn(backgroundJobServerId));
+        try (final JobListVersioner jobListVersioner = new JobListVersioner(jobsToClaim)) {
+            final Set<String> claimedJobIds = ((List<?>) jedis.eval(CLAIM_ENQUEUED_JOBS_SCRIPT, claimEnqueuedJobsKeys(keyPrefix, jobsToClaim), claimEnqueuedJobsArgs(keyPrefix, jobMapper, jobsToClaim))).stream()
+                    .map(String::valueOf)
+                    .collect(toSet());
+            final List<Job> claimedJobs = jobsToClaim.stream().filter(job -> claimedJobIds.contains(job.getId().toString())).collect(toList());
+            jobListVersioner.rollbackVersions(jobsToClaim.stream().filter(job -> !claimedJobIds.contains(job.getId().toString())).collect(toList()));
+            notifyJobStatsOnChangeListenersIf(!claimedJobs.isEmpty());
+            return claimedJobs;
+        }
+    }
+
+    private void publishJobsEnqueuedIf(boolean jobsAreEnqueued) {
+        if (!jobsAreEnqueued) return;
+
+        try (final Jedis jedis = getJedis()) {
+            jedis.publish(enqueuedJobsChannel(keyPrefix), ENQUEUED.name());
+        } catch (JedisException e) {
+            // why: the jobs are saved - BackgroundJobServers will pick them up on their next poll
+            LOGGER.warn("Could not notify BackgroundJobServers of enqueued jobs", e);
+        }
+    }
+
+    private synchronized void startListeningForEnqueuedJobs() {
+        if (enqueuedJobsListener != null) return;
+
+        enqueuedJobsListener = new JedisRedisEnqueuedJobsListener(jedisPool, enqueuedJobsChannel(keyPrefix), this::notifyEnqueuedJobsChangeListeners);
+        enqueuedJobsListener.start();
+    }
+
+    private synchronized void stopListeningForEnqueuedJobs() {
+        if (enqueuedJobsListener == null) return;
+
+        enqueuedJobsListener.close();
+        enqueuedJobsListener = null;
+    }
+
     private void insertJob(Job jobToSave, Jedis jedis) {
         if (jedis.exists(jobKey(keyPrefix, jobToSave))) throw new ConcurrentJobModificationException(jobToSave);
         try (Transaction transaction = jedis.multi()) {
@@ -578,6 +784,9 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
         transaction.set(jobVersionKey(keyPrefix, jobToSave), String.valueOf(jobToSave.getVersion()));
         transaction.set(jobKey(keyPrefix, jobToSave), jobMapper.serializeJob(jobToSave));
         transaction.zadd(jobQueueForStateKey(keyPrefix, jobToSave.getState()), toMicroSeconds(jobToSave.getUpdatedAt()), jobToSave.getId().toString());
+        if (ENQUEUED.equals(jobToSave.getState())) {
+            transaction.zadd(enqueuedJobQueueForPriorityKey(keyPrefix, jobToSave.getPriority()), toMicroSeconds(jobToSave.getUpdatedAt()), jobToSave.getId().toString());
+        }
         transaction.sadd(jobDetailsKey(keyPrefix, jobToSave.getState()), getJobSignature(jobToSave.getJobDetails()));
         if (SCHEDULED.equals(jobToSave.getState())) {
             transaction.zadd(scheduledJobsKey(keyPrefix), toMicroSeconds(((ScheduledState) jobToSave.getJobState()).getScheduledAt()), jobToSave.getId().toString());
@@ -589,6 +798,7 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
         String id = job.getId().toString();
         transaction.zrem(scheduledJobsKey(keyPrefix), id);
         Stream.of(StateName.values()).forEach(stateName -> transaction.zrem(jobQueueForStateKey(keyPrefix, stateName), id));
+        enqueuedJobQueueForAllPrioritiesKeys(keyPrefix).forEach(queueKey -> transaction.zrem(queueKey, id));
         Stream.of(StateName.values()).filter(stateName -> !SCHEDULED.equals(stateName)).forEach(stateName -> transaction.srem(jobDetailsKey(keyPrefix, stateName), getJobSignature(job.getJobDetails())));
         if ((job.hasState(ENQUEUED) && job.getJobStates().size() >= 2 && job.getJobState(-2) instanceof ScheduledState)
                 || (job.hasState(DELETED) && job.getJobStates().size() >= 2 && job.getJobState(-2) instanceof ScheduledState)) {
@@ -601,6 +811,7 @@ public class JedisRedisStorageProvider extends AbstractStorageProvider implement
         String id = job.getId().toString();
         transaction.zrem(scheduledJobsKey(keyPrefix), id);
         Stream.of(StateName.values()).forEach(stateName -> transaction.zrem(jobQueueForStateKey(keyPrefix, stateName), id));
+        enqueuedJobQueueForAllPrioritiesKeys(keyPrefix).forEach(queueKey -> transaction.zrem(queueKey, id));
         Stream.of(StateName.values()).forEach(stateName -> transaction.srem(jobDetailsKey(keyPrefix, stateName), getJobSignature(job.getJobDetails())));
     }
 }
\ No newline at end of file
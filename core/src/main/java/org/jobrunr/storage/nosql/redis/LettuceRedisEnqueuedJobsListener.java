@@ -0,0 +1,61 @@
+package org.jobrunr.storage.nosql.redis;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a dedicated pub/sub connection subscribed to the given channel and runs the given callback each time a message is published.
+ * Lettuce resubscribes by itself if the connection is lost - in the meantime JobRunr falls back to polling.
+ */
+class LettuceRedisEnqueuedJobsListener extends RedisPubSubAdapter<String, String> implements AutoCloseable {
+
+    private final RedisClient redisClient;
+    private final String channel;
+    private final Runnable onJobsEnqueued;
+    private final ExecutorService executorService;
+    private final AtomicBoolean isNotificationPending;
+    private StatefulRedisPubSubConnection<String, String> pubSubConnection;
+
+    LettuceRedisEnqueuedJobsListener(RedisClient redisClient, String channel, Runnable onJobsEnqueued) {
+        this.redisClient = redisClient;
+        this.channel = channel;
+        this.onJobsEnqueued = onJobsEnqueued;
+        this.executorService = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "jobrunr-redis-listener");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.isNotificationPending = new AtomicBoolean(false);
+    }
+
+    void start() {
+        pubSubConnection = redisClient.connectPubSub();
+        pubSubConnection.addListener(this);
+        pubSubConnection.sync().subscribe(channel);
+    }
+
+    @Override
+    public void message(String channel, String message) {
+        // why: messages arrive on the Lettuce event loop which must not be blocked by (synchronous) Redis calls of the listeners
+        // and a burst of messages only needs to wake up the BackgroundJobServer once
+        if (isNotificationPending.compareAndSet(false, true)) {
+            executorService.execute(() -> {
+                isNotificationPending.set(false);
+                onJobsEnqueued.run();
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pubSubConnection != null) {
+            pubSubConnection.close();
+        }
+        executorService.shutdown();
+    }
+}
@@ -13,9 +13,13 @@ import org.jobrunr.jobs.states.ScheduledState;
 import org.jobrunr.jobs.states.StateName;
 import org.jobrunr.storage.JobStats;
 import org.jobrunr.storage.*;
+import org.jobrunr.storage.listeners.EnqueuedJobsChangeListener;
+import org.jobrunr.storage.listeners.StorageProviderChangeListener;
 import org.jobrunr.storage.nosql.NoSqlStorageProvider;
 import org.jobrunr.utils.annotations.Beta;
 import org.jobrunr.utils.resilience.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -26,6 +30,7 @@ import java.util.stream.Stream;
 
 import static io.lettuce.core.Range.unbounded;
 import static java.time.Instant.now;
+import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
@@ -39,12 +44,22 @@ import static org.jobrunr.utils.StringUtils.isNullOrEmpty;
 import static org.jobrunr.utils.resilience.RateLimiter.Builder.rateLimit;
 import static org.jobrunr.utils.resilience.RateLimiter.SECOND;
 
+/**
+ * StorageProvider for Redis using Lettuce. Enqueued jobs are claimed using a Lua script and, next to polling, BackgroundJobServers are woken up
+ * using Redis pub/sub as soon as jobs are enqueued: once an {@link EnqueuedJobsChangeListener} is registered (e.g. by the BackgroundJobServer),
+ * a dedicated pub/sub connection is used to subscribe to these messages. As this connection is created by the {@link RedisClient}, it is only
+ * available if the StorageProvider is created using a RedisClient.
+ */
 @Beta
 public class LettuceRedisStorageProvider extends AbstractStorageProvider implements NoSqlStorageProvider {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(LettuceRedisStorageProvider.class);
+
+    private final RedisClient redisClient;
     private final ObjectPool<StatefulRedisConnection<String, String>> pool;
     private final String keyPrefix;
     private JobMapper jobMapper;
+    private LettuceRedisEnqueuedJobsListener enqueuedJobsListener;
 
     public LettuceRedisStorageProvider(RedisClient redisClient) {
         this(redisClient, rateLimit().at1Request().per(SECOND));
@@ -59,7 +74,7 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
     }
 
     public LettuceRedisStorageProvider(RedisClient redisClient, String keyPrefix, RateLimiter changeListenerNotificationRateLimit) {
-        this(ConnectionPoolSupport.createGenericObjectPool(redisClient::connect, new GenericObjectPoolConfig<>()), keyPrefix, changeListenerNotificationRateLimit);
+        this(redisClient, ConnectionPoolSupport.createGenericObjectPool(redisClient::connect, new GenericObjectPoolConfig<>()), keyPrefix, changeListenerNotificationRateLimit);
     }
 
     public LettuceRedisStorageProvider(ObjectPool<StatefulRedisConnection<String, String>> pool) {
@@ -71,7 +86,12 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
     }
 
     public LettuceRedisStorageProvider(ObjectPool<StatefulRedisConnection<String, String>> pool, String keyPrefix, RateLimiter changeListenerNotificationRateLimit) {
+        this(null, pool, keyPrefix, changeListenerNotificationRateLimit);
+    }
+
+    private LettuceRedisStorageProvider(RedisClient redisClient, ObjectPool<StatefulRedisConnection<String, String>> pool, String keyPrefix, RateLimiter changeListenerNotificationRateLimit) {
         super(changeListenerNotificationRateLimit);
+        this.redisClient = redisClient;
         this.pool = pool;
         this.keyPrefix = isNullOrEmpty(keyPrefix) ? "" : keyPrefix;
 
@@ -289,10 +309,11 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
             }
             jobVersioner.commitVersion();
             notifyJobStatsOnChangeListeners();
-            return jobToSave;
         } catch (RedisException e) {
             throw new StorageException(e);
         }
+        publishJobsEnqueuedIf(jobToSave.hasState(ENQUEUED));
+        return jobToSave;
     }
 
     @Override
@@ -340,10 +361,47 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
             }
             jobListVersioner.commitVersions();
             notifyJobStatsOnChangeListenersIf(!jobs.isEmpty());
-            return jobs;
         } catch (RedisException e) {
             throw new StorageException(e);
         }
+        publishJobsEnqueuedIf(jobs.stream().anyMatch(job -> job.hasState(ENQUEUED)));
+        return jobs;
+    }
+
+    @Override
+    public void updateProcessingJobs(List<Job> jobs, Instant updatedAt) {
+        if (jobs.isEmpty()) return;
+
+        try (final StatefulRedisConnection<String, String> connection = getConnection()) {
+            connection.setAutoFlushCommands(false);
+            RedisAsyncCommands<String, String> commands = connection.async();
+            final List<RedisFuture<String>> versionResponses = new ArrayList<>(jobs.size());
+            final List<RedisFuture<?>> allResponses = new ArrayList<>(jobs.size() * 2);
+            for (Job job : jobs) {
+                final RedisFuture<String> versionResponse = commands.get(jobVersionKey(keyPrefix, job));
+                versionResponses.add(versionResponse);
+                allResponses.add(versionResponse);
+                // why: XX only updates the score of jobs that are still in the PROCESSING queue
+                allResponses.add(commands.zadd(jobQueueForStateKey(keyPrefix, PROCESSING), ZAddArgs.Builder.xx(), toMicroSeconds(updatedAt), job.getId().toString()));
+            }
+            connection.flushCommands();
+            LettuceFutures.awaitAll(Duration.ofSeconds(10), allResponses.toArray(new RedisFuture[0]));
+
+            final List<Job> concurrentModifiedJobs = new ArrayList<>();
+            for (int i = 0; i < jobs.size(); i++) {
+                if (!String.valueOf(jobs.get(i).getVersion()).equals(versionResponses.get(i).get())) {
+                    concurrentModifiedJobs.add(jobs.get(i));
+                }
+            }
+            if (!concurrentModifiedJobs.isEmpty()) {
+                throw new ConcurrentJobModificationException(concurrentModifiedJobs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException(e);
+        } catch (ExecutionException e) {
+            throw new StorageException(e);
+        }
     }
 
     @Override
@@ -351,7 +409,9 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
         try (final StatefulRedisConnection<String, String> connection = getConnection()) {
             RedisCommands<String, String> commands = connection.sync();
             List<String> jobsByState;
-            if ("updatedAt:ASC".equals(pageRequest.getOrder())) {
+            if (pageRequest.hasSeekPosition()) {
+                jobsByState = getJobIdsAfterSeekPosition(commands, jobQueueForStateKey(keyPrefix, state), toMicroSeconds(updatedBefore), pageRequest);
+            } else if ("updatedAt:ASC".equals(pageRequest.getOrder())) {
                 jobsByState = commands.zrangebyscore(jobQueueForStateKey(keyPrefix, state), Range.create(0, toMicroSeconds(updatedBefore)), Limit.create(pageRequest.getOffset(), pageRequest.getLimit()));
             } else if ("updatedAt:DESC".equals(pageRequest.getOrder())) {
                 jobsByState = commands.zrevrangebyscore(jobQueueForStateKey(keyPrefix, state), Range.create(0, toMicroSeconds(updatedBefore)), Limit.create(pageRequest.getOffset(), pageRequest.getLimit()));
@@ -370,6 +430,7 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
     public List<Job> getScheduledJobs(Instant scheduledBefore, PageRequest pageRequest) {
         try (final StatefulRedisConnection<String, String> connection = getConnection()) {
             RedisCommands<String, String> commands = connection.sync();
+            // why: the scheduled jobs are sorted on scheduledAt instead of updatedAt, so the offset is used even if the PageRequest has a seek position
             return new LettuceRedisPipelinedStream<>(commands.zrangebyscore(scheduledJobsKey(keyPrefix), Range.create(0, toMicroSeconds(now())), Limit.create(pageRequest.getOffset(), pageRequest.getLimit())), connection)
                     .mapUsingPipeline((p, id) -> p.get(jobKey(keyPrefix, id)))
                     .mapAfterSync(RedisFuture<String>::get)
@@ -380,14 +441,26 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
 
     @Override
     public List<Job> getJobs(StateName state, PageRequest pageRequest) {
+        return getJobs(jobQueueForStateKey(keyPrefix, state), pageRequest);
+    }
+
+    @Override
+    public List<Job> getJobs(StateName state, int priority, PageRequest pageRequest) {
+        if (state != ENQUEUED) return super.getJobs(state, priority, pageRequest);
+        return getJobs(enqueuedJobQueueForPriorityKey(keyPrefix, priority), pageRequest);
+    }
+
+    private List<Job> getJobs(String jobQueueKey, PageRequest pageRequest) {
         try (final StatefulRedisConnection<String, String> connection = getConnection()) {
             RedisCommands<String, String> commands = connection.sync();
             List<String> jobsByState;
             // we only support what is used by frontend
-            if ("updatedAt:ASC".equals(pageRequest.getOrder())) {
-                jobsByState = commands.zrange(jobQueueForStateKey(keyPrefix, state), pageRequest.getOffset(), pageRequest.getOffset() + pageRequest.getLimit() - 1);
+            if (pageRequest.hasSeekPosition()) {
+                jobsByState = getJobIdsAfterSeekPosition(commands, jobQueueKey, Long.MAX_VALUE, pageRequest);
+            } else if ("updatedAt:ASC".equals(pageRequest.getOrder())) {
+                jobsByState = commands.zrange(jobQueueKey, pageRequest.getOffset(), pageRequest.getOffset() + pageRequest.getLimit() - 1);
             } else if ("updatedAt:DESC".equals(pageRequest.getOrder())) {
-                jobsByState = commands.zrevrange(jobQueueForStateKey(keyPrefix, state), pageRequest.getOffset(), pageRequest.getOffset() + pageRequest.getLimit() - 1);
+                jobsByState = commands.zrevrange(jobQueueKey, pageRequest.getOffset(), pageRequest.getOffset() + pageRequest.getLimit() - 1);
             } else {
                 throw new IllegalArgumentException("Unsupported sorting: " + pageRequest.getOrder());
             }
@@ -399,6 +472,26 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
         }
     }
 
+    private List<String> getJobIdsAfterSeekPosition(RedisCommands<String, String> commands, String jobQueueKey, long maxScore, PageRequest pageRequest) {
+        final long lastScore = toMicroSeconds(pageRequest.getLastUpdatedAt());
+        final boolean ascending = pageRequest.getSeekOrder() == PageRequest.Order.ASC;
+        final List<String> result = new ArrayList<>();
+        int offset = 0;
+        List<ScoredValue<String>> jobIdsWithScore;
+        do {
+            // why: the range starts at the score of the seek position, so the jobs with that score are fetched again and filtered on their id
+            final Limit limit = Limit.create(offset, pageRequest.getLimit());
+            jobIdsWithScore = ascending
+                    ? commands.zrangebyscoreWithScores(jobQueueKey, Range.create(lastScore, maxScore), limit)
+                    : commands.zrevrangebyscoreWithScores(jobQueueKey, Range.create(0, Math.min(lastScore, maxScore)), limit);
+            jobIdsWithScore.stream()
+                    .filter(jobIdWithScore -> isAfterSeekPosition(jobIdWithScore.getScore(), jobIdWithScore.getValue(), pageRequest))
+                    .forEach(jobIdWithScore -> result.add(jobIdWithScore.getValue()));
+            offset += jobIdsWithScore.size();
+        } while (result.size() < pageRequest.getLimit() && jobIdsWithScore.size() == pageRequest.getLimit());
+        return result.subList(0, Math.min(result.size(), pageRequest.getLimit()));
+    }
+
     @Override
     public Page<Job> getJobPage(StateName state, PageRequest pageRequest) {
         try (final StatefulRedisConnection<String, String> connection = getConnection()) {
@@ -412,6 +505,46 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
         }
     }
 
+    @Override
+    public boolean canClaimEnqueuedJobs() {
+        return true;
+    }
+
+    @Override
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, PageRequest pageRequest) {
+        return claimEnqueuedJobs(backgroundJobServerId, jobQueueForStateKey(keyPrefix, ENQUEUED), pageRequest);
+    }
+
+    @Override
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, int priority, PageRequest pageRequest) {
+        return claimEnqueuedJobs(backgroundJobServerId, enqueuedJobQueueForPriorityKey(keyPrefix, priority), pageRequest);
+    }
+
+    private List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, String queueKey, PageRequest pageRequest) {
+        try (final StatefulRedisConnection<String, String> connection = getConnection()) {
+            RedisCommands<String, String> commands = connection.sync();
+            final List<String> jobIds = commands.zrange(queueKey, 0, pageRequest.getLimit() - 1L);
+            if (jobIds.isEmpty()) return new ArrayList<>();
+
+            final List<KeyValue<String, String>> serializedJobs = commands.mget(jobIds.stream().map(id -> jobKey(keyPrefix, id)).toArray(String[]::new));
+            final List<Job> jobsToClaim = new ArrayList<>();
+            for (int i = 0; i < jobIds.size(); i++) {
+                if (serializedJobs.get(i).hasValue()) {
+                    jobsToClaim.add(jobMapper.deserializeJob(serializedJobs.get(i).getValue()));
+                } else {
+                    // why: the job was deleted permanently after it was enqueued
+                    commands.zrem(jobQueueForStateKey(keyPrefix, ENQUEUED), jobIds.get(i));
+                    commands.zrem(queueKey, jobIds.get(i));
+                }
+            }
+            if (jobsToClaim.isEmpty()) return jobsToClaim;
+
+            return claimJobs(backgroundJobServerId, jobsToClaim, commands);
+        } catch (RedisException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public int deleteJobsPermanently(StateName state, Instant updatedBefore) {
         int amount = 0;
@@ -473,6 +606,38 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
         }
     }
 
+    @Override
+    public Set<String> recurringJobsExist(Collection<String> recurringJobIds, StateName... states) {
+        if (recurringJobIds.isEmpty()) return Collections.emptySet();
+
+        try (final StatefulRedisConnection<String, String> connection = getConnection()) {
+            connection.setAutoFlushCommands(false);
+            RedisAsyncCommands<String, String> commands = connection.async();
+            final List<String> ids = new ArrayList<>(recurringJobIds);
+            final List<RedisFuture<Boolean>> existsResponses = new ArrayList<>(ids.size() * states.length);
+            for (String recurringJobId : ids) {
+                for (StateName stateName : states) {
+                    existsResponses.add(commands.sismember(recurringJobKey(keyPrefix, stateName), recurringJobId));
+                }
+            }
+            connection.flushCommands();
+            LettuceFutures.awaitAll(Duration.ofSeconds(10), existsResponses.toArray(new RedisFuture[0]));
+
+            final Set<String> result = new HashSet<>();
+            for (int i = 0; i < existsResponses.size(); i++) {
+                if (Boolean.TRUE.equals(existsResponses.get(i).get())) {
+                    result.add(ids.get(i / states.length));
+                }
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException(e);
+        } catch (ExecutionException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public RecurringJob saveRecurringJob(RecurringJob recurringJob) {
         try (final StatefulRedisConnection<String, String> connection = getConnection()) {
@@ -589,8 +754,30 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
         }
     }
 
+    @Override
+    public boolean canNotifyOfEnqueuedJobs() {
+        return true;
+    }
+
+    @Override
+    public void addJobStorageOnChangeListener(StorageProviderChangeListener listener) {
+        super.addJobStorageOnChangeListener(listener);
+        if (listener instanceof EnqueuedJobsChangeListener) {
+            startListeningForEnqueuedJobs();
+        }
+    }
+
+    @Override
+    public void removeJobStorageOnChangeListener(StorageProviderChangeListener listener) {
+        super.removeJobStorageOnChangeListener(listener);
+        if (listener instanceof EnqueuedJobsChangeListener && !hasEnqueuedJobsChangeListeners()) {
+            stopListeningForEnqueuedJobs();
+        }
+    }
+
     @Override
     public void close() {
+        stopListeningForEnqueuedJobs();
         super.close();
         pool.close();
     }
@@ -617,11 +804,57 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
         }
     }
 
+    private List<Job> claimJobs(UUID backgroundJobServerId, List<Job> jobsToClaim, RedisCommands<String, String> commands) {
+        jobsToClaim.forEach(job -> job.startProcessingOn(backgroundJobServerId));
+        try (final JobListVersioner jobListVersioner = new JobListVersioner(jobsToClaim)) {
+            final List<Object> result = commands.eval(CLAIM_ENQUEUED_JOBS_SCRIPT, ScriptOutputType.MULTI, claimEnqueuedJobsKeys(keyPrefix, jobsToClaim).toArray(new String[0]), claimEnqueuedJobsArgs(keyPrefix, jobMapper, jobsToClaim).toArray(new String[0]));
+            final Set<String> claimedJobIds = result.stream().map(String::valueOf).collect(toSet());
+            final List<Job> claimedJobs = jobsToClaim.stream().filter(job -> claimedJobIds.contains(job.getId().toString())).collect(toList());
+            jobListVersioner.rollbackVersions(jobsToClaim.stream().filter(job -> !claimedJobIds.contains(job.getId().toString())).collect(toList()));
+            notifyJobStatsOnChangeListenersIf(!claimedJobs.isEmpty());
+            return claimedJobs;
+        }
+    }
+
+    private void publishJobsEnqueuedIf(boolean jobsAreEnqueued) {
+        if (!jobsAreEnqueued) return;
+
+        try (final StatefulRedisConnection<String, String> connection = getConnection()) {
+            connection.sync().publish(enqueuedJobsChannel(keyPrefix), ENQUEUED.name());
+        } catch (RedisException e) {
+            // why: the jobs are saved - BackgroundJobServers will pick them up on their next poll
+            LOGGER.warn("Could not notify BackgroundJobServers of enqueued jobs", e);
+        }
+    }
+
+    private synchronized void startListeningForEnqueuedJobs() {
+        if (redisClient == null || enqueuedJobsListener != null) return;
+
+        try {
+            enqueuedJobsListener = new LettuceRedisEnqueuedJobsListener(redisClient, enqueuedJobsChannel(keyPrefix), this::notifyEnqueuedJobsChangeListeners);
+            enqueuedJobsListener.start();
+        } catch (RedisException e) {
+            // why: Lettuce only resubscribes once the connection was established, until then we rely on polling
+            LOGGER.warn("Could not subscribe to enqueued jobs - falling back to polling", e);
+            stopListeningForEnqueuedJobs();
+        }
+    }
+
+    private synchronized void stopListeningForEnqueuedJobs() {
+        if (enqueuedJobsListener == null) return;
+
+        enqueuedJobsListener.close();
+        enqueuedJobsListener = null;
+    }
+
     private void saveJob(RedisCommands<String, String> commands, Job jobToSave) {
         deleteJobMetadataForUpdate(commands, jobToSave);
         commands.set(jobVersionKey(keyPrefix, jobToSave), String.valueOf(jobToSave.getVersion()));
         commands.set(jobKey(keyPrefix, jobToSave), jobMapper.serializeJob(jobToSave));
         commands.zadd(jobQueueForStateKey(keyPrefix, jobToSave.getState()), toMicroSeconds(jobToSave.getUpdatedAt()), jobToSave.getId().toString());
+        if (ENQUEUED.equals(jobToSave.getState())) {
+            commands.zadd(enqueuedJobQueueForPriorityKey(keyPrefix, jobToSave.getPriority()), toMicroSeconds(jobToSave.getUpdatedAt()), jobToSave.getId().toString());
+        }
         commands.sadd(jobDetailsKey(keyPrefix, jobToSave.getState()), getJobSignature(jobToSave.getJobDetails()));
         if (SCHEDULED.equals(jobToSave.getState())) {
             commands.zadd(scheduledJobsKey(keyPrefix), toMicroSeconds(((ScheduledState) jobToSave.getJobState()).getScheduledAt()), jobToSave.getId().toString());
@@ -633,6 +866,7 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
         String id = job.getId().toString();
         commands.zrem(scheduledJobsKey(keyPrefix), id);
         Stream.of(StateName.values()).forEach(stateName -> commands.zrem(jobQueueForStateKey(keyPrefix, stateName), id));
+        enqueuedJobQueueForAllPrioritiesKeys(keyPrefix).forEach(queueKey -> commands.zrem(queueKey, id));
         Stream.of(StateName.values()).filter(stateName -> !SCHEDULED.equals(stateName)).forEach(stateName -> commands.srem(jobDetailsKey(keyPrefix, stateName), getJobSignature(job.getJobDetails())));
         if ((job.hasState(ENQUEUED) && job.getJobStates().size() >= 2 && job.getJobState(-2) instanceof ScheduledState)
                 || (job.hasState(DELETED) && job.getJobStates().size() >= 2 && job.getJobState(-2) instanceof ScheduledState)) {
@@ -645,6 +879,7 @@ public class LettuceRedisStorageProvider extends AbstractStorageProvider impleme
         String id = job.getId().toString();
         commands.zrem(scheduledJobsKey(keyPrefix), id);
         Stream.of(StateName.values()).forEach(stateName -> commands.zrem(jobQueueForStateKey(keyPrefix, stateName), id));
+        enqueuedJobQueueForAllPrioritiesKeys(keyPrefix).forEach(queueKey -> commands.zrem(queueKey, id));
         Stream.of(StateName.values()).forEach(stateName -> commands.srem(jobDetailsKey(keyPrefix, stateName), getJobSignature(job.getJobDetails())));
     }
 
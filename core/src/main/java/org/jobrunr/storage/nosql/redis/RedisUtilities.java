@@ -1,25 +1,95 @@
 package org.jobrunr.storage.nosql.redis;
 
 import org.jobrunr.jobs.Job;
+import org.jobrunr.jobs.JobPriority;
+import org.jobrunr.jobs.mappers.JobMapper;
 import org.jobrunr.jobs.states.StateName;
 import org.jobrunr.storage.BackgroundJobServerStatus;
 import org.jobrunr.storage.JobRunrMetadata;
+import org.jobrunr.storage.PageRequest;
 import org.jobrunr.utils.StringUtils;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.jobrunr.jobs.states.StateName.ENQUEUED;
+import static org.jobrunr.jobs.states.StateName.PROCESSING;
 import static org.jobrunr.storage.StorageProviderUtils.Metadata.NAME;
+import static org.jobrunr.utils.JobUtils.getJobSignature;
 
 public class RedisUtilities {
 
+    /**
+     * Atomically claims the given jobs by saving them in the PROCESSING state, but only if they were not modified in the meantime.
+     * KEYS[1] is the PROCESSING queue, KEYS[2] and KEYS[3] are the job details sets and KEYS[4] and KEYS[5] are the recurring job sets
+     * for the ENQUEUED and PROCESSING state, followed by the ARGV[1] ENQUEUED queues and, for each job, its job key and job version key.
+     * For each job, ARGV contains its id, the version it was read with, its new version, the serialized job, its updatedAt as score, its
+     * job signature and its recurring job id (or an empty string). As the version check and the state change happen in one script, a job
+     * can never end up in the PROCESSING queue without being saved in the PROCESSING state. It returns the ids of the claimed jobs.
+     */
+    public static final String CLAIM_ENQUEUED_JOBS_SCRIPT = "" +
+            "local amountOfQueues = tonumber(ARGV[1])\n" +
+            "local claimedIds = {}\n" +
+            "for i = 0, (#ARGV - 1) / 7 - 1 do\n" +
+            "    local jobKey = KEYS[6 + amountOfQueues + 2 * i]\n" +
+            "    local versionKey = KEYS[7 + amountOfQueues + 2 * i]\n" +
+            "    local id = ARGV[2 + 7 * i]\n" +
+            "    if redis.call('GET', versionKey) == ARGV[3 + 7 * i] then\n" +
+            "        redis.call('SET', versionKey, ARGV[4 + 7 * i])\n" +
+            "        redis.call('SET', jobKey, ARGV[5 + 7 * i])\n" +
+            "        for q = 6, 5 + amountOfQueues do\n" +
+            "            redis.call('ZREM', KEYS[q], id)\n" +
+            "        end\n" +
+            "        redis.call('ZADD', KEYS[1], ARGV[6 + 7 * i], id)\n" +
+            "        redis.call('SREM', KEYS[2], ARGV[7 + 7 * i])\n" +
+            "        redis.call('SADD', KEYS[3], ARGV[7 + 7 * i])\n" +
+            "        if ARGV[8 + 7 * i] ~= '' then\n" +
+            "            redis.call('SREM', KEYS[4], ARGV[8 + 7 * i])\n" +
+            "            redis.call('SADD', KEYS[5], ARGV[8 + 7 * i])\n" +
+            "        end\n" +
+            "        table.insert(claimedIds, id)\n" +
+            "    end\n" +
+            "end\n" +
+            "return claimedIds";
+
     private RedisUtilities() {
 
     }
 
+    public static List<String> claimEnqueuedJobsKeys(String keyPrefix, List<Job> jobsToClaim) {
+        final List<String> keys = new ArrayList<>(asList(
+                jobQueueForStateKey(keyPrefix, PROCESSING),
+                jobDetailsKey(keyPrefix, ENQUEUED), jobDetailsKey(keyPrefix, PROCESSING),
+                recurringJobKey(keyPrefix, ENQUEUED), recurringJobKey(keyPrefix, PROCESSING),
+                jobQueueForStateKey(keyPrefix, ENQUEUED)));
+        keys.addAll(enqueuedJobQueueForAllPrioritiesKeys(keyPrefix));
+        jobsToClaim.forEach(job -> keys.addAll(asList(jobKey(keyPrefix, job), jobVersionKey(keyPrefix, job))));
+        return keys;
+    }
+
+    public static List<String> claimEnqueuedJobsArgs(String keyPrefix, JobMapper jobMapper, List<Job> jobsToClaim) {
+        final List<String> args = new ArrayList<>();
+        args.add(String.valueOf(enqueuedJobQueueForAllPrioritiesKeys(keyPrefix).size() + 1));
+        for (Job job : jobsToClaim) {
+            args.add(job.getId().toString());
+            args.add(String.valueOf(job.getVersion() - 1));
+            args.add(String.valueOf(job.getVersion()));
+            args.add(jobMapper.serializeJob(job));
+            args.add(String.valueOf(toMicroSeconds(job.getUpdatedAt())));
+            args.add(getJobSignature(job.getJobDetails()));
+            args.add(job.getRecurringJobId().orElse(""));
+        }
+        return args;
+    }
+
     /**
      * @deprecated: still in use for Migrations
      */
@@ -64,6 +134,20 @@ public class RedisUtilities {
         return toRedisKey(keyPrefix, "queue", "jobs", stateName.toString());
     }
 
+    public static String enqueuedJobQueueForPriorityKey(String keyPrefix, int priority) {
+        return toRedisKey(keyPrefix, "queue", "jobs", StateName.ENQUEUED.toString(), "priority", String.valueOf(priority));
+    }
+
+    public static List<String> enqueuedJobQueueForAllPrioritiesKeys(String keyPrefix) {
+        return IntStream.of(JobPriority.allPrioritiesHighestFirst())
+                .mapToObj(priority -> enqueuedJobQueueForPriorityKey(keyPrefix, priority))
+                .collect(toList());
+    }
+
+    public static String enqueuedJobQueuesForPrioritiesMigratedKey(String keyPrefix) {
+        return toRedisKey(keyPrefix, "migrations", "enqueued-jobs-priority-queues");
+    }
+
     public static String recurringJobsKey(String keyPrefix) {
         return toRedisKey(keyPrefix, "recurringjobs");
     }
@@ -80,6 +164,10 @@ public class RedisUtilities {
         return toRedisKey(keyPrefix, "queue", "scheduledjobs");
     }
 
+    public static String enqueuedJobsChannel(String keyPrefix) {
+        return toRedisKey(keyPrefix, "channel", "jobs", StateName.ENQUEUED.toString());
+    }
+
     public static String jobKey(String keyPrefix, Job job) {
         return jobKey(keyPrefix, job.getId());
     }
@@ -117,5 +205,17 @@ public class RedisUtilities {
     public static long toMicroSeconds(Instant instant) {
         return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
     }
-}
 
+    /**
+     * Returns whether the job with the given score (its updatedAt in microseconds), fetched using a range query that starts at the score of the
+     * seek position of the given PageRequest, comes after that seek position. Redis orders the job ids with the same score lexicographically,
+     * so only the jobs with the same score as the seek position must be compared on their id. A range query can not do so.
+     */
+    public static boolean isAfterSeekPosition(double score, String jobId, PageRequest pageRequest) {
+        final long lastScore = toMicroSeconds(pageRequest.getLastUpdatedAt());
+        if (score != lastScore) return true;
+
+        final int compared = jobId.compareTo(pageRequest.getLastId().toString());
+        return pageRequest.getSeekOrder() == PageRequest.Order.ASC ? compared > 0 : compared < 0;
+    }
+}
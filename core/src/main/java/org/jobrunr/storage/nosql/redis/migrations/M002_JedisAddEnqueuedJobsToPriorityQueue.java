@@ -0,0 +1,24 @@
+package org.jobrunr.storage.nosql.redis.migrations;
+
+import org.jobrunr.jobs.JobPriority;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.params.ZParams;
+
+import java.io.IOException;
+
+import static org.jobrunr.jobs.states.StateName.ENQUEUED;
+import static org.jobrunr.storage.nosql.redis.RedisUtilities.enqueuedJobQueueForPriorityKey;
+import static org.jobrunr.storage.nosql.redis.RedisUtilities.enqueuedJobQueuesForPrioritiesMigratedKey;
+import static org.jobrunr.storage.nosql.redis.RedisUtilities.jobQueueForStateKey;
+
+public class M002_JedisAddEnqueuedJobsToPriorityQueue extends JedisRedisMigration {
+
+    @Override
+    public void runMigration(Jedis jedis, String keyPrefix) throws IOException {
+        if (jedis.exists(enqueuedJobQueuesForPrioritiesMigratedKey(keyPrefix))) return;
+
+        final String normalPriorityQueueKey = enqueuedJobQueueForPriorityKey(keyPrefix, JobPriority.NORMAL);
+        jedis.zunionstore(normalPriorityQueueKey, new ZParams().aggregate(ZParams.Aggregate.MAX), normalPriorityQueueKey, jobQueueForStateKey(keyPrefix, ENQUEUED));
+        jedis.set(enqueuedJobQueuesForPrioritiesMigratedKey(keyPrefix), "true");
+    }
+}
@@ -0,0 +1,27 @@
+package org.jobrunr.storage.nosql.redis.migrations;
+
+import io.lettuce.core.ZStoreArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.jobrunr.jobs.JobPriority;
+
+import java.io.IOException;
+
+import static org.jobrunr.jobs.states.StateName.ENQUEUED;
+import static org.jobrunr.storage.nosql.redis.RedisUtilities.enqueuedJobQueueForPriorityKey;
+import static org.jobrunr.storage.nosql.redis.RedisUtilities.enqueuedJobQueuesForPrioritiesMigratedKey;
+import static org.jobrunr.storage.nosql.redis.RedisUtilities.jobQueueForStateKey;
+
+public class M002_LettuceAddEnqueuedJobsToPriorityQueue extends LettuceRedisMigration {
+
+    @Override
+    public void runMigration(StatefulRedisConnection<String, String> connection, String keyPrefix) throws IOException {
+        RedisCommands<String, String> commands = connection.sync();
+
+        if (commands.exists(enqueuedJobQueuesForPrioritiesMigratedKey(keyPrefix)) > 0) return;
+
+        final String normalPriorityQueueKey = enqueuedJobQueueForPriorityKey(keyPrefix, JobPriority.NORMAL);
+        commands.zunionstore(normalPriorityQueueKey, ZStoreArgs.Builder.max(), normalPriorityQueueKey, jobQueueForStateKey(keyPrefix, ENQUEUED));
+        commands.set(enqueuedJobQueuesForPrioritiesMigratedKey(keyPrefix), "true");
+    }
+}
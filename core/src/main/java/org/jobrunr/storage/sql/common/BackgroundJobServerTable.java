@@ -90,6 +90,10 @@ public class BackgroundJobServerTable extends Sql<BackgroundJobServerStatus> {
                 .collect(toList());
     }
 
+    public long count() throws SQLException {
+        return selectCount("from jobrunr_backgroundjobservers");
+    }
+
     public UUID getLongestRunningBackgroundJobServerId() {
         return withOrderLimitAndOffset("firstHeartbeat ASC", 1, 0)
                 .select("id from jobrunr_backgroundjobservers")
@@ -25,7 +25,8 @@ public class DatabaseCreator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseCreator.class);
     private static final String DEFAULT_PREFIX = "jobrunr_";
-    private static final String[] JOBRUNR_TABLES = new String[]{"jobrunr_jobs", "jobrunr_recurring_jobs", "jobrunr_backgroundjobservers", "jobrunr_metadata"};
+    private static final String[] JOBRUNR_TABLES = new String[]{"jobrunr_jobs", "jobrunr_recurring_jobs", "jobrunr_backgroundjobservers", "jobrunr_metadata", "jobrunr_jobs_counters"};
+    private static final String JOBRUNR_JOBS_ARCHIVE_TABLE = "jobrunr_jobs_archive";
 
     private final ConnectionProvider connectionProvider;
     private final TablePrefixStatementUpdater tablePrefixStatementUpdater;
@@ -83,10 +84,18 @@ public class DatabaseCreator {
     }
 
     public void validateTables() {
+        validateTables(JOBRUNR_TABLES, "Not all required tables are available by JobRunr!");
+    }
+
+    public void validateJobArchiveTable() {
+        validateTables(new String[]{JOBRUNR_JOBS_ARCHIVE_TABLE}, "The " + JOBRUNR_JOBS_ARCHIVE_TABLE + " table required by the job archive is not available!");
+    }
+
+    private void validateTables(String[] tables, String errorMessage) {
         try (final Connection conn = getConnection();
              final Transaction tran = new Transaction(conn, false);
              final Statement pSt = conn.createStatement()) {
-            for (String table : JOBRUNR_TABLES) {
+            for (String table : tables) {
                 try (ResultSet rs = pSt.executeQuery("select count(*) from " + tablePrefixStatementUpdater.getFQTableName(table))) {
                     if (rs.next()) {
                         int count = rs.getInt(1);
@@ -95,7 +104,7 @@ public class DatabaseCreator {
             }
             tran.commit();
         } catch (Exception becauseTableDoesNotExist) {
-            throw new JobRunrException("Not all required tables are available by JobRunr!");
+            throw new JobRunrException(errorMessage);
         }
     }
 
@@ -250,8 +259,8 @@ public class DatabaseCreator {
 
         @Override
         public String updateStatement(String statement) {
-            if (isCreateIndex(statement)) {
-                return updateStatementWithTablePrefixForCreateIndexStatement(statement);
+            if (isIndexOnTable(statement)) {
+                return updateStatementWithTablePrefixForIndexOnTableStatement(statement);
             }
             return updateStatementWithTablePrefixForOtherStatements(statement);
         }
@@ -261,13 +270,13 @@ public class DatabaseCreator {
             return elementPrefixer(tablePrefix, tableName);
         }
 
-        private boolean isCreateIndex(String statement) {
-            return statement.contains("CREATE INDEX ");
+        private boolean isIndexOnTable(String statement) {
+            return statement.contains("CREATE INDEX ") || (statement.contains("DROP INDEX ") && statement.contains(" ON "));
         }
 
-        private String updateStatementWithTablePrefixForCreateIndexStatement(String statement) {
+        private String updateStatementWithTablePrefixForIndexOnTableStatement(String statement) {
             return statement
-                    .replace("CREATE INDEX jobrunr_", "CREATE INDEX " + elementPrefixer(indexPrefix, DEFAULT_PREFIX))
+                    .replace("INDEX jobrunr_", "INDEX " + elementPrefixer(indexPrefix, DEFAULT_PREFIX))
                     .replace("ON jobrunr_", "ON " + elementPrefixer(tablePrefix, DEFAULT_PREFIX));
         }
 
@@ -7,6 +7,7 @@ import org.jobrunr.jobs.mappers.JobMapper;
 import org.jobrunr.jobs.states.StateName;
 import org.jobrunr.storage.*;
 import org.jobrunr.storage.StorageProviderUtils.DatabaseOptions;
+import org.jobrunr.storage.StorageProviderUtils.Metadata;
 import org.jobrunr.storage.StorageProviderUtils.RecurringJobs;
 import org.jobrunr.storage.sql.SqlStorageProvider;
 import org.jobrunr.storage.sql.common.db.Transaction;
@@ -16,12 +17,16 @@ import org.jobrunr.utils.resilience.RateLimiter;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import static java.util.Collections.emptySet;
 import static org.jobrunr.storage.StorageProviderUtils.DatabaseOptions.CREATE;
 import static org.jobrunr.utils.resilience.RateLimiter.Builder.rateLimit;
 import static org.jobrunr.utils.resilience.RateLimiter.SECOND;
@@ -31,7 +36,8 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
     protected final DataSource dataSource;
     protected final Dialect dialect;
     protected final String tablePrefix;
-    private JobMapper jobMapper;
+    protected JobMapper jobMapper;
+    private Duration archiveJobsAfter;
 
     public DefaultSqlStorageProvider(DataSource dataSource, Dialect dialect, DatabaseOptions databaseOptions) {
         this(dataSource, dialect, databaseOptions, rateLimit().at1Request().per(SECOND));
@@ -58,6 +64,22 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
         this.jobMapper = jobMapper;
     }
 
+    /**
+     * Enables the archive: SUCCEEDED and DELETED jobs that were not updated for the given duration are moved from the jobrunr_jobs table
+     * to the jobrunr_jobs_archive table so that the jobrunr_jobs table only contains the jobs that are still being worked on. Archived jobs
+     * are still returned when fetching jobs (e.g. in the dashboard) and are moved back if they change to another state (e.g. when requeued).
+     *
+     * @param archiveJobsAfter the duration after which SUCCEEDED and DELETED jobs are archived or null to disable the archive
+     */
+    public void enableJobArchive(Duration archiveJobsAfter) {
+        // why: the tables are validated when the StorageProvider is created, before the job archive can be enabled
+        if (archiveJobsAfter != null) {
+            getDatabaseCreator()
+                    .validateJobArchiveTable();
+        }
+        this.archiveJobsAfter = archiveJobsAfter;
+    }
+
     @Override
     public void setUpStorageProvider(DatabaseOptions databaseOptions) {
         if (databaseOptions == CREATE) {
@@ -194,6 +216,22 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
         }
     }
 
+    @Override
+    public void updateProcessingJobs(List<Job> jobs, Instant updatedAt) {
+        if (jobs.isEmpty()) return;
+
+        try (final Connection conn = dataSource.getConnection(); final Transaction transaction = new Transaction(conn)) {
+            final List<Job> concurrentModifiedJobs = jobTable(conn).updateProcessingJobs(jobs, updatedAt);
+            // why: the heartbeat of the other jobs is committed so they are not seen as orphaned
+            transaction.commit();
+            if (!concurrentModifiedJobs.isEmpty()) {
+                throw new ConcurrentJobModificationException(concurrentModifiedJobs);
+            }
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public Job getJobById(UUID id) {
         try (final Connection conn = dataSource.getConnection()) {
@@ -224,6 +262,15 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
 
     }
 
+    @Override
+    public List<Job> getJobs(StateName state, int priority, PageRequest pageRequest) {
+        try (final Connection conn = dataSource.getConnection()) {
+            return jobTable(conn).selectJobsByState(state, priority, pageRequest);
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public List<Job> getJobs(StateName state, Instant updatedBefore, PageRequest pageRequest) {
         try (final Connection conn = dataSource.getConnection()) {
@@ -247,6 +294,40 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
         }
     }
 
+    @Override
+    public boolean canClaimEnqueuedJobs() {
+        return dialect.supportsSelectForUpdateSkipLocked();
+    }
+
+    @Override
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, PageRequest pageRequest) {
+        if (!canClaimEnqueuedJobs()) throw new UnsupportedOperationException(getName() + " does not support claiming enqueued jobs");
+
+        // why: the row locks of SELECT ... FOR UPDATE SKIP LOCKED only live as long as the transaction, so autocommit must be disabled
+        try (final Connection conn = dataSource.getConnection(); final Transaction transaction = new Transaction(conn, false)) {
+            final List<Job> claimedJobs = jobTable(conn).claimEnqueuedJobs(backgroundJobServerId, pageRequest);
+            transaction.commit();
+            notifyJobStatsOnChangeListenersIf(!claimedJobs.isEmpty());
+            return claimedJobs;
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, int priority, PageRequest pageRequest) {
+        if (!canClaimEnqueuedJobs()) throw new UnsupportedOperationException(getName() + " does not support claiming enqueued jobs");
+
+        try (final Connection conn = dataSource.getConnection(); final Transaction transaction = new Transaction(conn, false)) {
+            final List<Job> claimedJobs = jobTable(conn).claimEnqueuedJobs(backgroundJobServerId, priority, pageRequest);
+            transaction.commit();
+            notifyJobStatsOnChangeListenersIf(!claimedJobs.isEmpty());
+            return claimedJobs;
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public int deletePermanently(UUID id) {
         try (final Connection conn = dataSource.getConnection(); final Transaction transaction = new Transaction(conn)) {
@@ -261,7 +342,8 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
 
     @Override
     public int deleteJobsPermanently(StateName state, Instant updatedBefore) {
-        try (final Connection conn = dataSource.getConnection(); final Transaction transaction = new Transaction(conn)) {
+        // why: with an archive, the jobs are deleted from both tables (and archive partitions may be dropped) within the same transaction
+        try (final Connection conn = dataSource.getConnection(); final Transaction transaction = new Transaction(conn, isJobArchiveEnabled() ? false : null)) {
             final int amountDeleted = jobTable(conn).deleteJobsByStateAndUpdatedBefore(state, updatedBefore);
             transaction.commit();
             notifyJobStatsOnChangeListenersIf(amountDeleted > 0);
@@ -271,6 +353,39 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
         }
     }
 
+    @Override
+    public boolean canMoveJobsToDeletedState() {
+        return JobTable.appendDeletedStateToJobAsJson(dialect).isPresent() && dialect.supportsSelectForUpdateSkipLocked() && jobMapper.savesJobsAsPlainJson();
+    }
+
+    @Override
+    public int moveJobsToDeletedState(StateName state, Instant updatedBefore, String reason, int amount) {
+        if (!canMoveJobsToDeletedState()) throw new UnsupportedOperationException(getName() + " does not support moving jobs to the DELETED state");
+
+        // why: the jobs and the job counters must be updated within the same transaction
+        try (final Connection conn = dataSource.getConnection(); final Transaction transaction = new Transaction(conn, false)) {
+            final int amountMoved = jobTable(conn).moveJobsToDeletedState(state, updatedBefore, reason, amount);
+            transaction.commit();
+            notifyJobStatsOnChangeListenersIf(amountMoved > 0);
+            return amountMoved;
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public int archiveJobs(int amount) {
+        if (!isJobArchiveEnabled()) return 0;
+
+        try (final Connection conn = dataSource.getConnection(); final Transaction transaction = new Transaction(conn, false)) {
+            final int amountArchived = jobTable(conn).archiveJobs(Instant.now().minus(archiveJobsAfter), amount);
+            transaction.commit();
+            return amountArchived;
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public Set<String> getDistinctJobSignatures(StateName... states) {
         try (final Connection conn = dataSource.getConnection()) {
@@ -298,6 +413,17 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
         }
     }
 
+    @Override
+    public Set<String> recurringJobsExist(Collection<String> recurringJobIds, StateName... states) {
+        if (recurringJobIds.isEmpty()) return emptySet();
+
+        try (final Connection conn = dataSource.getConnection()) {
+            return jobTable(conn).recurringJobsExist(recurringJobIds, states);
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public RecurringJob saveRecurringJob(RecurringJob recurringJob) {
         try (final Connection conn = dataSource.getConnection(); final Transaction transaction = new Transaction(conn)) {
@@ -350,8 +476,33 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
 
     @Override
     public JobStats getJobStats() {
+        Instant instant = Instant.now();
         try (final Connection conn = dataSource.getConnection()) {
-            return jobStatsView(conn).getJobStats();
+            final Map<StateName, Long> jobCounters = jobCountersTable(conn).getAll();
+            final JobRunrMetadata allTimeSucceededMetadata = metadataTable(conn).get(Metadata.STATS_NAME, Metadata.STATS_OWNER);
+            return new JobStats(
+                    instant,
+                    jobCounters.values().stream().mapToLong(Long::longValue).sum(),
+                    jobCounters.getOrDefault(StateName.SCHEDULED, 0L),
+                    jobCounters.getOrDefault(StateName.ENQUEUED, 0L),
+                    jobCounters.getOrDefault(StateName.PROCESSING, 0L),
+                    jobCounters.getOrDefault(StateName.FAILED, 0L),
+                    jobCounters.getOrDefault(StateName.SUCCEEDED, 0L),
+                    allTimeSucceededMetadata != null ? Long.parseLong(allTimeSucceededMetadata.getValue().trim()) : 0L,
+                    jobCounters.getOrDefault(StateName.DELETED, 0L),
+                    (int) recurringJobTable(conn).count(),
+                    (int) backgroundJobServerTable(conn).count()
+            );
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void reconcileJobStats() {
+        try (final Connection conn = dataSource.getConnection(); final Transaction transaction = new Transaction(conn, false)) {
+            jobCountersTable(conn).reconcile();
+            transaction.commit();
         } catch (SQLException e) {
             throw new StorageException(e);
         }
@@ -367,12 +518,20 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
         }
     }
 
+    protected boolean isJobArchiveEnabled() {
+        return archiveJobsAfter != null;
+    }
+
     protected DatabaseCreator getDatabaseCreator() {
         return new DatabaseCreator(dataSource, tablePrefix, getClass());
     }
 
     protected JobTable jobTable(Connection connection) {
-        return new JobTable(connection, dialect, tablePrefix, jobMapper);
+        return new JobTable(connection, dialect, tablePrefix, jobMapper, isJobArchiveEnabled() ? jobArchiveTable(connection) : null);
+    }
+
+    protected JobArchiveTable jobArchiveTable(Connection connection) {
+        return new JobArchiveTable(connection, dialect, tablePrefix);
     }
 
     protected RecurringJobTable recurringJobTable(Connection connection) {
@@ -387,8 +546,8 @@ public class DefaultSqlStorageProvider extends AbstractStorageProvider implement
         return new MetadataTable(connection, dialect, tablePrefix);
     }
 
-    protected JobStatsView jobStatsView(Connection connection) {
-        return new JobStatsView(connection, dialect, tablePrefix);
+    protected JobCountersTable jobCountersTable(Connection connection) {
+        return new JobCountersTable(connection, dialect, tablePrefix, isJobArchiveEnabled());
     }
 
 }
@@ -0,0 +1,87 @@
+package org.jobrunr.storage.sql.common;
+
+import org.jobrunr.jobs.Job;
+import org.jobrunr.jobs.states.StateName;
+import org.jobrunr.storage.sql.common.db.Sql;
+import org.jobrunr.storage.sql.common.db.dialect.Dialect;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+/**
+ * Moves SUCCEEDED and DELETED jobs from the jobrunr_jobs table to the jobrunr_jobs_archive table so that the jobrunr_jobs table (and its
+ * indexes) only contains the jobs that are still being worked on. Archived jobs keep their state and version: the {@link JobTable} also
+ * looks in the archive for these states and moves a job back if it changes to a state that is not archived (e.g. it is requeued).
+ */
+public class JobArchiveTable extends Sql<Job> {
+
+    static final String JOB_COLUMNS = "id, version, jobAsJson, jobSignature, state, createdAt, updatedAt, scheduledAt, recurringJobId, priority";
+
+    public JobArchiveTable(Connection connection, Dialect dialect, String tablePrefix) {
+        // why: the table name is replaced by its prefixed version in each statement, so this prefixes both jobrunr_jobs and jobrunr_jobs_archive
+        this
+                .using(connection, dialect, tablePrefix, "jobrunr_jobs");
+    }
+
+    public static boolean isArchivedState(StateName state) {
+        return state == StateName.SUCCEEDED || state == StateName.DELETED;
+    }
+
+    public int archive(Instant updatedBefore, int amount) throws SQLException {
+        // why: the archive table is determined first as the order and limit below also apply to all next selects
+        final Instant archivedAt = Instant.now();
+        final String archiveTable = archiveTableFor(archivedAt);
+        final List<UUID> ids = with("updatedBefore", updatedBefore)
+                .withOrderLimitAndOffset("updatedAt ASC", amount, 0)
+                .select("id from jobrunr_jobs where state in ('SUCCEEDED', 'DELETED') AND updatedAt <= :updatedBefore")
+                .map(resultSet -> resultSet.asUUID("id"))
+                .collect(toList());
+
+        with("archivedAt", archivedAt);
+        int amountArchived = 0;
+        for (int fromIndex = 0; fromIndex < ids.size(); fromIndex += MAX_IN_CLAUSE_SIZE) {
+            final List<UUID> idsInBatch = ids.subList(fromIndex, Math.min(fromIndex + MAX_IN_CLAUSE_SIZE, ids.size()));
+            final String idClause = withIds(idsInBatch);
+            insertMany("into " + archiveTable + " (" + JOB_COLUMNS + ", archivedAt) select " + JOB_COLUMNS + ", :archivedAt from jobrunr_jobs where id in (" + idClause + ") AND state in ('SUCCEEDED', 'DELETED')");
+            // why: a job that was changed since it was copied (e.g. it was requeued) stays in the jobrunr_jobs table and its copy is removed from the archive
+            amountArchived += delete("from jobrunr_jobs where id in (" + idClause + ") AND exists (select id from jobrunr_jobs_archive where jobrunr_jobs_archive.id = jobrunr_jobs.id AND jobrunr_jobs_archive.version = jobrunr_jobs.version)");
+            delete("from jobrunr_jobs_archive where id in (" + idClause + ") AND id in (select id from jobrunr_jobs)");
+        }
+        return amountArchived;
+    }
+
+    public int restore(UUID id) throws SQLException {
+        with("id", id);
+        final int amountRestored = insertMany("into jobrunr_jobs (" + JOB_COLUMNS + ") select " + JOB_COLUMNS + " from jobrunr_jobs_archive where id = :id");
+        delete("from jobrunr_jobs_archive where id = :id");
+        return amountRestored;
+    }
+
+    public int deleteJobsByStateAndUpdatedBefore(StateName state, Instant updatedBefore) throws SQLException {
+        return with("stateToDelete", state)
+                .with("updatedBefore", updatedBefore)
+                .delete("from jobrunr_jobs_archive where state = :stateToDelete AND updatedAt <= :updatedBefore");
+    }
+
+    /**
+     * Returns the table to which the jobs archived at the given instant are copied. By default this is the jobrunr_jobs_archive table itself.
+     *
+     * @param archivedAt the instant on which the jobs are archived
+     * @return the (unprefixed) name of the table to which the jobs are copied
+     */
+    protected String archiveTableFor(Instant archivedAt) throws SQLException {
+        return "jobrunr_jobs_archive";
+    }
+
+    private String withIds(List<UUID> ids) {
+        range(0, ids.size()).forEach(i -> with("id" + i, ids.get(i)));
+        return range(0, ids.size()).mapToObj(i -> ":id" + i).collect(joining(","));
+    }
+}
@@ -0,0 +1,158 @@
+package org.jobrunr.storage.sql.common;
+
+import org.jobrunr.jobs.Job;
+import org.jobrunr.jobs.states.StateName;
+import org.jobrunr.storage.sql.common.db.Sql;
+import org.jobrunr.storage.sql.common.db.dialect.Dialect;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.jobrunr.storage.StorageProviderUtils.elementPrefixer;
+
+/**
+ * Keeps the amount of jobs per state in the jobrunr_jobs_counters table so that the job stats can be fetched without counting the jobrunr_jobs table.
+ * The counters are updated each time jobs are inserted, change state or are deleted. As they can drift (e.g. if jobs are changed directly in the database),
+ * they are reconciled with the actual amount of jobs in the jobrunr_jobs table from time to time. Archived jobs are counted as well.
+ * <p>
+ * Each state has {@link #AMOUNT_OF_SHARDS} counter rows of which the amount of jobs is the sum. A transaction only updates the rows of one (random) shard
+ * so that concurrent transactions saving jobs do not all wait on the lock of the same row.
+ */
+public class JobCountersTable extends Sql<StateName> {
+
+    static final int AMOUNT_OF_SHARDS = 8;
+
+    private final String jobsTableName;
+    private final String jobsArchiveTableName;
+    private final int shard;
+
+    public JobCountersTable(Connection connection, Dialect dialect, String tablePrefix) {
+        this(connection, dialect, tablePrefix, false);
+    }
+
+    /**
+     * @param includeArchivedJobs whether the jobs in the jobrunr_jobs_archive table must also be counted (see {@link JobArchiveTable})
+     */
+    public JobCountersTable(Connection connection, Dialect dialect, String tablePrefix, boolean includeArchivedJobs) {
+        this.jobsTableName = elementPrefixer(tablePrefix, "jobrunr_jobs");
+        this.jobsArchiveTableName = includeArchivedJobs ? elementPrefixer(tablePrefix, "jobrunr_jobs_archive") : null;
+        this.shard = ThreadLocalRandom.current().nextInt(AMOUNT_OF_SHARDS);
+        this
+                .using(connection, dialect, tablePrefix, "jobrunr_jobs_counters");
+    }
+
+    public Map<StateName, Long> getAll() {
+        final Map<StateName, Long> result = new EnumMap<>(StateName.class);
+        select("state, sum(amount) as amount from jobrunr_jobs_counters group by state")
+                .forEach(resultSet -> result.put(StateName.valueOf(resultSet.asString("state")), resultSet.asLong("amount")));
+        return result;
+    }
+
+    public Map<UUID, StateName> getCurrentStates(List<UUID> ids) {
+        final Map<UUID, StateName> result = getCurrentStates(jobsTableName, ids);
+        if (jobsArchiveTableName != null && result.size() < ids.size()) {
+            result.putAll(getCurrentStates(jobsArchiveTableName, ids.stream().filter(id -> !result.containsKey(id)).collect(toList())));
+        }
+        return result;
+    }
+
+    private Map<UUID, StateName> getCurrentStates(String tableName, List<UUID> ids) {
+        final Map<UUID, StateName> result = new HashMap<>();
+        for (int fromIndex = 0; fromIndex < ids.size(); fromIndex += MAX_IN_CLAUSE_SIZE) {
+            final List<UUID> idsInBatch = ids.subList(fromIndex, Math.min(fromIndex + MAX_IN_CLAUSE_SIZE, ids.size()));
+            range(0, idsInBatch.size()).forEach(i -> with("id" + i, idsInBatch.get(i)));
+            select("id, state from " + tableName + " where id in (" + range(0, idsInBatch.size()).mapToObj(i -> ":id" + i).collect(joining(",")) + ")")
+                    .forEach(resultSet -> result.put(resultSet.asUUID("id"), StateName.valueOf(resultSet.asString("state"))));
+        }
+        return result;
+    }
+
+    public void onJobsInserted(List<Job> insertedJobs) throws SQLException {
+        final Map<StateName, Long> amountsToAdd = new EnumMap<>(StateName.class);
+        insertedJobs.forEach(job -> amountsToAdd.merge(job.getState(), 1L, Long::sum));
+        increment(amountsToAdd);
+    }
+
+    /**
+     * Must be called before the versions of the updated jobs are committed as it uses {@link Job#getStateBeforeStateChange()} as their previous state.
+     */
+    public void onJobsUpdated(List<Job> updatedJobs) throws SQLException {
+        final Map<StateName, Long> amountsToAdd = new EnumMap<>(StateName.class);
+        for (Job job : updatedJobs) {
+            final StateName previousState = job.getStateBeforeStateChange();
+            if (previousState == job.getState()) continue;
+
+            amountsToAdd.merge(job.getState(), 1L, Long::sum);
+            amountsToAdd.merge(previousState, -1L, Long::sum);
+        }
+        increment(amountsToAdd);
+    }
+
+    public void onJobsDeleted(Map<UUID, StateName> deletedJobStates) throws SQLException {
+        final Map<StateName, Long> amountsToAdd = new EnumMap<>(StateName.class);
+        deletedJobStates.values().forEach(state -> amountsToAdd.merge(state, -1L, Long::sum));
+        increment(amountsToAdd);
+    }
+
+    public void onJobsDeleted(StateName state, int amount) throws SQLException {
+        final Map<StateName, Long> amountsToAdd = new EnumMap<>(StateName.class);
+        amountsToAdd.put(state, (long) -amount);
+        increment(amountsToAdd);
+    }
+
+    public void onJobsMoved(StateName fromState, StateName toState, int amount) throws SQLException {
+        final Map<StateName, Long> amountsToAdd = new EnumMap<>(StateName.class);
+        amountsToAdd.put(fromState, (long) -amount);
+        amountsToAdd.merge(toState, (long) amount, Long::sum);
+        increment(amountsToAdd);
+    }
+
+    /**
+     * Sets the counters to the actual amount of jobs per state: the first shard gets the complete amount, the other shards are reset to 0.
+     * Must be run within a transaction as the counter rows are locked before the jobs are counted, so that the jobs of a concurrent transaction
+     * are either counted or added to the counters by that transaction once the reconciliation is committed.
+     */
+    public void reconcile() throws SQLException {
+        final String amount = jobsArchiveTableName == null
+                ? "(select count(*) from " + jobsTableName + " where state = :state)"
+                : "(select count(*) from " + jobsTableName + " where state = :state) + (select count(*) from " + jobsArchiveTableName + " where state = :state)";
+        // why: the rows are locked in the order of the states, like increment does, to prevent deadlocks
+        for (StateName state : StateName.values()) {
+            lockCounters(state);
+        }
+        for (StateName state : StateName.values()) {
+            final int amountOfCounters = with("state", state)
+                    .updateMany("jobrunr_jobs_counters set amount = case when shard = 0 then " + amount + " else 0 end where state = :state");
+            if (amountOfCounters != AMOUNT_OF_SHARDS) {
+                throw new SQLException("Expected " + AMOUNT_OF_SHARDS + " job counters for state " + state + " but found " + amountOfCounters);
+            }
+        }
+    }
+
+    private void lockCounters(StateName state) throws SQLException {
+        // why: an update that does not change anything locks the rows on all databases, also on those that do not support SELECT ... FOR UPDATE (e.g. SQLite)
+        with("state", state)
+                .updateMany("jobrunr_jobs_counters set amount = amount where state = :state");
+    }
+
+    private void increment(Map<StateName, Long> amountsToAdd) throws SQLException {
+        // why: the EnumMap always updates the counters in the same order which prevents deadlocks between concurrent transactions (and the reconciliation)
+        for (Map.Entry<StateName, Long> amountToAdd : amountsToAdd.entrySet()) {
+            if (amountToAdd.getValue() == 0) continue;
+
+            with("state", amountToAdd.getKey())
+                    .with("shard", shard)
+                    .with("amount", amountToAdd.getValue())
+                    .update("jobrunr_jobs_counters set amount = amount + :amount where state = :state and shard = :shard");
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.jobrunr.storage.sql.common;
 
 import org.jobrunr.jobs.*;
 import org.jobrunr.jobs.mappers.JobMapper;
+import org.jobrunr.jobs.states.DeletedState;
 import org.jobrunr.jobs.states.ScheduledState;
 import org.jobrunr.jobs.states.StateName;
 import org.jobrunr.storage.ConcurrentJobModificationException;
@@ -15,34 +16,58 @@ import org.jobrunr.utils.JobUtils;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
 import static org.jobrunr.storage.StorageProviderUtils.Jobs.*;
+import static org.jobrunr.storage.sql.common.db.ConcurrentSqlModificationException.concurrentDatabaseModificationException;
 import static org.jobrunr.utils.JobUtils.getJobSignature;
 import static org.jobrunr.utils.reflection.ReflectionUtils.cast;
 
 public class JobTable extends Sql<Job> {
 
+    private final Dialect dialect;
     private final JobMapper jobMapper;
+    private final JobCountersTable jobCountersTable;
+    private final JobArchiveTable jobArchiveTable;
     private static final SqlPageRequestMapper pageRequestMapper = new SqlPageRequestMapper();
 
     public JobTable(Connection connection, Dialect dialect, String tablePrefix, JobMapper jobMapper) {
+        this(connection, dialect, tablePrefix, jobMapper, null);
+    }
+
+    /**
+     * @param jobArchiveTable the archive to which SUCCEEDED and DELETED jobs are moved or null if jobs are not archived
+     */
+    public JobTable(Connection connection, Dialect dialect, String tablePrefix, JobMapper jobMapper, JobArchiveTable jobArchiveTable) {
+        this.dialect = dialect;
         this.jobMapper = jobMapper;
+        this.jobArchiveTable = jobArchiveTable;
+        this.jobCountersTable = new JobCountersTable(connection, dialect, tablePrefix, jobArchiveTable != null);
         this
                 .using(connection, dialect, tablePrefix, "jobrunr_jobs")
                 .withVersion(AbstractJob::getVersion)
                 .with(FIELD_JOB_AS_JSON, jobMapper::serializeJob)
                 .with(FIELD_JOB_SIGNATURE, JobUtils::getJobSignature)
                 .with(FIELD_SCHEDULED_AT, job -> job.hasState(StateName.SCHEDULED) ? job.<ScheduledState>getJobState().getScheduledAt() : null)
-                .with(FIELD_RECURRING_JOB_ID, job -> job.getRecurringJobId().orElse(null));
+                .with(FIELD_RECURRING_JOB_ID, job -> job.getRecurringJobId().orElse(null))
+                .with(FIELD_PRIORITY, AbstractJob::getPriority);
     }
 
     public JobTable withId(UUID id) {
@@ -60,6 +85,12 @@ public class JobTable extends Sql<Job> {
         return this;
     }
 
+    public JobTable withPriority(int priority) {
+        // why: not named priority as params win over the fields of the jobs, so jobs saved afterwards with this JobTable would get this priority
+        with("priorityToSelect", priority);
+        return this;
+    }
+
     public JobTable withUpdatedBefore(Instant updatedBefore) {
         with("updatedBefore", updatedBefore);
         return this;
@@ -69,8 +100,10 @@ public class JobTable extends Sql<Job> {
         try(JobVersioner jobVersioner = new JobVersioner(jobToSave)) {
             if (jobVersioner.isNewJob()) {
                 insertOneJob(jobToSave);
+                jobCountersTable.onJobsInserted(singletonList(jobToSave));
             } else {
                 updateOneJob(jobToSave);
+                jobCountersTable.onJobsUpdated(singletonList(jobToSave));
             }
             jobVersioner.commitVersion();
         } catch (ConcurrentSqlModificationException e) {
@@ -83,55 +116,131 @@ public class JobTable extends Sql<Job> {
         if (jobs.isEmpty()) return jobs;
 
         try(JobListVersioner jobListVersioner = new JobListVersioner(jobs)) {
+            final boolean areNewJobs = jobListVersioner.areNewJobs();
             try {
-                if (jobListVersioner.areNewJobs()) {
+                if (areNewJobs) {
                     insertAllJobs(jobs);
                 } else {
                     updateAllJobs(jobs);
                 }
+                updateJobCounters(jobs, areNewJobs);
                 jobListVersioner.commitVersions();
                 return jobs;
             } catch (ConcurrentSqlModificationException e) {
                 List<Job> concurrentUpdatedJobs = cast(e.getFailedItems());
+                // why: the other jobs of the batch are saved so the counters must reflect their new state
+                final List<Job> savedJobs = jobs.stream().filter(job -> !concurrentUpdatedJobs.contains(job)).collect(toList());
+                updateJobCounters(savedJobs, areNewJobs);
                 jobListVersioner.rollbackVersions(concurrentUpdatedJobs);
                 throw new ConcurrentJobModificationException(concurrentUpdatedJobs);
             }
         }
     }
 
+    public List<Job> updateProcessingJobs(List<Job> jobs, Instant updatedAt) throws SQLException {
+        final List<Job> concurrentModifiedJobs = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < jobs.size(); fromIndex += MAX_IN_CLAUSE_SIZE) {
+            final List<Job> jobsInBatch = jobs.subList(fromIndex, Math.min(fromIndex + MAX_IN_CLAUSE_SIZE, jobs.size()));
+            range(0, jobsInBatch.size()).forEach(i -> with("id" + i, jobsInBatch.get(i).getId()));
+            // why: only the updatedAt column is updated (and not the jobAsJson nor the version) as it is the one used to find orphaned jobs
+            final int amountUpdated = with("heartbeat", updatedAt)
+                    .updateMany("jobrunr_jobs SET updatedAt = :heartbeat WHERE state = 'PROCESSING' AND id in (" + range(0, jobsInBatch.size()).mapToObj(i -> ":id" + i).collect(joining(",")) + ")");
+            if (amountUpdated != jobsInBatch.size()) {
+                final Map<UUID, Integer> currentVersions = selectVersions(jobsInBatch);
+                jobsInBatch.stream()
+                        .filter(job -> !Integer.valueOf(job.getVersion()).equals(currentVersions.get(job.getId())))
+                        .forEach(concurrentModifiedJobs::add);
+            }
+        }
+        return concurrentModifiedJobs;
+    }
+
     public Optional<Job> selectJobById(UUID id) {
-        return withId(id)
+        final Optional<Job> job = withId(id)
                 .selectJobs("jobAsJson from jobrunr_jobs where id = :id")
                 .findFirst();
+        if (job.isPresent() || jobArchiveTable == null) return job;
+
+        return selectJobs("jobAsJson from jobrunr_jobs_archive where id = :id")
+                .findFirst();
     }
 
     public long countJobs(StateName state) throws SQLException {
-        return withState(state)
+        final long count = withState(state)
                 .selectCount("from jobrunr_jobs where state = :state");
+        if (!isArchived(state)) return count;
+
+        return count + selectCount("from jobrunr_jobs_archive where state = :state");
     }
 
     public List<Job> selectJobsByState(StateName state, PageRequest pageRequest) {
         return withState(state)
-                .withOrderLimitAndOffset(pageRequestMapper.map(pageRequest), pageRequest.getLimit(), pageRequest.getOffset())
-                .selectJobs("jobAsJson from jobrunr_jobs where state = :state")
+                .withPage(pageRequest)
+                .selectJobs("jobAsJson from " + jobsWithState(state, "state = :state" + seekPosition(pageRequest)))
+                .collect(toList());
+    }
+
+    public List<Job> selectJobsByState(StateName state, int priority, PageRequest pageRequest) {
+        return withState(state)
+                .withPriority(priority)
+                .withPage(pageRequest)
+                .selectJobs("jobAsJson from jobrunr_jobs where state = :state and priority = :priorityToSelect" + seekPosition(pageRequest))
                 .collect(toList());
     }
 
     public List<Job> selectJobsByState(StateName state, Instant updatedBefore, PageRequest pageRequest) {
         return withState(state)
                 .withUpdatedBefore(updatedBefore)
-                .withOrderLimitAndOffset(pageRequestMapper.map(pageRequest), pageRequest.getLimit(), pageRequest.getOffset())
-                .selectJobs("jobAsJson from jobrunr_jobs where state = :state AND updatedAt <= :updatedBefore")
+                .withPage(pageRequest)
+                .selectJobs("jobAsJson from " + jobsWithState(state, "state = :state AND updatedAt <= :updatedBefore" + seekPosition(pageRequest)))
                 .collect(toList());
     }
 
     public List<Job> selectJobsScheduledBefore(Instant scheduledBefore, PageRequest pageRequest) {
         return withScheduledAt(scheduledBefore)
-                .withOrderLimitAndOffset(pageRequestMapper.map(pageRequest), pageRequest.getLimit(), pageRequest.getOffset())
-                .selectJobs("jobAsJson from jobrunr_jobs where state = 'SCHEDULED' and scheduledAt <= :scheduledAt")
+                .withPage(pageRequest)
+                .selectJobs("jobAsJson from jobrunr_jobs where state = 'SCHEDULED' and scheduledAt <= :scheduledAt" + seekPosition(pageRequest))
                 .collect(toList());
     }
 
+    public List<Job> selectJobsByStateForUpdateSkipLocked(StateName state, PageRequest pageRequest) {
+        return withStateToLock(state)
+                .withOrderLimitAndSkipLocked(pageRequestMapper.map(pageRequest), pageRequest.getLimit())
+                .selectJobsForUpdateSkipLocked("where state = :stateToLock")
+                .limit(pageRequest.getLimit())
+                .collect(toList());
+    }
+
+    public List<Job> selectJobsByStateForUpdateSkipLocked(StateName state, int priority, PageRequest pageRequest) {
+        return withStateToLock(state)
+                .withPriority(priority)
+                .withOrderLimitAndSkipLocked(pageRequestMapper.map(pageRequest), pageRequest.getLimit())
+                .selectJobsForUpdateSkipLocked("where state = :stateToLock and priority = :priorityToSelect")
+                .limit(pageRequest.getLimit())
+                .collect(toList());
+    }
+
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, PageRequest pageRequest) throws SQLException {
+        return claimJobs(backgroundJobServerId, selectJobsByStateForUpdateSkipLocked(StateName.ENQUEUED, pageRequest));
+    }
+
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, int priority, PageRequest pageRequest) throws SQLException {
+        return claimJobs(backgroundJobServerId, selectJobsByStateForUpdateSkipLocked(StateName.ENQUEUED, priority, pageRequest));
+    }
+
+    private List<Job> claimJobs(UUID backgroundJobServerId, List<Job> claimedJobs) throws SQLException {
+        if (claimedJobs.isEmpty()) return claimedJobs;
+
+        claimedJobs.forEach(job -> job.startProcessingOn(backgroundJobServerId));
+        try {
+            return save(claimedJobs);
+        } catch (ConcurrentJobModificationException e) {
+            // why: rows are locked by this transaction, so a conflict only happens if the job was changed in between by a non-locking writer (e.g. deleted via the dashboard)
+            claimedJobs.removeAll(e.getConcurrentUpdatedJobs());
+            return claimedJobs;
+        }
+    }
+
     public Set<String> getDistinctJobSignatures(StateName[] states) {
         return select("distinct jobSignature from jobrunr_jobs where state in (" + stream(states).map(stateName -> "'" + stateName.name() + "'").collect(joining(",")) + ")")
                 .map(resultSet -> resultSet.asString(FIELD_JOB_SIGNATURE))
@@ -148,14 +257,67 @@ public class JobTable extends Sql<Job> {
                 .selectExists("from jobrunr_jobs where state in (" + stream(states).map(stateName -> "'" + stateName.name() + "'").collect(joining(",")) + ") AND recurringJobId = :recurringJobId");
     }
 
+    public Set<String> recurringJobsExist(Collection<String> recurringJobIds, StateName... states) throws SQLException {
+        final Set<String> result = new HashSet<>();
+        final List<String> ids = new ArrayList<>(recurringJobIds);
+        final String stateClause = stream(states).map(stateName -> "'" + stateName.name() + "'").collect(joining(","));
+        for (int fromIndex = 0; fromIndex < ids.size(); fromIndex += MAX_IN_CLAUSE_SIZE) {
+            final List<String> idsInBatch = ids.subList(fromIndex, Math.min(fromIndex + MAX_IN_CLAUSE_SIZE, ids.size()));
+            range(0, idsInBatch.size()).forEach(i -> with("recurringJobId" + i, idsInBatch.get(i)));
+            select("recurringJobId from jobrunr_jobs where state in (" + stateClause + ") AND recurringJobId in (" + range(0, idsInBatch.size()).mapToObj(i -> ":recurringJobId" + i).collect(joining(",")) + ") group by recurringJobId")
+                    .forEach(resultSet -> result.add(resultSet.asString(FIELD_RECURRING_JOB_ID)));
+        }
+        return result;
+    }
+
     public int deletePermanently(UUID... ids) throws SQLException {
-        return delete("from jobrunr_jobs where id in (" + stream(ids).map(uuid -> "'" + uuid.toString() + "'").collect(joining(",")) + ")");
+        final Map<UUID, StateName> previousStates = jobCountersTable.getCurrentStates(asList(ids));
+        final String idClause = stream(ids).map(uuid -> "'" + uuid.toString() + "'").collect(joining(","));
+        int amountDeleted = delete("from jobrunr_jobs where id in (" + idClause + ")");
+        if (jobArchiveTable != null && amountDeleted < ids.length) {
+            amountDeleted += delete("from jobrunr_jobs_archive where id in (" + idClause + ")");
+        }
+        jobCountersTable.onJobsDeleted(previousStates);
+        return amountDeleted;
     }
 
     public int deleteJobsByStateAndUpdatedBefore(StateName state, Instant updatedBefore) throws SQLException {
-        return withState(state)
+        int amountDeleted = withState(state)
                 .withUpdatedBefore(updatedBefore)
                 .delete("from jobrunr_jobs where state = :state AND updatedAt <= :updatedBefore");
+        if (isArchived(state)) {
+            amountDeleted += jobArchiveTable.deleteJobsByStateAndUpdatedBefore(state, updatedBefore);
+        }
+        jobCountersTable.onJobsDeleted(state, amountDeleted);
+        return amountDeleted;
+    }
+
+    public int archiveJobs(Instant updatedBefore, int amount) throws SQLException {
+        if (jobArchiveTable == null) return 0;
+
+        // why: archived jobs keep their state and are still counted, so the job counters do not change
+        return jobArchiveTable.archive(updatedBefore, amount);
+    }
+
+    public int moveJobsToDeletedState(StateName state, Instant updatedBefore, String reason, int amount) throws SQLException {
+        // why: the DeletedState is taken from a serialized job so that it is appended exactly as the JobMapper would have serialized it
+        // why: jobs which were saved using a JobCodec (e.g. compressed) can not be modified by the database and are skipped
+        final Job jobWithDeletedState = new Job(new JobDetails(Object.class.getName(), null, "toString", emptyList()), new DeletedState(reason));
+        final String jobAsJsonWithDeletedState = appendDeletedStateToJobAsJson(dialect)
+                .orElseThrow(() -> new UnsupportedOperationException("The database does not support updating JSON documents"));
+        final int amountMoved = withStateToLock(state)
+                .withUpdatedBefore(updatedBefore)
+                .with("jobWithDeletedState", jobMapper.serializeJob(jobWithDeletedState))
+                .with("deletedAt", jobWithDeletedState.getUpdatedAt())
+                .with("limit", amount)
+                .updateMany("jobrunr_jobs SET version = version + 1, jobAsJson = " + jobAsJsonWithDeletedState + ", state = 'DELETED', updatedAt = :deletedAt"
+                        + " WHERE id IN (SELECT id FROM jobrunr_jobs" + dialect.selectForUpdateSkipLockedTableHint() + " WHERE state = :stateToLock AND updatedAt <= :updatedBefore AND jobAsJson LIKE '{%'" + dialect.selectForUpdateSkipLocked("updatedAt ASC") + ")");
+        jobCountersTable.onJobsMoved(state, StateName.DELETED, amountMoved);
+        return amountMoved;
+    }
+
+    static Optional<String> appendDeletedStateToJobAsJson(Dialect dialect) {
+        return dialect.appendDeletedStateToJobAsJson(":jobWithDeletedState", "version + 1");
     }
 
     @Override
@@ -164,20 +326,106 @@ public class JobTable extends Sql<Job> {
         return this;
     }
 
+    @Override
+    public JobTable withOrderLimitAndSkipLocked(String order, int limit) {
+        super.withOrderLimitAndSkipLocked(order, limit);
+        return this;
+    }
+
+    private JobTable withPage(PageRequest pageRequest) {
+        if (pageRequest.hasSeekPosition()) {
+            with("lastUpdatedAt", pageRequest.getLastUpdatedAt());
+            with("lastId", pageRequest.getLastId());
+        }
+        return withOrderLimitAndOffset(pageRequestMapper.mapWithSeekOrder(pageRequest), pageRequest.getLimit(), pageRequest.getAmountToSkip());
+    }
+
+    private static String seekPosition(PageRequest pageRequest) {
+        if (!pageRequest.hasSeekPosition()) return "";
+
+        // why: a row value comparison like (updatedAt, id) > (:lastUpdatedAt, :lastId) is not supported by all databases
+        final String comparison = pageRequest.getSeekOrder() == PageRequest.Order.ASC ? " > " : " < ";
+        return " AND (updatedAt" + comparison + ":lastUpdatedAt OR (updatedAt = :lastUpdatedAt AND id" + comparison + ":lastId))";
+    }
+
+    private JobTable withStateToLock(StateName state) {
+        // why: not named state as params win over the fields of the jobs and the claimed jobs are saved afterwards with this JobTable
+        with("stateToLock", state);
+        return this;
+    }
+
     void insertOneJob(Job jobToSave) throws SQLException {
-        insert(jobToSave, "into jobrunr_jobs values (:id, :version, :jobAsJson, :jobSignature, :state, :createdAt, :updatedAt, :scheduledAt, :recurringJobId)");
+        insert(jobToSave, "into jobrunr_jobs values (:id, :version, :jobAsJson, :jobSignature, :state, :createdAt, :updatedAt, :scheduledAt, :recurringJobId, :priority)");
     }
 
     void updateOneJob(Job jobToSave) throws SQLException {
-        update(jobToSave, "jobrunr_jobs SET version = :version, jobAsJson = :jobAsJson, state = :state, updatedAt =:updatedAt, scheduledAt = :scheduledAt WHERE id = :id and version = :previousVersion");
+        try {
+            update(jobToSave, "jobrunr_jobs SET version = :version, jobAsJson = :jobAsJson, state = :state, updatedAt =:updatedAt, scheduledAt = :scheduledAt, priority = :priority WHERE id = :id and version = :previousVersion");
+        } catch (ConcurrentSqlModificationException e) {
+            if (jobArchiveTable == null) throw e;
+            updateArchivedJob(jobToSave);
+        }
     }
 
-    void insertAllJobs(List<Job> jobs) throws SQLException {
-        insertAll(jobs, "into jobrunr_jobs values (:id, :version, :jobAsJson, :jobSignature, :state, :createdAt, :updatedAt, :scheduledAt, :recurringJobId)");
+    protected void insertAllJobs(List<Job> jobs) throws SQLException {
+        insertAll(jobs, "into jobrunr_jobs values (:id, :version, :jobAsJson, :jobSignature, :state, :createdAt, :updatedAt, :scheduledAt, :recurringJobId, :priority)");
     }
 
     void updateAllJobs(List<Job> jobs) throws SQLException {
-        updateAll(jobs, "jobrunr_jobs SET version = :version, jobAsJson = :jobAsJson, state = :state, updatedAt =:updatedAt, scheduledAt = :scheduledAt WHERE id = :id and version = :previousVersion");
+        try {
+            updateAll(jobs, "jobrunr_jobs SET version = :version, jobAsJson = :jobAsJson, state = :state, updatedAt =:updatedAt, scheduledAt = :scheduledAt, priority = :priority WHERE id = :id and version = :previousVersion");
+        } catch (ConcurrentSqlModificationException e) {
+            if (jobArchiveTable == null) throw e;
+
+            final List<Object> concurrentUpdatedJobs = new ArrayList<>();
+            for (Object job : e.getFailedItems()) {
+                try {
+                    updateArchivedJob((Job) job);
+                } catch (ConcurrentSqlModificationException archiveException) {
+                    concurrentUpdatedJobs.add(job);
+                }
+            }
+            if (!concurrentUpdatedJobs.isEmpty()) {
+                throw concurrentDatabaseModificationException(concurrentUpdatedJobs, new int[concurrentUpdatedJobs.size()]);
+            }
+        }
+    }
+
+    private void updateArchivedJob(Job jobToSave) throws SQLException {
+        if (JobArchiveTable.isArchivedState(jobToSave.getState())) {
+            update(jobToSave, "jobrunr_jobs_archive SET version = :version, jobAsJson = :jobAsJson, state = :state, updatedAt =:updatedAt, scheduledAt = :scheduledAt, priority = :priority WHERE id = :id and version = :previousVersion");
+        } else {
+            // why: only SUCCEEDED and DELETED jobs are archived, so a job that e.g. is requeued is moved back to the jobrunr_jobs table
+            jobArchiveTable.restore(jobToSave.getId());
+            update(jobToSave, "jobrunr_jobs SET version = :version, jobAsJson = :jobAsJson, state = :state, updatedAt =:updatedAt, scheduledAt = :scheduledAt, priority = :priority WHERE id = :id and version = :previousVersion");
+        }
+    }
+
+    private boolean isArchived(StateName state) {
+        return jobArchiveTable != null && JobArchiveTable.isArchivedState(state);
+    }
+
+    private String jobsWithState(StateName state, String whereClause) {
+        if (!isArchived(state)) return "jobrunr_jobs where " + whereClause;
+
+        return "(select id, jobAsJson, createdAt, updatedAt from jobrunr_jobs where " + whereClause
+                + " union all select id, jobAsJson, createdAt, updatedAt from jobrunr_jobs_archive where " + whereClause + ") jobs";
+    }
+
+    private void updateJobCounters(List<Job> savedJobs, boolean areNewJobs) throws SQLException {
+        if (areNewJobs) {
+            jobCountersTable.onJobsInserted(savedJobs);
+        } else {
+            jobCountersTable.onJobsUpdated(savedJobs);
+        }
+    }
+
+    private Map<UUID, Integer> selectVersions(List<Job> jobs) {
+        final Map<UUID, Integer> result = new HashMap<>();
+        range(0, jobs.size()).forEach(i -> with("id" + i, jobs.get(i).getId()));
+        select("id, version from jobrunr_jobs where id in (" + range(0, jobs.size()).mapToObj(i -> ":id" + i).collect(joining(",")) + ")")
+                .forEach(resultSet -> result.put(resultSet.asUUID(FIELD_ID), resultSet.asInt(FIELD_VERSION)));
+        return result;
     }
 
     private Stream<Job> selectJobs(String statement) {
@@ -185,6 +433,11 @@ public class JobTable extends Sql<Job> {
         return select.map(this::toJob);
     }
 
+    private Stream<Job> selectJobsForUpdateSkipLocked(String statement) {
+        final Stream<SqlResultSet> select = super.selectForUpdateSkipLocked("jobAsJson", statement);
+        return select.map(this::toJob);
+    }
+
     private Job toJob(SqlResultSet resultSet) {
         return jobMapper.deserializeJob(resultSet.asString("jobAsJson"));
     }
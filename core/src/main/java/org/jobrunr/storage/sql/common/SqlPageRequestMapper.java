@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static org.jobrunr.storage.StorageProviderUtils.Jobs.FIELD_CREATED_AT;
+import static org.jobrunr.storage.StorageProviderUtils.Jobs.FIELD_ID;
 import static org.jobrunr.storage.StorageProviderUtils.Jobs.FIELD_UPDATED_AT;
 
 public class SqlPageRequestMapper {
@@ -36,4 +37,19 @@ public class SqlPageRequestMapper {
         return result.toString();
     }
 
+    /**
+     * Maps the order of the given PageRequest like {@link #map(PageRequest)} but, if it is ordered on updatedAt only, orders jobs with the
+     * same updatedAt on their id. This is the order of a seek position (see {@link PageRequest#hasSeekPosition()}), so that the pages
+     * requested using an offset and the pages requested using a seek position follow each other.
+     *
+     * @param pageRequest the PageRequest to map
+     * @return the order by clause
+     */
+    public String mapWithSeekOrder(PageRequest pageRequest) {
+        final PageRequest.Order seekOrder = pageRequest.getSeekOrder();
+        if (seekOrder == null) return map(pageRequest);
+
+        return FIELD_UPDATED_AT + " " + seekOrder.name() + ", " + FIELD_ID + " " + seekOrder.name();
+    }
+
 }
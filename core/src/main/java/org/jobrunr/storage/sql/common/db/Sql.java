@@ -22,6 +22,11 @@ public class Sql<T> {
     private static final String INSERT = "insert ";
     private static final String UPDATE = "update ";
     private static final String DELETE = "delete ";
+    /**
+     * The maximum amount of items in an IN clause: some databases (e.g. Oracle) do not allow more than 1000 items in an IN clause, so larger
+     * IN clauses must be split in batches of this size.
+     */
+    protected static final int MAX_IN_CLAUSE_SIZE = 1000;
 
     private final List<String> paramNames;
     private final Map<String, Object> params;
@@ -30,6 +35,7 @@ public class Sql<T> {
     private Dialect dialect;
     private String tablePrefix;
     private String suffix = "";
+    private int skipLockedLimit;
 
     private static final Map<Integer, ParsedStatement> parsedStatementCache = new ConcurrentHashMap<>();
     private String tableName;
@@ -80,6 +86,20 @@ public class Sql<T> {
         return this;
     }
 
+    public Sql<T> withOrderLimitAndSkipLocked(String order, int limit) {
+        with("limit", limit);
+        suffix = dialect.selectForUpdateSkipLocked(order);
+        skipLockedLimit = limit;
+        return this;
+    }
+
+    public Stream<SqlResultSet> selectForUpdateSkipLocked(String columns, String statement) {
+        String parsedStatement = parse("select " + columns + " from " + tableName + dialect.selectForUpdateSkipLockedTableHint() + " " + statement + suffix);
+        // why: some databases (e.g. Oracle) lock the rows while they are fetched, so no more rows than the limit may be fetched
+        SqlSpliterator sqlSpliterator = new SqlSpliterator(connection, parsedStatement, this::setParams, skipLockedLimit);
+        return StreamSupport.stream(sqlSpliterator, false);
+    }
+
     public Stream<SqlResultSet> select(String statement) {
         String parsedStatement = parse("select " + statement + suffix);
         SqlSpliterator sqlSpliterator = new SqlSpliterator(connection, parsedStatement, this::setParams);
@@ -134,8 +154,24 @@ public class Sql<T> {
         insertOrUpdate(item, UPDATE + statement);
     }
 
+    public int insertMany(String statement) throws SQLException {
+        return executeUpdate(INSERT + statement);
+    }
+
+    public int updateMany(String statement) throws SQLException {
+        return executeUpdate(UPDATE + statement);
+    }
+
+    public void executeDdl(String statement) throws SQLException {
+        executeUpdate(statement);
+    }
+
     public int delete(String statement) throws SQLException {
-        String parsedStatement = parse(DELETE + statement);
+        return executeUpdate(DELETE + statement);
+    }
+
+    private int executeUpdate(String statement) throws SQLException {
+        String parsedStatement = parse(statement);
         try (PreparedStatement ps = connection.prepareStatement(parsedStatement)) {
             setParams(ps);
             return ps.executeUpdate();
@@ -18,14 +18,20 @@ public class SqlSpliterator implements Spliterator<SqlResultSet>, AutoCloseable
     private final Connection connection;
     private final String sqlStatement;
     private final Consumer<PreparedStatement> paramsSetter;
+    private final int maxRows;
     private PreparedStatement ps;
     private ResultSet rs;
     private boolean hasMore;
 
     public SqlSpliterator(Connection connection, String sqlStatement, Consumer<PreparedStatement> paramsSetter) {
+        this(connection, sqlStatement, paramsSetter, 0);
+    }
+
+    public SqlSpliterator(Connection connection, String sqlStatement, Consumer<PreparedStatement> paramsSetter, int maxRows) {
         this.connection = connection;
         this.sqlStatement = sqlStatement;
         this.paramsSetter = paramsSetter;
+        this.maxRows = maxRows;
     }
 
     @Override
@@ -54,7 +60,12 @@ public class SqlSpliterator implements Spliterator<SqlResultSet>, AutoCloseable
     private void init() {
         try {
             ps = connection.prepareStatement(sqlStatement, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-            ps.setFetchSize(100);
+            if (maxRows > 0) {
+                ps.setMaxRows(maxRows);
+                ps.setFetchSize(maxRows);
+            } else {
+                ps.setFetchSize(100);
+            }
             paramsSetter.accept(ps);
             rs = ps.executeQuery();
         } catch (SQLException e) {
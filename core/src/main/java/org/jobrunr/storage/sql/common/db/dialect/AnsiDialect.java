@@ -11,4 +11,19 @@ public class AnsiDialect implements Dialect {
     public String escape(String toEscape) {
         return toEscape;
     }
+
+    @Override
+    public boolean supportsSelectForUpdateSkipLocked() {
+        return false;
+    }
+
+    @Override
+    public String selectForUpdateSkipLocked(String order) {
+        return " ORDER BY " + order + " LIMIT :limit FOR UPDATE SKIP LOCKED";
+    }
+
+    @Override
+    public String selectForUpdateSkipLockedTableHint() {
+        return "";
+    }
 }
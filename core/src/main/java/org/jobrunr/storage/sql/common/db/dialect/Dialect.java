@@ -1,9 +1,31 @@
 package org.jobrunr.storage.sql.common.db.dialect;
 
+import java.util.Optional;
+
 public interface Dialect {
 
     String limitAndOffset(String order);
 
     String escape(String toEscape);
 
+    /**
+     * Returns whether the database supports selecting rows for update while skipping rows that are already locked by another transaction
+     * (e.g. {@code SELECT ... FOR UPDATE SKIP LOCKED} or SQL Server's {@code READPAST} table hint).
+     */
+    boolean supportsSelectForUpdateSkipLocked();
+
+    String selectForUpdateSkipLocked(String order);
+
+    String selectForUpdateSkipLockedTableHint();
+
+    /**
+     * Returns the expression which moves the job in the jobAsJson column to the DELETED state within an update statement, if the database can
+     * modify JSON documents (e.g. using the {@code jsonb} functions of PostgreSQL): it appends the first job state of the serialized job in
+     * the given parameter to the job history, clears the metadata like {@link org.jobrunr.jobs.Job#delete(String)} does and sets the version
+     * to the given version expression. Only the PostgresDialect implements this: on other databases the jobs are loaded and saved instead.
+     */
+    default Optional<String> appendDeletedStateToJobAsJson(String serializedJobParameter, String versionExpression) {
+        return Optional.empty();
+    }
+
 }
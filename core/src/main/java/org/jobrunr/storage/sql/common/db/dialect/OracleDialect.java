@@ -11,4 +11,20 @@ public class OracleDialect implements Dialect {
     public String escape(String toEscape) {
         return toEscape;
     }
+
+    @Override
+    public boolean supportsSelectForUpdateSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String selectForUpdateSkipLocked(String order) {
+        // why: Oracle does not allow FETCH NEXT in combination with FOR UPDATE - the limit is applied as the max rows of the statement
+        return " ORDER BY " + order + " FOR UPDATE SKIP LOCKED";
+    }
+
+    @Override
+    public String selectForUpdateSkipLockedTableHint() {
+        return "";
+    }
 }
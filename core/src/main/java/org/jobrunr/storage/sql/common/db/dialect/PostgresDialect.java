@@ -0,0 +1,24 @@
+package org.jobrunr.storage.sql.common.db.dialect;
+
+import java.util.Optional;
+
+import static org.jobrunr.jobs.context.JobDashboardLogger.JOBRUNR_LOG_KEY;
+import static org.jobrunr.jobs.context.JobDashboardProgressBar.JOBRUNR_PROGRESSBAR_KEY;
+
+public class PostgresDialect extends AnsiDialect {
+
+    // why: like Job#delete, only the dashboard logs and progress bars are kept (and the type information of the map written by Jackson)
+    private static final String METADATA_KEYS_TO_KEEP = "^(@class|(" + JOBRUNR_LOG_KEY + "|" + JOBRUNR_PROGRESSBAR_KEY + ")-\\d+)$";
+
+    @Override
+    public boolean supportsSelectForUpdateSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public Optional<String> appendDeletedStateToJobAsJson(String serializedJobParameter, String versionExpression) {
+        final String jobHistory = "(CAST(jobAsJson AS jsonb) -> 'jobHistory') || (CAST(" + serializedJobParameter + " AS jsonb) -> 'jobHistory' -> 0)";
+        final String metadata = "COALESCE((SELECT jsonb_object_agg(key, value) FROM jsonb_each(CAST(jobAsJson AS jsonb) -> 'metadata') WHERE key ~ '" + METADATA_KEYS_TO_KEEP + "'), CAST('{}' AS jsonb))";
+        return Optional.of("CAST(jsonb_set(jsonb_set(jsonb_set(CAST(jobAsJson AS jsonb), '{jobHistory}', " + jobHistory + "), '{metadata}', " + metadata + "), '{version}', to_jsonb(" + versionExpression + ")) AS text)");
+    }
+}
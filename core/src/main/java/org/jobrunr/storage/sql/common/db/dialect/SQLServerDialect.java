@@ -11,4 +11,19 @@ public class SQLServerDialect implements Dialect {
     public String escape(String toEscape) {
         return toEscape;
     }
+
+    @Override
+    public boolean supportsSelectForUpdateSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String selectForUpdateSkipLocked(String order) {
+        return " ORDER BY " + order + " OFFSET 0 ROWS FETCH NEXT :limit ROWS ONLY";
+    }
+
+    @Override
+    public String selectForUpdateSkipLockedTableHint() {
+        return " WITH (UPDLOCK, ROWLOCK, READPAST)";
+    }
 }
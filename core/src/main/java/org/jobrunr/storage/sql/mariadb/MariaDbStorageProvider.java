@@ -7,11 +7,14 @@ import org.jobrunr.utils.exceptions.Exceptions;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.time.Instant;
 
 public class MariaDbStorageProvider extends DefaultSqlStorageProvider {
 
+    private final boolean supportsSelectForUpdateSkipLocked;
+
     public MariaDbStorageProvider(DataSource dataSource) {
         this(dataSource, DatabaseOptions.CREATE);
     }
@@ -35,14 +38,31 @@ public class MariaDbStorageProvider extends DefaultSqlStorageProvider {
                     throw new IllegalStateException("JobRunr requires a MariaDB connection with useBulkStmts=false as otherwise optimistic locking cannot be validated.");
                 }
             }
+            this.supportsSelectForUpdateSkipLocked = supportsSelectForUpdateSkipLocked(connection.getMetaData());
         } catch (SQLException e) {
             throw new RuntimeException("Could not query MariaDB driver", e);
         }
     }
 
+    @Override
+    public boolean canClaimEnqueuedJobs() {
+        return supportsSelectForUpdateSkipLocked;
+    }
+
     @Override
     public int removeTimedOutBackgroundJobServers(Instant heartbeatOlderThan) {
         //why: https://github.com/jobrunr/jobrunr/issues/275
         return Exceptions.retryOnException(() -> super.removeTimedOutBackgroundJobServers(heartbeatOlderThan), 5);
     }
+
+    private static boolean supportsSelectForUpdateSkipLocked(DatabaseMetaData metaData) throws SQLException {
+        // why: SKIP LOCKED is available since MySQL 8.0 and MariaDB 10.6
+        int databaseMajorVersion = metaData.getDatabaseMajorVersion();
+        int databaseMinorVersion = metaData.getDatabaseMinorVersion();
+        boolean isMariaDb = (metaData.getDatabaseProductName() + metaData.getDatabaseProductVersion()).toLowerCase().contains("mariadb");
+        if (isMariaDb) {
+            return databaseMajorVersion > 10 || (databaseMajorVersion == 10 && databaseMinorVersion >= 6);
+        }
+        return databaseMajorVersion >= 8;
+    }
 }
@@ -0,0 +1,84 @@
+package org.jobrunr.storage.sql.postgres;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Keeps a dedicated connection open that LISTENs on the given channel and runs the given callback each time
+ * a NOTIFY is received. If the connection is lost, it reconnects - in the meantime JobRunr falls back to polling.
+ */
+class PostgresEnqueuedJobsListener implements Runnable, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresEnqueuedJobsListener.class);
+    private static final int NOTIFICATION_TIMEOUT_IN_MILLIS = 1000;
+    private static final int RECONNECT_DELAY_IN_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final Runnable onNotification;
+    private final Thread listenerThread;
+    private volatile boolean isListening;
+
+    PostgresEnqueuedJobsListener(DataSource dataSource, String channel, Runnable onNotification) {
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.onNotification = onNotification;
+        this.listenerThread = new Thread(this, "jobrunr-postgres-listener");
+        this.listenerThread.setDaemon(true);
+    }
+
+    void start() {
+        isListening = true;
+        listenerThread.start();
+    }
+
+    @Override
+    public void run() {
+        while (isListening) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (isListening) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_IN_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        onNotification.run();
+                    }
+                }
+            } catch (SQLException e) {
+                if (isListening) {
+                    LOGGER.warn("Could not listen for enqueued jobs on channel {} - falling back to polling until the connection is restored", channel, e);
+                    waitBeforeReconnecting();
+                }
+            }
+        }
+    }
+
+    private void waitBeforeReconnecting() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_IN_MILLIS);
+        } catch (InterruptedException e) {
+            isListening = false;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        isListening = false;
+        try {
+            listenerThread.join(2L * NOTIFICATION_TIMEOUT_IN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
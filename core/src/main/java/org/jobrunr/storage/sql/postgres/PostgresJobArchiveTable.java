@@ -0,0 +1,88 @@
+package org.jobrunr.storage.sql.postgres;
+
+import org.jobrunr.jobs.states.StateName;
+import org.jobrunr.storage.sql.common.JobArchiveTable;
+import org.jobrunr.storage.sql.common.db.dialect.Dialect;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.jobrunr.storage.StorageProviderUtils.elementPrefixer;
+
+/**
+ * Archive for PostgreSQL which partitions the jobrunr_jobs_archive table per day using table inheritance: jobs are archived into a child
+ * table per day (e.g. jobrunr_jobs_archive_20200131) and a child table that only contains DELETED jobs is dropped as a whole instead of
+ * deleting its jobs row by row. Queries on the jobrunr_jobs_archive table include the jobs of all child tables.
+ * <p>
+ * Table inheritance is used instead of declarative partitioning as the latter is only available as of PostgreSQL 10.
+ */
+public class PostgresJobArchiveTable extends JobArchiveTable {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final String archiveTableName;
+
+    public PostgresJobArchiveTable(Connection connection, Dialect dialect, String tablePrefix) {
+        super(connection, dialect, tablePrefix);
+        this.archiveTableName = elementPrefixer(tablePrefix, "jobrunr_jobs_archive");
+    }
+
+    @Override
+    public int deleteJobsByStateAndUpdatedBefore(StateName state, Instant updatedBefore) throws SQLException {
+        int amountDeleted = 0;
+        if (state == StateName.DELETED) {
+            final LocalDateTime updatedBeforeInLocalTime = toLocalDateTime(updatedBefore);
+            for (LocalDate day : partitions()) {
+                // why: jobs are archived after they are updated, so all jobs in a partition that ends before updatedBefore are updated before it
+                if (day.plusDays(1).atStartOfDay().isAfter(updatedBeforeInLocalTime)) continue;
+
+                final String partition = partitionName(day);
+                executeDdl("LOCK TABLE " + partition + " IN ACCESS EXCLUSIVE MODE");
+                if (selectExists("from " + partition + " where state <> 'DELETED'")) continue;
+
+                amountDeleted += selectCount("from " + partition);
+                executeDdl("DROP TABLE " + partition);
+            }
+        }
+        return amountDeleted + super.deleteJobsByStateAndUpdatedBefore(state, updatedBefore);
+    }
+
+    @Override
+    protected String archiveTableFor(Instant archivedAt) throws SQLException {
+        final LocalDate day = toLocalDateTime(archivedAt).toLocalDate();
+        final String partition = partitionName(day);
+        if (!partitions().contains(day)) {
+            executeDdl("CREATE TABLE IF NOT EXISTS " + partition + " ("
+                    + "CHECK (archivedAt >= TIMESTAMP '" + day + " 00:00:00' AND archivedAt < TIMESTAMP '" + day.plusDays(1) + " 00:00:00')"
+                    + ") INHERITS (jobrunr_jobs_archive)");
+            // why: the indexes are not named as the name of an index can not contain the schema of the table prefix
+            executeDdl("CREATE INDEX ON " + partition + " (id)");
+            executeDdl("CREATE INDEX ON " + partition + " (state, updatedAt)");
+        }
+        return partition;
+    }
+
+    private List<LocalDate> partitions() {
+        return with("archiveTable", archiveTableName)
+                .select("c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid where i.inhparent = CAST(:archiveTable AS regclass)")
+                .map(resultSet -> resultSet.asString("relname"))
+                .map(relname -> LocalDate.parse(relname.substring(relname.length() - 8), PARTITION_SUFFIX))
+                .collect(toList());
+    }
+
+    private static String partitionName(LocalDate day) {
+        return "jobrunr_jobs_archive_" + PARTITION_SUFFIX.format(day);
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        // why: timestamps are bound in the time zone of the JVM, so the partitions are days in that time zone too
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,187 @@
+package org.jobrunr.storage.sql.postgres;
+
+import org.jobrunr.jobs.Job;
+import org.jobrunr.jobs.mappers.JobMapper;
+import org.jobrunr.jobs.states.ScheduledState;
+import org.jobrunr.jobs.states.StateName;
+import org.jobrunr.storage.ConcurrentJobModificationException;
+import org.jobrunr.storage.sql.common.JobArchiveTable;
+import org.jobrunr.storage.sql.common.JobTable;
+import org.jobrunr.storage.sql.common.db.ConcurrentSqlModificationException;
+import org.jobrunr.storage.sql.common.db.dialect.Dialect;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.jobrunr.storage.StorageProviderUtils.elementPrefixer;
+import static org.jobrunr.storage.sql.common.db.ConcurrentSqlModificationException.concurrentDatabaseModificationException;
+import static org.jobrunr.utils.JobUtils.getJobSignature;
+
+/**
+ * JobTable for PostgreSQL which inserts large batches of new jobs using the COPY protocol instead of a JDBC batch of INSERT statements and
+ * which issues a NOTIFY on the given channel within the same transaction when jobs are saved in the ENQUEUED state.
+ */
+public class PostgresJobTable extends JobTable {
+
+    static final int MIN_AMOUNT_OF_JOBS_TO_COPY = 1000;
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String NULL = "\\N";
+
+    private final Connection connection;
+    private final JobMapper jobMapper;
+    private final String jobsTableName;
+    private final String enqueuedJobsChannel;
+
+    public PostgresJobTable(Connection connection, Dialect dialect, String tablePrefix, JobMapper jobMapper, JobArchiveTable jobArchiveTable, String enqueuedJobsChannel) {
+        super(connection, dialect, tablePrefix, jobMapper, jobArchiveTable);
+        this.connection = connection;
+        this.jobMapper = jobMapper;
+        this.jobsTableName = elementPrefixer(tablePrefix, "jobrunr_jobs");
+        this.enqueuedJobsChannel = enqueuedJobsChannel;
+    }
+
+    @Override
+    public Job save(Job jobToSave) throws SQLException {
+        final Job savedJob = super.save(jobToSave);
+        notifyJobsEnqueuedIf(savedJob.hasState(StateName.ENQUEUED));
+        return savedJob;
+    }
+
+    @Override
+    public List<Job> save(List<Job> jobs) throws SQLException {
+        try {
+            final List<Job> savedJobs = super.save(jobs);
+            notifyJobsEnqueuedIf(savedJobs.stream().anyMatch(job -> job.hasState(StateName.ENQUEUED)));
+            return savedJobs;
+        } catch (ConcurrentJobModificationException e) {
+            notifyJobsEnqueuedIf(jobs.stream().filter(job -> !e.getConcurrentUpdatedJobs().contains(job)).anyMatch(job -> job.hasState(StateName.ENQUEUED)));
+            throw e;
+        }
+    }
+
+    @Override
+    protected void insertAllJobs(List<Job> jobs) throws SQLException {
+        if (jobs.size() < MIN_AMOUNT_OF_JOBS_TO_COPY || !connection.isWrapperFor(PGConnection.class)) {
+            super.insertAllJobs(jobs);
+            return;
+        }
+
+        // why: if autocommit is disabled, a failed COPY aborts the transaction unless it is rolled back to a savepoint
+        final Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+        try {
+            copyJobs(jobs);
+            if (savepoint != null) connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            if (!UNIQUE_VIOLATION.equals(e.getSQLState())) throw e;
+
+            if (savepoint != null) connection.rollback(savepoint);
+            insertJobsThatDoNotExist(jobs);
+        }
+    }
+
+    private void notifyJobsEnqueuedIf(boolean jobsAreEnqueued) throws SQLException {
+        if (!jobsAreEnqueued) return;
+
+        // why: a NOTIFY is only delivered when the transaction commits, so no BackgroundJobServer is woken up for jobs that are rolled back
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("NOTIFY " + enqueuedJobsChannel);
+        }
+    }
+
+    private void copyJobs(List<Job> jobs) throws SQLException {
+        final CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + jobsTableName + " (id, version, jobAsJson, jobSignature, state, createdAt, updatedAt, scheduledAt, recurringJobId, priority) FROM STDIN");
+        try {
+            for (Job job : jobs) {
+                final byte[] row = toCopyRow(job).getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(row, 0, row.length);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void insertJobsThatDoNotExist(List<Job> jobs) throws SQLException {
+        // why: COPY is all or nothing, so the new jobs are inserted again without the jobs that already exist, like a JDBC batch would do
+        final Set<UUID> existingJobIds = selectExistingJobIds(jobs);
+        final List<Object> concurrentInsertedJobs = jobs.stream().filter(job -> existingJobIds.contains(job.getId())).collect(toList());
+        final List<Job> newJobs = jobs.stream().filter(job -> !existingJobIds.contains(job.getId())).collect(toList());
+        try {
+            if (!newJobs.isEmpty()) super.insertAllJobs(newJobs);
+        } catch (ConcurrentSqlModificationException e) {
+            concurrentInsertedJobs.addAll(e.getFailedItems());
+        }
+        throw concurrentDatabaseModificationException(concurrentInsertedJobs, new int[concurrentInsertedJobs.size()]);
+    }
+
+    private Set<UUID> selectExistingJobIds(List<Job> jobs) {
+        final Set<UUID> result = new HashSet<>();
+        for (int fromIndex = 0; fromIndex < jobs.size(); fromIndex += MAX_IN_CLAUSE_SIZE) {
+            final List<Job> jobsInBatch = jobs.subList(fromIndex, Math.min(fromIndex + MAX_IN_CLAUSE_SIZE, jobs.size()));
+            range(0, jobsInBatch.size()).forEach(i -> with("id" + i, jobsInBatch.get(i).getId()));
+            select("id from jobrunr_jobs where id in (" + range(0, jobsInBatch.size()).mapToObj(i -> ":id" + i).collect(joining(",")) + ")")
+                    .forEach(resultSet -> result.add(resultSet.asUUID("id")));
+        }
+        return result;
+    }
+
+    private String toCopyRow(Job job) {
+        return new StringBuilder()
+                .append(job.getId()).append('\t')
+                .append(job.getVersion()).append('\t')
+                .append(escape(jobMapper.serializeJob(job))).append('\t')
+                .append(escape(getJobSignature(job))).append('\t')
+                .append(job.getState().name()).append('\t')
+                .append(toTimestamp(job.getCreatedAt())).append('\t')
+                .append(toTimestamp(job.getUpdatedAt())).append('\t')
+                .append(job.hasState(StateName.SCHEDULED) ? toTimestamp(job.<ScheduledState>getJobState().getScheduledAt()) : NULL).append('\t')
+                .append(job.getRecurringJobId().map(PostgresJobTable::escape).orElse(NULL)).append('\t')
+                .append(job.getPriority()).append('\n')
+                .toString();
+    }
+
+    private static String toTimestamp(Instant instant) {
+        // why: like the JDBC driver does for a bound java.sql.Timestamp, the timestamp is written in the time zone of the JVM
+        return Timestamp.from(instant).toString();
+    }
+
+    private static String escape(String value) {
+        final StringBuilder result = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                default:
+                    result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
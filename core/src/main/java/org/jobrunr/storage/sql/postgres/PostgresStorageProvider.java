@@ -1,13 +1,29 @@
 package org.jobrunr.storage.sql.postgres;
 
 import org.jobrunr.storage.StorageProviderUtils.DatabaseOptions;
+import org.jobrunr.storage.listeners.EnqueuedJobsChangeListener;
+import org.jobrunr.storage.listeners.StorageProviderChangeListener;
 import org.jobrunr.storage.sql.common.DefaultSqlStorageProvider;
-import org.jobrunr.storage.sql.common.db.dialect.AnsiDialect;
+import org.jobrunr.storage.sql.common.JobArchiveTable;
+import org.jobrunr.storage.sql.common.JobTable;
+import org.jobrunr.storage.sql.common.db.dialect.PostgresDialect;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 
+import static org.jobrunr.storage.StorageProviderUtils.elementPrefixer;
+
+/**
+ * StorageProvider for PostgreSQL. Next to polling, it uses LISTEN/NOTIFY to wake up the BackgroundJobServers as soon as jobs are enqueued:
+ * each save that results in ENQUEUED jobs issues a NOTIFY within its transaction (so it is only delivered once the jobs are committed) and,
+ * once an {@link EnqueuedJobsChangeListener} is registered (e.g. by the BackgroundJobServer),
+ * a dedicated connection of the DataSource is used to LISTEN for these notifications.
+ */
 public class PostgresStorageProvider extends DefaultSqlStorageProvider {
 
+    private final String enqueuedJobsChannel;
+    private PostgresEnqueuedJobsListener enqueuedJobsListener;
+
     public PostgresStorageProvider(DataSource dataSource) {
         this(dataSource, DatabaseOptions.CREATE);
     }
@@ -17,11 +33,62 @@ public class PostgresStorageProvider extends DefaultSqlStorageProvider {
     }
 
     public PostgresStorageProvider(DataSource dataSource, DatabaseOptions databaseOptions) {
-        super(dataSource, new AnsiDialect(), databaseOptions);
+        this(dataSource, null, databaseOptions);
     }
 
     public PostgresStorageProvider(DataSource dataSource, String tablePrefix, DatabaseOptions databaseOptions) {
-        super(dataSource, new AnsiDialect(), tablePrefix, databaseOptions);
+        super(dataSource, new PostgresDialect(), tablePrefix, databaseOptions);
+        this.enqueuedJobsChannel = elementPrefixer(tablePrefix, "jobrunr_jobs_enqueued").replaceAll("\\W", "_").toLowerCase();
+    }
+
+    @Override
+    public boolean canNotifyOfEnqueuedJobs() {
+        return true;
+    }
+
+    @Override
+    public void addJobStorageOnChangeListener(StorageProviderChangeListener listener) {
+        super.addJobStorageOnChangeListener(listener);
+        if (listener instanceof EnqueuedJobsChangeListener) {
+            startListeningForEnqueuedJobs();
+        }
+    }
+
+    @Override
+    public void removeJobStorageOnChangeListener(StorageProviderChangeListener listener) {
+        super.removeJobStorageOnChangeListener(listener);
+        if (listener instanceof EnqueuedJobsChangeListener && !hasEnqueuedJobsChangeListeners()) {
+            stopListeningForEnqueuedJobs();
+        }
+    }
+
+    @Override
+    public void close() {
+        stopListeningForEnqueuedJobs();
+        super.close();
     }
 
+    @Override
+    protected JobTable jobTable(Connection connection) {
+        return new PostgresJobTable(connection, dialect, tablePrefix, jobMapper, isJobArchiveEnabled() ? jobArchiveTable(connection) : null, enqueuedJobsChannel);
+    }
+
+    @Override
+    protected JobArchiveTable jobArchiveTable(Connection connection) {
+        return new PostgresJobArchiveTable(connection, dialect, tablePrefix);
+    }
+
+    private synchronized void startListeningForEnqueuedJobs() {
+        if (enqueuedJobsListener != null) return;
+
+        enqueuedJobsListener = new PostgresEnqueuedJobsListener(dataSource, enqueuedJobsChannel, this::notifyEnqueuedJobsChangeListeners);
+        enqueuedJobsListener.start();
+    }
+
+    private synchronized void stopListeningForEnqueuedJobs() {
+        if (enqueuedJobsListener == null) return;
+
+        enqueuedJobsListener.close();
+        enqueuedJobsListener = null;
+    }
 }
@@ -6,19 +6,39 @@ import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.jobs.context.JobContext;
 import org.jobrunr.scheduling.exceptions.JobClassNotFoundException;
 import org.jobrunr.scheduling.exceptions.JobMethodNotFoundException;
+import org.jobrunr.utils.reflection.MethodInvoker;
 import org.jobrunr.utils.reflection.ReflectionUtils;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.synchronizedMap;
 import static java.util.stream.Collectors.joining;
 import static org.jobrunr.utils.reflection.ReflectionUtils.*;
 
 public class JobUtils {
 
+    // why: resolving the job class and method using reflection for each job run is expensive. The classes are cached per context ClassLoader
+    // to support live reload (e.g. Spring Boot devtools or quarkus:dev). Both caches only reference the ClassLoaders and classes weakly (the
+    // methods are cached within their class using a ClassValue) so that they do not keep an undeployed or reloaded application in memory.
+    private static final Map<ClassLoader, Map<String, WeakReference<Class<?>>>> jobClassCache = synchronizedMap(new WeakHashMap<>());
+    private static final ClassValue<Map<List<String>, MethodInvoker>> jobMethodCache = new ClassValue<Map<List<String>, MethodInvoker>>() {
+        @Override
+        protected Map<List<String>, MethodInvoker> computeValue(Class<?> jobClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private JobUtils() {
     }
 
@@ -29,8 +49,15 @@ public class JobUtils {
     }
 
     public static Class<?> getJobClass(JobDetails jobDetails) {
+        final Map<String, WeakReference<Class<?>>> jobClassesOfClassLoader = jobClassCache.computeIfAbsent(currentThread().getContextClassLoader(), classLoader -> new ConcurrentHashMap<>());
+        final WeakReference<Class<?>> cachedJobClass = jobClassesOfClassLoader.get(jobDetails.getClassName());
+        final Class<?> jobClass = cachedJobClass != null ? cachedJobClass.get() : null;
+        if (jobClass != null) return jobClass;
+
         try {
-            return toClass(jobDetails.getClassName());
+            final Class<?> loadedJobClass = toClass(jobDetails.getClassName());
+            jobClassesOfClassLoader.put(jobDetails.getClassName(), new WeakReference<>(loadedJobClass));
+            return loadedJobClass;
         } catch (IllegalArgumentException e) {
             throw new JobClassNotFoundException(jobDetails);
         }
@@ -41,8 +68,17 @@ public class JobUtils {
     }
 
     public static Method getJobMethod(Class<?> jobClass, JobDetails jobDetails) {
-        return findMethod(jobClass, jobDetails.getMethodName(), jobDetails.getJobParameterTypes())
-                .orElseThrow(() -> new JobMethodNotFoundException(jobDetails));
+        return getJobMethodInvoker(jobClass, jobDetails).getMethod();
+    }
+
+    public static MethodInvoker getJobMethodInvoker(Class<?> jobClass, JobDetails jobDetails) {
+        // why: the parameter types are part of the key by name so that they only need to be loaded when the method is not cached yet
+        final List<String> key = new ArrayList<>();
+        key.add(jobDetails.getMethodName());
+        jobDetails.getJobParameters().forEach(jobParameter -> key.add(jobParameter.getClassName()));
+        return jobMethodCache.get(jobClass).computeIfAbsent(key, k -> findMethod(jobClass, jobDetails.getMethodName(), jobDetails.getJobParameterTypes())
+                .map(MethodInvoker::of)
+                .orElseThrow(() -> new JobMethodNotFoundException(jobDetails)));
     }
 
     public static void assertJobExists(JobDetails jobDetails) {
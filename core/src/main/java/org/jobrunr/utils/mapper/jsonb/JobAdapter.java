@@ -2,6 +2,7 @@ package org.jobrunr.utils.mapper.jsonb;
 
 import org.jobrunr.jobs.Job;
 import org.jobrunr.jobs.JobDetails;
+import org.jobrunr.jobs.JobPriority;
 import org.jobrunr.jobs.states.JobState;
 import org.jobrunr.utils.mapper.jsonb.adapters.JobDetailsAdapter;
 import org.jobrunr.utils.mapper.jsonb.adapters.JobHistoryAdapter;
@@ -50,7 +51,10 @@ public class JobAdapter implements JsonbAdapter<Job, JsonObject> {
                 .add("metadata", jobMetadataAdapter.adaptToJson(job.getMetadata()))
                 .add("jobDetails", jobDetailsAdapter.adaptToJson(job.getJobDetails()))
                 .add("jobHistory", jobHistoryAdapter.adaptToJson(job.getJobStates()))
-                .add("recurringJobId", job.getRecurringJobId().orElse(null));
+                .add("recurringJobId", job.getRecurringJobId().orElse(null))
+                .add("amountOfCompactedJobStates", job.getAmountOfCompactedJobStates())
+                .add("amountOfCompactedFailedStates", job.getAmountOfCompactedFailedStates())
+                .add("priority", job.getPriority());
 
         if (job.getId() != null) {
             builder.add("id", job.getId().toString());
@@ -71,6 +75,9 @@ public class JobAdapter implements JsonbAdapter<Job, JsonObject> {
         final Job job = new Job(id, version, jobDetails, jobHistory, jobMetadata);
         job.setJobName(jsonObject.getString("jobName"));
         job.setRecurringJobId(jsonObject.containsKey("recurringJobId") && !jsonObject.isNull("recurringJobId") ? jsonObject.getString("recurringJobId") : null);
+        job.setAmountOfCompactedJobStates(jsonObject.getInt("amountOfCompactedJobStates", 0));
+        job.setAmountOfCompactedFailedStates(jsonObject.getInt("amountOfCompactedFailedStates", 0));
+        job.setPriority(jsonObject.getInt("priority", JobPriority.NORMAL));
         return job;
     }
 }
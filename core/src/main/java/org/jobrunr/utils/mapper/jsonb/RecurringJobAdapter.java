@@ -1,6 +1,7 @@
 package org.jobrunr.utils.mapper.jsonb;
 
 import org.jobrunr.dashboard.ui.model.RecurringJobUIModel;
+import org.jobrunr.jobs.JobPriority;
 import org.jobrunr.jobs.RecurringJob;
 import org.jobrunr.utils.mapper.jsonb.adapters.JobDetailsAdapter;
 import org.jobrunr.utils.mapper.jsonb.serializer.DurationTypeDeserializer;
@@ -40,6 +41,7 @@ public class RecurringJobAdapter implements JsonbAdapter<RecurringJob, JsonObjec
                 .add("jobName", recurringJob.getJobName())
                 .add("jobSignature", recurringJob.getJobSignature())
                 .add("version", recurringJob.getVersion())
+                .add("priority", recurringJob.getPriority())
                 .add("scheduleExpression", recurringJob.getScheduleExpression())
                 .add("zoneId", recurringJob.getZoneId())
                 .add("jobDetails", jobDetailsAdapter.adaptToJson(recurringJob.getJobDetails()))
@@ -61,6 +63,7 @@ public class RecurringJobAdapter implements JsonbAdapter<RecurringJob, JsonObjec
                 jsonObject.getString("createdAt")
         );
         recurringJob.setJobName(jsonObject.getString("jobName"));
+        recurringJob.setPriority(jsonObject.getInt("priority", JobPriority.NORMAL));
         return recurringJob;
     }
 
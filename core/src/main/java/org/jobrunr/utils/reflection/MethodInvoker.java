@@ -0,0 +1,100 @@
+package org.jobrunr.utils.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Invokes a {@link Method} using a {@link MethodHandle} that is resolved once, which avoids the access checks and argument handling of
+ * {@link Method#invoke(Object, Object...)} on each invocation. It behaves like {@link Method#invoke(Object, Object...)}: an invalid target or
+ * invalid arguments result in a {@link NullPointerException} or {@link IllegalArgumentException} and only an exception thrown by the method itself
+ * is wrapped in an {@link InvocationTargetException}. If the method is not accessible using a {@link MethodHandle}, it falls back to
+ * {@link Method#invoke(Object, Object...)}.
+ */
+public class MethodInvoker {
+
+    // why: the primitive types that can be widened (JLS 5.1.2) to the primitive type of a parameter, like Method.invoke does for boxed arguments
+    private static final Map<Class<?>, List<Class<?>>> WIDENING_PRIMITIVE_CONVERSIONS = new HashMap<>();
+
+    static {
+        WIDENING_PRIMITIVE_CONVERSIONS.put(boolean.class, asList(Boolean.class));
+        WIDENING_PRIMITIVE_CONVERSIONS.put(byte.class, asList(Byte.class));
+        WIDENING_PRIMITIVE_CONVERSIONS.put(char.class, asList(Character.class));
+        WIDENING_PRIMITIVE_CONVERSIONS.put(short.class, asList(Short.class, Byte.class));
+        WIDENING_PRIMITIVE_CONVERSIONS.put(int.class, asList(Integer.class, Short.class, Character.class, Byte.class));
+        WIDENING_PRIMITIVE_CONVERSIONS.put(long.class, asList(Long.class, Integer.class, Short.class, Character.class, Byte.class));
+        WIDENING_PRIMITIVE_CONVERSIONS.put(float.class, asList(Float.class, Long.class, Integer.class, Short.class, Character.class, Byte.class));
+        WIDENING_PRIMITIVE_CONVERSIONS.put(double.class, asList(Double.class, Float.class, Long.class, Integer.class, Short.class, Character.class, Byte.class));
+    }
+
+    private final Method method;
+    private final Class<?>[] parameterTypes;
+    private final MethodHandle methodHandle;
+
+    private MethodInvoker(Method method, MethodHandle methodHandle) {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        this.methodHandle = methodHandle;
+    }
+
+    public static MethodInvoker of(Method method) {
+        return new MethodInvoker(method, toMethodHandle(method));
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException {
+        if (methodHandle == null) return method.invoke(target, args);
+
+        // why: the target and arguments are checked upfront so that the exceptions of the MethodHandle adapting them are not mistaken for
+        // exceptions thrown by the method itself
+        checkTargetAndArguments(target, args);
+        try {
+            return (Object) methodHandle.invokeExact(target, args);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private void checkTargetAndArguments(Object target, Object[] args) {
+        if (!Modifier.isStatic(method.getModifiers())) {
+            if (target == null) throw new NullPointerException("The target of the non-static method " + method + " is null");
+            if (!method.getDeclaringClass().isInstance(target)) throw new IllegalArgumentException("object is not an instance of declaring class");
+        }
+
+        final int amountOfArgs = args == null ? 0 : args.length;
+        if (amountOfArgs != parameterTypes.length) throw new IllegalArgumentException("wrong number of arguments");
+        for (int i = 0; i < amountOfArgs; i++) {
+            if (!isValidArgument(parameterTypes[i], args[i])) throw new IllegalArgumentException("argument type mismatch");
+        }
+    }
+
+    private static boolean isValidArgument(Class<?> parameterType, Object arg) {
+        if (!parameterType.isPrimitive()) return arg == null || parameterType.isInstance(arg);
+        return arg != null && WIDENING_PRIMITIVE_CONVERSIONS.get(parameterType).contains(arg.getClass());
+    }
+
+    private static MethodHandle toMethodHandle(Method method) {
+        try {
+            MethodHandle methodHandle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (Modifier.isStatic(method.getModifiers())) {
+                // why: static and instance methods are invoked the same way - the target (which is null for static methods) is ignored
+                methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+            }
+            return methodHandle
+                    .asType(methodHandle.type().generic())
+                    .asSpreader(Object[].class, method.getParameterCount());
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
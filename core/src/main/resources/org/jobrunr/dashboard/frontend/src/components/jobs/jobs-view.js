@@ -49,6 +49,8 @@ const JobsView = (props) => {
 
     const urlSearchParams = new URLSearchParams(props.location.search);
     const page = urlSearchParams.get('page');
+    const lastUpdatedAt = urlSearchParams.get('lastUpdatedAt');
+    const lastId = urlSearchParams.get('lastId');
     const jobState = urlSearchParams.get('state') ?? 'ENQUEUED';
     const [isLoading, setIsLoading] = React.useState(true);
     const [jobPage, setJobPage] = React.useState({total: 0, limit: 20, currentPage: 0, items: []});
@@ -69,6 +71,9 @@ const JobsView = (props) => {
         const offset = (page) * 20;
         const limit = 20;
         let url = `/api/jobs?state=${jobState.toUpperCase()}&offset=${offset}&limit=${limit}&order=${sort}`;
+        if (lastUpdatedAt && lastId) {
+            url += `&lastUpdatedAt=${lastUpdatedAt}&lastId=${lastId}`;
+        }
         fetch(url)
             .then(res => res.json())
             .then(response => {
@@ -76,7 +81,7 @@ const JobsView = (props) => {
                 setIsLoading(false);
             })
             .catch(error => console.log(error));
-    }, [page, jobState, sort, history.location.key]);
+    }, [page, lastUpdatedAt, lastId, jobState, sort, history.location.key]);
 
     return (
         <main className={classes.content}>
@@ -79,6 +79,14 @@ const JobsTable = (props) => {
     const handleChangePage = (event, newPage) => {
         let urlSearchParams = new URLSearchParams(location.search);
         urlSearchParams.set("page", newPage);
+        if (newPage === jobPage.currentPage + 1 && jobPage.lastId) {
+            // the next page continues after the last job of this page so that the server does not need to skip all jobs of the previous pages
+            urlSearchParams.set("lastUpdatedAt", jobPage.lastUpdatedAt);
+            urlSearchParams.set("lastId", jobPage.lastId);
+        } else {
+            urlSearchParams.delete("lastUpdatedAt");
+            urlSearchParams.delete("lastId");
+        }
         history.push(`?${urlSearchParams.toString()}`);
     };
 
@@ -0,0 +1,6 @@
+CREATE INDEX jobrunr_job_st_upd_id_idx ON jobrunr_jobs (state, updatedAt, id);
+CREATE INDEX jobrunr_job_st_sched_idx ON jobrunr_jobs (state, scheduledAt);
+CREATE INDEX jobrunr_job_rci_st_idx ON jobrunr_jobs (recurringJobId, state);
+DROP INDEX jobrunr_state_idx;
+DROP INDEX jobrunr_job_updated_at_idx;
+DROP INDEX jobrunr_job_scheduled_at_idx;
\ No newline at end of file
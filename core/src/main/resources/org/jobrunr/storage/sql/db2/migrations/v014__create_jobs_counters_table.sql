@@ -0,0 +1,46 @@
+CREATE TABLE jobrunr_jobs_counters
+(
+    state  NVARCHAR(36) NOT NULL,
+    shard  INT          NOT NULL,
+    amount BIGINT       NOT NULL,
+    PRIMARY KEY (state, shard)
+);
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT 'SCHEDULED', 0, count(*) FROM jobrunr_jobs WHERE state = 'SCHEDULED';
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT 'ENQUEUED', 0, count(*) FROM jobrunr_jobs WHERE state = 'ENQUEUED';
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT 'PROCESSING', 0, count(*) FROM jobrunr_jobs WHERE state = 'PROCESSING';
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT 'FAILED', 0, count(*) FROM jobrunr_jobs WHERE state = 'FAILED';
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT 'SUCCEEDED', 0, count(*) FROM jobrunr_jobs WHERE state = 'SUCCEEDED';
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT 'DELETED', 0, count(*) FROM jobrunr_jobs WHERE state = 'DELETED';
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT state, 1, 0 FROM jobrunr_jobs_counters WHERE shard = 0;
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT state, 2, 0 FROM jobrunr_jobs_counters WHERE shard = 0;
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT state, 3, 0 FROM jobrunr_jobs_counters WHERE shard = 0;
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT state, 4, 0 FROM jobrunr_jobs_counters WHERE shard = 0;
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT state, 5, 0 FROM jobrunr_jobs_counters WHERE shard = 0;
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT state, 6, 0 FROM jobrunr_jobs_counters WHERE shard = 0;
+
+INSERT INTO jobrunr_jobs_counters (state, shard, amount)
+SELECT state, 7, 0 FROM jobrunr_jobs_counters WHERE shard = 0;
\ No newline at end of file
@@ -0,0 +1,3 @@
+ALTER TABLE jobrunr_jobs
+    ADD COLUMN priority INT NOT NULL DEFAULT 1;
+CREATE INDEX jobrunr_job_state_priority_updated_idx ON jobrunr_jobs (state, priority, updatedAt);
\ No newline at end of file
@@ -0,0 +1,17 @@
+CREATE TABLE jobrunr_jobs_archive
+(
+    id             nchar(36)     NOT NULL,
+    version        bigint        NOT NULL,
+    jobasjson      clob          NOT NULL,
+    jobSignature   NVARCHAR(255) NOT NULL,
+    state          NVARCHAR(36)  NOT NULL,
+    createdAt      TIMESTAMP(6)  NOT NULL,
+    updatedAt      TIMESTAMP(6)  NOT NULL,
+    scheduledAt    TIMESTAMP(6),
+    recurringJobId nvarchar(128),
+    priority       INT           NOT NULL,
+    archivedAt     TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX jobrunr_job_arch_state_upd_idx ON jobrunr_jobs_archive (state, updatedAt);
+CREATE INDEX jobrunr_job_arch_archived_idx ON jobrunr_jobs_archive (archivedAt);
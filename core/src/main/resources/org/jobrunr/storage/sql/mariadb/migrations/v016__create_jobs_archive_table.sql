@@ -0,0 +1,16 @@
+CREATE TABLE jobrunr_jobs_archive
+(
+    id             NCHAR(36) PRIMARY KEY,
+    version        int          NOT NULL,
+    jobAsJson      MEDIUMTEXT   NOT NULL,
+    jobSignature   VARCHAR(512) NOT NULL,
+    state          VARCHAR(36)  NOT NULL,
+    createdAt      DATETIME(6)  NOT NULL,
+    updatedAt      DATETIME(6)  NOT NULL,
+    scheduledAt    DATETIME(6),
+    recurringJobId VARCHAR(128),
+    priority       INT          NOT NULL,
+    archivedAt     DATETIME(6)  NOT NULL
+);
+CREATE INDEX jobrunr_job_arch_state_upd_idx ON jobrunr_jobs_archive (state, updatedAt);
+CREATE INDEX jobrunr_job_arch_archived_idx ON jobrunr_jobs_archive (archivedAt);
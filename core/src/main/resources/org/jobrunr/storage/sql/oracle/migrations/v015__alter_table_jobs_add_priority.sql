@@ -0,0 +1,3 @@
+ALTER TABLE jobrunr_jobs
+    ADD priority NUMBER(10) DEFAULT 1 NOT NULL;
+CREATE INDEX jobrunr_job_st_prio_upd_idx ON jobrunr_jobs (state, priority, updatedAt);
\ No newline at end of file
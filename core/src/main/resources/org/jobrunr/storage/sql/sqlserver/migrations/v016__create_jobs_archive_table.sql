@@ -0,0 +1,16 @@
+CREATE TABLE jobrunr_jobs_archive
+(
+    id             NCHAR(36) PRIMARY KEY,
+    version        int           NOT NULL,
+    jobAsJson      NVARCHAR(MAX) NOT NULL,
+    jobSignature   NVARCHAR(512) NOT NULL,
+    state          VARCHAR(36)   NOT NULL,
+    createdAt      DATETIME2     NOT NULL,
+    updatedAt      DATETIME2     NOT NULL,
+    scheduledAt    DATETIME2,
+    recurringJobId NVARCHAR(128),
+    priority       INT           NOT NULL,
+    archivedAt     DATETIME2     NOT NULL
+);
+CREATE INDEX jobrunr_job_arch_state_upd_idx ON jobrunr_jobs_archive (state, updatedAt);
+CREATE INDEX jobrunr_job_arch_archived_idx ON jobrunr_jobs_archive (archivedAt);
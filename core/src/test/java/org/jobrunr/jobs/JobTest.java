@@ -3,6 +3,8 @@ package org.jobrunr.jobs;
 import org.assertj.core.data.Offset;
 import org.jobrunr.JobRunrAssertions;
 import org.jobrunr.jobs.states.EnqueuedState;
+import org.jobrunr.jobs.states.FailedState;
+import org.jobrunr.jobs.states.IllegalJobStateChangeException;
 import org.jobrunr.jobs.states.ProcessingState;
 import org.jobrunr.jobs.states.ScheduledState;
 import org.jobrunr.jobs.states.SucceededState;
@@ -19,8 +21,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.jobrunr.JobRunrAssertions.assertThat;
 import static org.jobrunr.jobs.JobDetailsTestBuilder.jobDetails;
+import static org.jobrunr.jobs.JobHistoryCompactionPolicy.keepLastJobStates;
 import static org.jobrunr.jobs.JobDetailsTestBuilder.systemOutPrintLnJobDetails;
 import static org.jobrunr.jobs.JobTestBuilder.*;
+import static org.jobrunr.jobs.states.StateName.*;
 
 @ExtendWith(MockitoExtension.class)
 class JobTest {
@@ -121,4 +125,88 @@ class JobTest {
         job.delete("From UI");
         assertThat(job).hasNoMetadata();
     }
-}
\ No newline at end of file
+
+    @Test
+    void aClaimedJobCanBeReleasedToTheEnqueuedState() {
+        Job job = anEnqueuedJob().build();
+        assertThatThrownBy(job::releaseClaim).isInstanceOf(IllegalJobStateChangeException.class);
+
+        job.startProcessingOn(backgroundJobServer);
+        job.releaseClaim();
+
+        assertThat(job).hasStates(ENQUEUED, PROCESSING, ENQUEUED);
+    }
+
+    @Test
+    void stateBeforeStateChangeIsTheStateOfTheLastSave() {
+        Job job = anEnqueuedJob().withVersion(1).build();
+        assertThat(job.getStateBeforeStateChange()).isEqualTo(ENQUEUED);
+
+        job.startProcessingOn(backgroundJobServer);
+        job.failed("exception", new Exception("Test"));
+        assertThat(job.getStateBeforeStateChange()).isEqualTo(ENQUEUED);
+
+        try (JobVersioner jobVersioner = new JobVersioner(job)) {
+            jobVersioner.commitVersion();
+        }
+        assertThat(job.getStateBeforeStateChange()).isEqualTo(FAILED);
+    }
+
+    @Test
+    void jobHistoryIsNotCompactedByDefault() {
+        Job job = anEnqueuedJob().build();
+        failAndRetry(job, 5);
+
+        assertThat(job.getJobStates()).hasSize(21);
+        assertThat(job.getAmountOfCompactedJobStates()).isZero();
+        assertThat(job.getAmountOfCompactedFailedStates()).isZero();
+    }
+
+    @Test
+    void jobHistoryIsCompactedUsingJobHistoryCompactionPolicy() {
+        Job job = anEnqueuedJob().build();
+        failAndRetry(job, 5);
+        job.startProcessingOn(backgroundJobServer);
+        job.failed("Failed again", new RuntimeException("boem"));
+
+        job.compactJobHistory(keepLastJobStates(5).andMaxStackTraceLength(100));
+
+        assertThat(job.getJobStates()).hasSize(6);
+        assertThat(job).hasStates(ENQUEUED, FAILED, SCHEDULED, ENQUEUED, PROCESSING, FAILED);
+        assertThat(job.getAmountOfCompactedJobStates()).isEqualTo(17);
+        assertThat(job.getAmountOfCompactedFailedStates()).isEqualTo(4);
+        assertThat(job.getJobStatesOfType(FailedState.class).filter(failedState -> failedState.getStackTrace().length() <= 100)).hasSize(1);
+        assertThat(job.<FailedState>getJobState().getStackTrace()).hasSizeGreaterThan(100);
+    }
+
+    @Test
+    void jobHistoryCompactionMovesDashboardMetadataOfKeptJobStates() {
+        Job job = anEnqueuedJob().build();
+        job.startProcessingOn(backgroundJobServer);
+        job.getMetadata().put("jobRunrDashboardLog-2", "logs of first run");
+        job.failed("Failed", new RuntimeException("boem"));
+        job.scheduleAt(Instant.now(), "Retry 1 of 10");
+        job.enqueue();
+        job.startProcessingOn(backgroundJobServer);
+        job.getMetadata().put("jobRunrDashboardLog-6", "logs of second run");
+        job.getMetadata().put("jobRunrDashboardProgressBar-6", "progress of second run");
+        job.failed("Failed", new RuntimeException("boem"));
+
+        job.compactJobHistory(keepLastJobStates(3));
+
+        assertThat(job.getJobStates()).hasSize(4);
+        assertThat(job.getMetadata())
+                .doesNotContainKeys("jobRunrDashboardLog-2", "jobRunrDashboardLog-6", "jobRunrDashboardProgressBar-6")
+                .containsEntry("jobRunrDashboardLog-3", "logs of second run")
+                .containsEntry("jobRunrDashboardProgressBar-3", "progress of second run");
+    }
+
+    private void failAndRetry(Job job, int times) {
+        for (int i = 0; i < times; i++) {
+            job.startProcessingOn(backgroundJobServer);
+            job.failed("Failed", new RuntimeException("boem"));
+            job.scheduleAt(Instant.now(), "Retry " + (i + 1) + " of 10");
+            job.enqueue();
+        }
+    }
+}
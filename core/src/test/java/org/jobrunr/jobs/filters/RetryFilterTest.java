@@ -101,6 +101,19 @@ class RetryFilterTest {
         assertThat(job.getState()).isEqualTo(FAILED);
     }
 
+    @Test
+    void retryFilterTakesFailedStatesRemovedByJobHistoryCompactionIntoAccount() {
+        final Job job = aFailedJob().build();
+        job.setAmountOfCompactedFailedStates(10);
+        int beforeVersion = job.getJobStates().size();
+
+        retryFilter.onStateElection(job, job.getJobState());
+        int afterVersion = job.getJobStates().size();
+
+        assertThat(afterVersion).isEqualTo(beforeVersion);
+        assertThat(job.getState()).isEqualTo(FAILED);
+    }
+
     @Test
     void retryFilterKeepsDefaultRetryFilterValueOf10IfRetriesOnJobAnnotationIsNotProvided() {
 
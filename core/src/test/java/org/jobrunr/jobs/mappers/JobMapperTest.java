@@ -132,6 +132,29 @@ abstract class JobMapperTest {
         assertThat(actualJob).isEqualTo(job);
     }
 
+    @Test
+    void canSerializeAndDeserializeCompressedJobs() {
+        final JobMapper compressingJobMapper = new JobMapper(getJsonMapper(), new CompressedJsonJobCodec(0));
+        Job job = anEnqueuedJob().build();
+        job.startProcessingOn(backgroundJobServer);
+        job.failed("exception", new Exception("Test"));
+
+        String jobAsString = compressingJobMapper.serializeJob(job);
+        assertThat(jobAsString).startsWith(CompressedJsonJobCodec.FORMAT_MARKER);
+        assertThat(compressingJobMapper.deserializeJob(jobAsString)).isEqualTo(job);
+        assertThat(jobMapper.deserializeJob(jobAsString)).isEqualTo(job);
+    }
+
+    @Test
+    void jobsSavedAsPlainJsonStayReadableUsingAnotherJobCodec() {
+        final JobMapper compressingJobMapper = new JobMapper(getJsonMapper(), new CompressedJsonJobCodec(0));
+        Job job = anEnqueuedJob().build();
+        RecurringJob recurringJob = aDefaultRecurringJob().build();
+
+        assertThat(compressingJobMapper.deserializeJob(jobMapper.serializeJob(job))).isEqualTo(job);
+        assertThat(compressingJobMapper.deserializeRecurringJob(jobMapper.serializeRecurringJob(recurringJob))).isEqualTo(recurringJob);
+    }
+
     @Test
     void onIllegalJobParameterCorrectExceptionIsThrown() {
         TestService.IllegalWork illegalWork = new TestService.IllegalWork(5);
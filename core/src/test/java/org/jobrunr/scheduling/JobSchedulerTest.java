@@ -8,6 +8,7 @@ import org.jobrunr.jobs.filters.ElectStateFilter;
 import org.jobrunr.jobs.filters.JobClientFilter;
 import org.jobrunr.jobs.states.JobState;
 import org.jobrunr.scheduling.cron.Cron;
+import org.jobrunr.storage.ConcurrentJobModificationException;
 import org.jobrunr.storage.StorageProvider;
 import org.jobrunr.stubs.TestService;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,7 +26,9 @@ import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.jobrunr.jobs.JobTestBuilder.anEnqueuedJob;
 import static org.mockito.ArgumentMatchers.any;
+import static org.jobrunr.storage.StorageProvider.BATCH_SIZE;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -94,6 +97,42 @@ class JobSchedulerTest {
         assertThat(jobClientLogFilter.onCreated).isTrue();
     }
 
+    @Test
+    void enqueueInBulkSavesAllJobsInBatches() {
+        when(storageProvider.save(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        MDC.put("some-key", "some-value");
+        final Stream<Integer> range = IntStream.range(0, 2 * BATCH_SIZE + 1).boxed();
+        final BulkEnqueueResult result = jobScheduler.enqueueInBulk(range, (i) -> testService.doWork(i)).join();
+
+        assertThat(result.getAmountOfEnqueuedJobs()).isEqualTo(2 * BATCH_SIZE + 1);
+        assertThat(result.hasFailedBatches()).isFalse();
+        assertThat(jobClientLogFilter.onCreating).isTrue();
+        assertThat(jobClientLogFilter.onCreated).isTrue();
+
+        ArgumentCaptor<List<Job>> jobsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(storageProvider, times(3)).save(jobsArgumentCaptor.capture());
+        assertThat(jobsArgumentCaptor.getAllValues()).extracting(List::size).containsExactlyInAnyOrder(BATCH_SIZE, BATCH_SIZE, 1);
+        assertThat(jobsArgumentCaptor.getValue().get(0).getMetadata()).containsKey("mdc-some-key");
+    }
+
+    @Test
+    void enqueueInBulkReportsTheBatchesThatFailed() {
+        final Job existingJob = anEnqueuedJob().build();
+        when(storageProvider.save(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new ConcurrentJobModificationException(existingJob));
+
+        final Stream<Integer> range = IntStream.range(0, 2 * BATCH_SIZE).boxed();
+        final BulkEnqueueResult result = jobScheduler.enqueueInBulk(range, (i) -> testService.doWork(i), Runnable::run).join();
+
+        assertThat(result.getAmountOfEnqueuedJobs()).isEqualTo(2 * BATCH_SIZE - 1);
+        assertThat(result.getFailedBatches()).hasSize(1);
+        assertThat(result.getFailedBatches().get(0).getBatchNumber()).isEqualTo(2);
+        assertThat(result.getFailedBatches().get(0).getJobIds()).containsExactly(existingJob.getId());
+        assertThat(result.getFailedBatches().get(0).getException()).isInstanceOf(ConcurrentJobModificationException.class);
+    }
+
     @Test
     void onRecurringJobCreatingAndCreatedAreCalled() {
         when(storageProvider.saveRecurringJob(any(RecurringJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
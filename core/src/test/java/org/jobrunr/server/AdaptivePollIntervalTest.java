@@ -0,0 +1,58 @@
+package org.jobrunr.server;
+
+import org.junit.jupiter.api.Test;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePollIntervalTest {
+
+    private final AdaptivePollInterval adaptivePollInterval = new AdaptivePollInterval(ofMillis(500), ofSeconds(15), ofSeconds(60));
+
+    @Test
+    void startsWithThePollInterval() {
+        assertThat(adaptivePollInterval.getCurrentPollInterval()).isEqualTo(ofSeconds(15));
+    }
+
+    @Test
+    void usesTheMinPollIntervalIfAFullPageOfWorkWasFound() {
+        assertThat(adaptivePollInterval.next(true, true)).isEqualTo(ofMillis(500));
+        assertThat(adaptivePollInterval.getCurrentPollInterval()).isEqualTo(ofMillis(500));
+    }
+
+    @Test
+    void usesThePollIntervalIfSomeWorkWasFound() {
+        adaptivePollInterval.next(true, true);
+
+        assertThat(adaptivePollInterval.next(false, true)).isEqualTo(ofSeconds(15));
+    }
+
+    @Test
+    void backsOffExponentiallyUntilTheMaxPollIntervalIfNoWorkWasFound() {
+        assertThat(adaptivePollInterval.next(false, false)).isEqualTo(ofSeconds(30));
+        assertThat(adaptivePollInterval.next(false, false)).isEqualTo(ofSeconds(60));
+        assertThat(adaptivePollInterval.next(false, false)).isEqualTo(ofSeconds(60));
+    }
+
+    @Test
+    void pollIntervalIsBoundedByTheMinAndMaxPollInterval() {
+        assertThat(new AdaptivePollInterval(ofSeconds(1), ofSeconds(15), ofSeconds(10)).getCurrentPollInterval()).isEqualTo(ofSeconds(10));
+        assertThat(new AdaptivePollInterval(ofSeconds(20), ofSeconds(15), ofSeconds(60)).getCurrentPollInterval()).isEqualTo(ofSeconds(20));
+    }
+
+    @Test
+    void resetBackoffOnlyResetsABackedOffPollInterval() {
+        adaptivePollInterval.next(true, true);
+        assertThat(adaptivePollInterval.resetBackoff()).isFalse();
+        assertThat(adaptivePollInterval.getCurrentPollInterval()).isEqualTo(ofMillis(500));
+
+        adaptivePollInterval.next(false, false);
+        adaptivePollInterval.next(false, false);
+        adaptivePollInterval.next(false, false);
+        adaptivePollInterval.next(false, false);
+        adaptivePollInterval.next(false, false);
+        assertThat(adaptivePollInterval.resetBackoff()).isTrue();
+        assertThat(adaptivePollInterval.getCurrentPollInterval()).isEqualTo(ofSeconds(15));
+    }
+}
@@ -7,9 +7,13 @@ import org.jobrunr.jobs.Job;
 import org.jobrunr.jobs.filters.JobDefaultFilters;
 import org.jobrunr.jobs.states.FailedState;
 import org.jobrunr.jobs.states.IllegalJobStateChangeException;
+import org.jobrunr.jobs.states.ProcessingState;
+import org.jobrunr.server.metrics.JobPerformanceListener;
+import org.jobrunr.server.metrics.JobPerformanceListener.Outcome;
 import org.jobrunr.server.runner.BackgroundJobRunner;
 import org.jobrunr.server.runner.BackgroundStaticFieldJobWithoutIocRunner;
 import org.jobrunr.storage.ConcurrentJobModificationException;
+import org.jobrunr.storage.StorageException;
 import org.jobrunr.storage.StorageProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +25,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.InvocationTargetException;
 import java.time.Instant;
+import java.util.UUID;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,6 +33,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.jobrunr.JobRunrAssertions.assertThat;
 import static org.jobrunr.jobs.JobTestBuilder.aFailedJobWithRetries;
 import static org.jobrunr.jobs.JobTestBuilder.anEnqueuedJob;
+import static org.jobrunr.server.BackgroundJobServerConfiguration.usingStandardBackgroundJobServerConfiguration;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,6 +55,7 @@ class BackgroundJobPerformerTest {
         when(backgroundJobServer.getStorageProvider()).thenReturn(storageProvider);
         when(backgroundJobServer.getJobZooKeeper()).thenReturn(jobZooKeeper);
         when(backgroundJobServer.getJobFilters()).thenReturn(new JobDefaultFilters(logAllStateChangesFilter));
+        lenient().when(backgroundJobServer.getConfiguration()).thenReturn(usingStandardBackgroundJobServerConfiguration());
     }
 
     @Test
@@ -129,6 +136,23 @@ class BackgroundJobPerformerTest {
         assertThat(logAllStateChangesFilter.processedPassed).isTrue();
     }
 
+    @Test
+    void jobsClaimedByThisBackgroundJobServerAreNotSavedAgainBeforeProcessing() {
+        UUID backgroundJobServerId = UUID.randomUUID();
+        Job job = anEnqueuedJob().withState(new ProcessingState(backgroundJobServerId)).build();
+
+        when(backgroundJobServer.getId()).thenReturn(backgroundJobServerId);
+        when(backgroundJobServer.getBackgroundJobRunner(job)).thenReturn(new BackgroundStaticFieldJobWithoutIocRunner());
+
+        BackgroundJobPerformer backgroundJobPerformer = new BackgroundJobPerformer(backgroundJobServer, job);
+        backgroundJobPerformer.run();
+
+        assertThat(logAllStateChangesFilter.stateChanges).containsExactly("ENQUEUED->PROCESSING", "PROCESSING->SUCCEEDED");
+        assertThat(logAllStateChangesFilter.processingPassed).isTrue();
+        assertThat(logAllStateChangesFilter.processedPassed).isTrue();
+        verify(storageProvider, times(1)).save(job);
+    }
+
     @Test
     void allStateChangesArePassingViaTheApplyStateFilterOnFailure() {
         Job job = anEnqueuedJob().build();
@@ -215,6 +239,63 @@ class BackgroundJobPerformerTest {
         assertThat(lastFailure.get().getException().getMessage()).isEqualTo("test error");
     }
 
+    @Test
+    void jobPerformanceListenerIsNotifiedWhenJobSucceeded() throws Exception {
+        Job job = anEnqueuedJob().build();
+        JobPerformanceListener jobPerformanceListener = mock(JobPerformanceListener.class);
+        when(backgroundJobServer.getJobPerformanceListener()).thenReturn(jobPerformanceListener);
+        mockBackgroundJobRunner(job, jobFromStorage -> {
+        });
+
+        BackgroundJobPerformer backgroundJobPerformer = new BackgroundJobPerformer(backgroundJobServer, job);
+        backgroundJobPerformer.run();
+
+        verify(jobPerformanceListener).onJobPerformed(eq(job), eq(Outcome.SUCCEEDED), notNull(), notNull(), notNull());
+    }
+
+    @Test
+    void jobPerformanceListenerIsNotifiedWhenJobFailed() throws Exception {
+        Job job = anEnqueuedJob().build();
+        JobPerformanceListener jobPerformanceListener = mock(JobPerformanceListener.class);
+        when(backgroundJobServer.getJobPerformanceListener()).thenReturn(jobPerformanceListener);
+        mockBackgroundJobRunner(job, jobFromStorage -> {
+            throw new RuntimeException("test error");
+        });
+
+        BackgroundJobPerformer backgroundJobPerformer = new BackgroundJobPerformer(backgroundJobServer, job);
+        backgroundJobPerformer.run();
+
+        verify(jobPerformanceListener).onJobPerformed(eq(job), eq(Outcome.FAILED), notNull(), notNull(), notNull());
+    }
+
+    @Test
+    void jobPerformanceListenerIsNotNotifiedAsSucceededIfSucceededJobCouldNotBeSaved() throws Exception {
+        Job job = anEnqueuedJob().build();
+        JobPerformanceListener jobPerformanceListener = mock(JobPerformanceListener.class);
+        when(backgroundJobServer.getJobPerformanceListener()).thenReturn(jobPerformanceListener);
+        when(storageProvider.save(job)).thenReturn(job).thenThrow(new StorageException("could not save job"));
+        mockBackgroundJobRunner(job, jobFromStorage -> {
+        });
+
+        BackgroundJobPerformer backgroundJobPerformer = new BackgroundJobPerformer(backgroundJobServer, job);
+        backgroundJobPerformer.run();
+
+        verify(jobPerformanceListener, never()).onJobPerformed(any(), eq(Outcome.SUCCEEDED), any(), any(), any());
+    }
+
+    @Test
+    void jobPerformanceListenerIsNotNotifiedIfJobIsProcessedByOtherServer() {
+        Job job = anEnqueuedJob().build();
+        JobPerformanceListener jobPerformanceListener = mock(JobPerformanceListener.class);
+        when(backgroundJobServer.getJobPerformanceListener()).thenReturn(jobPerformanceListener);
+        when(storageProvider.save(job)).thenThrow(new ConcurrentJobModificationException(job));
+
+        BackgroundJobPerformer backgroundJobPerformer = new BackgroundJobPerformer(backgroundJobServer, job);
+        backgroundJobPerformer.run();
+
+        verifyNoInteractions(jobPerformanceListener);
+    }
+
     private void mockBackgroundJobRunner(Job job, Consumer<Job> jobConsumer) throws Exception {
         BackgroundJobRunner backgroundJobRunnerMock = mock(BackgroundJobRunner.class);
         doAnswer(invocation -> {
@@ -2,6 +2,8 @@ package org.jobrunr.server;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.jobrunr.server.BackgroundJobServerConfiguration.usingStandardBackgroundJobServerConfiguration;
@@ -23,4 +25,43 @@ class BackgroundJobServerConfigurationTest {
         assertThatCode(() -> backgroundJobServerConfiguration.andPollIntervalInSeconds(15)).doesNotThrowAnyException();
     }
 
-}
\ No newline at end of file
+    @Test
+    void ifAdaptiveMinPollIntervalSmallerThan100MillisThenThrowException() {
+        assertThatThrownBy(() -> backgroundJobServerConfiguration.andAdaptivePollInterval(Duration.ofMillis(50), Duration.ofSeconds(60)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The minPollInterval can not be smaller than 100 milliseconds - otherwise it will cause to much load on your SQL/noSQL datastore.");
+    }
+
+    @Test
+    void ifAdaptiveMaxPollIntervalSmallerThanMinPollIntervalThenThrowException() {
+        assertThatThrownBy(() -> backgroundJobServerConfiguration.andAdaptivePollInterval(Duration.ofSeconds(2), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The maxPollInterval can not be smaller than the minPollInterval.");
+    }
+
+    @Test
+    void ifAdaptiveMaxPollIntervalIsNotSmallerThanTheOrphanThresholdThenThrowException() {
+        assertThatThrownBy(() -> backgroundJobServerConfiguration.andAdaptivePollInterval(Duration.ofSeconds(1), Duration.ofSeconds(60)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The maxPollInterval must be smaller than 4 times the pollIntervalInSeconds - otherwise jobs that are being processed will be seen as orphaned.");
+
+        backgroundJobServerConfiguration.andAdaptivePollInterval(Duration.ofSeconds(1), Duration.ofSeconds(45));
+        assertThatThrownBy(() -> backgroundJobServerConfiguration.andPollIntervalInSeconds(10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The maxPollInterval must be smaller than 4 times the pollIntervalInSeconds - otherwise jobs that are being processed will be seen as orphaned.");
+    }
+
+    @Test
+    void ifJobPrefetchBufferSizeIsNegativeThenThrowException() {
+        assertThatThrownBy(() -> backgroundJobServerConfiguration.andJobPrefetchBufferSize(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The jobPrefetchBufferSize can not be negative.");
+    }
+
+    @Test
+    void ifJobHistoryCompactionPolicyIsNullThenThrowException() {
+        assertThatThrownBy(() -> backgroundJobServerConfiguration.andJobHistoryCompactionPolicy(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The jobHistoryCompactionPolicy can not be null.");
+    }
+}
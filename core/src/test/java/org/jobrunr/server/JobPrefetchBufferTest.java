@@ -0,0 +1,84 @@
+package org.jobrunr.server;
+
+import org.jobrunr.jobs.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Duration.ofSeconds;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.jobrunr.jobs.JobTestBuilder.aJobInProgress;
+
+class JobPrefetchBufferTest {
+
+    private JobPrefetchBuffer jobPrefetchBuffer;
+
+    @AfterEach
+    void stopJobPrefetchBuffer() {
+        if (jobPrefetchBuffer != null) jobPrefetchBuffer.stop();
+    }
+
+    @Test
+    void bufferIsRefilledInTheBackgroundIfItIsBelowTheLowWaterMark() {
+        final AtomicInteger onJobsFetchedCounter = new AtomicInteger();
+        jobPrefetchBuffer = new JobPrefetchBuffer(10, this::claimedJobs, onJobsFetchedCounter::incrementAndGet);
+        jobPrefetchBuffer.start();
+
+        jobPrefetchBuffer.refillIfBelowLowWaterMark();
+
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(jobPrefetchBuffer.size()).isEqualTo(10));
+        assertThat(onJobsFetchedCounter).hasValue(1);
+
+        assertThat(jobPrefetchBuffer.take(4)).hasSize(4);
+        assertThat(jobPrefetchBuffer.size()).isEqualTo(6);
+
+        assertThat(jobPrefetchBuffer.take(2)).hasSize(2);
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(jobPrefetchBuffer.size()).isEqualTo(10));
+        assertThat(onJobsFetchedCounter).hasValue(2);
+    }
+
+    @Test
+    void takingJobsNeverWaitsForTheFetcher() throws InterruptedException {
+        final CountDownLatch fetchLatch = new CountDownLatch(1);
+        jobPrefetchBuffer = new JobPrefetchBuffer(10, amount -> {
+            try {
+                fetchLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return claimedJobs(amount);
+        }, () -> {});
+        jobPrefetchBuffer.start();
+
+        assertThat(jobPrefetchBuffer.take(5)).isEmpty();
+        assertThat(jobPrefetchBuffer.take(5)).isEmpty();
+
+        fetchLatch.countDown();
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(jobPrefetchBuffer.size()).isEqualTo(10));
+    }
+
+    @Test
+    void stopReturnsTheJobsThatWereNotTaken() {
+        jobPrefetchBuffer = new JobPrefetchBuffer(10, this::claimedJobs, () -> {});
+        jobPrefetchBuffer.start();
+        jobPrefetchBuffer.refillIfBelowLowWaterMark();
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(jobPrefetchBuffer.size()).isEqualTo(10));
+
+        final List<Job> unprocessedJobs = jobPrefetchBuffer.stop();
+
+        assertThat(unprocessedJobs).hasSize(10);
+        assertThat(jobPrefetchBuffer.size()).isZero();
+        jobPrefetchBuffer.refillIfBelowLowWaterMark();
+        assertThat(jobPrefetchBuffer.size()).isZero();
+    }
+
+    private List<Job> claimedJobs(int amount) {
+        return range(0, amount).mapToObj(i -> aJobInProgress().build()).collect(toList());
+    }
+}
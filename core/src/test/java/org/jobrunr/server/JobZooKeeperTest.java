@@ -23,17 +23,24 @@ import org.mockito.internal.util.reflection.Whitebox;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.jobrunr.JobRunrAssertions.assertThat;
 import static org.jobrunr.jobs.JobDetailsTestBuilder.jobDetails;
 import static org.jobrunr.jobs.JobDetailsTestBuilder.methodThatDoesNotExistJobDetails;
@@ -88,13 +95,14 @@ class JobZooKeeperTest {
     @Test
     void jobsThatAreProcessedAreBeingUpdatedWithAHeartbeat() {
         final Job job = anEnqueuedJob().withId().build();
-        lenient().when(storageProvider.getJobs(eq(ENQUEUED), any())).thenReturn(singletonList(job));
+        lenient().when(storageProvider.getJobs(eq(ENQUEUED), anyInt(), any())).thenAnswer(jobsWithPriority(singletonList(job)));
 
         job.startProcessingOn(backgroundJobServer);
         jobZooKeeper.startProcessing(job, mock(Thread.class));
         jobZooKeeper.run();
 
-        verify(storageProvider).save(singletonList(job));
+        verify(storageProvider).updateProcessingJobs(eq(singletonList(job)), any(Instant.class));
+        verify(storageProvider, never()).save(singletonList(job));
         ProcessingState processingState = job.getJobState();
         assertThat(processingState.getUpdatedAt()).isAfter(processingState.getCreatedAt());
     }
@@ -112,7 +120,7 @@ class JobZooKeeperTest {
 
         // THEN
         assertThat(logger).hasNoWarnLogMessages();
-        verify(storageProvider).save(singletonList(job));
+        verify(storageProvider, never()).updateProcessingJobs(any(), any());
     }
 
     @Test
@@ -121,14 +129,14 @@ class JobZooKeeperTest {
         jobZooKeeper = initializeJobZooKeeper();
 
         final Job job = anEnqueuedJob().withId().build();
-        lenient().when(storageProvider.getJobs(eq(ENQUEUED), any())).thenReturn(singletonList(job));
+        lenient().when(storageProvider.getJobs(eq(ENQUEUED), anyInt(), any())).thenAnswer(jobsWithPriority(singletonList(job)));
 
         job.startProcessingOn(backgroundJobServer);
         jobZooKeeper.startProcessing(job, mock(Thread.class));
         jobZooKeeper.run();
         jobZooKeeper.startProcessing(aJobInProgress().build(), mock(Thread.class));
 
-        verify(storageProvider).save(singletonList(job));
+        verify(storageProvider).updateProcessingJobs(eq(singletonList(job)), any(Instant.class));
         ProcessingState processingState = job.getJobState();
         assertThat(processingState.getUpdatedAt()).isAfter(processingState.getCreatedAt());
     }
@@ -136,8 +144,8 @@ class JobZooKeeperTest {
     @Test
     void jobsThatAreBeingProcessedButHaveBeenDeletedViaDashboardWillBeInterrupted() {
         final Job job = anEnqueuedJob().withId().build();
-        lenient().when(storageProvider.getJobs(eq(ENQUEUED), any())).thenReturn(singletonList(job));
-        doThrow(new ConcurrentJobModificationException(job)).when(storageProvider).save(singletonList(job));
+        lenient().when(storageProvider.getJobs(eq(ENQUEUED), anyInt(), any())).thenAnswer(jobsWithPriority(singletonList(job)));
+        doThrow(new ConcurrentJobModificationException(job)).when(storageProvider).updateProcessingJobs(eq(singletonList(job)), any(Instant.class));
         when(storageProvider.getJobById(job.getId())).thenReturn(aCopyOf(job).withDeletedState().build());
         final Thread threadMock = mock(Thread.class);
 
@@ -148,15 +156,15 @@ class JobZooKeeperTest {
         assertThat(logger).hasNoWarnLogMessages();
 
         assertThat(job).hasState(DELETED);
-        verify(storageProvider).save(singletonList(job));
+        verify(storageProvider).updateProcessingJobs(eq(singletonList(job)), any(Instant.class));
         verify(threadMock).interrupt();
     }
 
     @Test
     void jobsThatAreBeingProcessedButArePermanentlyDeletedViaAPIWillBeInterrupted() {
         final Job job = anEnqueuedJob().withId().build();
-        lenient().when(storageProvider.getJobs(eq(ENQUEUED), any())).thenReturn(singletonList(job));
-        doThrow(new ConcurrentJobModificationException(job)).when(storageProvider).save(singletonList(job));
+        lenient().when(storageProvider.getJobs(eq(ENQUEUED), anyInt(), any())).thenAnswer(jobsWithPriority(singletonList(job)));
+        doThrow(new ConcurrentJobModificationException(job)).when(storageProvider).updateProcessingJobs(eq(singletonList(job)), any(Instant.class));
         when(storageProvider.getJobById(job.getId())).thenThrow(new JobNotFoundException(job.getId()));
         final Thread threadMock = mock(Thread.class);
 
@@ -167,7 +175,7 @@ class JobZooKeeperTest {
         assertThat(logger).hasNoWarnLogMessages();
 
         assertThat(job).hasState(DELETED);
-        verify(storageProvider).save(singletonList(job));
+        verify(storageProvider).updateProcessingJobs(eq(singletonList(job)), any(Instant.class));
         verify(threadMock).interrupt();
     }
 
@@ -213,7 +221,7 @@ class JobZooKeeperTest {
 
         when(storageProvider.recurringJobsUpdated(anyLong())).thenReturn(true);
         when(storageProvider.getRecurringJobs()).thenReturn(new RecurringJobsResult(List.of(recurringJob)));
-        when(storageProvider.recurringJobExists(recurringJob.getId(), SCHEDULED, ENQUEUED, PROCESSING)).thenReturn(true);
+        when(storageProvider.recurringJobsExist(List.of(recurringJob.getId()), SCHEDULED, ENQUEUED, PROCESSING)).thenReturn(Set.of(recurringJob.getId()));
 
         jobZooKeeper.run();
 
@@ -233,22 +241,154 @@ class JobZooKeeperTest {
         assertThat(jobsToSaveArgumentCaptor.getValue().get(0)).hasStates(SCHEDULED, ENQUEUED);
     }
 
+    @Test
+    void checkForScheduledJobsContinuesAfterTheLastJobOfThePreviousPage() {
+        final Job scheduledJob = aScheduledJob().build();
+        final Job lastScheduledJob = aScheduledJob().build();
+        final Instant updatedAtOfLastScheduledJob = lastScheduledJob.getUpdatedAt();
+        when(storageProvider.getScheduledJobs(any(), any())).thenReturn(List.of(scheduledJob, lastScheduledJob), emptyJobList());
+
+        jobZooKeeper.run();
+
+        final ArgumentCaptor<PageRequest> pageRequestArgumentCaptor = ArgumentCaptor.forClass(PageRequest.class);
+        verify(storageProvider, times(2)).getScheduledJobs(any(), pageRequestArgumentCaptor.capture());
+        final PageRequest firstPageRequest = pageRequestArgumentCaptor.getAllValues().get(0);
+        final PageRequest nextPageRequest = pageRequestArgumentCaptor.getAllValues().get(1);
+        assertThat(firstPageRequest.hasSeekPosition()).isFalse();
+        assertThat(nextPageRequest.hasSeekPosition()).isTrue();
+        assertThat(nextPageRequest.getLastUpdatedAt()).isEqualTo(updatedAtOfLastScheduledJob);
+        assertThat(nextPageRequest.getLastId()).isEqualTo(lastScheduledJob.getId());
+        assertThat(nextPageRequest.getOffset()).isZero();
+    }
+
+    @Test
+    void withPartitionedMaintenanceEachServerOnlyHandlesTheJobsOfItsOwnPartition() {
+        when(backgroundJobServer.getConfiguration()).thenReturn(usingStandardBackgroundJobServerConfiguration().andPartitionedMaintenance(true));
+        jobZooKeeper = initializeJobZooKeeper();
+        final MaintenancePartition maintenancePartition = MaintenancePartition.of(0, 2);
+        when(backgroundJobServer.getMaintenancePartition()).thenReturn(maintenancePartition);
+        when(backgroundJobServer.isMaster()).thenReturn(false);
+
+        final Job scheduledJobOfThisServer = aScheduledJobInPartition(maintenancePartition, true);
+        final Job scheduledJobOfOtherServer = aScheduledJobInPartition(maintenancePartition, false);
+        when(storageProvider.getScheduledJobs(any(), any())).thenReturn(List.of(scheduledJobOfOtherServer, scheduledJobOfThisServer), emptyJobList());
+
+        jobZooKeeper.run();
+
+        verify(storageProvider).save(jobsToSaveArgumentCaptor.capture());
+        assertThat(jobsToSaveArgumentCaptor.getValue()).containsExactly(scheduledJobOfThisServer);
+        assertThat(scheduledJobOfThisServer).hasStates(SCHEDULED, ENQUEUED);
+        assertThat(scheduledJobOfOtherServer).hasStates(SCHEDULED);
+        verify(storageProvider, never()).deleteJobsPermanently(any(), any());
+    }
+
+    @Test
+    void withAdaptivePollIntervalTheNextRunIsSoonerIfAFullPageOfEnqueuedJobsWasFoundAndLaterIfNothingWasFound() {
+        when(backgroundJobServer.getConfiguration()).thenReturn(usingStandardBackgroundJobServerConfiguration().andAdaptivePollInterval(Duration.ofMillis(500), Duration.ofSeconds(45)));
+        jobZooKeeper = initializeJobZooKeeper();
+        final List<Job> enqueuedJobs = IntStream.range(0, 10).mapToObj(i -> anEnqueuedJob().build()).collect(toCollection(ArrayList::new));
+        when(storageProvider.getJobs(eq(ENQUEUED), anyInt(), any())).thenAnswer(jobsWithPriority(enqueuedJobs));
+
+        jobZooKeeper.run();
+        assertThat(jobZooKeeper.getPollInterval()).isEqualTo(Duration.ofMillis(500));
+
+        enqueuedJobs.clear();
+        jobZooKeeper.run();
+        assertThat(jobZooKeeper.getPollInterval()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void withAdaptivePollIntervalTheBackoffIsResetAndTheJobZooKeeperRescheduledAsSoonAsJobsStartProcessing() {
+        when(backgroundJobServer.getConfiguration()).thenReturn(usingStandardBackgroundJobServerConfiguration().andAdaptivePollInterval(Duration.ofMillis(500), Duration.ofSeconds(45)));
+        jobZooKeeper = initializeJobZooKeeper();
+        final List<Job> enqueuedJobs = new ArrayList<>();
+        when(storageProvider.getJobs(eq(ENQUEUED), anyInt(), any())).thenAnswer(jobsWithPriority(enqueuedJobs));
+
+        jobZooKeeper.run();
+        assertThat(jobZooKeeper.getPollInterval()).isEqualTo(Duration.ofSeconds(30));
+
+        final Job enqueuedJob = anEnqueuedJob().build();
+        enqueuedJobs.add(enqueuedJob);
+        jobZooKeeper.onJobsEnqueued();
+
+        verify(backgroundJobServer).processJob(enqueuedJob);
+        verify(backgroundJobServer).rescheduleJobZooKeeper();
+        assertThat(jobZooKeeper.getPollInterval()).isEqualTo(Duration.ofSeconds(15));
+    }
+
+    @Test
+    void prefetchedJobsThatWereNotProcessedAreEnqueuedAgainWhenTheBackgroundJobServerStops() {
+        when(backgroundJobServer.getConfiguration()).thenReturn(usingStandardBackgroundJobServerConfiguration().andJobPrefetchBufferSize(10));
+        when(storageProvider.canClaimEnqueuedJobs()).thenReturn(true);
+        jobZooKeeper = initializeJobZooKeeper();
+        lenient().when(workDistributionStrategy.canOnboardNewWork()).thenReturn(false);
+        // the job has no retries as no RetryFilter is registered: failing it would mean it is never processed
+        final Job claimedJob = aJobInProgress().build();
+        when(storageProvider.claimEnqueuedJobs(any(), anyInt(), any())).thenAnswer(claimJobsWithPriority(new ArrayList<>(List.of(claimedJob))));
+
+        jobZooKeeper.startPrefetchingJobs();
+        JobPrefetchBuffer jobPrefetchBuffer = Whitebox.getInternalState(jobZooKeeper, "jobPrefetchBuffer");
+        jobPrefetchBuffer.refillIfBelowLowWaterMark();
+        await().atMost(Duration.ofSeconds(5)).until(() -> jobPrefetchBuffer.size() == 1);
+
+        jobZooKeeper.stopPrefetchingJobs();
+
+        verify(storageProvider).save(jobsToSaveArgumentCaptor.capture());
+        assertThat(jobsToSaveArgumentCaptor.getValue()).containsExactly(claimedJob);
+        assertThat(claimedJob).hasStates(ENQUEUED, PROCESSING, ENQUEUED);
+    }
+
     @Test
     void checkForEnqueuedJobsIfJobsPresentSubmitsThemToTheBackgroundJobServer() {
         final Job enqueuedJob = anEnqueuedJob().build();
         final List<Job> jobs = List.of(enqueuedJob);
 
         lenient().when(storageProvider.getJobs(eq(SUCCEEDED), any(), any())).thenReturn(emptyList());
-        lenient().when(storageProvider.getJobs(eq(ENQUEUED), any())).thenReturn(jobs);
+        lenient().when(storageProvider.getJobs(eq(ENQUEUED), anyInt(), any())).thenAnswer(jobsWithPriority(jobs));
 
         jobZooKeeper.run();
 
         verify(backgroundJobServer).processJob(enqueuedJob);
     }
 
+    @Test
+    void checkForEnqueuedJobsClaimsJobsIfStorageProviderSupportsIt() {
+        final Job claimedJob = aJobInProgress().build();
+        final List<Job> jobs = List.of(claimedJob);
+
+        lenient().when(storageProvider.getJobs(eq(SUCCEEDED), any(), any())).thenReturn(emptyList());
+        when(storageProvider.canClaimEnqueuedJobs()).thenReturn(true);
+        when(storageProvider.claimEnqueuedJobs(any(), anyInt(), any())).thenAnswer(jobsWithPriority(jobs));
+
+        jobZooKeeper.run();
+
+        verify(storageProvider, never()).getJobs(eq(ENQUEUED), anyInt(), any());
+        verify(backgroundJobServer).processJob(claimedJob);
+    }
+
+    @Test
+    void withJobPrefetchBufferEnqueuedJobsAreClaimedInTheBackgroundAndTakenFromTheBuffer() {
+        when(backgroundJobServer.getConfiguration()).thenReturn(usingStandardBackgroundJobServerConfiguration().andJobPrefetchBufferSize(10));
+        when(storageProvider.canClaimEnqueuedJobs()).thenReturn(true);
+        jobZooKeeper = initializeJobZooKeeper();
+        final Job claimedJob = aJobInProgress().build();
+        final List<Job> enqueuedJobs = new CopyOnWriteArrayList<>(List.of(claimedJob));
+        when(storageProvider.claimEnqueuedJobs(any(), anyInt(), any())).thenAnswer(claimJobsWithPriority(enqueuedJobs));
+
+        try {
+            jobZooKeeper.startPrefetchingJobs();
+            jobZooKeeper.run();
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> verify(backgroundJobServer).processJob(claimedJob));
+            verify(storageProvider, never()).getJobs(eq(ENQUEUED), anyInt(), any());
+        } finally {
+            jobZooKeeper.stopPrefetchingJobs();
+        }
+    }
+
     @Test
     void checkForEnqueuedJobsIsNotDoneConcurrently() throws InterruptedException {
-        when(storageProvider.getJobs(eq(ENQUEUED), any())).thenAnswer((invocationOnMock) -> {
+        when(storageProvider.getJobs(eq(ENQUEUED), anyInt(), any())).thenAnswer((invocationOnMock) -> {
             sleep(100);
             return emptyList();
         });
@@ -266,7 +406,7 @@ class JobZooKeeperTest {
         thread2.start();
 
         countDownLatch.await();
-        verify(storageProvider, times(1)).getJobs(eq(ENQUEUED), any());
+        verify(workDistributionStrategy, times(1)).getWork(any(), any(), anyBoolean());
     }
 
     @Test
@@ -302,6 +442,31 @@ class JobZooKeeperTest {
         assertThat(logAllStateChangesFilter.processedPassed).isFalse();
     }
 
+    @Test
+    void checkForSucceededJobsThanCanGoToDeletedStateMovesThemWithinTheDatabaseIfStorageProviderSupportsIt() {
+        when(backgroundJobServer.getJobFilters()).thenReturn(new JobDefaultFilters());
+        jobZooKeeper = new JobZooKeeper(backgroundJobServer);
+        when(storageProvider.canMoveJobsToDeletedState()).thenReturn(true);
+        when(storageProvider.moveJobsToDeletedState(eq(SUCCEEDED), any(Instant.class), any(), anyInt())).thenReturn(StorageProvider.BATCH_SIZE, 5);
+        when(storageProvider.getJobs(eq(SUCCEEDED), any(Instant.class), any())).thenReturn(asList(aSucceededJob().build()), emptyJobList());
+
+        jobZooKeeper.run();
+
+        verify(storageProvider, times(2)).moveJobsToDeletedState(eq(SUCCEEDED), any(Instant.class), eq("JobRunr maintenance - deleting succeeded job"), eq(StorageProvider.BATCH_SIZE));
+        verify(storageProvider).publishTotalAmountOfSucceededJobs(StorageProvider.BATCH_SIZE + 5 + 1);
+    }
+
+    @Test
+    void checkForSucceededJobsThanCanGoToDeletedStateDoesNotMoveThemWithinTheDatabaseIfCustomStateFiltersAreRegistered() {
+        when(storageProvider.canMoveJobsToDeletedState()).thenReturn(true);
+        when(storageProvider.getJobs(eq(SUCCEEDED), any(Instant.class), any())).thenReturn(asList(aSucceededJob().build()), emptyJobList());
+
+        jobZooKeeper.run();
+
+        verify(storageProvider, never()).moveJobsToDeletedState(any(), any(), any(), anyInt());
+        assertThat(logAllStateChangesFilter.stateChanges).containsExactly("SUCCEEDED->DELETED");
+    }
+
     @Test
     void checkForSucceededJobsCanGoToDeletedStateAlsoWorksForInterfacesWithMethodsThatDontExistAnymore() {
         // GIVEN
@@ -335,6 +500,15 @@ class JobZooKeeperTest {
         verify(storageProvider).deleteJobsPermanently(eq(DELETED), any());
     }
 
+    @Test
+    void checkForJobsThatCanBeArchivedArchivesThemInBatches() {
+        when(storageProvider.archiveJobs(anyInt())).thenReturn(StorageProvider.BATCH_SIZE, 5);
+
+        jobZooKeeper.run();
+
+        verify(storageProvider, times(2)).archiveJobs(StorageProvider.BATCH_SIZE);
+    }
+
     @Test
     void allStateChangesArePassingViaTheApplyStateFilterOnSuccess() {
         Job job = aScheduledJob().build();
@@ -437,11 +611,32 @@ class JobZooKeeperTest {
         when(backgroundJobServer.getDashboardNotificationManager()).thenReturn(new DashboardNotificationManager(backgroundJobServerId, storageProvider));
         lenient().when(workDistributionStrategy.canOnboardNewWork()).thenReturn(true);
         lenient().when(workDistributionStrategy.getWorkPageRequest()).thenReturn(ascOnUpdatedAt(10));
+        lenient().when(workDistributionStrategy.getWork(any(), any(), anyBoolean())).thenCallRealMethod();
         lenient().when(backgroundJobServer.isAnnounced()).thenReturn(true);
         lenient().when(backgroundJobServer.isMaster()).thenReturn(true);
         return new JobZooKeeper(backgroundJobServer);
     }
 
+    private Job aScheduledJobInPartition(MaintenancePartition maintenancePartition, boolean inPartition) {
+        Job job = aScheduledJob().build();
+        while (maintenancePartition.contains(job) != inPartition) {
+            job = aScheduledJob().build();
+        }
+        return job;
+    }
+
+    private static Answer<List<Job>> jobsWithPriority(List<Job> jobs) {
+        return invocation -> jobs.stream().filter(job -> job.getPriority() == invocation.<Integer>getArgument(1)).collect(toList());
+    }
+
+    private static Answer<List<Job>> claimJobsWithPriority(List<Job> jobs) {
+        return invocation -> {
+            final List<Job> claimedJobs = jobsWithPriority(jobs).answer(invocation);
+            jobs.removeAll(claimedJobs);
+            return claimedJobs;
+        };
+    }
+
     private List<Job>[] emptyJobList() {
         List<Job>[] result = cast(new ArrayList[1]);
         result[0] = new ArrayList<>();
@@ -0,0 +1,56 @@
+package org.jobrunr.server;
+
+import org.jobrunr.jobs.RecurringJob;
+import org.jobrunr.storage.RecurringJobsResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static java.time.Instant.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jobrunr.jobs.RecurringJobTestBuilder.aDefaultRecurringJob;
+
+class RecurringJobsQueueTest {
+
+    private RecurringJobsQueue recurringJobsQueue;
+
+    @BeforeEach
+    void setUp() {
+        recurringJobsQueue = new RecurringJobsQueue();
+    }
+
+    @Test
+    void onlyRecurringJobsThatAreDueAreReturned() {
+        final RecurringJob everyMinute = aDefaultRecurringJob().withId("every-minute").withCronExpression("* * * * *").build();
+        final RecurringJob everyDay = aDefaultRecurringJob().withId("every-day").withIntervalExpression("P1D", now()).build();
+        recurringJobsQueue.reload(new RecurringJobsResult(List.of(everyMinute, everyDay)));
+
+        assertThat(recurringJobsQueue.pollRecurringJobsDueBefore(now().plusSeconds(61))).containsExactly(everyMinute);
+    }
+
+    @Test
+    void dueRecurringJobsAreMovedToTheirNextRun() {
+        final RecurringJob everyMinute = aDefaultRecurringJob().withId("every-minute").withCronExpression("* * * * *").build();
+        recurringJobsQueue.reload(new RecurringJobsResult(List.of(everyMinute)));
+
+        final Instant nextRun = everyMinute.getNextRun();
+        assertThat(recurringJobsQueue.pollRecurringJobsDueBefore(nextRun.plusSeconds(1))).containsExactly(everyMinute);
+        assertThat(recurringJobsQueue.pollRecurringJobsDueBefore(nextRun.plusSeconds(1))).isEmpty();
+        assertThat(recurringJobsQueue.pollRecurringJobsDueBefore(nextRun.plusSeconds(61))).containsExactly(everyMinute);
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        final RecurringJob recurringJob = aDefaultRecurringJob().withCronExpression("* * * * *").build();
+        final RecurringJobsResult recurringJobs = new RecurringJobsResult(List.of(recurringJob));
+        recurringJobsQueue.reload(recurringJobs);
+        assertThat(recurringJobsQueue.getLastModifiedHash()).isEqualTo(recurringJobs.getLastModifiedHash());
+
+        recurringJobsQueue.invalidate();
+
+        assertThat(recurringJobsQueue.getLastModifiedHash()).isNotEqualTo(recurringJobs.getLastModifiedHash());
+        assertThat(recurringJobsQueue.pollRecurringJobsDueBefore(now().plusSeconds(61))).isEmpty();
+    }
+}
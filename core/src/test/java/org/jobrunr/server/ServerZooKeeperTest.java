@@ -158,6 +158,23 @@ class ServerZooKeeperTest {
         verify(storageProvider, times(1)).removeTimedOutBackgroundJobServers(any());
     }
 
+    @Test
+    void withPartitionedMaintenanceTheMaintenanceIsSplitAcrossAllLiveServers() {
+        backgroundJobServer = new BackgroundJobServer(storageProvider, new JacksonJsonMapper(), null, usingStandardBackgroundJobServerConfiguration().andPollIntervalInSeconds(5).andWorkerCount(10).andPartitionedMaintenance(true));
+        final BackgroundJobServerStatus otherServer = anotherServer();
+        storageProvider.announceBackgroundJobServer(otherServer);
+
+        backgroundJobServer.start();
+
+        await().untilAsserted(() -> assertThat(backgroundJobServer.getMaintenancePartition().getAmountOfPartitions()).isEqualTo(2));
+        assertThat(backgroundJobServer.getMaintenancePartition().getIndex()).isEqualTo(backgroundJobServer.getId().compareTo(otherServer.getId()) < 0 ? 0 : 1);
+
+        storageProvider.signalBackgroundJobServerStopped(otherServer);
+
+        await().atMost(FIVE_SECONDS)
+                .untilAsserted(() -> assertThat(backgroundJobServer.getMaintenancePartition().isPartitioned()).isFalse());
+    }
+
     @Test
     void aServerThatSignalsItsAliveAlthoughItTimedOutRestartsCompletely3TimesAndThenShutsDown() {
         backgroundJobServer.start();
@@ -32,6 +32,14 @@ class BackgroundJobServerMetricsBinderTest {
         new BackgroundJobServerMetricsBinder(backgroundJobServer, meterRegistry);
 
         verify(meterRegistry, times(2)).more();
+        verify(backgroundJobServer).setJobPerformanceListener(any(MicroMeterJobPerformanceListener.class));
+    }
+
+    @Test
+    void testCloseRemovesJobPerformanceListener() {
+        new BackgroundJobServerMetricsBinder(backgroundJobServer, meterRegistry).close();
+
+        verify(backgroundJobServer).setJobPerformanceListener(null);
     }
 
 }
\ No newline at end of file
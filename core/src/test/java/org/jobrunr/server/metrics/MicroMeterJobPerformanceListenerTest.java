@@ -0,0 +1,63 @@
+package org.jobrunr.server.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jobrunr.jobs.Job;
+import org.jobrunr.server.metrics.JobPerformanceListener.Outcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jobrunr.jobs.JobDetailsTestBuilder.defaultJobDetails;
+import static org.jobrunr.jobs.JobTestBuilder.anEnqueuedJob;
+
+class MicroMeterJobPerformanceListenerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void timersAreRecordedPerJobSignatureAndOutcome() {
+        final MicroMeterJobPerformanceListener listener = new MicroMeterJobPerformanceListener(meterRegistry);
+        final Job job = anEnqueuedJob().build();
+
+        listener.onJobPerformed(job, Outcome.SUCCEEDED, Duration.ofMillis(100), Duration.ofMillis(200), Duration.ofMillis(5));
+        listener.onJobPerformed(job, Outcome.FAILED, null, Duration.ofMillis(300), Duration.ofMillis(5));
+
+        assertThat(meterRegistry.get("jobrunr.jobs.queue-wait").tag("signature", job.getJobSignature()).tag("outcome", "succeeded").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jobrunr.jobs.run-duration").tag("signature", job.getJobSignature()).timers()).hasSize(2);
+        assertThat(meterRegistry.get("jobrunr.jobs.save-duration").tag("outcome", "failed").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("jobrunr.jobs.queue-wait").tag("outcome", "failed").timer()).isNull();
+    }
+
+    @Test
+    void amountOfJobSignatureTagsIsLimited() {
+        final MicroMeterJobPerformanceListener listener = new MicroMeterJobPerformanceListener(meterRegistry, 1);
+        final Job job1 = anEnqueuedJob().withJobDetails(defaultJobDetails()).build();
+        final Job job2 = anEnqueuedJob().withJobDetails(defaultJobDetails().withMethodName("doWorkThatTakesLong")).build();
+
+        listener.onJobPerformed(job1, Outcome.SUCCEEDED, Duration.ofMillis(100), Duration.ofMillis(200), Duration.ofMillis(5));
+        listener.onJobPerformed(job2, Outcome.SUCCEEDED, Duration.ofMillis(100), Duration.ofMillis(200), Duration.ofMillis(5));
+
+        assertThat(meterRegistry.get("jobrunr.jobs.run-duration").tag("signature", job1.getJobSignature()).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jobrunr.jobs.run-duration").tag("signature", MicroMeterJobPerformanceListener.OTHER_JOB_SIGNATURES).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void timersAreRemovedFromTheMeterRegistryOnClose() {
+        final MicroMeterJobPerformanceListener listener = new MicroMeterJobPerformanceListener(meterRegistry);
+        final Job job = anEnqueuedJob().build();
+
+        listener.onJobPerformed(job, Outcome.SUCCEEDED, Duration.ofMillis(100), Duration.ofMillis(200), Duration.ofMillis(5));
+        listener.onJobPerformed(job, Outcome.SUCCEEDED, Duration.ofMillis(100), Duration.ofMillis(200), Duration.ofMillis(5));
+        assertThat(meterRegistry.get("jobrunr.jobs.run-duration").timer().count()).isEqualTo(2);
+
+        listener.close();
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+}
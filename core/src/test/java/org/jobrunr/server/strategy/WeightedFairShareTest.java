@@ -0,0 +1,114 @@
+package org.jobrunr.server.strategy;
+
+import org.jobrunr.jobs.Job;
+import org.jobrunr.storage.PageRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.jobrunr.jobs.JobPriority.HIGH;
+import static org.jobrunr.jobs.JobPriority.LOW;
+import static org.jobrunr.jobs.JobPriority.NORMAL;
+import static org.jobrunr.jobs.JobTestBuilder.anEnqueuedJob;
+import static org.jobrunr.storage.PageRequest.ascOnUpdatedAt;
+
+class WeightedFairShareTest {
+
+    @Test
+    void aPageOfWorkIsSharedAccordingToTheWeightOfEachPriority() {
+        final Map<Integer, List<Job>> enqueuedJobs = enqueuedJobs(20, 20, 20);
+
+        final List<Job> work = new WeightedFairShare().getWork(ascOnUpdatedAt(10), claimingFetcher(enqueuedJobs), true);
+
+        assertThat(work).hasSize(10);
+        assertThat(amountWithPriority(work, HIGH)).isEqualTo(6);
+        assertThat(amountWithPriority(work, NORMAL)).isEqualTo(3);
+        assertThat(amountWithPriority(work, LOW)).isEqualTo(1);
+    }
+
+    @Test
+    void unusedCapacityIsGivenToTheOtherPriorities() {
+        final Map<Integer, List<Job>> enqueuedJobs = enqueuedJobs(0, 1, 20);
+
+        final List<Job> work = new WeightedFairShare().getWork(ascOnUpdatedAt(10), claimingFetcher(enqueuedJobs), true);
+
+        assertThat(work).hasSize(10);
+        assertThat(amountWithPriority(work, HIGH)).isZero();
+        assertThat(amountWithPriority(work, NORMAL)).isEqualTo(1);
+        assertThat(amountWithPriority(work, LOW)).isEqualTo(9);
+    }
+
+    @Test
+    void unusedCapacityIsGivenToTheOtherPrioritiesSkippingTheJobsAlreadyFetchedIfTheFetcherDoesNotClaim() {
+        final Map<Integer, List<Job>> enqueuedJobs = enqueuedJobs(0, 1, 20);
+
+        final List<Job> work = new WeightedFairShare().getWork(ascOnUpdatedAt(10), fetcher(enqueuedJobs), false);
+
+        assertThat(work).hasSize(10).doesNotHaveDuplicates();
+        assertThat(amountWithPriority(work, NORMAL)).isEqualTo(1);
+        assertThat(amountWithPriority(work, LOW)).isEqualTo(9);
+    }
+
+    @Test
+    void jobsWithALowPriorityAreNotStarvedOnSmallPages() {
+        final WeightedFairShare weightedFairShare = new WeightedFairShare();
+        final Map<Integer, List<Job>> enqueuedJobs = enqueuedJobs(20, 20, 20);
+
+        final List<Job> work = new ArrayList<>();
+        range(0, 10).forEach(i -> work.addAll(weightedFairShare.getWork(ascOnUpdatedAt(1), claimingFetcher(enqueuedJobs), true)));
+
+        assertThat(work).hasSize(10);
+        assertThat(amountWithPriority(work, HIGH)).isEqualTo(6);
+        assertThat(amountWithPriority(work, NORMAL)).isEqualTo(3);
+        assertThat(amountWithPriority(work, LOW)).isEqualTo(1);
+    }
+
+    @Test
+    void weightsMustBeAtLeastOne() {
+        assertThatThrownBy(() -> new WeightedFairShare(0, 3, 6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<Integer, List<Job>> enqueuedJobs(int amountWithHighPriority, int amountWithNormalPriority, int amountWithLowPriority) {
+        final Map<Integer, List<Job>> result = new HashMap<>();
+        result.put(HIGH, jobsWithPriority(amountWithHighPriority, HIGH));
+        result.put(NORMAL, jobsWithPriority(amountWithNormalPriority, NORMAL));
+        result.put(LOW, jobsWithPriority(amountWithLowPriority, LOW));
+        return result;
+    }
+
+    private static List<Job> jobsWithPriority(int amount, int priority) {
+        return range(0, amount).mapToObj(i -> anEnqueuedJob().withPriority(priority).build()).collect(toList());
+    }
+
+    private static BiFunction<Integer, PageRequest, List<Job>> fetcher(Map<Integer, List<Job>> enqueuedJobs) {
+        return (priority, pageRequest) -> {
+            final List<Job> jobs = enqueuedJobs.get(priority);
+            final int fromIndex = (int) Math.min(pageRequest.getOffset(), jobs.size());
+            return new ArrayList<>(jobs.subList(fromIndex, Math.min(fromIndex + pageRequest.getLimit(), jobs.size())));
+        };
+    }
+
+    // why: like claiming, the fetched jobs are removed so each job is only handed out once
+    private static BiFunction<Integer, PageRequest, List<Job>> claimingFetcher(Map<Integer, List<Job>> enqueuedJobs) {
+        return (priority, pageRequest) -> {
+            final List<Job> jobs = enqueuedJobs.get(priority);
+            assertThat(pageRequest.getOffset()).isZero();
+            final List<Job> fetchedJobs = jobs.subList(0, Math.min(pageRequest.getLimit(), jobs.size()));
+            final List<Job> result = new ArrayList<>(fetchedJobs);
+            fetchedJobs.clear();
+            return result;
+        };
+    }
+
+    private static long amountWithPriority(List<Job> jobs, int priority) {
+        return jobs.stream().filter(job -> job.getPriority() == priority).count();
+    }
+}
@@ -0,0 +1,74 @@
+package org.jobrunr.server.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadJobRunrExecutorTest {
+
+    private VirtualThreadJobRunrExecutor jobRunrExecutor;
+
+    @BeforeEach
+    void setUpJobRunrExecutor() {
+        assumeTrue(VirtualThreadJobRunrExecutor.isSupported(), "Virtual threads require Java 21 or higher");
+        jobRunrExecutor = new VirtualThreadJobRunrExecutor(2, "test-worker");
+        jobRunrExecutor.start();
+    }
+
+    @AfterEach
+    void stopJobRunrExecutor() {
+        if (jobRunrExecutor != null) jobRunrExecutor.stop();
+    }
+
+    @Test
+    void tasksAreRunOnVirtualThreads() {
+        final AtomicInteger virtualThreadCounter = new AtomicInteger();
+
+        jobRunrExecutor.execute(() -> {
+            if (Thread.currentThread().getName().startsWith("test-worker-")) virtualThreadCounter.incrementAndGet();
+        });
+
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(virtualThreadCounter).hasValue(1));
+    }
+
+    @Test
+    void amountOfConcurrentTasksIsLimitedByWorkerCount() throws InterruptedException {
+        final CountDownLatch blockingLatch = new CountDownLatch(1);
+        final AtomicInteger startedTasks = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            jobRunrExecutor.execute(() -> {
+                startedTasks.incrementAndGet();
+                try {
+                    blockingLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(startedTasks).hasValue(2));
+        Thread.sleep(200);
+        assertThat(startedTasks).hasValue(2);
+
+        blockingLatch.countDown();
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(startedTasks).hasValue(5));
+    }
+
+    @Test
+    void tasksAreRejectedOnceStopped() {
+        jobRunrExecutor.stop();
+
+        assertThatThrownBy(() -> jobRunrExecutor.execute(() -> {})).isInstanceOf(RejectedExecutionException.class);
+    }
+}
@@ -5,6 +5,7 @@ import org.jobrunr.jobs.Job;
 import org.jobrunr.jobs.JobId;
 import org.jobrunr.jobs.mappers.JobMapper;
 import org.jobrunr.storage.listeners.BackgroundJobServerStatusChangeListener;
+import org.jobrunr.storage.listeners.EnqueuedJobsChangeListener;
 import org.jobrunr.storage.listeners.JobChangeListener;
 import org.jobrunr.storage.listeners.JobStatsChangeListener;
 import org.jobrunr.storage.listeners.MetadataChangeListener;
@@ -17,9 +18,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Timer;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.jobrunr.jobs.JobTestBuilder.aScheduledJob;
 import static org.jobrunr.jobs.JobTestBuilder.anEnqueuedJob;
 import static org.mockito.Mockito.times;
 import static org.mockito.internal.util.reflection.Whitebox.getInternalState;
@@ -125,6 +128,39 @@ class AbstractStorageProviderTest {
         assertThat(timerAfterRemovingChangeListener).isNull();
     }
 
+    @Test
+    void updateTimerIsNotStartedForEnqueuedJobsChangeListeners() {
+        final EnqueuedJobsChangeListener changeListener = () -> {};
+
+        storageProvider.addJobStorageOnChangeListener(changeListener);
+        final Timer timerAfterAddingChangeListener = getInternalState(storageProvider, "timer");
+        assertThat(timerAfterAddingChangeListener).isNull();
+    }
+
+    @Test
+    void updateTimerIsStoppedIfOnlyEnqueuedJobsChangeListenersAreLeft() {
+        final JobStatsChangeListenerForTest jobStatsChangeListener = new JobStatsChangeListenerForTest();
+        final EnqueuedJobsChangeListener enqueuedJobsChangeListener = () -> {};
+
+        storageProvider.addJobStorageOnChangeListener(jobStatsChangeListener);
+        storageProvider.addJobStorageOnChangeListener(enqueuedJobsChangeListener);
+        storageProvider.removeJobStorageOnChangeListener(jobStatsChangeListener);
+        final Timer timerAfterRemovingChangeListener = getInternalState(storageProvider, "timer");
+        assertThat(timerAfterRemovingChangeListener).isNull();
+    }
+
+    @Test
+    void enqueuedJobsChangeListenersAreNotifiedWhenJobsAreEnqueued() {
+        final AtomicInteger notificationCounter = new AtomicInteger();
+        storageProvider.addJobStorageOnChangeListener((EnqueuedJobsChangeListener) notificationCounter::incrementAndGet);
+
+        storageProvider.save(anEnqueuedJob().build());
+        assertThat(notificationCounter).hasValue(1);
+
+        storageProvider.save(aScheduledJob().build());
+        assertThat(notificationCounter).hasValue(1);
+    }
+
     @Test
     void updateTimerIsStoppedWhenStorageProviderIsStopped() {
         final JobStatsChangeListenerForTest changeListener = new JobStatsChangeListenerForTest();
@@ -1,10 +1,13 @@
 package org.jobrunr.storage.nosql.redis;
 
+import org.jobrunr.jobs.Job;
 import org.jobrunr.jobs.mappers.JobMapper;
 import org.jobrunr.storage.StorageProvider;
 import org.jobrunr.storage.StorageProviderTest;
+import org.jobrunr.storage.listeners.EnqueuedJobsChangeListener;
 import org.jobrunr.utils.mapper.jackson.JacksonJsonMapper;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -13,6 +16,22 @@ import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.Transaction;
 import redis.clients.jedis.exceptions.JedisException;
 
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Instant.now;
+import static java.time.temporal.ChronoUnit.HOURS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jobrunr.JobRunrAssertions.assertThat;
+import static org.jobrunr.JobRunrAssertions.assertThatJobs;
+import static org.awaitility.Awaitility.await;
+import static org.jobrunr.jobs.JobTestBuilder.aJob;
+import static org.jobrunr.jobs.JobTestBuilder.anEnqueuedJob;
+import static org.jobrunr.jobs.states.StateName.DELETED;
+import static org.jobrunr.jobs.states.StateName.ENQUEUED;
+import static org.jobrunr.jobs.states.StateName.PROCESSING;
+import static org.jobrunr.storage.PageRequest.ascOnUpdatedAt;
 import static org.jobrunr.utils.resilience.RateLimiter.Builder.rateLimit;
 import static org.mockito.ArgumentMatchers.endsWith;
 import static org.mockito.Mockito.mock;
@@ -46,6 +65,49 @@ public class JedisRedisStorageProviderTest extends StorageProviderTest {
         return new ThrowingJedisStorageProvider(storageProvider);
     }
 
+    @Test
+    void enqueuedJobsChangeListenersAreNotifiedUsingPubSub() {
+        final AtomicInteger notificationCounter = new AtomicInteger();
+        final EnqueuedJobsChangeListener changeListener = notificationCounter::incrementAndGet;
+        storageProvider.addJobStorageOnChangeListener(changeListener);
+
+        // why: the SUBSCRIBE happens on a separate connection, so we keep enqueueing until it is active
+        await().untilAsserted(() -> {
+            storageProvider.save(anEnqueuedJob().build());
+            assertThat(notificationCounter).hasPositiveValue();
+        });
+
+        storageProvider.removeJobStorageOnChangeListener(changeListener);
+    }
+
+    @Test
+    void claimEnqueuedJobsDoesNotClaimJobsThatAreModifiedConcurrently() {
+        final Job jobToDelete = storageProvider.save(aJob().withEnqueuedState(now().minus(2, HOURS)).build());
+        final Job jobToClaim = storageProvider.save(aJob().withEnqueuedState(now().minus(1, HOURS)).build());
+        final AtomicBoolean deleteJobConcurrently = new AtomicBoolean(true);
+        storageProvider.setJobMapper(new JobMapper(new JacksonJsonMapper()) {
+            @Override
+            public Job deserializeJob(String serializedJobAsString) {
+                final Job job = super.deserializeJob(serializedJobAsString);
+                if (jobToDelete.getId().equals(job.getId()) && deleteJobConcurrently.getAndSet(false)) {
+                    final Job jobDeletedViaDashboard = super.deserializeJob(serializedJobAsString);
+                    jobDeletedViaDashboard.delete("Deleted via the dashboard");
+                    storageProvider.save(jobDeletedViaDashboard);
+                }
+                return job;
+            }
+        });
+
+        assertThatJobs(storageProvider.claimEnqueuedJobs(UUID.randomUUID(), ascOnUpdatedAt(10)))
+                .hasSize(1)
+                .containsExactly(jobToClaim);
+        assertThatJobs(storageProvider.getJobs(PROCESSING, ascOnUpdatedAt(10)))
+                .hasSize(1)
+                .containsExactly(jobToClaim);
+        assertThat(storageProvider.getJobs(ENQUEUED, ascOnUpdatedAt(10))).isEmpty();
+        assertThat(storageProvider.getJobById(jobToDelete.getId())).hasStates(ENQUEUED, DELETED);
+    }
+
     @AfterAll
     public static void shutdownJedisPool() {
         getJedisPool().close();
@@ -38,7 +38,11 @@ public class DatabaseCleaner {
         drop("view " + tableNamePrefix + "jobrunr_jobs_stats");
         drop("table " + tableNamePrefix + "jobrunr_recurring_jobs");
         drop("table " + tableNamePrefix + "jobrunr_job_counters");
+        drop("table " + tableNamePrefix + "jobrunr_jobs_counters");
         drop("table " + tableNamePrefix + "jobrunr_jobs");
+        // why: on PostgreSQL, the archive has a child table per day which is only dropped with cascade (which not all databases support)
+        drop("table " + tableNamePrefix + "jobrunr_jobs_archive cascade");
+        drop("table " + tableNamePrefix + "jobrunr_jobs_archive");
         drop("table " + tableNamePrefix + "jobrunr_backgroundjobservers");
         drop("table " + tableNamePrefix + "jobrunr_metadata");
         drop("table " + tableNamePrefix + "jobrunr_migrations");
@@ -48,8 +52,10 @@ public class DatabaseCleaner {
         delete("from " + tableNamePrefix + "jobrunr_recurring_jobs");
         delete("from " + tableNamePrefix + "jobrunr_job_counters");
         delete("from " + tableNamePrefix + "jobrunr_jobs");
+        delete("from " + tableNamePrefix + "jobrunr_jobs_archive");
         delete("from " + tableNamePrefix + "jobrunr_backgroundjobservers");
         delete("from " + tableNamePrefix + "jobrunr_metadata");
+        resetJobCounters();
         insertInitialData();
     }
 
@@ -61,6 +67,10 @@ public class DatabaseCleaner {
         doInTransaction(statement -> statement.executeUpdate("drop " + name), "Error dropping " + name);
     }
 
+    private void resetJobCounters() {
+        doInTransaction(statement -> statement.executeUpdate("update " + tableNamePrefix + "jobrunr_jobs_counters set amount = 0"), "Error resetting the job counters");
+    }
+
     private void insertInitialData() {
         doInTransaction(statement -> statement
                         .executeUpdate("insert into " + tableNamePrefix + "jobrunr_metadata values ('succeeded-jobs-counter-cluster', 'succeeded-jobs-counter', 'cluster', '0', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)"),
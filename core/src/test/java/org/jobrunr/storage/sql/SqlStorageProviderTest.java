@@ -1,20 +1,38 @@
 package org.jobrunr.storage.sql;
 
+import org.jobrunr.jobs.Job;
 import org.jobrunr.jobs.mappers.JobMapper;
+import org.jobrunr.jobs.states.DeletedState;
+import org.jobrunr.storage.ConcurrentJobModificationException;
+import org.jobrunr.storage.JobNotFoundException;
+import org.jobrunr.storage.JobStats;
 import org.jobrunr.storage.StorageProvider;
 import org.jobrunr.storage.StorageProviderTest;
+import org.jobrunr.storage.sql.common.DefaultSqlStorageProvider;
 import org.jobrunr.storage.sql.common.SqlStorageProviderFactory;
 import org.jobrunr.storage.sql.common.db.Sql;
 import org.jobrunr.utils.mapper.jackson.JacksonJsonMapper;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.testcontainers.containers.JdbcDatabaseContainer;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Duration;
 import java.util.Map;
 
+import static java.time.Instant.now;
+import static java.time.temporal.ChronoUnit.HOURS;
+import static java.util.Arrays.asList;
+import static org.jobrunr.JobRunrAssertions.assertThat;
+import static org.jobrunr.JobRunrAssertions.assertThatThrownBy;
+import static org.jobrunr.jobs.JobTestBuilder.aJob;
+import static org.jobrunr.jobs.states.StateName.DELETED;
+import static org.jobrunr.jobs.states.StateName.ENQUEUED;
+import static org.jobrunr.jobs.states.StateName.SUCCEEDED;
+import static org.jobrunr.storage.PageRequest.ascOnUpdatedAt;
 import static org.jobrunr.utils.resilience.RateLimiter.Builder.rateLimit;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -61,6 +79,65 @@ public abstract class SqlStorageProviderTest extends StorageProviderTest {
         System.out.println("=========================================================");
     }
 
+    @Test
+    void testJobArchive() {
+        ((DefaultSqlStorageProvider) storageProvider).enableJobArchive(Duration.ofHours(1));
+
+        final Job succeededJob = aJob().withEnqueuedState(now().minus(5, HOURS)).withSucceededState(now().minus(4, HOURS)).build();
+        final Job deletedJob = aJob().withEnqueuedState(now().minus(5, HOURS)).withState(new DeletedState("Deleted by test"), now().minus(3, HOURS)).build();
+        final Job recentlySucceededJob = aJob().withEnqueuedState(now().minus(5, HOURS)).withSucceededState(now()).build();
+        final Job enqueuedJob = aJob().withEnqueuedState(now().minus(5, HOURS)).build();
+        storageProvider.save(asList(succeededJob, deletedJob, recentlySucceededJob, enqueuedJob));
+
+        assertThat(storageProvider.archiveJobs(10)).isEqualTo(2);
+        assertThat(storageProvider.archiveJobs(10)).isZero();
+
+        assertThat(storageProvider.getJobById(succeededJob.getId())).hasState(SUCCEEDED);
+        assertThat(storageProvider.getJobPage(SUCCEEDED, ascOnUpdatedAt(10)).getTotal()).isEqualTo(2);
+        assertThat(storageProvider.getJobs(SUCCEEDED, ascOnUpdatedAt(10))).extracting("id").containsExactly(succeededJob.getId(), recentlySucceededJob.getId());
+        assertThat(storageProvider.getJobs(DELETED, ascOnUpdatedAt(10))).extracting("id").containsExactly(deletedJob.getId());
+        assertThat(storageProvider.getJobStats().getSucceeded()).isEqualTo(2);
+        assertThat(storageProvider.getJobStats().getDeleted()).isEqualTo(1);
+
+        final Job archivedSucceededJob = storageProvider.getJobById(succeededJob.getId());
+        archivedSucceededJob.delete("Deleted by test");
+        storageProvider.save(archivedSucceededJob);
+        assertThat(storageProvider.getJobById(succeededJob.getId())).hasState(DELETED);
+
+        final Job archivedDeletedJob = storageProvider.getJobById(deletedJob.getId());
+        archivedDeletedJob.enqueue();
+        storageProvider.save(archivedDeletedJob);
+        assertThat(storageProvider.getJobs(ENQUEUED, ascOnUpdatedAt(10))).extracting("id").contains(deletedJob.getId());
+        assertThatThrownBy(() -> storageProvider.save(deletedJob)).isInstanceOf(ConcurrentJobModificationException.class);
+
+        assertThat(storageProvider.deleteJobsPermanently(DELETED, now())).isEqualTo(1);
+        assertThatThrownBy(() -> storageProvider.getJobById(succeededJob.getId())).isInstanceOf(JobNotFoundException.class);
+
+        final JobStats jobStats = storageProvider.getJobStats();
+        assertThat(jobStats.getSucceeded()).isEqualTo(1);
+        assertThat(jobStats.getDeleted()).isZero();
+        assertThat(jobStats.getEnqueued()).isEqualTo(2);
+    }
+
+    @Test
+    void testReconcileJobStatsWithJobsSpreadAcrossShards() throws SQLException {
+        storageProvider.save(aJob().withEnqueuedState(now()).build());
+        storageProvider.save(aJob().withEnqueuedState(now()).build());
+        storageProvider.save(aJob().withEnqueuedState(now().minus(1, HOURS)).withSucceededState(now()).build());
+        try (final Connection connection = getDataSource().getConnection(); final Statement statement = connection.createStatement()) {
+            statement.executeUpdate("update jobrunr_jobs_counters set amount = amount + 1");
+        }
+        assertThat(storageProvider.getJobStats().getEnqueued()).isGreaterThan(2);
+
+        storageProvider.reconcileJobStats();
+
+        final JobStats jobStats = storageProvider.getJobStats();
+        assertThat(jobStats.getTotal()).isEqualTo(3);
+        assertThat(jobStats.getEnqueued()).isEqualTo(2);
+        assertThat(jobStats.getSucceeded()).isEqualTo(1);
+        assertThat(jobStats.getScheduled()).isZero();
+    }
+
     protected abstract DataSource getDataSource();
 
     protected void cleanupDatabase(DataSource dataSource) {
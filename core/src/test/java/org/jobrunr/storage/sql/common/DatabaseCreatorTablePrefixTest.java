@@ -93,6 +93,30 @@ class DatabaseCreatorTablePrefixTest {
                 .areAtLeastOne(stringContaining("CREATE INDEX SOME_PREFIX_jobrunr_state_idx ON SOME_SCHEMA.SOME_PREFIX_jobrunr_jobs (state)"));
     }
 
+    @Test
+    void testIndexesAreDroppedInSchemaForAnsiDatabase() throws SQLException {
+        when(connection.getMetaData()).thenReturn(databaseMetaData);
+        when(databaseMetaData.getDatabaseProductName()).thenReturn("SQL Server");
+
+        final DatabaseCreator databaseCreator = new DatabaseCreator(dataSource, "SOME_SCHEMA.SOME_PREFIX_", SQLServerStorageProvider.class);
+        databaseCreator.runMigrations();
+
+        assertThat(getAllExecutedStatements())
+                .areAtLeastOne(stringContaining("DROP INDEX SOME_PREFIX_jobrunr_state_idx ON SOME_SCHEMA.SOME_PREFIX_jobrunr_jobs"));
+    }
+
+    @Test
+    void testIndexesAreDroppedInSchemaForOracle() throws SQLException {
+        when(connection.getMetaData()).thenReturn(databaseMetaData);
+        when(databaseMetaData.getDatabaseProductName()).thenReturn("Oracle");
+
+        final DatabaseCreator databaseCreator = new DatabaseCreator(dataSource, "SOME_SCHEMA.", OracleStorageProvider.class);
+        databaseCreator.runMigrations();
+
+        assertThat(getAllExecutedStatements())
+                .areAtLeastOne(stringContaining("DROP INDEX SOME_SCHEMA.jobrunr_state_idx"));
+    }
+
     private Condition<String> stringContaining(String string) {
         return new Condition<>(s -> s.contains(string), "Expected statements to contain " + string);
     }
@@ -38,6 +38,7 @@ class DatabaseCreatorTest {
         final DatabaseCreator databaseCreator = new DatabaseCreator(createDataSource("jdbc:sqlite:" + SQLITE_DB1));
         assertThatCode(databaseCreator::runMigrations).doesNotThrowAnyException();
         assertThatCode(databaseCreator::validateTables).doesNotThrowAnyException();
+        assertThatCode(databaseCreator::validateJobArchiveTable).doesNotThrowAnyException();
     }
 
     @Test
@@ -57,6 +58,9 @@ class DatabaseCreatorTest {
     void testValidateWithoutTables() {
         final DatabaseCreator databaseCreator = new DatabaseCreator(createDataSource("jdbc:sqlite:" + SQLITE_DB2));
         assertThatThrownBy(databaseCreator::validateTables).isInstanceOf(JobRunrException.class);
+        assertThatThrownBy(databaseCreator::validateJobArchiveTable)
+                .isInstanceOf(JobRunrException.class)
+                .hasMessage("The jobrunr_jobs_archive table required by the job archive is not available!");
     }
 
     @Test
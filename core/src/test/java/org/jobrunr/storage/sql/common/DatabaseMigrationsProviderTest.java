@@ -26,6 +26,17 @@ class DatabaseMigrationsProviderTest {
         assertThat(databaseSpecificMigrations).anyMatch(migration -> contains(migration, "DATETIME(6)"));
     }
 
+    @Test
+    void testDatabaseSpecificMigrationsReplaceCommonMigrationsWithTheSameName() {
+        final DatabaseMigrationsProvider databaseCreator = new DatabaseMigrationsProvider(MariaDbStorageProviderStub.class);
+        final Stream<SqlMigration> databaseSpecificMigrations = databaseCreator.getMigrations();
+
+        assertThat(databaseSpecificMigrations)
+                .filteredOn(migration -> migration.getFileName().equals("v015__alter_table_jobs_add_priority.sql"))
+                .hasSize(1)
+                .allMatch(migration -> contains(migration, "ADD priority INT NOT NULL DEFAULT 1"));
+    }
+
     private boolean contains(SqlMigration migration, String toContain) {
         try {
             return migration.getMigrationSql().contains(toContain);
@@ -1,8 +1,25 @@
 package org.jobrunr.storage.sql.postgres;
 
+import org.jobrunr.jobs.Job;
+import org.jobrunr.storage.ConcurrentJobModificationException;
+import org.jobrunr.storage.listeners.EnqueuedJobsChangeListener;
+import org.junit.jupiter.api.Test;
 import org.postgresql.ds.PGSimpleDataSource;
 
 import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.time.Instant.now;
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.jobrunr.jobs.JobTestBuilder.aScheduledJob;
+import static org.jobrunr.jobs.JobTestBuilder.anEnqueuedJob;
+import static org.jobrunr.storage.PageRequest.ascOnUpdatedAt;
 
 class PostgresStorageProviderTest extends AbstractPostgresStorageProviderTest {
 
@@ -18,4 +35,47 @@ class PostgresStorageProviderTest extends AbstractPostgresStorageProviderTest {
         }
         return dataSource;
     }
-}
\ No newline at end of file
+
+    @Test
+    void enqueuedJobsChangeListenersAreNotifiedUsingListenNotify() {
+        final AtomicInteger notificationCounter = new AtomicInteger();
+        final EnqueuedJobsChangeListener changeListener = notificationCounter::incrementAndGet;
+        storageProvider.addJobStorageOnChangeListener(changeListener);
+
+        // why: the LISTEN happens on a separate thread, so we keep enqueueing until it is active
+        await().untilAsserted(() -> {
+            storageProvider.save(anEnqueuedJob().build());
+            assertThat(notificationCounter).hasPositiveValue();
+        });
+
+        storageProvider.removeJobStorageOnChangeListener(changeListener);
+    }
+
+    @Test
+    void largeBatchesOfNewJobsAreInsertedUsingCopy() {
+        final Job jobWithSpecialCharacters = anEnqueuedJob().withName("a job with a \\ backslash,\ta tab and\na newline").build();
+        final Job scheduledJob = aScheduledJob().build();
+        final List<Job> jobs = IntStream.range(0, PostgresJobTable.MIN_AMOUNT_OF_JOBS_TO_COPY).mapToObj(i -> anEnqueuedJob().build()).collect(toList());
+        jobs.add(jobWithSpecialCharacters);
+        jobs.add(scheduledJob);
+
+        storageProvider.save(jobs);
+
+        assertThat(storageProvider.getJobStats().getEnqueued()).isEqualTo(PostgresJobTable.MIN_AMOUNT_OF_JOBS_TO_COPY + 1);
+        assertThat(storageProvider.getJobById(jobWithSpecialCharacters.getId()).getJobName()).isEqualTo(jobWithSpecialCharacters.getJobName());
+        assertThat(storageProvider.getScheduledJobs(now().plus(1, DAYS), ascOnUpdatedAt(10))).extracting("id").containsExactly(scheduledJob.getId());
+    }
+
+    @Test
+    void largeBatchesOfNewJobsWithExistingJobsThrowConcurrentJobModificationException() {
+        final Job existingJob = storageProvider.save(anEnqueuedJob().build());
+        final List<Job> jobs = IntStream.range(0, PostgresJobTable.MIN_AMOUNT_OF_JOBS_TO_COPY).mapToObj(i -> anEnqueuedJob().build()).collect(toList());
+        final Job jobWithExistingId = anEnqueuedJob().withId(existingJob.getId()).build();
+        jobs.add(jobWithExistingId);
+
+        assertThatThrownBy(() -> storageProvider.save(jobs))
+                .isInstanceOf(ConcurrentJobModificationException.class)
+                .satisfies(e -> assertThat(((ConcurrentJobModificationException) e).getConcurrentUpdatedJobs()).extracting("id").containsExactly(jobWithExistingId.getId()));
+        assertThat(storageProvider.getJobStats().getEnqueued()).isEqualTo(PostgresJobTable.MIN_AMOUNT_OF_JOBS_TO_COPY + 1);
+    }
+}
@@ -0,0 +1,91 @@
+package org.jobrunr.utils.reflection;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MethodInvokerTest {
+
+    @Test
+    void testInvokeInstanceMethod() throws Exception {
+        final MethodInvoker methodInvoker = MethodInvoker.of(TestService.class.getMethod("concat", String.class, int.class));
+
+        assertThat(methodInvoker.invoke(new TestService(), new Object[]{"value-", 2})).isEqualTo("value-2");
+    }
+
+    @Test
+    void testInvokeStaticMethod() throws Exception {
+        final MethodInvoker methodInvoker = MethodInvoker.of(TestService.class.getMethod("staticConcat", String.class, int.class));
+
+        assertThat(methodInvoker.invoke(null, new Object[]{"value-", 3})).isEqualTo("value-3");
+    }
+
+    @Test
+    void testInvokeVoidAndVarArgsMethod() throws Exception {
+        final TestService testService = new TestService();
+        final MethodInvoker methodInvoker = MethodInvoker.of(TestService.class.getMethod("store", String[].class));
+
+        assertThat(methodInvoker.invoke(testService, new Object[]{new String[]{"a", "b"}})).isNull();
+        assertThat(testService.storedValues).containsExactly("a", "b");
+    }
+
+    @Test
+    void testExceptionsAreWrappedInInvocationTargetExceptionLikeMethodInvoke() throws Exception {
+        final MethodInvoker methodInvoker = MethodInvoker.of(TestService.class.getMethod("fail"));
+
+        assertThatThrownBy(() -> methodInvoker.invoke(new TestService(), new Object[0]))
+                .isInstanceOf(InvocationTargetException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testInvalidArgumentsAreNotWrappedInInvocationTargetExceptionLikeMethodInvoke() throws Exception {
+        final MethodInvoker methodInvoker = MethodInvoker.of(TestService.class.getMethod("concat", String.class, int.class));
+
+        assertThatThrownBy(() -> methodInvoker.invoke(new TestService(), new Object[]{"value-"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> methodInvoker.invoke(new TestService(), new Object[]{"value-", "2"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> methodInvoker.invoke(new TestService(), new Object[]{"value-", null}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> methodInvoker.invoke(new Object(), new Object[]{"value-", 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> methodInvoker.invoke(null, new Object[]{"value-", 2}))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void testPrimitiveArgumentsAreWidenedLikeMethodInvoke() throws Exception {
+        final MethodInvoker methodInvoker = MethodInvoker.of(TestService.class.getMethod("concat", String.class, long.class));
+
+        assertThat(methodInvoker.invoke(new TestService(), new Object[]{"value-", 4})).isEqualTo("value-4");
+    }
+
+    public static class TestService {
+
+        private String[] storedValues;
+
+        public String concat(String value, int number) {
+            return value + number;
+        }
+
+        public String concat(String value, long number) {
+            return value + number;
+        }
+
+        public static String staticConcat(String value, int number) {
+            return value + number;
+        }
+
+        public void store(String... values) {
+            this.storedValues = values;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("Failing on purpose");
+        }
+    }
+}
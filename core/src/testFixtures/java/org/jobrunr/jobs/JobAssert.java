@@ -98,7 +98,7 @@ public class JobAssert extends AbstractAssert<JobAssert, Job> {
         Assertions.assertThat(actual)
                 .usingRecursiveComparison()
                 .usingOverriddenEquals()
-                .ignoringFields("locker")
+                .ignoringFields("locker", "stateBeforeStateChange")
                 .isEqualTo(otherJob);
         return this;
     }
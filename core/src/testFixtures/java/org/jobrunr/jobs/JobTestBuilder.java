@@ -26,6 +26,7 @@ public class JobTestBuilder {
     private UUID id;
     private Integer version;
     private String name;
+    private int priority = JobPriority.NORMAL;
     private JobDetails jobDetails;
     private List<JobState> states = new ArrayList<>();
     private Map<String, Object> metadata = new HashMap<>();
@@ -46,6 +47,7 @@ public class JobTestBuilder {
                 .withId(job.getId())
                 .withName(job.getJobName())
                 .withVersion(job.getVersion())
+                .withPriority(job.getPriority())
                 .withLock(getInternalState(job, "locker"))
                 .withJobDetails(job.getJobDetails())
                 .withStates(job.getJobStates())
@@ -169,6 +171,11 @@ public class JobTestBuilder {
         return this;
     }
 
+    public JobTestBuilder withPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
     public JobTestBuilder withoutName() {
         this.name = null;
         return this;
@@ -259,6 +266,7 @@ public class JobTestBuilder {
             Whitebox.setInternalState(job, "locker", locker);
         }
         job.setJobName(name);
+        job.setPriority(priority);
         job.getMetadata().putAll(metadata);
 
         ArrayList<JobState> jobHistory = getInternalState(job, "jobHistory");
@@ -10,6 +10,7 @@ import org.jobrunr.storage.StorageProviderUtils.DatabaseOptions;
 import org.jobrunr.storage.listeners.StorageProviderChangeListener;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -119,6 +120,11 @@ public class StorageProviderForTest implements StorageProvider {
         return storageProvider.save(jobs);
     }
 
+    @Override
+    public void updateProcessingJobs(List<Job> jobs, Instant updatedAt) {
+        storageProvider.updateProcessingJobs(jobs, updatedAt);
+    }
+
     @Override
     public List<Job> getJobs(StateName state, Instant updatedBefore, PageRequest pageRequest) {
         return storageProvider.getJobs(state, updatedBefore, pageRequest);
@@ -138,16 +144,56 @@ public class StorageProviderForTest implements StorageProvider {
         return storageProvider.getJobs(state, pageRequest);
     }
 
+    @Override
+    public List<Job> getJobs(StateName state, int priority, PageRequest pageRequest) {
+        return storageProvider.getJobs(state, priority, pageRequest);
+    }
+
     @Override
     public Page<Job> getJobPage(StateName state, PageRequest pageRequest) {
         return storageProvider.getJobPage(state, pageRequest);
     }
 
+    @Override
+    public boolean canNotifyOfEnqueuedJobs() {
+        return storageProvider.canNotifyOfEnqueuedJobs();
+    }
+
+    @Override
+    public boolean canClaimEnqueuedJobs() {
+        return storageProvider.canClaimEnqueuedJobs();
+    }
+
+    @Override
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, PageRequest pageRequest) {
+        return storageProvider.claimEnqueuedJobs(backgroundJobServerId, pageRequest);
+    }
+
+    @Override
+    public List<Job> claimEnqueuedJobs(UUID backgroundJobServerId, int priority, PageRequest pageRequest) {
+        return storageProvider.claimEnqueuedJobs(backgroundJobServerId, priority, pageRequest);
+    }
+
     @Override
     public int deleteJobsPermanently(StateName state, Instant updatedBefore) {
         return storageProvider.deleteJobsPermanently(state, updatedBefore);
     }
 
+    @Override
+    public boolean canMoveJobsToDeletedState() {
+        return storageProvider.canMoveJobsToDeletedState();
+    }
+
+    @Override
+    public int moveJobsToDeletedState(StateName state, Instant updatedBefore, String reason, int amount) {
+        return storageProvider.moveJobsToDeletedState(state, updatedBefore, reason, amount);
+    }
+
+    @Override
+    public int archiveJobs(int amount) {
+        return storageProvider.archiveJobs(amount);
+    }
+
     @Override
     public Set<String> getDistinctJobSignatures(StateName... states) {
         return storageProvider.getDistinctJobSignatures(states);
@@ -163,6 +209,11 @@ public class StorageProviderForTest implements StorageProvider {
         return storageProvider.recurringJobExists(recurringJobId, states);
     }
 
+    @Override
+    public Set<String> recurringJobsExist(Collection<String> recurringJobIds, StateName... states) {
+        return storageProvider.recurringJobsExist(recurringJobIds, states);
+    }
+
     @Override
     public RecurringJob saveRecurringJob(RecurringJob recurringJob) {
         return storageProvider.saveRecurringJob(recurringJob);
@@ -194,6 +245,11 @@ public class StorageProviderForTest implements StorageProvider {
         return storageProvider.getJobStats();
     }
 
+    @Override
+    public void reconcileJobStats() {
+        storageProvider.reconcileJobStats();
+    }
+
     @Override
     public void publishTotalAmountOfSucceededJobs(int amount) {
         storageProvider.publishTotalAmountOfSucceededJobs(amount);
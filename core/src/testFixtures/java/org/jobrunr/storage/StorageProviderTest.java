@@ -5,6 +5,8 @@ import org.jobrunr.jobs.Job;
 import org.jobrunr.jobs.JobDetails;
 import org.jobrunr.jobs.RecurringJob;
 import org.jobrunr.jobs.mappers.JobMapper;
+import org.jobrunr.jobs.states.DeletedState;
+import org.jobrunr.jobs.states.ProcessingState;
 import org.jobrunr.jobs.states.ScheduledState;
 import org.jobrunr.scheduling.cron.Cron;
 import org.jobrunr.scheduling.cron.CronExpression;
@@ -33,6 +35,7 @@ import java.util.stream.IntStream;
 import static java.time.Instant.now;
 import static java.time.temporal.ChronoUnit.HOURS;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
 import static org.jobrunr.JobRunrAssertions.assertThat;
@@ -43,15 +46,20 @@ import static org.jobrunr.JobRunrAssertions.failedJob;
 import static org.jobrunr.JobRunrException.shouldNotHappenException;
 import static org.jobrunr.jobs.JobDetailsTestBuilder.defaultJobDetails;
 import static org.jobrunr.jobs.JobDetailsTestBuilder.systemOutPrintLnJobDetails;
+import static org.jobrunr.jobs.JobPriority.HIGH;
+import static org.jobrunr.jobs.JobPriority.LOW;
+import static org.jobrunr.jobs.JobPriority.NORMAL;
 import static org.jobrunr.jobs.JobTestBuilder.*;
 import static org.jobrunr.jobs.RecurringJobTestBuilder.aDefaultRecurringJob;
 import static org.jobrunr.jobs.states.StateName.*;
 import static org.jobrunr.storage.BackgroundJobServerStatusTestBuilder.aBackgroundJobServerStatusBasedOn;
 import static org.jobrunr.storage.BackgroundJobServerStatusTestBuilder.aDefaultBackgroundJobServerStatus;
 import static org.jobrunr.storage.PageRequest.ascOnUpdatedAt;
+import static org.jobrunr.storage.PageRequest.ascOnUpdatedAtAfter;
 import static org.jobrunr.storage.PageRequest.descOnUpdatedAt;
 import static org.jobrunr.utils.SleepUtils.sleep;
 import static org.jobrunr.utils.streams.StreamUtils.batchCollector;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.internal.util.reflection.Whitebox.getInternalState;
 import static org.mockito.internal.util.reflection.Whitebox.setInternalState;
 
@@ -443,6 +451,23 @@ public abstract class StorageProviderTest {
         assertThat(storageProvider.recurringJobExists(recurringJob.getId(), ENQUEUED, DELETED)).isTrue();
     }
 
+    @Test
+    void testRecurringJobsExist() {
+        RecurringJob recurringJob1 = aDefaultRecurringJob().withId("recurring-job-1").build();
+        RecurringJob recurringJob2 = aDefaultRecurringJob().withId("recurring-job-2").build();
+        RecurringJob recurringJob3 = aDefaultRecurringJob().withId("recurring-job-3").build();
+        Job scheduledJob = recurringJob1.toScheduledJob();
+        Job enqueuedJob = recurringJob2.toEnqueuedJob();
+
+        storageProvider.save(asList(scheduledJob, enqueuedJob));
+        assertThat(storageProvider.recurringJobsExist(asList(recurringJob1.getId(), recurringJob2.getId(), recurringJob3.getId()), SCHEDULED, ENQUEUED, PROCESSING))
+                .containsExactlyInAnyOrder(recurringJob1.getId(), recurringJob2.getId());
+        assertThat(storageProvider.recurringJobsExist(asList(recurringJob1.getId(), recurringJob2.getId(), recurringJob3.getId()), ENQUEUED))
+                .containsExactly(recurringJob2.getId());
+        assertThat(storageProvider.recurringJobsExist(asList(recurringJob3.getId()), SCHEDULED, ENQUEUED, PROCESSING)).isEmpty();
+        assertThat(storageProvider.recurringJobsExist(emptyList(), SCHEDULED, ENQUEUED, PROCESSING)).isEmpty();
+    }
+
     @Test
     void testSaveListUpdateListAndGetListOfJobs() {
         final List<Job> jobs = asList(
@@ -541,6 +566,38 @@ public abstract class StorageProviderTest {
                 .containsExactly(jobs.get(2), jobs.get(1));
     }
 
+    @Test
+    void testJobPageCanUseSeekPosition() {
+        final Instant updatedAtOfJobsWithSameUpdatedAt = now().minusSeconds(6);
+        final List<Job> jobs = asList(
+                aJob().withEnqueuedState(now().minusSeconds(10)).build(),
+                aJob().withEnqueuedState(now().minusSeconds(8)).build(),
+                aJob().withId(UUID.fromString("00000000-0000-0000-0000-000000000001")).withEnqueuedState(updatedAtOfJobsWithSameUpdatedAt).build(),
+                aJob().withId(UUID.fromString("00000000-0000-0000-0000-000000000002")).withEnqueuedState(updatedAtOfJobsWithSameUpdatedAt).build(),
+                aJob().withEnqueuedState(now().minusSeconds(2)).build()
+        );
+
+        storageProvider.save(jobs);
+
+        final List<Job> firstPageAsc = storageProvider.getJobs(ENQUEUED, ascOnUpdatedAt(3));
+        assertThatJobs(firstPageAsc).containsExactly(jobs.get(0), jobs.get(1), jobs.get(2));
+
+        final Job lastJobOfFirstPageAsc = firstPageAsc.get(2);
+        assertThatJobs(storageProvider.getJobs(ENQUEUED, ascOnUpdatedAtAfter(lastJobOfFirstPageAsc.getUpdatedAt(), lastJobOfFirstPageAsc.getId(), 3)))
+                .containsExactly(jobs.get(3), jobs.get(4));
+        assertThatJobs(storageProvider.getJobs(ENQUEUED, now().minusSeconds(4), ascOnUpdatedAtAfter(lastJobOfFirstPageAsc.getUpdatedAt(), lastJobOfFirstPageAsc.getId(), 3)))
+                .containsExactly(jobs.get(3));
+
+        final Page<Job> firstPageDesc = storageProvider.getJobPage(ENQUEUED, descOnUpdatedAt(2));
+        assertThatJobs(firstPageDesc.getItems()).containsExactly(jobs.get(4), jobs.get(3));
+
+        final Job lastJobOfFirstPageDesc = firstPageDesc.getItems().get(1);
+        final Page<Job> secondPageDesc = storageProvider.getJobPage(ENQUEUED, descOnUpdatedAt(2).seekAfter(lastJobOfFirstPageDesc.getUpdatedAt(), lastJobOfFirstPageDesc.getId(), 2));
+        assertThatJobs(secondPageDesc.getItems()).containsExactly(jobs.get(2), jobs.get(1));
+        assertThat(secondPageDesc.getCurrentPage()).isEqualTo(1);
+        assertThat(secondPageDesc.hasNext()).isTrue();
+    }
+
     @Test
     void testGetListOfJobsUpdatedBefore() {
         final List<Job> jobs = asList(
@@ -567,6 +624,35 @@ public abstract class StorageProviderTest {
                 .isEmpty();
     }
 
+    @Test
+    void testUpdateProcessingJobs() {
+        final List<Job> jobs = asList(
+                aJob().withEnqueuedState(now().minus(3, HOURS)).withState(new ProcessingState(backgroundJobServer.getId()), now().minus(2, HOURS)).build(),
+                aJob().withEnqueuedState(now().minus(3, HOURS)).withState(new ProcessingState(backgroundJobServer.getId()), now().minus(2, HOURS)).build(),
+                aJob().withEnqueuedState(now().minus(3, HOURS)).withState(new ProcessingState(backgroundJobServer.getId()), now().minus(2, HOURS)).build()
+        );
+        storageProvider.save(jobs);
+        assertThat(storageProvider.getJobs(PROCESSING, now().minus(1, HOURS), ascOnUpdatedAt(100))).hasSize(3);
+
+        final Job deletedJob = storageProvider.getJobById(jobs.get(2).getId());
+        deletedJob.delete("Deleted via the dashboard");
+        storageProvider.save(deletedJob);
+
+        final Instant updatedAt = now();
+        jobs.forEach(job -> job.updateProcessing(updatedAt));
+        assertThatThrownBy(() -> storageProvider.updateProcessingJobs(jobs, updatedAt))
+                .isInstanceOf(ConcurrentJobModificationException.class)
+                .has(failedJob(jobs.get(2)));
+
+        assertThat(storageProvider.getJobs(PROCESSING, now().minus(1, HOURS), ascOnUpdatedAt(100))).isEmpty();
+        assertThat(storageProvider.getJobById(jobs.get(0).getId())).hasState(PROCESSING);
+
+        final Job succeededJob = jobs.get(0);
+        succeededJob.succeeded();
+        assertThatCode(() -> storageProvider.save(succeededJob)).doesNotThrowAnyException();
+        assertThat(storageProvider.getJobById(succeededJob.getId())).hasState(SUCCEEDED);
+    }
+
     @Test
     void testDeleteJobs() {
         final List<Job> jobs = asList(
@@ -585,6 +671,128 @@ public abstract class StorageProviderTest {
         assertThat(fetchedJobs).hasSize(1);
     }
 
+    @Test
+    void testMoveJobsToDeletedState() {
+        assumeTrue(storageProvider.canMoveJobsToDeletedState(), storageProvider.getName() + " does not support moving jobs to the DELETED state");
+
+        final List<Job> jobs = asList(
+                aJob().withEnqueuedState(now().minus(5, HOURS)).withSucceededState(now().minus(4, HOURS)).withMetadata("key", "value").withMetadata("jobRunrDashboardLog-2", "log").build(),
+                aJob().withEnqueuedState(now().minus(5, HOURS)).withSucceededState(now().minus(3, HOURS)).build(),
+                aJob().withEnqueuedState(now().minus(5, HOURS)).withSucceededState(now().minus(2, HOURS)).build(),
+                aJob().withEnqueuedState(now().minus(5, HOURS)).withSucceededState(now()).build(),
+                aJob().withEnqueuedState(now().minus(5, HOURS)).build()
+        );
+        storageProvider.save(jobs);
+
+        assertThat(storageProvider.moveJobsToDeletedState(SUCCEEDED, now().minus(1, HOURS), "Deleted by test", 2)).isEqualTo(2);
+        assertThat(storageProvider.moveJobsToDeletedState(SUCCEEDED, now().minus(1, HOURS), "Deleted by test", 2)).isEqualTo(1);
+        assertThat(storageProvider.moveJobsToDeletedState(SUCCEEDED, now().minus(1, HOURS), "Deleted by test", 2)).isZero();
+
+        final Job deletedJob = storageProvider.getJobById(jobs.get(0).getId());
+        assertThat(deletedJob)
+                .hasStates(ENQUEUED, SUCCEEDED, DELETED)
+                .hasVersion(jobs.get(0).getVersion() + 1)
+                .hasMetadata("jobRunrDashboardLog-2", "log");
+        assertThat(deletedJob.getMetadata()).doesNotContainKey("key");
+        assertThat(deletedJob.<DeletedState>getJobState().getReason()).isEqualTo("Deleted by test");
+        assertThat(storageProvider.getJobs(DELETED, ascOnUpdatedAt(10))).hasSize(3);
+        assertThat(storageProvider.getJobs(SUCCEEDED, ascOnUpdatedAt(10))).hasSize(1);
+        final JobStats jobStats = storageProvider.getJobStats();
+        assertThat(jobStats.getSucceeded()).isEqualTo(1);
+        assertThat(jobStats.getDeleted()).isEqualTo(3);
+
+        deletedJob.enqueue();
+        assertThatCode(() -> storageProvider.save(deletedJob)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testClaimEnqueuedJobs() {
+        assumeTrue(storageProvider.canClaimEnqueuedJobs(), storageProvider.getName() + " does not support claiming enqueued jobs");
+
+        final List<Job> jobs = asList(
+                aJob().withEnqueuedState(now().minus(3, HOURS)).build(),
+                aJob().withEnqueuedState(now().minus(2, HOURS)).build(),
+                aJob().withEnqueuedState(now().minus(1, HOURS)).build()
+        );
+        storageProvider.save(jobs);
+
+        final UUID backgroundJobServerId = UUID.randomUUID();
+        final List<Job> claimedJobs = storageProvider.claimEnqueuedJobs(backgroundJobServerId, ascOnUpdatedAt(2));
+        assertThatJobs(claimedJobs)
+                .hasSize(2)
+                .containsExactly(jobs.get(0), jobs.get(1));
+        assertThat(claimedJobs).allMatch(job -> job.hasState(PROCESSING) && backgroundJobServerId.equals(job.<ProcessingState>getJobState().getServerId()));
+        assertThat(storageProvider.getJobById(jobs.get(0).getId())).hasStates(ENQUEUED, PROCESSING);
+
+        assertThatJobs(storageProvider.claimEnqueuedJobs(UUID.randomUUID(), ascOnUpdatedAt(2)))
+                .hasSize(1)
+                .containsExactly(jobs.get(2));
+        assertThat(storageProvider.claimEnqueuedJobs(UUID.randomUUID(), ascOnUpdatedAt(2))).isEmpty();
+    }
+
+    @Test
+    void testClaimedJobsAreSavedInTheProcessingState() {
+        assumeTrue(storageProvider.canClaimEnqueuedJobs(), storageProvider.getName() + " does not support claiming enqueued jobs");
+
+        final Job job = storageProvider.save(aJob().withEnqueuedState(now().minus(1, HOURS)).build());
+        storageProvider.claimEnqueuedJobs(UUID.randomUUID(), ascOnUpdatedAt(1));
+
+        // why: the state of the claimed job is read back from the state column and not from the serialized job
+        assertThat(storageProvider.getJobs(ENQUEUED, ascOnUpdatedAt(10))).isEmpty();
+        assertThatJobs(storageProvider.getJobs(PROCESSING, ascOnUpdatedAt(10)))
+                .hasSize(1)
+                .containsExactly(job);
+    }
+
+    @Test
+    void testGetJobsByPriority() {
+        final List<Job> jobs = asList(
+                aJob().withEnqueuedState(now().minus(4, HOURS)).withPriority(LOW).build(),
+                aJob().withEnqueuedState(now().minus(3, HOURS)).withPriority(HIGH).build(),
+                aJob().withEnqueuedState(now().minus(2, HOURS)).build(),
+                aJob().withEnqueuedState(now().minus(1, HOURS)).withPriority(HIGH).build()
+        );
+        storageProvider.save(jobs);
+
+        assertThatJobs(storageProvider.getJobs(ENQUEUED, HIGH, ascOnUpdatedAt(10)))
+                .hasSize(2)
+                .containsExactly(jobs.get(1), jobs.get(3));
+        assertThatJobs(storageProvider.getJobs(ENQUEUED, HIGH, ascOnUpdatedAt(1, 10)))
+                .hasSize(1)
+                .containsExactly(jobs.get(3));
+        assertThatJobs(storageProvider.getJobs(ENQUEUED, NORMAL, ascOnUpdatedAt(10)))
+                .hasSize(1)
+                .containsExactly(jobs.get(2));
+        assertThat(storageProvider.getJobs(PROCESSING, HIGH, ascOnUpdatedAt(10))).isEmpty();
+        assertThat(storageProvider.getJobById(jobs.get(0).getId()).getPriority()).isEqualTo(LOW);
+    }
+
+    @Test
+    void testClaimEnqueuedJobsByPriority() {
+        assumeTrue(storageProvider.canClaimEnqueuedJobs(), storageProvider.getName() + " does not support claiming enqueued jobs");
+
+        final List<Job> jobs = asList(
+                aJob().withEnqueuedState(now().minus(3, HOURS)).withPriority(LOW).build(),
+                aJob().withEnqueuedState(now().minus(2, HOURS)).withPriority(HIGH).build(),
+                aJob().withEnqueuedState(now().minus(1, HOURS)).withPriority(HIGH).build()
+        );
+        storageProvider.save(jobs);
+
+        final List<Job> claimedJobs = storageProvider.claimEnqueuedJobs(UUID.randomUUID(), HIGH, ascOnUpdatedAt(5));
+        assertThatJobs(claimedJobs)
+                .hasSize(2)
+                .containsExactly(jobs.get(1), jobs.get(2));
+        assertThatJobs(storageProvider.getJobs(PROCESSING, ascOnUpdatedAt(10)))
+                .hasSize(2)
+                .containsExactly(jobs.get(1), jobs.get(2));
+        assertThat(storageProvider.getJobs(ENQUEUED, HIGH, ascOnUpdatedAt(10))).isEmpty();
+
+        assertThatJobs(storageProvider.claimEnqueuedJobs(UUID.randomUUID(), ascOnUpdatedAt(5)))
+                .hasSize(1)
+                .containsExactly(jobs.get(0));
+        assertThat(storageProvider.getJobs(ENQUEUED, LOW, ascOnUpdatedAt(10))).isEmpty();
+    }
+
     @Test
     void testScheduledJobs() {
         Job job1 = anEnqueuedJob().withState(new ScheduledState(now())).build();
@@ -709,6 +917,27 @@ public abstract class StorageProviderTest {
         assertThat(jobStats.getBackgroundJobServers()).isEqualTo(1);
     }
 
+    @Test
+    void testJobStatsAreUpdatedOnStateChangesAndDeletes() {
+        final Job enqueuedJob = storageProvider.save(anEnqueuedJob().build());
+        final Job succeededJob = storageProvider.save(aSucceededJob().build());
+        storageProvider.save(asList(aScheduledJob().build(), aScheduledJob().build()));
+
+        enqueuedJob.startProcessingOn(backgroundJobServer);
+        storageProvider.save(enqueuedJob);
+        storageProvider.deletePermanently(succeededJob.getId());
+
+        final JobStats jobStats = storageProvider.getJobStats();
+        assertThat(jobStats.getTotal()).isEqualTo(3);
+        assertThat(jobStats.getScheduled()).isEqualTo(2);
+        assertThat(jobStats.getEnqueued()).isZero();
+        assertThat(jobStats.getProcessing()).isEqualTo(1);
+        assertThat(jobStats.getSucceeded()).isZero();
+
+        storageProvider.reconcileJobStats();
+        assertThat(storageProvider.getJobStats().getTotal()).isEqualTo(3);
+    }
+
     @Test
     @Disabled
     void testPerformance() {